@@ -15,6 +15,7 @@ import com.evolveum.midpoint.gui.api.util.WebComponentUtil;
 import com.evolveum.midpoint.model.api.authentication.CompiledObjectCollectionView;
 import com.evolveum.midpoint.web.component.util.SelectableBeanImpl;
 
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectListCountingModeType;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.ShadowType;
 
 import org.apache.wicket.Component;
@@ -67,6 +68,9 @@ public abstract class SelectableBeanDataProvider<T extends Serializable> extends
 
     private boolean export;
 
+    /** True if the last count was estimated by the repository, see {@link ObjectListCountingModeType#ESTIMATED}. */
+    private boolean countEstimated;
+
     private OperationResult result;
 
     public Set<T> getSelected() {
@@ -251,12 +255,19 @@ public abstract class SelectableBeanDataProvider<T extends Serializable> extends
             return Integer.MAX_VALUE;
         }
         int count = 0;
+        countEstimated = false;
         Task task = getPageBase().createSimpleTask(OPERATION_COUNT_OBJECTS);
         OperationResult result = task.getResult();
         try {
             Collection<SelectorOptions<GetOperationOptions>> currentOptions = GetOperationOptions.merge( getSearchOptions(), null);
+            boolean estimatedCounting = isEstimatedCounting();
+            if (estimatedCounting) {
+                currentOptions = GetOperationOptions.updateRootOptions(currentOptions, opt -> opt.setEstimatedCount(true));
+            }
             Integer counted = countObjects(getType(), getQuery(), currentOptions, task, result);
             count = defaultIfNull(counted, defaultCountIfNull);
+            // lower counts are always exact, see GetOperationOptions.estimatedCount
+            countEstimated = estimatedCounting && count >= GetOperationOptions.EXACT_COUNT_THRESHOLD;
         } catch (Exception ex) {
             setupUserFriendlyMessage(result, ex);
             result.recordFatalError(getPageBase().createStringResource("ObjectDataProvider.message.countObjects.fatalError").getString(), ex);
@@ -288,6 +299,18 @@ public abstract class SelectableBeanDataProvider<T extends Serializable> extends
         return true;
     }
 
+    public boolean isEstimatedCounting() {
+        CompiledObjectCollectionView guiObjectListViewType = getCompiledObjectCollectionView();
+        return guiObjectListViewType != null
+                && guiObjectListViewType.getCountingMode() == ObjectListCountingModeType.ESTIMATED;
+    }
+
+    /**
+     * Returns true if the last count returned by {@link #size()} is only an estimate.
+     */
+    public boolean isCountEstimated() {
+        return countEstimated;
+    }
 
     public void setOptions(Collection<SelectorOptions<GetOperationOptions>> options) {
         this.options = options;
@@ -6,13 +6,21 @@
 
 package com.evolveum.midpoint.gui.impl.component.data.provider;
 
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
 import java.io.Serial;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 
+import com.evolveum.midpoint.model.api.authentication.CompiledObjectCollectionView;
+import com.evolveum.midpoint.prism.PrismConstants;
+import com.evolveum.midpoint.prism.query.ObjectOrdering;
 import com.evolveum.midpoint.prism.query.ObjectPaging;
+import com.evolveum.midpoint.prism.query.OrderDirection;
+import com.evolveum.midpoint.schema.util.ObjectQueryUtil;
 
 import org.apache.wicket.Component;
 import org.apache.wicket.model.IModel;
@@ -33,6 +41,7 @@ import com.evolveum.midpoint.util.logging.Trace;
 import com.evolveum.midpoint.util.logging.TraceManager;
 import com.evolveum.midpoint.web.component.util.SelectableBean;
 import com.evolveum.midpoint.web.component.util.SelectableBeanImpl;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectListPagingModeType;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectType;
 
 /**
@@ -48,6 +57,15 @@ public class SelectableBeanObjectDataProvider<O extends ObjectType> extends Sele
 
     private Consumer<Task> taskConsumer;
 
+    /**
+     * Last object of the last loaded page, offset of the following page and the key of the query (filter
+     * and ordering) used to load it. If the following page is requested for the same query, it is loaded
+     * using keyset filter instead of the offset, see {@link ObjectListPagingModeType#KEYSET}.
+     */
+    private O keysetLastObject;
+    private long keysetNextOffset = -1;
+    private String keysetQueryKey;
+
     public SelectableBeanObjectDataProvider(Component component, Set<O> selected) {
         this(component, Model.of(), selected);
     }
@@ -111,8 +129,67 @@ public class SelectableBeanObjectDataProvider<O extends ObjectType> extends Sele
         if (taskConsumer != null) {
             taskConsumer.accept(task);
         }
-        return getModelService().searchObjects(type, query, options, task, result)
+        if (!isKeysetPaging()) {
+            return getModelService().searchObjects(type, query, options, task, result)
+                    .map(prismObject -> prismObject.asObjectable());
+        }
+
+        List<O> list = getModelService().searchObjects(type, createKeysetQuery(query), options, task, result)
                 .map(prismObject -> prismObject.asObjectable());
+        rememberKeyset(query, list);
+        return list;
+    }
+
+    public boolean isKeysetPaging() {
+        CompiledObjectCollectionView view = getCompiledObjectCollectionView();
+        return view != null && view.getPagingMode() == ObjectListPagingModeType.KEYSET;
+    }
+
+    /**
+     * Returns query for the next page using keyset filter, if the previous page was loaded for the same query.
+     * Otherwise, the original query with offset is returned.
+     */
+    private ObjectQuery createKeysetQuery(ObjectQuery query) {
+        ObjectPaging paging = query != null ? query.getPaging() : null;
+        if (paging == null || paging.getOffset() == null || keysetLastObject == null
+                || paging.getOffset() != keysetNextOffset || !createKeysetQueryKey(query).equals(keysetQueryKey)) {
+            return query;
+        }
+
+        // Last ordering is OID tie-breaker added in createPaging(), see there.
+        List<? extends ObjectOrdering> orderings = paging.getOrderingInstructions();
+        if (orderings == null || orderings.isEmpty() || orderings.size() > 2) {
+            return query;
+        }
+        ObjectOrdering ordering = orderings.size() == 2 ? orderings.get(0) : null;
+        if (!ObjectQueryUtil.isKeysetApplicable(keysetLastObject.asPrismObject(), ordering)) {
+            return query;
+        }
+
+        ObjectQuery keysetQuery = query.clone();
+        keysetQuery.setFilter(ObjectQueryUtil.filterAndImmutable(
+                query.getFilter(), ObjectQueryUtil.createKeysetFilter(keysetLastObject.asPrismObject(), ordering)));
+        keysetQuery.getPaging().setOffset(null);
+        return keysetQuery;
+    }
+
+    private void rememberKeyset(ObjectQuery query, List<O> list) {
+        ObjectPaging paging = query != null ? query.getPaging() : null;
+        if (paging == null || paging.getMaxSize() == null || list.size() < paging.getMaxSize()) {
+            // no paging or the last page, nothing to continue with
+            keysetLastObject = null;
+            keysetNextOffset = -1;
+            keysetQueryKey = null;
+            return;
+        }
+
+        keysetLastObject = list.get(list.size() - 1);
+        keysetNextOffset = defaultIfNull(paging.getOffset(), 0) + (long) paging.getMaxSize();
+        keysetQueryKey = createKeysetQueryKey(query);
+    }
+
+    private String createKeysetQueryKey(ObjectQuery query) {
+        return query.getFilter() + "|" + query.getPaging().getOrderingInstructions();
     }
 
     @Override
@@ -123,7 +200,23 @@ public class SelectableBeanObjectDataProvider<O extends ObjectType> extends Sele
 
     @Override
     public ObjectPaging createPaging(long offset, long pageSize) {
-        return super.createPaging(offset, pageSize);
+        ObjectPaging paging = super.createPaging(offset, pageSize);
+        if (!isKeysetPaging()) {
+            return paging;
+        }
+
+        // Keyset paging needs unique ordering, so OID is added as a tie-breaker in the direction of the ordering.
+        List<ObjectOrdering> orderings = new ArrayList<>();
+        if (paging.getOrderingInstructions() != null) {
+            orderings.addAll(paging.getOrderingInstructions());
+        }
+        if (orderings.size() > 1) {
+            return paging;
+        }
+        OrderDirection direction = !orderings.isEmpty() && orderings.get(0).getDirection() == OrderDirection.DESCENDING
+                ? OrderDirection.DESCENDING : OrderDirection.ASCENDING;
+        orderings.add(getPrismContext().queryFactory().createOrdering(PrismConstants.T_ID, direction));
+        return getPrismContext().queryFactory().createPaging(paging.getOffset(), paging.getMaxSize(), orderings);
     }
 
     public void setTaskConsumer(Consumer<Task> taskConsumer) {
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.web.boot.actuator;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.evolveum.midpoint.repo.api.SqlPerformanceMonitorsCollection;
+import com.evolveum.midpoint.repo.api.perf.OperationPerformanceInformation;
+import com.evolveum.midpoint.repo.api.perf.PerformanceInformation;
+import com.evolveum.midpoint.schema.statistics.NodeOperationStatistics;
+import com.evolveum.midpoint.util.caching.CachePerformanceCollector;
+import com.evolveum.midpoint.util.logging.Trace;
+import com.evolveum.midpoint.util.logging.TraceManager;
+
+/**
+ * Exports midPoint performance data as Micrometer meters (available e.g. via `/actuator/metrics`
+ * and `/actuator/prometheus` endpoints):
+ *
+ * - `midpoint.repository.operations`: repository (and audit) operations by their kind,
+ * taken from global SQL performance monitors (if enabled in the repository configuration),
+ * - `midpoint.cache.requests`, `midpoint.cache.hit.ratio`: requests to midPoint caches by the result
+ * (if cache statistics are enabled),
+ * - `midpoint.activity.items`: items processed by activities on this node, by activity type and outcome,
+ * - `midpoint.activity.items.queued`: items waiting in activity buffers for worker threads,
+ * - `midpoint.connector.operations`: ConnId operations by resource, operation, and success.
+ *
+ * All the meters are function-based, i.e. they read the collected data only when the registry is scraped.
+ * Repository and cache data are collected by midPoint anyway (if enabled). Activity and connector data are recorded
+ * for the meters by {@link NodeOperationStatistics} on each processed item and each ConnId operation; this is cheap
+ * (non-blocking counter updates), but not free. As the set of operations, caches, and resources is not known
+ * in advance, the meters for newly seen keys are registered periodically.
+ */
+@Component
+public class MidpointMeterBinder implements MeterBinder {
+
+    private static final Trace LOGGER = TraceManager.getTrace(MidpointMeterBinder.class);
+
+    private static final String REPOSITORY_OPERATIONS = "midpoint.repository.operations";
+    private static final String CACHE_REQUESTS = "midpoint.cache.requests";
+    private static final String CACHE_HIT_RATIO = "midpoint.cache.hit.ratio";
+    private static final String ACTIVITY_ITEMS = "midpoint.activity.items";
+    private static final String ACTIVITY_ITEMS_QUEUED = "midpoint.activity.items.queued";
+    private static final String CONNECTOR_OPERATIONS = "midpoint.connector.operations";
+
+    @Autowired(required = false) private SqlPerformanceMonitorsCollection sqlPerformanceMonitorsCollection;
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * Repository performance information, refreshed by {@link #refresh()}. Computing it requires merging data
+     * from all the monitors, so we do not want to do it for each meter separately.
+     */
+    private volatile PerformanceInformation repositoryPerformance;
+
+    /** Keys (meter name + distinguishing tags) of meters already registered. */
+    private final Set<String> registeredKeys = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder(ACTIVITY_ITEMS_QUEUED, NodeOperationStatistics.INSTANCE, NodeOperationStatistics::getQueuedItems)
+                .description("Items waiting for activity worker threads")
+                .register(registry);
+        refresh();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${midpoint.metrics.refresh-interval:15000}",
+            initialDelayString = "${midpoint.metrics.refresh-interval:15000}")
+    public void refresh() {
+        MeterRegistry registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+        try {
+            refreshRepositoryMeters(registry);
+            refreshCacheMeters(registry);
+            refreshActivityMeters(registry);
+            refreshConnectorMeters(registry);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Couldn't refresh midPoint meters: {}", e.getMessage(), e);
+        }
+    }
+
+    private void refreshRepositoryMeters(MeterRegistry registry) {
+        if (sqlPerformanceMonitorsCollection == null) {
+            return;
+        }
+        PerformanceInformation current = sqlPerformanceMonitorsCollection.getGlobalPerformanceInformation();
+        repositoryPerformance = current;
+        for (String operation : current.getAllData().keySet()) {
+            if (registeredKeys.add(REPOSITORY_OPERATIONS + ":" + operation)) {
+                FunctionTimer.builder(REPOSITORY_OPERATIONS, this,
+                                b -> b.getRepositoryCount(operation),
+                                b -> b.getRepositoryTotalTime(operation),
+                                TimeUnit.MILLISECONDS)
+                        .description("Repository operations")
+                        .tag("operation", operation)
+                        .register(registry);
+            }
+        }
+    }
+
+    private long getRepositoryCount(String operation) {
+        OperationPerformanceInformation info = getRepositoryInformation(operation);
+        return info != null ? info.getInvocationCount() : 0;
+    }
+
+    private double getRepositoryTotalTime(String operation) {
+        OperationPerformanceInformation info = getRepositoryInformation(operation);
+        return info != null ? info.getTotalTime() : 0;
+    }
+
+    private @Nullable OperationPerformanceInformation getRepositoryInformation(String operation) {
+        PerformanceInformation performance = repositoryPerformance;
+        return performance != null ? performance.getAllData().get(operation) : null;
+    }
+
+    private void refreshCacheMeters(MeterRegistry registry) {
+        Map<String, CachePerformanceCollector.CacheData> caches = CachePerformanceCollector.INSTANCE.getGlobalPerformanceMap();
+        if (caches == null) {
+            return;
+        }
+        for (String cache : caches.keySet()) {
+            if (!registeredKeys.add(CACHE_REQUESTS + ":" + cache)) {
+                continue;
+            }
+            registerCacheCounter(registry, cache, "hit", data -> data.hits.longValue());
+            registerCacheCounter(registry, cache, "weakHit", data -> data.weakHits.longValue());
+            registerCacheCounter(registry, cache, "miss", data -> data.misses.longValue());
+            registerCacheCounter(registry, cache, "pass", data -> data.passes.longValue());
+            registerCacheCounter(registry, cache, "notAvailable", data -> data.notAvailable.longValue());
+            Gauge.builder(CACHE_HIT_RATIO, this, b -> b.getCacheHitRatio(cache))
+                    .description("Ratio of cache hits to all cacheable requests (hits and misses)")
+                    .tag("cache", cache)
+                    .register(registry);
+        }
+    }
+
+    private void registerCacheCounter(MeterRegistry registry, String cache, String result,
+            ToLongFunction<CachePerformanceCollector.CacheData> valueFunction) {
+        FunctionCounter.builder(CACHE_REQUESTS, this, b -> b.getCacheValue(cache, valueFunction))
+                .description("Requests to midPoint caches")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private double getCacheValue(String cache, ToLongFunction<CachePerformanceCollector.CacheData> valueFunction) {
+        CachePerformanceCollector.CacheData data = getCacheData(cache);
+        return data != null ? valueFunction.applyAsLong(data) : 0;
+    }
+
+    private double getCacheHitRatio(String cache) {
+        CachePerformanceCollector.CacheData data = getCacheData(cache);
+        if (data == null) {
+            return Double.NaN;
+        }
+        long hits = data.hits.longValue() + data.weakHits.longValue();
+        long all = hits + data.misses.longValue();
+        return all > 0 ? (double) hits / all : Double.NaN;
+    }
+
+    private @Nullable CachePerformanceCollector.CacheData getCacheData(String cache) {
+        Map<String, CachePerformanceCollector.CacheData> caches = CachePerformanceCollector.INSTANCE.getGlobalPerformanceMap();
+        return caches != null ? caches.get(cache) : null;
+    }
+
+    private void refreshActivityMeters(MeterRegistry registry) {
+        NodeOperationStatistics.INSTANCE.getItemsProcessed().forEach((key, counter) -> {
+            if (registeredKeys.add(ACTIVITY_ITEMS + ":" + key)) {
+                FunctionTimer.builder(ACTIVITY_ITEMS, counter,
+                                NodeOperationStatistics.Counter::getCount,
+                                NodeOperationStatistics.Counter::getTotalTime,
+                                TimeUnit.MILLISECONDS)
+                        .description("Items processed by activities")
+                        .tag("activity", key.activityType())
+                        .tag("outcome", key.outcome().value())
+                        .register(registry);
+            }
+        });
+    }
+
+    private void refreshConnectorMeters(MeterRegistry registry) {
+        NodeOperationStatistics.INSTANCE.getConnIdOperations().forEach((key, counter) -> {
+            if (registeredKeys.add(CONNECTOR_OPERATIONS + ":" + key)) {
+                FunctionTimer.builder(CONNECTOR_OPERATIONS, counter,
+                                NodeOperationStatistics.Counter::getCount,
+                                NodeOperationStatistics.Counter::getTotalTime,
+                                TimeUnit.MILLISECONDS)
+                        .description("ConnId operations")
+                        .tag("resource", key.resource())
+                        .tag("operation", key.operation())
+                        .tag("success", String.valueOf(key.success()))
+                        .register(registry);
+            }
+        });
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.wicket.model.IModel;
 
 import com.evolveum.midpoint.gui.api.model.LoadableModel;
 import com.evolveum.midpoint.gui.api.page.PageBase;
+import com.evolveum.midpoint.gui.impl.component.data.provider.SelectableBeanDataProvider;
 import com.evolveum.midpoint.web.component.util.VisibleBehaviour;
 
 import org.jetbrains.annotations.NotNull;
@@ -102,6 +103,7 @@ public class CountToolbar extends AbstractToolbar {
         long from = 0;
         long to = 0;
         long count = 0;
+        boolean estimated = false;
 
         if (pageable instanceof DataViewBase) {
             DataViewBase view = (DataViewBase) pageable;
@@ -123,6 +125,8 @@ public class CountToolbar extends AbstractToolbar {
                 to = itemCount;
             }
             count = itemCount;
+            estimated = table.getDataProvider() instanceof SelectableBeanDataProvider<?> provider
+                    && provider.isCountEstimated();
         }
 
         if (count > 0) {
@@ -131,7 +135,13 @@ public class CountToolbar extends AbstractToolbar {
                         new Object[] { from, to }).getString();
             }
 
-            return PageBase.createStringResourceStatic("CountToolbar.label", new Object[] { from, to, count }).getString();
+            if (estimated) {
+                return PageBase.createStringResourceStatic("CountToolbar.label.estimatedCount",
+                        "Displaying {0} to {1} of about {2} matching results", from, to, count).getString();
+            }
+
+            return PageBase.createStringResourceStatic("CountToolbar.label", new Object[] { from, to, count })
+                    .getString();
         }
 
         return PageBase.createStringResourceStatic("CountToolbar.noFound").getString();
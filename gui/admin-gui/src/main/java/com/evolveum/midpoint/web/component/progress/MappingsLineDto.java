@@ -21,30 +21,47 @@ import java.util.List;
 public class MappingsLineDto implements Serializable {
 
     public static final String F_OBJECT = "object";
+    public static final String F_MAPPING_NAME = "mappingName";
+    public static final String F_EXPRESSION_TYPE = "expressionType";
     public static final String F_COUNT = "count";
     public static final String F_AVERAGE_TIME = "averageTime";
     public static final String F_MIN_TIME = "minTime";
     public static final String F_MAX_TIME = "maxTime";
     public static final String F_TOTAL_TIME = "totalTime";
+    public static final String F_PERCENTILE_95_TIME = "percentile95Time";
 
     private String object;
+    private String mappingName;
+    private String expressionType;
     private int count;
     private Long minTime;
     private Long maxTime;
     private long totalTime;
+    private Double percentile95Time;
 
     public MappingsLineDto(MappingsStatisticsEntryType entry) {
         object = entry.getObject();
+        mappingName = entry.getMappingName();
+        expressionType = entry.getExpressionType();
         count = entry.getCount();
         minTime = entry.getMinTime();
         maxTime = entry.getMaxTime();
         totalTime = entry.getTotalTime();
+        percentile95Time = entry.getPercentile95Time();
     }
 
     public String getObject() {
         return object;
     }
 
+    public String getMappingName() {
+        return mappingName;
+    }
+
+    public String getExpressionType() {
+        return expressionType;
+    }
+
     public String getCount() {
         return getString(count);
     }
@@ -69,6 +86,10 @@ public class MappingsLineDto implements Serializable {
         return getString(totalTime);
     }
 
+    public String getPercentile95Time() {
+        return getString(percentile95Time);
+    }
+
     protected static List<MappingsLineDto> extractFromOperationalInformation(MappingsStatisticsType mappingsStatisticsType) {
         List<MappingsLineDto> retval = new ArrayList<>();
         if (mappingsStatisticsType == null) {
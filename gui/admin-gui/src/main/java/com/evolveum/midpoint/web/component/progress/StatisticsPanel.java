@@ -8,6 +8,7 @@ package com.evolveum.midpoint.web.component.progress;
 
 import com.evolveum.midpoint.gui.api.component.BasePanel;
 import com.evolveum.midpoint.gui.api.model.ReadOnlyModel;
+import com.evolveum.midpoint.gui.api.page.PageBase;
 
 import com.evolveum.midpoint.gui.api.util.WebModelServiceUtils;
 
@@ -188,11 +189,14 @@ public class StatisticsPanel extends BasePanel<StatisticsDto> {
     private List<IColumn<MappingsLineDto, String>> createMappingsColumn() {
         List<IColumn<MappingsLineDto,String>> columns = new ArrayList<>();
         columns.add(new PropertyColumn<>(createStringResource("MappingsStatistics.Object"), MappingsLineDto.F_OBJECT));
+        columns.add(new PropertyColumn<>(PageBase.createStringResourceStatic("MappingsStatistics.MappingName", "Mapping name"), MappingsLineDto.F_MAPPING_NAME));
+        columns.add(new PropertyColumn<>(PageBase.createStringResourceStatic("MappingsStatistics.ExpressionType", "Expression type"), MappingsLineDto.F_EXPRESSION_TYPE));
         columns.add(new PropertyColumn<>(createStringResource("MappingsStatistics.Count"), MappingsLineDto.F_COUNT));
         columns.add(new PropertyColumn<>(createStringResource("MappingsStatistics.AverageTime"), MappingsLineDto.F_AVERAGE_TIME));
         columns.add(new PropertyColumn<>(createStringResource("MappingsStatistics.MinTime"), MappingsLineDto.F_MIN_TIME));
         columns.add(new PropertyColumn<>(createStringResource("MappingsStatistics.MaxTime"), MappingsLineDto.F_MAX_TIME));
         columns.add(new PropertyColumn<>(createStringResource("MappingsStatistics.TotalTime"), MappingsLineDto.F_TOTAL_TIME));
+        columns.add(new PropertyColumn<>(PageBase.createStringResourceStatic("MappingsStatistics.Percentile95Time", "95th percentile time"), MappingsLineDto.F_PERCENTILE_95_TIME));
         return columns;
     }
 
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.Test;
+
+import com.evolveum.midpoint.schema.statistics.NodeOperationStatistics;
+import com.evolveum.midpoint.tools.testng.AbstractUnitTest;
+import com.evolveum.midpoint.web.boot.actuator.MidpointMeterBinder;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ItemProcessingOutcomeType;
+
+/**
+ * Tests that {@link MidpointMeterBinder} registers the meters for the data in {@link NodeOperationStatistics},
+ * including the ones for keys seen only after the binding.
+ */
+public class TestMidpointMeterBinder extends AbstractUnitTest {
+
+    /** Activity type unique to this test, as the statistics are node-wide. */
+    private static final String ACTIVITY_TYPE = "test-meter-binder";
+
+    private static final int QUEUED_ITEMS = 5;
+
+    @Test
+    public void test100MetersAreRegistered() {
+        given("items processed and waiting on this node");
+        NodeOperationStatistics statistics = NodeOperationStatistics.INSTANCE;
+        statistics.recordItemProcessed(ACTIVITY_TYPE, ItemProcessingOutcomeType.SUCCESS, 10);
+        statistics.recordItemProcessed(ACTIVITY_TYPE, ItemProcessingOutcomeType.SUCCESS, 30);
+        IntSupplier queue = () -> QUEUED_ITEMS;
+        statistics.registerItemQueue(queue);
+        try {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            MidpointMeterBinder binder = new MidpointMeterBinder();
+
+            when("the binder is bound to a registry");
+            binder.bindTo(registry);
+
+            then("meters for the processed and waiting items are there");
+            FunctionTimer successTimer = getItemsTimer(registry, ItemProcessingOutcomeType.SUCCESS);
+            assertThat(successTimer.count()).as("items processed successfully").isEqualTo(2);
+            assertThat(successTimer.totalTime(TimeUnit.MILLISECONDS)).as("total time").isEqualTo(40);
+            assertThat(registry.get("midpoint.activity.items.queued").gauge().value())
+                    .as("queued items")
+                    .isGreaterThanOrEqualTo(QUEUED_ITEMS);
+            assertThat(registry.find("midpoint.activity.items")
+                    .tag("activity", ACTIVITY_TYPE)
+                    .tag("outcome", ItemProcessingOutcomeType.FAILURE.value())
+                    .functionTimer())
+                    .as("timer for failures (none yet)")
+                    .isNull();
+
+            when("an item fails and the meters are refreshed");
+            statistics.recordItemProcessed(ACTIVITY_TYPE, ItemProcessingOutcomeType.FAILURE, 5);
+            binder.refresh();
+
+            then("the meter for the failures is registered, and the existing one is updated");
+            assertThat(getItemsTimer(registry, ItemProcessingOutcomeType.FAILURE).count())
+                    .as("items failed")
+                    .isEqualTo(1);
+            assertThat(getItemsTimer(registry, ItemProcessingOutcomeType.SUCCESS).count())
+                    .as("items processed successfully")
+                    .isEqualTo(2);
+        } finally {
+            statistics.unregisterItemQueue(queue);
+        }
+    }
+
+    private FunctionTimer getItemsTimer(MeterRegistry registry, ItemProcessingOutcomeType outcome) {
+        return registry.get("midpoint.activity.items")
+                .tag("activity", ACTIVITY_TYPE)
+                .tag("outcome", outcome.value())
+                .functionTimer();
+    }
+}
@@ -483,7 +483,7 @@ public abstract class DummyObject implements DebugDumpable {
 
     private void delayOperation() throws InterruptedException {
         if (resource != null) {
-            resource.delayOperation();
+            resource.delayOperation(DummyOperationType.MODIFY);
         }
     }
 
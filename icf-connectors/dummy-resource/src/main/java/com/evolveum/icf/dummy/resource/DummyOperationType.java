@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.icf.dummy.resource;
+
+/**
+ * Kinds of operations on {@link DummyResource}, used to configure per-operation latency.
+ *
+ * @see DummyResource#setOperationDelay(DummyOperationType, int, int)
+ */
+public enum DummyOperationType {
+
+    /** Fetching the schema (see {@link DummyResource#applySchemaBreakMode()}). */
+    SCHEMA,
+
+    /** Getting a single object by name or ID. */
+    GET,
+
+    /** Listing objects of a given class. */
+    SEARCH,
+
+    ADD,
+
+    /** Modifying attributes of an object, or renaming it. */
+    MODIFY,
+
+    DELETE
+}
@@ -12,8 +12,12 @@ import java.io.FileNotFoundException;
 import java.net.ConnectException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
@@ -59,7 +63,6 @@ import com.evolveum.midpoint.util.logging.TraceManager;
 public class DummyResource implements DebugDumpable {
 
     private static final Trace LOGGER = TraceManager.getTrace(DummyResource.class);
-    private static final Random RND = new Random();
 
     public static final String ATTRIBUTE_CONNECTOR_TO_STRING = "connectorToString";
     public static final String ATTRIBUTE_CONNECTOR_STATIC_VAL = "connectorStaticVal";
@@ -107,6 +110,12 @@ public class DummyResource implements DebugDumpable {
 
     private final List<ScriptHistoryEntry> scriptHistory = new ArrayList<>();
     private DummySyncStyle syncStyle = DummySyncStyle.NONE;
+
+    /**
+     * Sync deltas, ordered by their tokens. Tokens are generated and deltas appended while holding the monitor
+     * of this list (see {@link #recordDelta(IntFunction)}); so the readers holding the same monitor never miss a delta
+     * with a token lower than the latest one they see.
+     */
     private final List<DummyDelta> deltas = Collections.synchronizedList(new ArrayList<>());
     private final AtomicInteger latestSyncToken = new AtomicInteger(0);
     private boolean tolerateDuplicateValues = false;
@@ -124,14 +133,30 @@ public class DummyResource implements DebugDumpable {
 
     private boolean caseIgnoreValues = false;
     private int connectionCount = 0;
-    private int writeOperationCount = 0;
+    private final AtomicInteger writeOperationCount = new AtomicInteger();
     private int groupMembersReadCount = 0;
 
     /** Names of objects that this connector rejects to add, with "Already exists" exception. */
     private Collection<String> forbiddenNames;
 
-    private int operationDelayOffset;
-    private int operationDelayRange;
+    private volatile int operationDelayOffset;
+    private volatile int operationDelayRange;
+
+    /** Delays for specific kinds of operations; if not present, {@link #operationDelayOffset} and range are used. */
+    private final Map<DummyOperationType, OperationDelay> operationDelays = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the modifications of the objects in the stores.
+     *
+     * Operations that touch a single object class hold the read (shared) lock along with the lock of the respective
+     * {@link ObjectStore}; so, e.g., accounts and groups can be added or deleted in parallel. Operations that may touch
+     * more object classes at once - when links or hierarchical objects are used - as well as clearing the resource,
+     * hold the write (exclusive) lock. The same is true when the IDs are provided by the client ({@link UidMode#EXTERNAL}),
+     * as their uniqueness is checked across all object classes. See {@link #lockForWrite(ObjectStore)}.
+     *
+     * Simulated delays and breaks are applied before the locks are acquired, so they do not serialize the operations.
+     */
+    private final ReentrantReadWriteLock resourceLock = new ReentrantReadWriteLock();
     private boolean syncSearchHandlerStart;
 
     /**
@@ -206,6 +231,7 @@ public class DummyResource implements DebugDumpable {
         syncStyle = DummySyncStyle.NONE;
         operationDelayOffset = 0;
         operationDelayRange = 0;
+        operationDelays.clear();
         blockOperations = false;
         syncSearchHandlerStart = false;
         resetBreakMode();
@@ -229,14 +255,21 @@ public class DummyResource implements DebugDumpable {
      * Clears the content but not the schema and settings.
      */
     public synchronized void clear() {
-        allObjects.clear();
-        objectStoreMap.values().forEach(store -> store.clear());
-        linkStoreMap.values().forEach(store -> store.clear());
+        resourceLock.writeLock().lock();
+        try {
+            allObjects.clear();
+            objectStoreMap.values().forEach(store -> store.clear());
+            linkStoreMap.values().forEach(store -> store.clear());
+        } finally {
+            resourceLock.writeLock().unlock();
+        }
 
         scriptHistory.clear();
-        deltas.clear();
-        latestSyncToken.set(0);
-        writeOperationCount = 0;
+        synchronized (deltas) {
+            deltas.clear();
+            latestSyncToken.set(0);
+        }
+        writeOperationCount.set(0);
         groupMembersReadCount = 0;
     }
 
@@ -387,6 +420,18 @@ public class DummyResource implements DebugDumpable {
         this.operationDelayRange = operationDelayRange;
     }
 
+    /**
+     * Sets the delay for given kind of operations: `offset` milliseconds plus a random jitter from 0 to `range` (exclusive).
+     * Overrides the values from {@link #setOperationDelayOffset(int)} and {@link #setOperationDelayRange(int)}.
+     */
+    public void setOperationDelay(@NotNull DummyOperationType operationType, int offset, int range) {
+        operationDelays.put(operationType, new OperationDelay(offset, range));
+    }
+
+    public void clearOperationDelays() {
+        operationDelays.clear();
+    }
+
     public void setSyncSearchHandlerStart(boolean syncSearchHandlerStart) {
         this.syncSearchHandlerStart = syncSearchHandlerStart;
     }
@@ -437,12 +482,12 @@ public class DummyResource implements DebugDumpable {
     }
 
     @SuppressWarnings("unused")
-    private synchronized void recordWriteOperation(String operation) {
-        writeOperationCount++;
+    private void recordWriteOperation(String operation) {
+        writeOperationCount.incrementAndGet();
     }
 
     public int getWriteOperationCount() {
-        return writeOperationCount;
+        return writeOperationCount.get();
     }
 
     public int getGroupMembersReadCount() {
@@ -461,7 +506,7 @@ public class DummyResource implements DebugDumpable {
     public void applySchemaBreakMode()
             throws ConflictException, FileNotFoundException, SchemaViolationException, ConnectException, InterruptedException {
         breakIt(schemaBreakMode, "schema");
-        delayOperation();
+        delayOperation(DummyOperationType.SCHEMA);
     }
 
     public DummyObjectClass getAccountObjectClass() {
@@ -513,7 +558,7 @@ public class DummyResource implements DebugDumpable {
             throws ConnectException, FileNotFoundException, SchemaViolationException, ConflictException, InterruptedException {
         checkBlockOperations();
         breakIt(getBreakMode, "get");
-        delayOperation();
+        delayOperation(DummyOperationType.SEARCH);
         return getObjectStore(objectClassName).getObjects();
     }
 
@@ -521,7 +566,7 @@ public class DummyResource implements DebugDumpable {
             throws ConnectException, FileNotFoundException, SchemaViolationException, ConflictException, InterruptedException {
         checkBlockOperations();
         breakIt(getBreakMode, "get");
-        delayOperation();
+        delayOperation(DummyOperationType.SEARCH);
         return accountStore.getObjects();
     }
 
@@ -531,7 +576,7 @@ public class DummyResource implements DebugDumpable {
             throw new IllegalStateException("Attempt to search object by name while resource is in non-unique name mode");
         }
         checkBlockOperations();
-        delayOperation();
+        delayOperation(DummyOperationType.GET);
         if (checkBreak) {
             breakIt(getBreakMode, "get");
         }
@@ -602,7 +647,7 @@ public class DummyResource implements DebugDumpable {
         if (checkBreak) {
             breakIt(getBreakMode, "get");
         }
-        delayOperation();
+        delayOperation(DummyOperationType.GET);
         DummyObject dummyObject = allObjects.get(id);
         if (dummyObject == null) {
             return null;
@@ -676,7 +721,7 @@ public class DummyResource implements DebugDumpable {
             throws ConnectException, FileNotFoundException, SchemaViolationException, ConflictException, InterruptedException {
         checkBlockOperations();
         breakIt(getBreakMode, "get");
-        delayOperation();
+        delayOperation(DummyOperationType.SEARCH);
         return groupStore.getObjects();
     }
 
@@ -684,7 +729,7 @@ public class DummyResource implements DebugDumpable {
             throws ConnectException, FileNotFoundException, SchemaViolationException, ConflictException, InterruptedException {
         checkBlockOperations();
         breakIt(getBreakMode, "get");
-        delayOperation();
+        delayOperation(DummyOperationType.SEARCH);
         return privilegeStore.getObjects();
     }
 
@@ -692,7 +737,7 @@ public class DummyResource implements DebugDumpable {
             throws ConnectException, FileNotFoundException, SchemaViolationException, ConflictException, InterruptedException {
         checkBlockOperations();
         breakIt(getBreakMode, "get");
-        delayOperation();
+        delayOperation(DummyOperationType.SEARCH);
         return orgStore.getObjects();
     }
 
@@ -700,30 +745,43 @@ public class DummyResource implements DebugDumpable {
         return allObjects.stream();
     }
 
-    public synchronized void addLinkValue(
+    /** Link stores are thread-safe; here we only need to exclude the operations holding the write lock (e.g. deletions). */
+    public void addLinkValue(
             @NotNull String linkClassName, @NotNull DummyObject first, @NotNull DummyObject second) {
         // todo breaking, recording, etc
 
-        getLinkStore(linkClassName)
-                .addLink(first, second);
+        try (var ignored = new HeldLocks(resourceLock.readLock())) {
+            getLinkStore(linkClassName)
+                    .addLink(first, second);
+        }
     }
 
-    public synchronized void deleteLinkValue(
+    public void deleteLinkValue(
             @NotNull String linkClassName, @NotNull DummyObject first, @NotNull DummyObject second) {
         // todo breaking, recording, etc
 
-        getLinkStore(linkClassName)
-                .deleteLink(first, second);
+        try (var ignored = new HeldLocks(resourceLock.readLock())) {
+            getLinkStore(linkClassName)
+                    .deleteLink(first, second);
+        }
     }
 
-    private synchronized <T extends DummyObject> String addObject(ObjectStore<T> store, T objectToAdd)
+    private <T extends DummyObject> String addObject(ObjectStore<T> store, T objectToAdd)
             throws ObjectAlreadyExistsException, ConnectException, FileNotFoundException, SchemaViolationException,
             ConflictException, InterruptedException, ObjectDoesNotExistException {
         checkBlockOperations();
         recordWriteOperation("add");
         breakIt(addBreakMode, "add");
-        delayOperation();
+        delayOperation(DummyOperationType.ADD);
 
+        try (var ignored = lockForWrite(store)) {
+            return addObjectLocked(store, objectToAdd);
+        }
+    }
+
+    private <T extends DummyObject> String addObjectLocked(ObjectStore<T> store, T objectToAdd)
+            throws ObjectAlreadyExistsException, ConnectException, FileNotFoundException, SchemaViolationException,
+            ConflictException, InterruptedException, ObjectDoesNotExistException {
         Class<? extends DummyObject> type = objectToAdd.getClass();
 
         // This is "resource-generated" attribute, used to simulate resources which - by default - generate attributes
@@ -762,8 +820,8 @@ public class DummyResource implements DebugDumpable {
         allObjects.put(objectToAdd);
 
         if (syncStyle != DummySyncStyle.NONE) {
-            deltas.add(
-                    new DummyDelta(nextSyncToken(), type, objectToAdd.getObjectClassName(),
+            recordDelta(syncToken ->
+                    new DummyDelta(syncToken, type, objectToAdd.getObjectClassName(),
                             objectToAdd.getId(), objectToAdd.getName(), DummyDeltaType.ADD));
         }
 
@@ -792,7 +850,7 @@ public class DummyResource implements DebugDumpable {
         }
     }
 
-    public synchronized <T extends DummyObject> void deleteObjectByName(String objectClassName, String name)
+    public <T extends DummyObject> void deleteObjectByName(String objectClassName, String name)
             throws ObjectDoesNotExistException, ConnectException, FileNotFoundException, SchemaViolationException,
             ConflictException, InterruptedException {
         if (DummyAccount.OBJECT_CLASS_NAME.equals(objectClassName)) {
@@ -813,7 +871,7 @@ public class DummyResource implements DebugDumpable {
         }
     }
 
-    public synchronized <T extends DummyObject> void deleteObjectById(String objectClassName, String id)
+    public <T extends DummyObject> void deleteObjectById(String objectClassName, String id)
             throws ObjectDoesNotExistException, ConnectException, FileNotFoundException, SchemaViolationException,
             ConflictException, InterruptedException {
         if (DummyAccount.OBJECT_CLASS_NAME.equals(objectClassName)) {
@@ -837,14 +895,22 @@ public class DummyResource implements DebugDumpable {
         }
     }
 
-    private synchronized <T extends DummyObject> void deleteObjectByName(Class<T> type, ObjectStore<T> store, String name)
+    private <T extends DummyObject> void deleteObjectByName(Class<T> type, ObjectStore<T> store, String name)
             throws ObjectDoesNotExistException, ConnectException, FileNotFoundException, SchemaViolationException,
             ConflictException, InterruptedException {
         checkBlockOperations();
         recordWriteOperation("delete");
         breakIt(deleteBreakMode, "delete");
-        delayOperation();
+        delayOperation(DummyOperationType.DELETE);
 
+        try (var ignored = lockForWrite(store)) {
+            deleteObjectByNameLocked(type, store, name);
+        }
+    }
+
+    private <T extends DummyObject> void deleteObjectByNameLocked(Class<T> type, ObjectStore<T> store, String name)
+            throws ObjectDoesNotExistException, ConnectException, FileNotFoundException, SchemaViolationException,
+            ConflictException, InterruptedException {
         String normalName = normalizeName(name);
         T existingObject;
 
@@ -864,8 +930,8 @@ public class DummyResource implements DebugDumpable {
         existingObject.setNotPresentOnResource();
 
         if (syncStyle != DummySyncStyle.NONE) {
-            deltas.add(
-                    new DummyDelta(nextSyncToken(), type, existingObject.getObjectClassName(),
+            recordDelta(syncToken ->
+                    new DummyDelta(syncToken, type, existingObject.getObjectClassName(),
                             existingObject.getId(), name, DummyDeltaType.DELETE));
         }
     }
@@ -894,14 +960,22 @@ public class DummyResource implements DebugDumpable {
         deleteObjectById(DummyOrg.class, orgStore, id);
     }
 
-    private synchronized <T extends DummyObject> void deleteObjectById(Class<T> type, ObjectStore<T> store, String id)
+    private <T extends DummyObject> void deleteObjectById(Class<T> type, ObjectStore<T> store, String id)
             throws ObjectDoesNotExistException, ConnectException, FileNotFoundException, SchemaViolationException,
             ConflictException, InterruptedException {
         checkBlockOperations();
         recordWriteOperation("delete");
         breakIt(deleteBreakMode, "delete");
-        delayOperation();
+        delayOperation(DummyOperationType.DELETE);
+
+        try (var ignored = lockForWrite(store)) {
+            deleteObjectByIdLocked(type, store, id);
+        }
+    }
 
+    private <T extends DummyObject> void deleteObjectByIdLocked(Class<T> type, ObjectStore<T> store, String id)
+            throws ObjectDoesNotExistException, ConnectException, FileNotFoundException, SchemaViolationException,
+            ConflictException, InterruptedException {
         DummyObject object = allObjects.get(id);
         if (object == null) {
             throw new ObjectDoesNotExistException(type.getSimpleName()+" with id '"+id+"' does not exist");
@@ -931,21 +1005,29 @@ public class DummyResource implements DebugDumpable {
         }
 
         if (syncStyle != DummySyncStyle.NONE) {
-            int syncToken = nextSyncToken();
-            deltas.add(
+            recordDelta(syncToken ->
                     new DummyDelta(syncToken, type, object.getObjectClassName(), id, object.getName(), DummyDeltaType.DELETE));
         }
     }
 
-    private synchronized <T extends DummyObject> void renameObject(
+    private <T extends DummyObject> void renameObject(
             ObjectStore<T> store, String id, String oldName, String newName)
             throws ObjectDoesNotExistException, ObjectAlreadyExistsException, ConnectException, FileNotFoundException,
             SchemaViolationException, ConflictException, InterruptedException {
         checkBlockOperations();
         recordWriteOperation("modify");
         breakIt(modifyBreakMode, "modify");
-        delayOperation();
+        delayOperation(DummyOperationType.MODIFY);
 
+        try (var ignored = lockForWrite(store)) {
+            renameObjectLocked(store, id, oldName, newName);
+        }
+    }
+
+    private <T extends DummyObject> void renameObjectLocked(
+            ObjectStore<T> store, String id, String oldName, String newName)
+            throws ObjectDoesNotExistException, ObjectAlreadyExistsException, ConnectException, FileNotFoundException,
+            SchemaViolationException, ConflictException, InterruptedException {
         hierarchySupport.checkHasContainingOrg(newName);
 
         T existingObject;
@@ -962,6 +1044,15 @@ public class DummyResource implements DebugDumpable {
         }
     }
 
+    /** Acquires the locks needed to modify objects in given store; see {@link #resourceLock}. */
+    private @NotNull HeldLocks lockForWrite(@NotNull ObjectStore<?> store) {
+        if (hierarchySupport.isEnabled() || !linkStoreMap.isEmpty() || uidMode == UidMode.EXTERNAL) {
+            return new HeldLocks(resourceLock.writeLock());
+        } else {
+            return new HeldLocks(resourceLock.readLock(), store.getLock());
+        }
+    }
+
     <T extends DummyObject> @NotNull ObjectStore<T> getObjectStore(@NotNull T object) {
         //noinspection unchecked
         return (ObjectStore<T>) stateNonNull(
@@ -1099,16 +1190,18 @@ public class DummyResource implements DebugDumpable {
     <T> void recordModify(DummyObject dObject, String attributeName, Collection<T> valuesAdded, Collection<T> valuesDeleted, Collection<T> valuesReplaced) {
         recordWriteOperation("modify");
         if (syncStyle != DummySyncStyle.NONE) {
-            DummyDelta delta = new DummyDelta(nextSyncToken(), dObject.getClass(), dObject.getObjectClassName(),
-                    dObject.getId(), dObject.getName(), DummyDeltaType.MODIFY);
-            delta.setAttributeName(attributeName);
-            //noinspection unchecked
-            delta.setValuesAdded((Collection<Object>) valuesAdded);
-            //noinspection unchecked
-            delta.setValuesDeleted((Collection<Object>) valuesDeleted);
-            //noinspection unchecked
-            delta.setValuesReplaced((Collection<Object>) valuesReplaced);
-            deltas.add(delta);
+            recordDelta(syncToken -> {
+                DummyDelta delta = new DummyDelta(syncToken, dObject.getClass(), dObject.getObjectClassName(),
+                        dObject.getId(), dObject.getName(), DummyDeltaType.MODIFY);
+                delta.setAttributeName(attributeName);
+                //noinspection unchecked
+                delta.setValuesAdded((Collection<Object>) valuesAdded);
+                //noinspection unchecked
+                delta.setValuesDeleted((Collection<Object>) valuesDeleted);
+                //noinspection unchecked
+                delta.setValuesReplaced((Collection<Object>) valuesReplaced);
+                return delta;
+            });
         }
     }
 
@@ -1192,12 +1285,21 @@ public class DummyResource implements DebugDumpable {
         this.syncStyle = syncStyle;
     }
 
-    private synchronized int nextSyncToken() {
-        return latestSyncToken.incrementAndGet();
+    /**
+     * Generates the next sync token and records the delta created for it. Holds only the monitor of the {@link #deltas}
+     * list (not the one of the resource), so that the deltas are appended in the order of their tokens.
+     */
+    private void recordDelta(@NotNull IntFunction<DummyDelta> deltaCreator) {
+        synchronized (deltas) {
+            deltas.add(
+                    deltaCreator.apply(latestSyncToken.incrementAndGet()));
+        }
     }
 
     public int getLatestSyncToken() {
-        return latestSyncToken.get();
+        synchronized (deltas) {
+            return latestSyncToken.get();
+        }
     }
 
     String normalizeName(String name) {
@@ -1210,9 +1312,11 @@ public class DummyResource implements DebugDumpable {
 
     public List<DummyDelta> getDeltasSince(int syncToken) {
         List<DummyDelta> result = new ArrayList<>();
-        for (DummyDelta delta: deltas) {
-            if (delta.getSyncToken() > syncToken) {
-                result.add(delta);
+        synchronized (deltas) {
+            for (DummyDelta delta: deltas) {
+                if (delta.getSyncToken() > syncToken) {
+                    result.add(delta);
+                }
             }
         }
         return result;
@@ -1229,19 +1333,21 @@ public class DummyResource implements DebugDumpable {
     public String dumpDeltas() {
         StringBuilder sb = new StringBuilder("Dummy resource ");
         sb.append(instanceName).append(" deltas:");
-        for (DummyDelta delta: deltas) {
-            sb.append("\n  ");
-            delta.dump(sb);
+        synchronized (deltas) {
+            for (DummyDelta delta: deltas) {
+                sb.append("\n  ");
+                delta.dump(sb);
+            }
         }
         return sb.toString();
     }
 
     public void recordEmptyDeltaForAccountByUsername(String accountUsername, DummyDeltaType deltaType) throws InterruptedException, FileNotFoundException, ConnectException, SchemaViolationException, ConflictException {
         DummyAccount account = getAccountByName(accountUsername);
-        DummyDelta delta = new DummyDelta(nextSyncToken(), account.getClass(),
-                account.getObjectClassName(), account.getId(), account.getName(), deltaType);
         // No delta details here, no added/removed attributes, nothing
-        deltas.add(delta);
+        recordDelta(syncToken ->
+                new DummyDelta(syncToken, account.getClass(),
+                        account.getObjectClassName(), account.getId(), account.getName(), deltaType));
     }
 
     private void breakIt(BreakMode breakMode, String operation) throws ConnectException, FileNotFoundException, SchemaViolationException, ConflictException {
@@ -1272,15 +1378,18 @@ public class DummyResource implements DebugDumpable {
         }
     }
 
-    void delayOperation() throws InterruptedException {
-        if (operationDelayOffset == 0 && operationDelayRange == 0) {
+    void delayOperation(@NotNull DummyOperationType operationType) throws InterruptedException {
+        OperationDelay specificDelay = operationDelays.get(operationType);
+        int offset = specificDelay != null ? specificDelay.offset() : operationDelayOffset;
+        int range = specificDelay != null ? specificDelay.range() : operationDelayRange;
+        if (offset == 0 && range == 0) {
             return;
         }
-        int delay = operationDelayOffset;
-        if (operationDelayRange > 0) {
-            delay += RND.nextInt(operationDelayRange);
+        int delay = offset;
+        if (range > 0) {
+            delay += ThreadLocalRandom.current().nextInt(range);
         }
-        LOGGER.debug("Delaying dummy {} operation for {} ms", instanceName, delay);
+        LOGGER.debug("Delaying dummy {} {} operation for {} ms", instanceName, operationType, delay);
         try {
             Thread.sleep(delay);
             LOGGER.debug("Operation delay on dummy {} wait done", instanceName);
@@ -1455,6 +1564,29 @@ public class DummyResource implements DebugDumpable {
         hookRegistry.invokeHooks(invoker);
     }
 
+    private record OperationDelay(int offset, int range) {
+    }
+
+    /** Locks acquired at once, to be released (in the reverse order) by try-with-resources. */
+    private static class HeldLocks implements AutoCloseable {
+
+        private final Lock[] locks;
+
+        HeldLocks(Lock... locks) {
+            this.locks = locks;
+            for (Lock lock : locks) {
+                lock.lock();
+            }
+        }
+
+        @Override
+        public void close() {
+            for (int i = locks.length - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+        }
+    }
+
     /** Special class so we can control all update/delete operations. */
     private class AllObjects {
 
@@ -49,7 +49,7 @@ class HierarchySupport {
     /**
      * Checks that the containing (parent) org exists for a given object name.
      *
-     * Assumes being synchronized on {@link DummyResource} instance.
+     * Assumes holding the exclusive write lock of the {@link DummyResource} instance.
      */
     void checkHasContainingOrg(String name) throws ObjectDoesNotExistException {
         if (!isCorrectlyEnabled()) {
@@ -83,7 +83,7 @@ class HierarchySupport {
     /**
      * Checks that the object does not contain any other objects.
      *
-     * Assumes being synchronized on {@link DummyResource} instance.
+     * Assumes holding the exclusive write lock of the {@link DummyResource} instance.
      */
     void checkNoContainedObjects(DummyObject object) throws SchemaViolationException {
         if (!isCorrectlyEnabled() || !(object instanceof DummyOrg)) {
@@ -121,7 +121,7 @@ class HierarchySupport {
     /**
      * Renames all objects contained in the given object (presumably org).
      *
-     * Assumes being synchronized on {@link DummyResource} instance.
+     * Assumes holding the exclusive write lock of the {@link DummyResource} instance.
      */
     void renameContainedObjects(DummyObject object, String oldName)
             throws ObjectDoesNotExistException, ObjectAlreadyExistsException {
@@ -16,6 +16,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Stores objects of given object class.
@@ -33,6 +35,9 @@ public class ObjectStore<O extends DummyObject> implements DebugDumpable {
     /** Objects, indexed by the normalized name (if enforcing unique names), or by {@link DummyObject#id} (otherwise). */
     @NotNull private final Map<String, O> objectMap = Collections.synchronizedMap(new LinkedHashMap<>());
 
+    /** Serializes modifications of objects in this store; used by {@link DummyResource} for all writes into it. */
+    @NotNull private final Lock lock = new ReentrantLock();
+
     ObjectStore(@NotNull Class<O> objectJavaType, @NotNull String objectClassName, @NotNull DummyObjectClass objectClass) {
         this(objectJavaType, objectClassName, objectClass, null);
     }
@@ -49,6 +54,10 @@ public class ObjectStore<O extends DummyObject> implements DebugDumpable {
         return objectClassName;
     }
 
+    @NotNull Lock getLock() {
+        return lock;
+    }
+
     public @NotNull Map<String, O> getObjectMap() {
         return objectMap;
     }
@@ -11,6 +11,14 @@ import static com.evolveum.icf.dummy.resource.LinkClassDefinition.Participant.Pa
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import com.evolveum.midpoint.util.DebugUtil;
 
 import org.testng.annotations.BeforeClass;
@@ -32,6 +40,10 @@ public class TestDummyResource {
     private static final String LC_PERSON_CONTRACT = "personContract";
     private static final String LC_CONTRACT_ORG = "contractOrg";
 
+    private static final int THREADS = 8;
+    private static final int OBJECTS_PER_THREAD = 10;
+    private static final int ADD_DELAY = 20;
+
     private final DummyResource dummyResource = DummyResource.getInstance();
 
     @BeforeClass
@@ -161,4 +173,157 @@ public class TestDummyResource {
         var contract = contractsForScienceUpdated.iterator().next();
         assertThat(contract).isEqualTo(contractsForP100001.iterator().next());
     }
+
+    /**
+     * Parallel adds into a resource without links and hierarchy: simulated delays must not serialize the operations,
+     * and the sync deltas must get unique tokens, in ascending order.
+     */
+    @Test
+    void test200ParallelAdds() throws Exception {
+
+        // GIVEN
+        DummyResource resource = DummyResource.getInstance("parallel");
+        resource.reset();
+        resource.setSyncStyle(DummySyncStyle.SMART);
+        resource.setOperationDelay(DummyOperationType.ADD, ADD_DELAY, 5);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.currentTimeMillis();
+
+            // WHEN
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    for (int i = 0; i < OBJECTS_PER_THREAD; i++) {
+                        if (thread % 2 == 0) {
+                            resource.addAccount(new DummyAccount("account-" + thread + "-" + i));
+                        } else {
+                            resource.addGroup(new DummyGroup("group-" + thread + "-" + i));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long duration = System.currentTimeMillis() - start;
+            System.out.printf("Added %d objects in %d ms%n", THREADS * OBJECTS_PER_THREAD, duration);
+
+            // THEN
+            int objects = THREADS * OBJECTS_PER_THREAD;
+            assertThat(resource.listAccounts()).as("accounts").hasSize(objects / 2);
+            assertThat(resource.listGroups()).as("groups").hasSize(objects / 2);
+            assertThat(duration).as("duration (serialized adds would take at least this)")
+                    .isLessThan((long) objects * ADD_DELAY);
+
+            assertThat(resource.getLatestSyncToken()).as("latest sync token").isEqualTo(objects);
+            List<DummyDelta> deltas = resource.getDeltasSince(0);
+            assertThat(deltas).as("deltas").hasSize(objects);
+            for (int i = 0; i < objects; i++) {
+                assertThat(deltas.get(i).getSyncToken()).as("token of delta #" + i).isEqualTo(i + 1);
+            }
+        } finally {
+            executor.shutdownNow();
+            resource.reset();
+        }
+    }
+
+    /** Adding the same name in parallel: exactly one of the attempts must succeed. */
+    @Test
+    void test210ParallelAddsOfSameName() throws Exception {
+
+        // GIVEN
+        DummyResource resource = DummyResource.getInstance("parallel");
+        resource.reset();
+        resource.setOperationDelay(DummyOperationType.ADD, 0, ADD_DELAY);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            // WHEN
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    resource.addAccount(new DummyAccount("jack"));
+                    return null;
+                }));
+            }
+            int succeeded = 0;
+            int alreadyExists = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ObjectAlreadyExistsException.class);
+                    alreadyExists++;
+                }
+            }
+
+            // THEN
+            assertThat(succeeded).as("successful adds").isEqualTo(1);
+            assertThat(alreadyExists).as("failed adds").isEqualTo(THREADS - 1);
+            assertThat(resource.listAccounts()).as("accounts").hasSize(1);
+        } finally {
+            executor.shutdownNow();
+            resource.reset();
+        }
+    }
+
+    /**
+     * Adding accounts and groups with the same externally provided ID in parallel: exactly one of the attempts
+     * must succeed, even if they go to different object classes.
+     */
+    @Test
+    void test220ParallelAddsOfSameExternalId() throws Exception {
+
+        // GIVEN
+        DummyResource resource = DummyResource.getInstance("parallel");
+        resource.reset();
+        resource.setUidMode(UidMode.EXTERNAL);
+        resource.setOperationDelay(DummyOperationType.ADD, 0, ADD_DELAY);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            // WHEN
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    if (thread % 2 == 0) {
+                        resource.addAccount((DummyAccount) new DummyAccount("account-" + thread).setId("id-1"));
+                    } else {
+                        resource.addGroup((DummyGroup) new DummyGroup("group-" + thread).setId("id-1"));
+                    }
+                    return null;
+                }));
+            }
+            int succeeded = 0;
+            int idExists = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+                    idExists++;
+                }
+            }
+
+            // THEN
+            assertThat(succeeded).as("successful adds").isEqualTo(1);
+            assertThat(idExists).as("failed adds").isEqualTo(THREADS - 1);
+            assertThat(resource.listAccounts().size() + resource.listGroups().size())
+                    .as("accounts and groups")
+                    .isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+            resource.setUidMode(UidMode.NAME);
+            resource.reset();
+        }
+    }
 }
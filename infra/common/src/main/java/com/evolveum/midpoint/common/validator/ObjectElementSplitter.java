@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.common.validator;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.codehaus.staxmate.dom.DOMConverter;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import com.evolveum.midpoint.schema.constants.SchemaConstants;
+import com.evolveum.midpoint.util.DOMUtil;
+import com.evolveum.midpoint.util.QNameUtil;
+import com.evolveum.midpoint.util.exception.SystemException;
+
+/**
+ * Splits XML input to standalone object elements without parsing them to prism.
+ *
+ * The input is either single object or `objects` element with objects as its children, the same as for
+ * {@link LegacyValidator#validate(InputStream, com.evolveum.midpoint.schema.result.OperationResult, String)}.
+ * Namespace declarations of the `objects` element are copied to each object element, so the elements can be
+ * parsed independently, e.g. by {@link LegacyValidator#validateObject(Element, com.evolveum.midpoint.schema.result.OperationResult)}
+ * called from multiple threads.
+ *
+ * Splitting only copies StAX events to small DOM documents, which is much cheaper than prism parsing.
+ */
+public class ObjectElementSplitter {
+
+    /**
+     * Reads object elements from the input and passes them to the consumer, until the input is depleted
+     * or consumer returns false.
+     *
+     * @return number of object elements passed to the consumer
+     */
+    public long split(InputStream inputStream, Predicate<Element> consumer) throws XMLStreamException {
+        DOMConverter domConverter = new DOMConverter();
+        Map<String, String> rootNamespaceDeclarations = new HashMap<>();
+
+        XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        XMLStreamReader stream = xmlInputFactory.createXMLStreamReader(inputStream);
+
+        int eventType = stream.nextTag();
+        if (eventType != XMLStreamConstants.START_ELEMENT) {
+            // We do not want DTD or entities, e.g. we want to void XXE vulnerabilities.
+            throw new SystemException("Use of " + eventType + " in XML is prohibited");
+        }
+
+        if (!QNameUtil.match(stream.getName(), SchemaConstants.C_OBJECTS)) {
+            // single object in the input
+            consumer.test(readElement(stream, rootNamespaceDeclarations, domConverter));
+            return 1;
+        }
+
+        for (int i = 0; i < stream.getNamespaceCount(); i++) {
+            rootNamespaceDeclarations.put(stream.getNamespacePrefix(i), stream.getNamespaceURI(i));
+        }
+
+        long count = 0;
+        while (stream.hasNext()) {
+            eventType = stream.next();
+            if (eventType != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            count++;
+            if (!consumer.test(readElement(stream, rootNamespaceDeclarations, domConverter))) {
+                break;
+            }
+        }
+
+        return count;
+    }
+
+    private Element readElement(XMLStreamReader stream, Map<String, String> rootNamespaceDeclarations,
+            DOMConverter domConverter) throws XMLStreamException {
+        Document objectDoc = domConverter.buildDocument(stream);
+
+        Element objectElement = DOMUtil.getFirstChildElement(objectDoc);
+        DOMUtil.setNamespaceDeclarations(objectElement, rootNamespaceDeclarations);
+
+        return objectElement;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.validator.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLStreamException;
+
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import com.evolveum.midpoint.common.validator.EventHandler;
+import com.evolveum.midpoint.common.validator.EventResult;
+import com.evolveum.midpoint.common.validator.LegacyValidator;
+import com.evolveum.midpoint.common.validator.ObjectElementSplitter;
+import com.evolveum.midpoint.prism.Objectable;
+import com.evolveum.midpoint.prism.util.PrismTestUtil;
+import com.evolveum.midpoint.schema.MidPointPrismContextFactory;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.test.util.InfraTestMixin;
+import com.evolveum.midpoint.tools.testng.AbstractUnitTest;
+import com.evolveum.midpoint.util.exception.SchemaException;
+
+/**
+ * Tests splitting of XML input to standalone object elements, as used by parallel import in ninja.
+ */
+public class ObjectElementSplitterTest extends AbstractUnitTest
+        implements InfraTestMixin {
+
+    private static final String THREE_OBJECTS = BasicValidatorTest.BASE_PATH + "three-objects.xml";
+    private static final String NOT_WELL_FORMED = BasicValidatorTest.BASE_PATH + "not-well-formed.xml";
+
+    @BeforeSuite
+    public void setup() throws SchemaException, SAXException, IOException {
+        PrismTestUtil.resetPrismContext(MidPointPrismContextFactory.FACTORY);
+    }
+
+    @Test
+    public void splitObjects() throws Exception {
+        List<Element> elements = new ArrayList<>();
+
+        long count;
+        try (InputStream is = new FileInputStream(THREE_OBJECTS)) {
+            count = new ObjectElementSplitter().split(is, elements::add);
+        }
+
+        assertThat(count).isEqualTo(3);
+        assertThat(elements)
+                .extracting(e -> e.getAttribute("oid"))
+                .containsExactly(
+                        "c0c010c0-d34d-b33f-f00d-111111111111",
+                        "c0c010c0-d34d-b33f-f00d-111111111112",
+                        "c0c010c0-d34d-b33f-f00d-111111111113");
+    }
+
+    /** Namespaces are declared only on the `objects` element, yet each split element must be parseable on its own. */
+    @Test
+    public void splitElementsAreParseable() throws Exception {
+        List<String> names = new ArrayList<>();
+        LegacyValidator<Objectable> validator = new LegacyValidator<>(PrismTestUtil.getPrismContext(), new EventHandler<>() {
+            @Override
+            public EventResult preMarshall(Element objectElement, Node postValidationTree, OperationResult objectResult) {
+                return EventResult.cont();
+            }
+
+            @Override
+            public EventResult postMarshall(Objectable object, Element objectElement, OperationResult objectResult) {
+                names.add(object.getName().getOrig());
+                return EventResult.cont();
+            }
+
+            @Override
+            public void handleGlobalError(OperationResult currentResult) { /* nothing */ }
+        });
+        validator.setValidateSchema(false);
+
+        String xml = """
+                <c:objects xmlns:c="http://midpoint.evolveum.com/xml/ns/public/common/common-3">
+                    <c:user oid="c0c010c0-d34d-b33f-f00d-111111111111"><c:name>jack</c:name></c:user>
+                    <c:role oid="c0c010c0-d34d-b33f-f00d-222222222222"><c:name>pirate</c:name></c:role>
+                </c:objects>
+                """;
+
+        OperationResult result = createOperationResult();
+        new ObjectElementSplitter().split(toStream(xml), element -> {
+            validator.validateObject(element, result.createSubresult("validateObject"));
+            return true;
+        });
+
+        assertThat(names).containsExactly("jack", "pirate");
+    }
+
+    @Test
+    public void splitSingleObject() throws Exception {
+        List<Element> elements = new ArrayList<>();
+
+        long count = new ObjectElementSplitter().split(
+                toStream("<user xmlns=\"http://midpoint.evolveum.com/xml/ns/public/common/common-3\" oid=\"1\">"
+                        + "<name>jack</name></user>"),
+                elements::add);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(elements).hasSize(1);
+        assertThat(elements.get(0).getLocalName()).isEqualTo("user");
+    }
+
+    @Test
+    public void stopWhenConsumerRefuses() throws Exception {
+        List<Element> elements = new ArrayList<>();
+
+        try (InputStream is = new FileInputStream(THREE_OBJECTS)) {
+            new ObjectElementSplitter().split(is, element -> {
+                elements.add(element);
+                return elements.size() < 2;
+            });
+        }
+
+        assertThat(elements).hasSize(2);
+    }
+
+    @Test
+    public void notWellFormed() throws Exception {
+        try (InputStream is = new FileInputStream(NOT_WELL_FORMED)) {
+            assertThatThrownBy(() -> new ObjectElementSplitter().split(is, element -> true))
+                    .isInstanceOf(XMLStreamException.class);
+        }
+    }
+
+    private InputStream toStream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -44,6 +44,9 @@ public class GetOperationOptions extends AbstractOptions implements Serializable
 
     public static final GetOperationOptions EMPTY = new GetOperationOptions();
 
+    /** Counts lower than this are always exact, see {@link #estimatedCount}. */
+    public static final int EXACT_COUNT_THRESHOLD = 10_000;
+
     /**
      * Specifies whether to return specific items. It is used for optimizations.
      * Some requests only needs a subset of items therefore fetching them all is a waste
@@ -208,6 +211,14 @@ public class GetOperationOptions extends AbstractOptions implements Serializable
      */
     private Boolean attachDiagData;
 
+    /**
+     * Whether the count operation may return number estimated by the database planner instead of exact count.
+     * Estimate is used only if it is at least {@link #EXACT_COUNT_THRESHOLD}, lower counts are always exact.
+     * Applicable only to the repository count operations, other providers count exactly.
+     */
+    @Experimental
+    private Boolean estimatedCount;
+
     /**
      * TODO, currently used only in model-impl SchemaTransformer, so it seems.
      */
@@ -908,6 +919,29 @@ public class GetOperationOptions extends AbstractOptions implements Serializable
         return this;
     }
 
+    public Boolean getEstimatedCount() {
+        return estimatedCount;
+    }
+
+    public void setEstimatedCount(Boolean value) {
+        this.estimatedCount = value;
+    }
+
+    public GetOperationOptions estimatedCount(Boolean value) {
+        this.estimatedCount = value;
+        return this;
+    }
+
+    public static boolean isEstimatedCount(GetOperationOptions options) {
+        if (options == null) {
+            return false;
+        }
+        if (options.estimatedCount == null) {
+            return false;
+        }
+        return options.estimatedCount;
+    }
+
     public static boolean isAttachDiagData(GetOperationOptions options) {
         if (options == null) {
             return false;
@@ -1095,6 +1129,7 @@ public class GetOperationOptions extends AbstractOptions implements Serializable
                 Objects.equals(forceRetry, that.forceRetry) &&
                 Objects.equals(distinct, that.distinct) &&
                 Objects.equals(attachDiagData, that.attachDiagData) &&
+                Objects.equals(estimatedCount, that.estimatedCount) &&
                 Objects.equals(definitionProcessing, that.definitionProcessing) &&
                 Objects.equals(iterationMethod, that.iterationMethod) &&
                 Objects.equals(executionPhase, that.executionPhase) &&
@@ -1112,7 +1147,7 @@ public class GetOperationOptions extends AbstractOptions implements Serializable
         return Objects
                 .hash(retrieve, resolve, resolveNames, noFetch, raw, tolerateRawData, doNotDiscovery,
                         allowNotFound, readOnly, staleness, distinct, definitionProcessing, attachDiagData, executionPhase,
-                        shadowClassificationMode);
+                        shadowClassificationMode, estimatedCount);
     }
 
     @SuppressWarnings("MethodDoesntCallSuperMethod")
@@ -1136,6 +1171,7 @@ public class GetOperationOptions extends AbstractOptions implements Serializable
         clone.forceRetry = this.forceRetry;
         clone.distinct = this.distinct;
         clone.attachDiagData = this.attachDiagData;
+        clone.estimatedCount = this.estimatedCount;
         clone.definitionProcessing = this.definitionProcessing;
         clone.iterationMethod = this.iterationMethod;
         clone.executionPhase = this.executionPhase;
@@ -1172,6 +1208,7 @@ public class GetOperationOptions extends AbstractOptions implements Serializable
         appendFlag(sb, "forceRetry", forceRetry);
         appendVal(sb, "distinct", distinct);
         appendFlag(sb, "attachDiagData", attachDiagData);
+        appendFlag(sb, "estimatedCount", estimatedCount);
         appendVal(sb, "definitionProcessing", definitionProcessing);
         appendVal(sb, "iterationMethod", iterationMethod);
         appendFlag(sb, "executionPhase", executionPhase);
@@ -1337,6 +1374,9 @@ public class GetOperationOptions extends AbstractOptions implements Serializable
         if (increment.attachDiagData != null) {
             this.attachDiagData = increment.attachDiagData;
         }
+        if (increment.estimatedCount != null) {
+            this.estimatedCount = increment.estimatedCount;
+        }
         if (increment.definitionProcessing != null) {
             this.definitionProcessing = increment.definitionProcessing;
         }
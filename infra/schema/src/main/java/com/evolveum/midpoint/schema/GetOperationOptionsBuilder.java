@@ -67,6 +67,8 @@ public interface GetOperationOptionsBuilder {
     GetOperationOptionsBuilder distinct(Boolean value);
     GetOperationOptionsBuilder attachDiagData();
     GetOperationOptionsBuilder attachDiagData(Boolean value);
+    GetOperationOptionsBuilder estimatedCount();
+    GetOperationOptionsBuilder estimatedCount(Boolean value);
     GetOperationOptionsBuilder definitionProcessing(DefinitionProcessingOption value);
     GetOperationOptionsBuilder definitionUpdate(DefinitionUpdateOption value);
     GetOperationOptionsBuilder iterationMethod(IterationMethodType value);
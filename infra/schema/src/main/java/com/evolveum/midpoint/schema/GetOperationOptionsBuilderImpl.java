@@ -234,6 +234,16 @@ public class GetOperationOptionsBuilderImpl
         return forPaths(opts -> opts.setAttachDiagData(value));
     }
 
+    @Override
+    public GetOperationOptionsBuilder estimatedCount() {
+        return estimatedCount(true);
+    }
+
+    @Override
+    public GetOperationOptionsBuilder estimatedCount(Boolean value) {
+        return forPaths(opts -> opts.setEstimatedCount(value));
+    }
+
     @Override
     public GetOperationOptionsBuilder definitionProcessing(DefinitionProcessingOption value) {
         return forPaths(opts -> opts.setDefinitionProcessing(value));
@@ -54,6 +54,12 @@ public enum InternalCounters {
 
     REPOSITORY_READ_COUNT("repositoryReadCount", "repository read count", null),
 
+    /** Object was read from the repository without the full object, only from the indexed columns. */
+    REPOSITORY_PARTIAL_READ_COUNT("repositoryPartialReadCount", "repository partial read count", null),
+
+    /** Partial read was requested (root excluded), but the full object had to be fetched and parsed anyway. */
+    REPOSITORY_PARTIAL_READ_MATERIALIZED_COUNT("repositoryPartialReadMaterializedCount", "repository partial read materialized count", null),
+
     PRISM_OBJECT_COMPARE_COUNT("prismObjectCompareCount", "prism object compare count", InternalOperationClasses.PRISM_OPERATIONS),
 
     PRISM_OBJECT_CLONE_COUNT("prismObjectCloneCount", "prism object clone count", InternalOperationClasses.PRISM_OPERATIONS),
@@ -64,7 +70,13 @@ public enum InternalCounters {
 
     PROJECTOR_RUN_COUNT("projectorRunCount", "projector run count", null),
 
-    TRIGGER_FIRED_COUNT("triggerFiredCount", "trigger fired count", null);
+    TRIGGER_FIRED_COUNT("triggerFiredCount", "trigger fired count", null),
+
+    /** Reviewers of certification cases were resolved, i.e. not taken from the cache. */
+    CERTIFICATION_REVIEWERS_RESOLUTION_COUNT("certificationReviewersResolutionCount", "certification reviewers resolution count", null),
+
+    /** Full shadow loaded concurrently in advance was put into the projection context. */
+    PROJECTION_FULL_SHADOW_PREFETCH_COUNT("projectionFullShadowPrefetchCount", "projection full shadow prefetch count", null);
 
     // Used as localization key
     private final String key;
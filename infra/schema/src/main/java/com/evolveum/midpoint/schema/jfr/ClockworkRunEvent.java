@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.schema.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Run of the clockwork, i.e. processing of a model operation from the beginning to the end
+ * (or to the point where it goes into background).
+ */
+@Name(ClockworkRunEvent.NAME)
+@Label("Clockwork Run")
+@Category({ "midPoint", "Model" })
+@Description("Run of the midPoint clockwork for a focus object")
+@Threshold("10 ms")
+@StackTrace(false)
+public class ClockworkRunEvent extends Event {
+
+    public static final String NAME = "com.evolveum.midpoint.ClockworkRun";
+
+    @Label("Focus Type")
+    public String focusType;
+
+    @Label("OID")
+    public String oid;
+
+    @Label("Channel")
+    public String channel;
+
+    @Label("Projections")
+    public int projections;
+
+    @Label("Status")
+    @Description("Status of the operation result")
+    public String status;
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.schema.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * ConnId operation on a resource. Operations suspended while midPoint processes objects returned by the connector
+ * (search, live sync) are recorded as separate events, one for each uninterrupted execution segment; so the duration
+ * of an event is the time spent in the connector.
+ */
+@Name(ConnectorOperationEvent.NAME)
+@Label("Connector Operation")
+@Category({ "midPoint", "Provisioning" })
+@Description("ConnId operation (or its uninterrupted part) on a resource")
+@Threshold("10 ms")
+public class ConnectorOperationEvent extends Event {
+
+    public static final String NAME = "com.evolveum.midpoint.ConnectorOperation";
+
+    @Label("Identifier")
+    @Description("Identifier of the ConnId operation, the same for all execution segments of the operation")
+    public String identifier;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Resource OID")
+    public String resourceOid;
+
+    @Label("Resource Name")
+    public String resourceName;
+
+    @Label("Object Class")
+    public String objectClass;
+
+    @Label("UID")
+    public String uid;
+
+    @Label("Success")
+    @Description("False if the operation (or this segment of it) ended with an exception")
+    public boolean success;
+}
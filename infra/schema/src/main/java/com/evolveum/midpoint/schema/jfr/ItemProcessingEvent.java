@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.schema.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Processing of a single item by an iterative activity, including the administration around it
+ * (statistics, operation execution records, error handling).
+ */
+@Name(ItemProcessingEvent.NAME)
+@Label("Item Processing")
+@Category({ "midPoint", "Activity" })
+@Description("Processing of an item by a midPoint activity")
+@Threshold("10 ms")
+@StackTrace(false)
+public class ItemProcessingEvent extends Event {
+
+    public static final String NAME = "com.evolveum.midpoint.ItemProcessing";
+
+    @Label("Task OID")
+    @Description("OID of the task that runs the activity (for multi-threaded activities, the coordinator task)")
+    public String taskOid;
+
+    @Label("Activity Path")
+    public String activityPath;
+
+    @Label("Activity Type")
+    public String activityType;
+
+    @Label("Object Type")
+    public String objectType;
+
+    @Label("OID")
+    public String oid;
+
+    @Label("Name")
+    public String name;
+
+    @Label("Outcome")
+    @Description("Outcome of the processing: success, failure, or skip")
+    public String outcome;
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.schema.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Operation of the repository or audit service, e.g. `SqaleRepositoryService.getObject`.
+ * Nested operations (e.g. those invoked from iterative search handlers) are recorded separately.
+ */
+@Name(RepositoryOperationEvent.NAME)
+@Label("Repository Operation")
+@Category({ "midPoint", "Repository" })
+@Description("Operation of the midPoint repository or audit service")
+@Threshold("10 ms")
+public class RepositoryOperationEvent extends Event {
+
+    public static final String NAME = "com.evolveum.midpoint.RepositoryOperation";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Object Type")
+    public String objectType;
+
+    @Label("OID")
+    public String oid;
+
+    @Label("Attempts")
+    @Description("Number of attempts, greater than 1 if the operation was retried e.g. because of a serialization conflict")
+    public int attempts = 1;
+}
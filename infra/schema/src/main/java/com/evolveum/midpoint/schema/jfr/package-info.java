@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+/**
+ * Java Flight Recorder (JFR) events emitted by midPoint.
+ *
+ * The events allow correlating low-level data collected by JFR (JDBC calls, socket reads, thread stacks, allocations)
+ * with midPoint operations, e.g. repository calls, ConnId operations, clockwork runs, and processing of activity items.
+ * They are cheap: if JFR is not recording (or the event is disabled), the cost is a few field writes;
+ * otherwise, only events longer than the threshold (10 ms by default) are committed. The threshold can be changed
+ * in the JFR settings, e.g. `com.evolveum.midpoint.RepositoryOperation#threshold=0 ms`.
+ *
+ * All the events belong to the `midPoint` category.
+ */
+package com.evolveum.midpoint.schema.jfr;
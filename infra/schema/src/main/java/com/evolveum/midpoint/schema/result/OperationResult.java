@@ -208,6 +208,11 @@ public class OperationResult
      */
     private static final int DEFAULT_SUBRESULT_STRIP_THRESHOLD = 10;
 
+    /** Value of {@link #leanDepth} meaning that the lean mode is not active. */
+    private static final int NOT_LEAN = -1;
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
     @NotNull private static final OperationResultHandlingStrategyType DEFAULT_HANDLING_STRATEGY = new OperationResultHandlingStrategyType();
     @NotNull private volatile static List<OperationResultHandlingStrategyType> handlingStrategies = emptyList();
     @NotNull private static OperationResultHandlingStrategyType globalHandlingStrategy = DEFAULT_HANDLING_STRATEGY;
@@ -303,6 +308,18 @@ public class OperationResult
      */
     private boolean recordingValues = true;
 
+    /**
+     * If not {@link #NOT_LEAN}, the result is in the "lean" mode, see {@link #lean(int)}. The value is the number of levels
+     * of subresults (below this one) that are kept in full. Propagated to subresults. (NOT SERIALIZED)
+     */
+    private int leanDepth = NOT_LEAN;
+
+    /**
+     * Parent result, if this result is created in the lean mode below the depth that is kept in full.
+     * Such a result is collapsed into its parent on {@link #close()}, if successful. (NOT SERIALIZED)
+     */
+    private transient OperationResult leanParent;
+
     /**
      * True if we collect log entries.
      * Maybe it could be replaced by checking {@link #logRecorder} being not null and open?
@@ -433,9 +450,22 @@ public class OperationResult
         subresult.recordingValues = recordingValues;
         subresult.parentLogRecorder = logRecorder;
         subresult.propagateHandledErrorAsSuccess = propagateHandledErrorAsSuccess;
+        subresult.inheritLeanMode(this);
         return subresult;
     }
 
+    private void inheritLeanMode(OperationResult parent) {
+        if (parent.leanDepth == NOT_LEAN) {
+            return;
+        }
+        if (parent.leanDepth > 0) {
+            leanDepth = parent.leanDepth - 1;
+        } else {
+            leanDepth = 0;
+            leanParent = parent;
+        }
+    }
+
     public static OperationResultBuilder createFor(String operation) {
         OperationResult rv = new OperationResult(operation);
         rv.building = true;
@@ -507,9 +537,17 @@ public class OperationResult
     }
 
     private Object[] createArguments() {
+        // Not calling getParams() and getContext(), to avoid creating the maps just to find out they are empty.
+        if (params == null && context == null) {
+            return NO_ARGUMENTS;
+        }
         List<String> arguments = new ArrayList<>();
-        getParams().forEach((key, value) -> arguments.add(key + " => " + value)); // todo what with large values?
-        getContext().forEach((key, value) -> arguments.add("c:" + key + " => " + value));
+        if (params != null) {
+            params.forEach((key, value) -> arguments.add(key + " => " + value)); // todo what with large values?
+        }
+        if (context != null) {
+            context.forEach((key, value) -> arguments.add("c:" + key + " => " + value));
+        }
         return arguments.toArray();
     }
 
@@ -527,6 +565,7 @@ public class OperationResult
         addSubresult(subresult);
         subresult.parentLogRecorder = logRecorder;
         subresult.importance = minor ? MINOR : NORMAL;
+        subresult.inheritLeanMode(this);
         subresult.recordStart(operation, arguments);
         return subresult;
     }
@@ -1161,6 +1200,26 @@ public class OperationResult
         return this;
     }
 
+    /**
+     * Switches this result (and its future subresults) to the "lean" mode, suitable for high-volume processing:
+     * values (parameters, context, return values) are not recorded, and successful subresults deeper than `fullDepth`
+     * levels below this result are collapsed into counters when closed - see {@link #collapseIntoLeanParent()}.
+     *
+     * Ignored if the result is traced or preserved.
+     */
+    @Override
+    public OperationResultBuilder lean(int fullDepth) {
+        if (tracingProfile == null && !preserve) {
+            this.leanDepth = Math.max(0, fullDepth);
+            this.recordingValues = false;
+        }
+        return this;
+    }
+
+    public boolean isLean() {
+        return leanDepth != NOT_LEAN;
+    }
+
     @Override
     public OperationResultBuilder tracingProfile(CompiledTracingProfile profile) {
         this.tracingProfile = profile;
@@ -1293,6 +1352,54 @@ public class OperationResult
 
     public void close() {
         computeStatusIfUnknown();
+        if (leanParent != null) {
+            collapseIntoLeanParent();
+        }
+    }
+
+    /**
+     * In the lean mode, a successful result (below the depth kept in full) is collapsed on close: its subresults
+     * are dropped, and it is merged into a sibling with the same operation and status, if there is one. So, the parent
+     * keeps only a single result - a counter - for each operation and status, instead of the whole subtrees.
+     *
+     * Unsuccessful results are kept in full, as are traced or preserved ones.
+     */
+    private void collapseIntoLeanParent() {
+        OperationResult parent = leanParent;
+        leanParent = null;
+        if (status != OperationResultStatus.SUCCESS && status != OperationResultStatus.NOT_APPLICABLE
+                || !canBeCleanedUp()
+                || parent.subresults == null) {
+            return;
+        }
+        subresults = null;
+
+        // Usually, this result is the last one, and the counter (if any) is not far from it.
+        List<OperationResult> siblings = parent.subresults;
+        int index = -1;
+        OperationResult counter = null;
+        for (int i = siblings.size() - 1; i >= 0 && (index < 0 || counter == null); i--) {
+            OperationResult sibling = siblings.get(i);
+            if (sibling == this) {
+                index = i;
+            } else if (counter == null && sibling.canCountLeanResult(this)) {
+                counter = sibling;
+            }
+        }
+        if (index >= 0 && counter != null) {
+            merge(counter, this);
+            siblings.remove(index);
+        }
+    }
+
+    private boolean canCountLeanResult(OperationResult other) {
+        return operation.equals(other.operation)
+                && status == other.status
+                && Objects.equals(message, other.message)
+                && (subresults == null || subresults.isEmpty())
+                && !representsHiddenRecords()
+                && canBeCleanedUp()
+                && isClosed();
     }
 
     public boolean isClosed() {
@@ -2414,9 +2521,16 @@ public class OperationResult
     }
 
     private void merge(OperationResult target, OperationResult source) {
-        mergeMap(target.getParams(), source.getParams());
-        mergeMap(target.getContext(), source.getContext());
-        mergeMap(target.getReturns(), source.getReturns());
+        // Avoiding creation of the maps if they are not present on either side (e.g. when not recording values).
+        if (target.params != null || source.params != null) {
+            mergeMap(target.getParams(), source.getParams());
+        }
+        if (target.context != null || source.context != null) {
+            mergeMap(target.getContext(), source.getContext());
+        }
+        if (target.returns != null || source.returns != null) {
+            mergeMap(target.getReturns(), source.getReturns());
+        }
         target.incrementCount();
         target.microseconds = addMicroseconds(target.microseconds, source.microseconds);
         target.ownMicroseconds = addMicroseconds(target.ownMicroseconds, source.ownMicroseconds);
@@ -101,4 +101,6 @@ public interface OperationResultBuilder {
     OperationResultBuilder preserve();
 
     OperationResultBuilder notRecordingValues();
+
+    OperationResultBuilder lean(int fullDepth);
 }
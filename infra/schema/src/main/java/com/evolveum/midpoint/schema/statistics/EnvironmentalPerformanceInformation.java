@@ -14,10 +14,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.xml.datatype.DatatypeConstants;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Locale;
-import java.util.Map;
+import java.util.*;
 
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 
@@ -39,9 +36,13 @@ public class EnvironmentalPerformanceInformation {
 
     private final ProvisioningStatistics provisioningStatistics;
     private final Map<NotificationsStatisticsKey,GenericStatisticsData> notificationsData = new HashMap<>();
-    private final Map<MappingsStatisticsKey,GenericStatisticsData> mappingsData = new HashMap<>();
+    private final Map<MappingsStatisticsKey, MappingStatisticsData> mappingsData = new HashMap<>();
 
-    private static final int AGGREGATION_THRESHOLD = 50;
+    /**
+     * Mappings with the highest total evaluation time are reported individually; the others are aggregated per object type.
+     * This keeps the statistics stored in the task reasonably small.
+     */
+    private static final int MAX_INDIVIDUAL_MAPPING_ENTRIES = 100;
 
     private StatusMessage lastMessage;
 
@@ -95,28 +96,32 @@ public class EnvironmentalPerformanceInformation {
     }
 
     private MappingsStatisticsType toMappingsStatisticsType() {
-        final MappingsStatisticsType rv = new MappingsStatisticsType();
-        final Map<String,Integer> entriesPerType = new HashMap<>();
-        for (MappingsStatisticsKey key: mappingsData.keySet()) {
-            Integer current = entriesPerType.get(key.getObjectType());
-            entriesPerType.put(key.getObjectType(), current != null ? current+1 : 1);
-        }
-        for (Map.Entry<MappingsStatisticsKey, GenericStatisticsData> entry : mappingsData.entrySet()) {
-            final MappingsStatisticsKey key = entry.getKey();
-            final String targetEntryName;
-            if (entriesPerType.get(key.getObjectType()) < AGGREGATION_THRESHOLD) {
-                targetEntryName = key.getObjectName();
+        MappingsStatisticsType rv = new MappingsStatisticsType();
+        List<Map.Entry<MappingsStatisticsKey, MappingStatisticsData>> entries = new ArrayList<>(mappingsData.entrySet());
+        entries.sort(Comparator.comparingLong(
+                (Map.Entry<MappingsStatisticsKey, MappingStatisticsData> e) -> e.getValue().getTotalMicros()).reversed());
+        for (int i = 0; i < entries.size(); i++) {
+            MappingsStatisticsKey key = entries.get(i).getKey();
+            MappingStatisticsData data = entries.get(i).getValue();
+            String object, mappingName, expressionType;
+            if (i < MAX_INDIVIDUAL_MAPPING_ENTRIES) {
+                object = key.getObjectName();
+                mappingName = key.getMappingName();
+                expressionType = key.getExpressionType();
             } else {
-                targetEntryName = key.getObjectType() + " (aggregated)";
+                object = key.getObjectType() + " (aggregated)";
+                mappingName = null;
+                expressionType = null;
             }
-            MappingsStatisticsEntryType entryType = findMappingsEntryType(rv.getEntry(), targetEntryName);
+            MappingsStatisticsEntryType entryType = findMappingsEntryType(rv.getEntry(), object, mappingName, expressionType);
             if (entryType == null) {
                 entryType = new MappingsStatisticsEntryType();
-                entryType.setObject(targetEntryName);
+                entryType.setObject(object);
+                entryType.setMappingName(mappingName);
+                entryType.setExpressionType(expressionType);
                 rv.getEntry().add(entryType);
             }
-            setValueMapping(entryType, entry.getValue().getCount(),
-                    entry.getValue().getMinDuration(), entry.getValue().getMaxDuration(), entry.getValue().getTotalDuration());
+            setValueMapping(entryType, data);
         }
         return rv;
     }
@@ -137,15 +142,30 @@ public class EnvironmentalPerformanceInformation {
         e.setTotalTime(e.getTotalTime() + totalDuration);
     }
 
-    private void setValueMapping(MappingsStatisticsEntryType e, int count, long min, long max, long totalDuration) {
-        e.setCount(e.getCount() + count);
+    private void setValueMapping(MappingsStatisticsEntryType e, MappingStatisticsData data) {
+        long min = toMillis(data.getMinMicros());
+        long max = toMillis(data.getMaxMicros());
+        e.setCount(e.getCount() + data.getCount());
         if (e.getMinTime() == null || min < e.getMinTime()) {
             e.setMinTime(min);
         }
         if (e.getMaxTime() == null || max > e.getMaxTime()) {
             e.setMaxTime(max);
         }
-        e.setTotalTime(e.getTotalTime() + totalDuration);
+        e.setTotalTime(e.getTotalTime() + toMillis(data.getTotalMicros()));
+        e.setAverageTime(e.getCount() > 0 ? e.getTotalTime() / e.getCount() : null);
+        data.addHistogramTo(e.getHistogram());
+        updatePercentiles(e);
+    }
+
+    private static long toMillis(long micros) {
+        return Math.round(micros / 1000.0);
+    }
+
+    private static void updatePercentiles(MappingsStatisticsEntryType e) {
+        e.setPercentile50Time(MappingStatisticsData.estimatePercentile(e.getHistogram(), 50));
+        e.setPercentile95Time(MappingStatisticsData.estimatePercentile(e.getHistogram(), 95));
+        e.setPercentile99Time(MappingStatisticsData.estimatePercentile(e.getHistogram(), 99));
     }
 
     private EnvironmentalPerformanceInformationType aggregate(EnvironmentalPerformanceInformationType startValue, EnvironmentalPerformanceInformationType delta) {
@@ -226,11 +246,13 @@ public class EnvironmentalPerformanceInformation {
 
         MappingsStatisticsType rvMST = rv.getMappingsStatistics();
         for (MappingsStatisticsEntryType de : delta.getEntry()) {
-            String object = de.getObject();
-            MappingsStatisticsEntryType e = findMappingsEntryType(rvMST.getEntry(), object);
+            MappingsStatisticsEntryType e =
+                    findMappingsEntryType(rvMST.getEntry(), de.getObject(), de.getMappingName(), de.getExpressionType());
             if (e == null) {
                 e = new MappingsStatisticsEntryType();
-                e.setObject(object);
+                e.setObject(de.getObject());
+                e.setMappingName(de.getMappingName());
+                e.setExpressionType(de.getExpressionType());
                 rvMST.getEntry().add(e);
             }
             e.setCount(e.getCount() + de.getCount());
@@ -242,12 +264,19 @@ public class EnvironmentalPerformanceInformation {
             } else {
                 e.setAverageTime(null);
             }
+            for (MappingsStatisticsHistogramBucketType bucket : de.getHistogram()) {
+                MappingStatisticsData.addToHistogram(e.getHistogram(), bucket.getIndex(), bucket.getCount());
+            }
+            updatePercentiles(e);
         }
     }
 
-    private static MappingsStatisticsEntryType findMappingsEntryType(List<MappingsStatisticsEntryType> list, String object) {
+    private static MappingsStatisticsEntryType findMappingsEntryType(
+            List<MappingsStatisticsEntryType> list, String object, String mappingName, String expressionType) {
         for (MappingsStatisticsEntryType lineDto : list) {
-            if (StringUtils.equals(lineDto.getObject(), object)) {
+            if (StringUtils.equals(lineDto.getObject(), object)
+                    && StringUtils.equals(lineDto.getMappingName(), mappingName)
+                    && StringUtils.equals(lineDto.getExpressionType(), expressionType)) {
                 return lineDto;
             }
         }
@@ -299,15 +328,12 @@ public class EnvironmentalPerformanceInformation {
         data.recordOperation(duration, 1);
     }
 
-    public synchronized void recordMappingOperation(String objectOid, String objectName, String objectTypeName, String mappingName, long duration) {
-        // ignoring mapping name for now
-        MappingsStatisticsKey key = new MappingsStatisticsKey(objectOid, objectName, objectTypeName);
-        GenericStatisticsData data = mappingsData.get(key);
-        if (data == null) {
-            data = new GenericStatisticsData();
-            mappingsData.put(key, data);
-        }
-        data.recordOperation(duration, 1);
+    public synchronized void recordMappingOperation(String objectOid, String objectName, String objectTypeName,
+            String mappingName, String expressionType, long durationMicros) {
+        MappingsStatisticsKey key = new MappingsStatisticsKey(objectOid, objectName, objectTypeName, mappingName, expressionType);
+        mappingsData
+                .computeIfAbsent(key, k -> new MappingStatisticsData())
+                .recordOperation(durationMicros);
     }
 
     public synchronized StatusMessage getLastMessage() {
@@ -346,9 +372,12 @@ public class EnvironmentalPerformanceInformation {
     private static String format(MappingsStatisticsType information) {
         StringBuilder sb = new StringBuilder();
         for (MappingsStatisticsEntryType e : information.getEntry()) {
-            sb.append(String.format(Locale.US, "    %-40s count: %6d, total time: %6d ms [min: %5d, max: %5d, avg: %7.1f]\n", e.getObject(),
+            sb.append(String.format(Locale.US, "    %-40s %-30s %-10s count: %6d, total time: %6d ms "
+                            + "[min: %5d, max: %5d, avg: %7.1f, p95: %7.1f]\n",
+                    e.getObject(), defaultIfNull(e.getMappingName(), ""), defaultIfNull(e.getExpressionType(), ""),
                     e.getCount(), e.getTotalTime(), defaultIfNull(e.getMinTime(), 0L),
-                    defaultIfNull(e.getMaxTime(), 0L), avg(e.getTotalTime(), e.getCount())));
+                    defaultIfNull(e.getMaxTime(), 0L), avg(e.getTotalTime(), e.getCount()),
+                    defaultIfNull(e.getPercentile95Time(), 0.0)));
         }
         return sb.toString();
     }
@@ -8,6 +8,14 @@ package com.evolveum.midpoint.schema.statistics;
 
 public interface MappingStatisticsCollector {
 
-    void recordMappingOperation(String objectOid, String objectName, String objectTypeName, String mappingName, long duration);
+    /**
+     * Records an evaluation of a mapping.
+     *
+     * @param mappingName Name of the mapping (or of its target item, if the mapping has no name)
+     * @param expressionType Type of the expression evaluator, e.g. "script"
+     * @param durationMicros Duration of the evaluation, in microseconds
+     */
+    void recordMappingOperation(String objectOid, String objectName, String objectTypeName, String mappingName,
+            String expressionType, long durationMicros);
 
 }
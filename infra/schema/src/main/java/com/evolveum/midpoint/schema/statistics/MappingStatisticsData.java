@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.schema.statistics;
+
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.evolveum.midpoint.xml.ns._public.common.common_3.MappingsStatisticsHistogramBucketType;
+
+/**
+ * Statistics of evaluations of a single mapping: like {@link GenericStatisticsData}, but with microsecond precision
+ * and with a histogram of durations, so percentiles can be estimated.
+ *
+ * Bucket N of the histogram contains durations less than 2^N microseconds (and at least 2^(N-1) microseconds).
+ * So the recording is cheap (no allocation, no sorting), and the histograms can be aggregated simply by adding
+ * the counts, even after being stored in the task.
+ */
+public class MappingStatisticsData {
+
+    /** 2^39 microseconds is about 6 days, so this is more than enough. */
+    private static final int BUCKETS = 40;
+
+    private int count;
+    private long totalMicros;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros;
+    private final int[] histogram = new int[BUCKETS];
+
+    public void recordOperation(long durationMicros) {
+        count++;
+        totalMicros += durationMicros;
+        minMicros = Math.min(minMicros, durationMicros);
+        maxMicros = Math.max(maxMicros, durationMicros);
+        histogram[getBucketIndex(durationMicros)]++;
+    }
+
+    /** Adds another data (e.g. when aggregating more mappings into one entry). */
+    public void add(@NotNull MappingStatisticsData other) {
+        count += other.count;
+        totalMicros += other.totalMicros;
+        minMicros = Math.min(minMicros, other.minMicros);
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] += other.histogram[i];
+        }
+    }
+
+    private static int getBucketIndex(long durationMicros) {
+        int index = Long.SIZE - Long.numberOfLeadingZeros(Math.max(durationMicros, 0));
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+
+    public long getMinMicros() {
+        return count > 0 ? minMicros : 0;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    /** Appends non-empty buckets to the list of histogram bucket beans. */
+    public void addHistogramTo(@NotNull List<MappingsStatisticsHistogramBucketType> buckets) {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (histogram[i] > 0) {
+                addToHistogram(buckets, i, histogram[i]);
+            }
+        }
+    }
+
+    static void addToHistogram(@NotNull List<MappingsStatisticsHistogramBucketType> buckets, int index, int count) {
+        for (MappingsStatisticsHistogramBucketType bucket : buckets) {
+            if (bucket.getIndex() == index) {
+                bucket.setCount(bucket.getCount() + count);
+                return;
+            }
+        }
+        buckets.add(new MappingsStatisticsHistogramBucketType()
+                .index(index)
+                .count(count));
+    }
+
+    /**
+     * Estimates the percentile (0-100) from the histogram, in milliseconds. Returns the upper bound of the respective bucket.
+     */
+    static Double estimatePercentile(@NotNull List<MappingsStatisticsHistogramBucketType> buckets, double percentile) {
+        long total = 0;
+        for (MappingsStatisticsHistogramBucketType bucket : buckets) {
+            total += bucket.getCount();
+        }
+        if (total == 0) {
+            return null;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100.0);
+        long cumulative = 0;
+        for (MappingsStatisticsHistogramBucketType bucket : buckets.stream()
+                .sorted((b1, b2) -> Integer.compare(b1.getIndex(), b2.getIndex()))
+                .toList()) {
+            cumulative += bucket.getCount();
+            if (cumulative >= threshold) {
+                return (1L << bucket.getIndex()) / 1000.0;
+            }
+        }
+        return null; // should not occur
+    }
+}
@@ -6,16 +6,23 @@
 
 package com.evolveum.midpoint.schema.statistics;
 
+import java.util.Objects;
+
 public class MappingsStatisticsKey {
 
     private final String objectOid;
     private final String objectName;
     private final String objectType;
+    private final String mappingName;
+    private final String expressionType;
 
-    public MappingsStatisticsKey(String objectOid, String objectName, String objectType) {
+    public MappingsStatisticsKey(
+            String objectOid, String objectName, String objectType, String mappingName, String expressionType) {
         this.objectOid = objectOid;
         this.objectName = objectName;
         this.objectType = objectType;
+        this.mappingName = mappingName;
+        this.expressionType = expressionType;
     }
 
     public String getObjectOid() {
@@ -30,23 +37,29 @@ public class MappingsStatisticsKey {
         return objectType;
     }
 
+    public String getMappingName() {
+        return mappingName;
+    }
+
+    public String getExpressionType() {
+        return expressionType;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
 
         MappingsStatisticsKey that = (MappingsStatisticsKey) o;
-
-        if (objectOid != null ? !objectOid.equals(that.objectOid) : that.objectOid != null) return false;
-        if (objectType != null ? !objectType.equals(that.objectType) : that.objectType != null) return false;
-        return !(objectName != null ? !objectName.equals(that.objectName) : that.objectName != null);
-
+        return Objects.equals(objectOid, that.objectOid)
+                && Objects.equals(objectName, that.objectName)
+                && Objects.equals(objectType, that.objectType)
+                && Objects.equals(mappingName, that.mappingName)
+                && Objects.equals(expressionType, that.expressionType);
     }
 
     @Override
     public int hashCode() {
-        int result = objectOid != null ? objectOid.hashCode() : 0;
-        result = 31 * result + (objectName != null ? objectName.hashCode() : 0);
-        return result;
+        return Objects.hash(objectOid, objectName, mappingName);
     }
 }
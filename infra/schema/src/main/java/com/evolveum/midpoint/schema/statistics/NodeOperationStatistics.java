@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.schema.statistics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.evolveum.midpoint.schema.reporting.ConnIdOperation;
+import com.evolveum.midpoint.schema.result.OperationResultStatus;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ItemProcessingOutcomeType;
+
+/**
+ * Node-wide cumulative statistics of selected operations (ConnId operations, processing of activity items),
+ * independent of the tasks they were executed in. Unlike task operation statistics, they are never reset
+ * nor stored; they are meant to be exported to an external monitoring system (e.g. as Micrometer meters).
+ *
+ * Recording is done on each processed item and each ConnId operation, regardless of whether the statistics
+ * are exported or not. It consists of a map lookup and two {@link LongAdder} updates, so it is cheap, but not free.
+ *
+ * Thread safety: Must be thread safe. The recording does not block (apart from the first occurrence of each key).
+ */
+public class NodeOperationStatistics {
+
+    public static final NodeOperationStatistics INSTANCE = new NodeOperationStatistics();
+
+    @NotNull private final Map<ConnIdOperationKey, Counter> connIdOperations = new ConcurrentHashMap<>();
+    @NotNull private final Map<ItemProcessingKey, Counter> itemsProcessed = new ConcurrentHashMap<>();
+
+    /** Sizes of queues of items waiting for processing, see {@link #registerItemQueue(IntSupplier)}. */
+    @NotNull private final Set<IntSupplier> itemQueues = ConcurrentHashMap.newKeySet();
+
+    private NodeOperationStatistics() {
+    }
+
+    public void recordConnIdOperation(@NotNull ConnIdOperation operation) {
+        String resourceName = operation.getResourceName();
+        var key = new ConnIdOperationKey(
+                resourceName != null ? resourceName : operation.getResourceOid(),
+                operation.getOperation().getName(),
+                operation.getStatus() == null || operation.getStatus().isConsideredSuccess());
+        connIdOperations
+                .computeIfAbsent(key, k -> new Counter())
+                .record(operation.getNetRunningTime());
+    }
+
+    public void recordItemProcessed(
+            @NotNull String activityType, @NotNull ItemProcessingOutcomeType outcome, long durationMillis) {
+        itemsProcessed
+                .computeIfAbsent(new ItemProcessingKey(activityType, outcome), k -> new Counter())
+                .record(durationMillis);
+    }
+
+    /** Registers a queue of items waiting for processing (e.g. read-ahead buffer of a multithreaded activity). */
+    public void registerItemQueue(@NotNull IntSupplier sizeSupplier) {
+        itemQueues.add(sizeSupplier);
+    }
+
+    public void unregisterItemQueue(@NotNull IntSupplier sizeSupplier) {
+        itemQueues.remove(sizeSupplier);
+    }
+
+    public @NotNull Map<ConnIdOperationKey, Counter> getConnIdOperations() {
+        return Collections.unmodifiableMap(connIdOperations);
+    }
+
+    public @NotNull Map<ItemProcessingKey, Counter> getItemsProcessed() {
+        return Collections.unmodifiableMap(itemsProcessed);
+    }
+
+    /** Total number of items waiting for processing in all registered queues. */
+    public int getQueuedItems() {
+        return itemQueues.stream()
+                .mapToInt(IntSupplier::getAsInt)
+                .sum();
+    }
+
+    /** @param success Whether the status is considered a success, see {@link OperationResultStatus#isConsideredSuccess()}. */
+    public record ConnIdOperationKey(@NotNull String resource, @NotNull String operation, boolean success) {
+    }
+
+    public record ItemProcessingKey(@NotNull String activityType, @NotNull ItemProcessingOutcomeType outcome) {
+    }
+
+    /** Number of operations and their total time. */
+    public static class Counter {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+
+        private void record(long time) {
+            count.increment();
+            totalTime.add(time);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        /** In milliseconds. */
+        public long getTotalTime() {
+            return totalTime.sum();
+        }
+    }
+}
@@ -32,13 +32,24 @@ public class TraceWriter {
 
     @NotNull
     public String writeTrace(TracingOutputType tracingOutput, File file, boolean zip) throws SchemaException, IOException {
-        String xml = prismContext.xmlSerializer()
+        String xml = serializeTrace(tracingOutput);
+        writeTrace(xml, file, zip);
+        return xml;
+    }
+
+    @NotNull
+    public String serializeTrace(TracingOutputType tracingOutput) throws SchemaException {
+        return prismContext.xmlSerializer()
                 .options(
                         SerializationOptions
                                 .createSerializeReferenceNames()
                                 .escapeInvalidCharacters(true)
                                 .serializeUnsupportedTypesAsString(true))
                 .serializeRealValue(tracingOutput);
+    }
+
+    /** Writes already serialized trace (see {@link #serializeTrace(TracingOutputType)}). */
+    public void writeTrace(@NotNull String xml, File file, boolean zip) throws IOException {
         if (zip) {
             MiscUtil.writeZipFile(file, ZIP_ENTRY_NAME, xml, StandardCharsets.UTF_8);
         } else {
@@ -46,6 +57,5 @@ public class TraceWriter {
                 pw.write(xml);
             }
         }
-        return xml;
     }
 }
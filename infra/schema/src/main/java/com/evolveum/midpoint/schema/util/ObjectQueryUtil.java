@@ -36,6 +36,7 @@ import com.evolveum.midpoint.prism.path.ItemPath;
 import com.evolveum.midpoint.prism.polystring.PolyString;
 import com.evolveum.midpoint.prism.query.Visitor;
 import com.evolveum.midpoint.prism.query.*;
+import com.evolveum.midpoint.prism.query.builder.S_ConditionEntry;
 import com.evolveum.midpoint.prism.query.builder.S_FilterExit;
 import com.evolveum.midpoint.prism.xnode.RootXNode;
 import com.evolveum.midpoint.schema.RelationRegistry;
@@ -722,6 +723,110 @@ public class ObjectQueryUtil {
         return updatedQuery;
     }
 
+    /**
+     * Creates keyset ("seek") filter selecting objects following the last object in the order given
+     * by the ordering, with OID used as a tie-breaker; this is cheaper than offset for deep pages.
+     * The query using this filter must be ordered by the ordering item (if any) and then by OID
+     * in the same direction.
+     * Without ordering, this is simply `oid > last.oid`, otherwise it is (for ASC ordering by X):
+     *
+     * ----
+     * X > last.X OR (X = last.X AND oid > last.oid)
+     * ----
+     *
+     * Ordering item must be single-valued and must have a value in the last object, see {@link #isKeysetApplicable}.
+     * Returns null if there is no last object.
+     */
+    public static @Nullable ObjectFilter createKeysetFilter(
+            @Nullable PrismObject<? extends ObjectType> lastObject, @Nullable ObjectOrdering ordering) {
+        if (lastObject == null) {
+            return null;
+        }
+
+        String lastOid = lastObject.getOid();
+        if (ordering == null) {
+            return PrismContext.get()
+                    .queryFor(lastObject.getCompileTimeClass())
+                    .item(PrismConstants.T_ID).gt(lastOid).buildFilter();
+        }
+
+        ItemPath orderByPath = ordering.getOrderBy();
+        Item<?, ?> item = lastObject.findItem(orderByPath);
+        if (item == null || item.isEmpty()) {
+            // TODO what if it's nullable? is it null-first or last?
+            // See: https://www.postgresql.org/docs/13/queries-order.html
+            // "By default, null values sort as if larger than any non-null value; that is,
+            // NULLS FIRST is the default for DESC order, and NULLS LAST otherwise."
+            throw new IllegalArgumentException(
+                    "Keyset filter for empty ordering item is not supported - path: " + orderByPath);
+        } else if (item.size() > 1) {
+            throw new IllegalArgumentException(
+                    "Multi-value property for ordering is forbidden - item: " + item);
+        }
+
+        boolean asc = ordering.getDirection() != OrderDirection.DESCENDING; // null => asc
+        S_ConditionEntry filter = PrismContext.get()
+                .queryFor(lastObject.getCompileTimeClass())
+                .item(orderByPath);
+        Object realValue = item.getRealValue();
+        if (realValue instanceof PolyString) {
+            // We need to use matchingOrig for polystring, see MID-7860
+            if (asc) {
+                return filter.gt(realValue).matchingOrig().or()
+                        .block()
+                        .item(orderByPath).eq(realValue).matchingOrig()
+                        .and()
+                        .item(PrismConstants.T_ID).gt(lastOid)
+                        .endBlock()
+                        .buildFilter();
+            } else {
+                return filter.lt(realValue).matchingOrig().or()
+                        .block()
+                        .item(orderByPath).eq(realValue).matchingOrig()
+                        .and()
+                        .item(PrismConstants.T_ID).lt(lastOid)
+                        .endBlock()
+                        .buildFilter();
+            }
+        } else {
+            if (asc) {
+                return filter.gt(realValue).or()
+                        .block()
+                        .item(orderByPath).eq(realValue)
+                        .and()
+                        .item(PrismConstants.T_ID).gt(lastOid)
+                        .endBlock()
+                        .buildFilter();
+            } else {
+                return filter.lt(realValue).or()
+                        .block()
+                        .item(orderByPath).eq(realValue)
+                        .and()
+                        .item(PrismConstants.T_ID).lt(lastOid)
+                        .endBlock()
+                        .buildFilter();
+            }
+        }
+    }
+
+    /**
+     * Returns true if {@link #createKeysetFilter} can be used for the last object and the ordering,
+     * that is the ordering item is a plain item path (no dereferencing) with a single value in the last object.
+     */
+    public static boolean isKeysetApplicable(
+            @NotNull PrismObject<? extends ObjectType> lastObject, @Nullable ObjectOrdering ordering) {
+        if (ordering == null) {
+            return true;
+        }
+        ItemPath orderByPath = ordering.getOrderBy();
+        if (orderByPath == null || orderByPath.isEmpty()
+                || !orderByPath.getSegments().stream().allMatch(ItemPath::isName)) {
+            return false;
+        }
+        Item<?, ?> item = lastObject.findItem(orderByPath);
+        return item != null && item.size() == 1;
+    }
+
     public static ObjectPaging convertToObjectPaging(PagingType pagingType) {
         return PagingConvertor.createObjectPaging(pagingType);
     }
@@ -47,6 +47,20 @@ public class SystemConfigurationTypeUtil {
         return sysconfigObject.asObjectable().getInternals().getMaxModelClicks();
     }
 
+    public static int getProjectionExecutionThreads(SystemConfigurationType config) {
+        if (config == null || config.getInternals() == null || config.getInternals().getProjectionExecutionThreads() == null) {
+            return 1;
+        }
+        return Math.max(1, config.getInternals().getProjectionExecutionThreads());
+    }
+
+    public static int getProjectionFullLoadThreads(SystemConfigurationType config) {
+        if (config == null || config.getInternals() == null || config.getInternals().getProjectionFullLoadThreads() == null) {
+            return 1;
+        }
+        return Math.max(1, config.getInternals().getProjectionFullLoadThreads());
+    }
+
     private static String getDefaultHostname(SystemConfigurationType sysconfig) {
         if (sysconfig != null && sysconfig.getInfrastructure() != null) {
             return sysconfig.getInfrastructure().getDefaultHostname();
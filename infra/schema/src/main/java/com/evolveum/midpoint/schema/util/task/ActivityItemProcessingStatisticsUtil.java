@@ -280,6 +280,17 @@ public class ActivityItemProcessingStatisticsUtil {
         addProcessed(sum.getProcessed(), delta.getProcessed());
         addCurrent(sum.getCurrent(), delta.getCurrent());
         addRunRecords(sum, delta);
+        addWaitTimes(sum, delta);
+    }
+
+    private static void addWaitTimes(@NotNull ActivityItemProcessingStatisticsType sum,
+            @NotNull ActivityItemProcessingStatisticsType delta) {
+        if (delta.getSourceWaitTime() != null) {
+            sum.setSourceWaitTime(or0(sum.getSourceWaitTime()) + delta.getSourceWaitTime());
+        }
+        if (delta.getWorkersWaitTime() != null) {
+            sum.setWorkersWaitTime(or0(sum.getWorkersWaitTime()) + delta.getWorkersWaitTime());
+        }
     }
 
     private static void addRunRecords(@NotNull ActivityItemProcessingStatisticsType sum,
@@ -208,6 +208,50 @@ public class TestOperationResult extends AbstractSchemaTest {
         checkResultConversion(root, true);
     }
 
+    @Test
+    public void testLeanMode() throws Exception {
+        given("lean result keeping one level in full");
+        OperationResult root = OperationResult.newResult("root")
+                .lean(1)
+                .build();
+
+        when("processing 20 items, with one of them failing");
+        for (int i = 1; i <= 20; i++) {
+            OperationResult item = root.subresult("item")
+                    .addParam("index", i)
+                    .build();
+            for (int j = 0; j < 5; j++) {
+                OperationResult inner = item.subresult("inner").build();
+                inner.subresult("innermost").build().close();
+                if (i == 13 && j == 2) {
+                    inner.recordFatalError("Failure");
+                }
+                inner.close();
+            }
+            item.close();
+        }
+        root.close();
+        System.out.println("Lean result:\n" + root.debugDump());
+
+        then("items are kept, successful inner operations are counted, failed one is kept in full");
+        assertEquals("Wrong # of items", 20, root.getSubresults().size());
+        assertEquals("Parameters are recorded", 0, root.getSubresults().get(0).getParams().size());
+
+        OperationResult regularItem = root.getSubresults().get(0);
+        assertEquals("Wrong # of inner results", 1, regularItem.getSubresults().size());
+        OperationResult counter = regularItem.getSubresults().get(0);
+        assertEquals("Wrong count", 5, counter.getCount());
+        assertEquals("Subresults are not collapsed", 0, counter.getSubresults().size());
+
+        OperationResult failingItem = root.getSubresults().get(12);
+        assertEquals("Wrong status of failing item", OperationResultStatus.FATAL_ERROR, failingItem.getStatus());
+        assertEquals("Wrong # of inner results in failing item", 2, failingItem.getSubresults().size());
+        assertEquals("Wrong count of successful results", 4, failingItem.getSubresults().get(0).getCount());
+        OperationResult failed = failingItem.getSubresults().get(1);
+        assertEquals("Wrong status of failed result", OperationResultStatus.FATAL_ERROR, failed.getStatus());
+        assertEquals("Subresults of failed result are not kept", 1, failed.getSubresults().size());
+    }
+
     private void checkResultConversion(OperationResult result, boolean assertEquals) throws SchemaException {
         when();
         OperationResultType resultType = result.createOperationResultType();
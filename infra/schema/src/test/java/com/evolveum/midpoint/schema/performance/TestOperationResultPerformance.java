@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.schema.performance;
+
+import org.testng.annotations.Test;
+
+import com.evolveum.midpoint.schema.result.OperationResult;
+
+/**
+ * Measures the cost of creating, closing, and summarizing operation results for a typical item processing,
+ * in the standard and in the lean mode.
+ */
+public class TestOperationResultPerformance extends AbstractSchemaPerformanceTest {
+
+    private static final int ITEMS = 100;
+    private static final int OPERATIONS_PER_ITEM = 20;
+    private static final int SUBOPERATIONS = 3;
+
+    @Test
+    public void test100StandardResult() throws Exception {
+        measure("operationResult.standard",
+                "Creating and summarizing results for " + ITEMS + " items (standard mode)",
+                () -> processItems(OperationResult.newResult("root").build()));
+    }
+
+    @Test
+    public void test110NotRecordingValues() throws Exception {
+        measure("operationResult.notRecordingValues",
+                "Creating and summarizing results for " + ITEMS + " items (not recording values)",
+                () -> processItems(OperationResult.newResult("root").notRecordingValues().build()));
+    }
+
+    @Test
+    public void test120LeanResult() throws Exception {
+        measure("operationResult.lean",
+                "Creating and summarizing results for " + ITEMS + " items (lean mode)",
+                () -> processItems(OperationResult.newResult("root").lean(1).build()));
+    }
+
+    private OperationResult processItems(OperationResult root) {
+        for (int i = 0; i < ITEMS; i++) {
+            OperationResult item = root.subresult("item")
+                    .addParam("index", i)
+                    .build();
+            for (int j = 0; j < OPERATIONS_PER_ITEM; j++) {
+                OperationResult operation = item.subresult("operation")
+                        .addParam(OperationResult.PARAM_OID, "oid-" + j)
+                        .addContext("context", "value")
+                        .build();
+                for (int k = 0; k < SUBOPERATIONS; k++) {
+                    OperationResult subOperation = operation.subresult("subOperation")
+                            .setMinor()
+                            .addParam(OperationResult.PARAM_NAME, "name-" + k)
+                            .build();
+                    subOperation.addReturn("returned", k);
+                    subOperation.close();
+                }
+                operation.close();
+            }
+            item.close();
+            item.deleteSubresultsIfPossible();
+            root.summarize();
+        }
+        root.close();
+        return root;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.schema.statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.evolveum.midpoint.schema.AbstractSchemaTest;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.EnvironmentalPerformanceInformationType;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.MappingsStatisticsEntryType;
+
+/**
+ * Tests recording and aggregation of mapping statistics in {@link EnvironmentalPerformanceInformation}.
+ */
+public class TestMappingStatistics extends AbstractSchemaTest {
+
+    private static final String ROLE_OID = "7a1a3b1e-4d8c-4a41-9d8e-6d3f0b0c5d01";
+
+    /** Evaluations are recorded per mapping, with histogram and estimated percentiles. */
+    @Test
+    public void test100RecordPerMapping() {
+        var information = new EnvironmentalPerformanceInformation();
+        for (int i = 0; i < 99; i++) {
+            information.recordMappingOperation(ROLE_OID, "role", "RoleType", "fullName", "script", 100);
+        }
+        information.recordMappingOperation(ROLE_OID, "role", "RoleType", "fullName", "script", 10_000);
+        information.recordMappingOperation(ROLE_OID, "role", "RoleType", "email", "asIs", 5);
+
+        var value = information.getValueCopy();
+        System.out.println("Statistics:\n" + EnvironmentalPerformanceInformation.format(value));
+
+        var fullName = findEntry(value, "fullName");
+        assertThat(fullName.getCount()).isEqualTo(100);
+        assertThat(fullName.getExpressionType()).isEqualTo("script");
+        assertThat(fullName.getTotalTime()).isEqualTo(20); // 99 * 0.1 ms + 10 ms, rounded
+        assertThat(fullName.getMaxTime()).isEqualTo(10);
+        assertThat(fullName.getPercentile50Time()).isEqualTo(0.128); // 100 us falls into [64, 128) us bucket
+        assertThat(fullName.getPercentile99Time()).isEqualTo(0.128);
+        assertThat(fullName.getHistogram()).hasSize(2);
+
+        var email = findEntry(value, "email");
+        assertThat(email.getCount()).isEqualTo(1);
+        assertThat(email.getPercentile95Time()).isEqualTo(0.008);
+    }
+
+    /** Statistics stored in the task are added to the current ones, including histograms. */
+    @Test
+    public void test110AggregateWithStartValue() {
+        var first = new EnvironmentalPerformanceInformation();
+        first.recordMappingOperation(ROLE_OID, "role", "RoleType", "fullName", "script", 100);
+        EnvironmentalPerformanceInformationType stored = first.getValueCopy();
+
+        var second = new EnvironmentalPerformanceInformation(stored);
+        second.recordMappingOperation(ROLE_OID, "role", "RoleType", "fullName", "script", 3_000);
+
+        var fullName = findEntry(second.getValueCopy(), "fullName");
+        assertThat(fullName.getCount()).isEqualTo(2);
+        assertThat(fullName.getHistogram()).hasSize(2);
+        assertThat(fullName.getPercentile50Time()).isEqualTo(0.128);
+        assertThat(fullName.getPercentile99Time()).isEqualTo(4.096);
+    }
+
+    private MappingsStatisticsEntryType findEntry(EnvironmentalPerformanceInformationType value, String mappingName) {
+        return value.getMappingsStatistics().getEntry().stream()
+                .filter(e -> mappingName.equals(e.getMappingName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No entry for " + mappingName));
+    }
+}
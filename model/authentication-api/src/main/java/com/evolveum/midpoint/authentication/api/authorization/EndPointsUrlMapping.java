@@ -230,6 +230,10 @@ public enum EndPointsUrlMapping {
     ACTUATOR_METRICS("/actuator/metrics/**",
             new AuthorizationActionValue(AUTZ_ACTUATOR_METRICS_URL,
                     "ActuatorEndpoint.authActuator.metrics.label", "ActuatorEndpoint.authActuator.metrics.description")),
+    // The endpoint provides the same meters as the metrics one (just in Prometheus format), so it shares its labels.
+    ACTUATOR_PROMETHEUS("/actuator/prometheus",
+            new AuthorizationActionValue(AUTZ_ACTUATOR_PROMETHEUS_URL,
+                    "ActuatorEndpoint.authActuator.metrics.label", "ActuatorEndpoint.authActuator.metrics.description")),
     /**
      * This is the authorization that provides access to all the methods. However, it is possible to authorize selected
      * REST actions individually; see {@link RestAuthorizationAction} enum.
@@ -89,7 +89,6 @@ public class AccCertCaseOperationsHelper {
         var complexCaseId = complexWorkItemId.caseId();
         long workItemId = complexWorkItemId.workItemId();
         long caseId = complexCaseId.caseId();
-        String campaignOid = complexCaseId.campaignOid();
 
         AccessCertificationCampaignType campaign = workItemInContext.campaign();
         AccessCertificationCaseType aCase = workItemInContext.aCase();
@@ -128,7 +127,10 @@ public class AccCertCaseOperationsHelper {
                 .item(F_CASE, caseId, F_OUTCOME).replace(toUri(newOverallOutcome))
                 .asItemDeltas());
 
-        updateHelper.modifyObjectPreAuthorized(AccessCertificationCampaignType.class, campaignOid, deltaList, task, result);
+        // Only the case is modified, so the repository applies the change as a row-level update of the case,
+        // and concurrent decisions in the campaign do not contend for the campaign object.
+        updateHelper.modifyObjectPreAuthorized(
+                AccessCertificationCampaignType.class, campaign.getOid(), deltaList, task, result);
     }
 
     // TODO temporary implementation - should be done somehow in batches in order to improve performance
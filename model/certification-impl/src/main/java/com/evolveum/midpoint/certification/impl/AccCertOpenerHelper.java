@@ -312,6 +312,7 @@ public class AccCertOpenerHelper {
 
         assert norm(campaign.getIteration()) == 1;
 
+        ReviewersCache reviewersCache = new ReviewersCache();
         for (AccessCertificationCaseType aCase : caseList) {
             ContainerDelta<AccessCertificationCaseType> caseDelta = prismContext.deltaFactory().container().createDelta(F_CASE,
                     AccessCertificationCampaignType.class);
@@ -320,7 +321,7 @@ public class AccCertOpenerHelper {
             aCase.setCurrentStageCreateTimestamp(stage.getStartTimestamp());
             aCase.setCurrentStageDeadline(stage.getDeadline());
 
-            List<ObjectReferenceType> reviewers = reviewersHelper.getReviewersForCase(aCase, campaign, reviewerSpec, task, result);
+            List<ObjectReferenceType> reviewers = reviewersHelper.getReviewersForCase(aCase, campaign, reviewerSpec, reviewersCache, task, result);
             aCase.getWorkItem().addAll(createWorkItems(reviewers, 1, 1, aCase));
 
             openingContext.workItemsCreated += aCase.getWorkItem().size();
@@ -432,6 +433,7 @@ public class AccCertOpenerHelper {
                 reviewersHelper.findReviewersSpecification(campaign, stageToBe);
 
         LOGGER.trace("cases: {}, reviewerSpec: {}", caseList.size(), reviewerSpec);
+        ReviewersCache reviewersCache = new ReviewersCache();
         for (AccessCertificationCaseType aCase : caseList) {
             LOGGER.trace("----------------------------------------------------------------------------------------");
             LOGGER.trace("Considering case: {}", aCase);
@@ -448,7 +450,7 @@ public class AccCertOpenerHelper {
                 continue;
             }
 
-            List<ObjectReferenceType> reviewers = reviewersHelper.getReviewersForCase(aCase, campaign, reviewerSpec, task, result);
+            List<ObjectReferenceType> reviewers = reviewersHelper.getReviewersForCase(aCase, campaign, reviewerSpec, reviewersCache, task, result);
             List<AccessCertificationWorkItemType> workItems = createWorkItems(reviewers, stageToBe, iteration, aCase);
             openingContext.workItemsCreated += workItems.size();
             openingContext.casesEnteringStage++;
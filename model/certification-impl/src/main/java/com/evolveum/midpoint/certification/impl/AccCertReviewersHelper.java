@@ -28,6 +28,7 @@ import com.evolveum.midpoint.util.exception.*;
 import com.evolveum.midpoint.util.logging.Trace;
 import com.evolveum.midpoint.util.logging.TraceManager;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
@@ -61,25 +62,44 @@ public class AccCertReviewersHelper {
             AccessCertificationReviewerSpecificationType reviewerSpec,
             Task task,
             OperationResult result) throws SchemaException, ObjectNotFoundException {
+        return getReviewersForCase(_case, campaign, reviewerSpec, null, task, result);
+    }
+
+    /**
+     * Determines reviewers for a case. If the cache is provided, the reviewers derived from the target or the object
+     * (owners, approvers, managers, members of reviewer roles) are taken from it, if already resolved for another case.
+     * Reviewer expressions are always evaluated.
+     */
+    public List<ObjectReferenceType> getReviewersForCase(
+            AccessCertificationCaseType _case,
+            AccessCertificationCampaignType campaign,
+            AccessCertificationReviewerSpecificationType reviewerSpec,
+            @Nullable ReviewersCache cache,
+            Task task,
+            OperationResult result) throws SchemaException, ObjectNotFoundException {
         if (reviewerSpec == null) {
             return Collections.emptyList(); // TODO issue a warning here?
         }
 
         List<ObjectReferenceType> reviewers = new ArrayList<>();
         if (Boolean.TRUE.equals(reviewerSpec.isUseTargetOwner())) {
-            cloneAndMerge(reviewers, getTargetObjectOwners(_case, result));
+            cloneAndMerge(reviewers, cached(cache, "targetOwners", _case.getTargetRef(),
+                    () -> getTargetObjectOwners(_case, result)));
         }
         if (Boolean.TRUE.equals(reviewerSpec.isUseTargetApprover())) {
-            cloneAndMerge(reviewers, getTargetObjectApprovers(_case, result));
+            cloneAndMerge(reviewers, cached(cache, "targetApprovers", _case.getTargetRef(),
+                    () -> getTargetObjectApprovers(_case, result)));
         }
         if (Boolean.TRUE.equals(reviewerSpec.isUseObjectOwner())) {
-            cloneAndMerge(reviewers, getObjectOwners(_case, result));
+            cloneAndMerge(reviewers, cached(cache, "objectOwners", _case.getObjectRef(),
+                    () -> getObjectOwners(_case, result)));
         }
         if (Boolean.TRUE.equals(reviewerSpec.isUseObjectApprover())) {
-            cloneAndMerge(reviewers, getObjectApprovers(_case, result));
+            cloneAndMerge(reviewers, cached(cache, "objectApprovers", _case.getObjectRef(),
+                    () -> getObjectApprovers(_case, result)));
         }
         if (reviewerSpec.getUseObjectManager() != null) {
-            cloneAndMerge(reviewers, getObjectManagers(_case, reviewerSpec.getUseObjectManager(), task, result));
+            cloneAndMerge(reviewers, getObjectManagers(_case, reviewerSpec.getUseObjectManager(), cache, task, result));
         }
         for (ExpressionType reviewerExpression : reviewerSpec.getReviewerExpression()) {
             VariablesMap variables = new VariablesMap();
@@ -92,18 +112,38 @@ public class AccCertReviewersHelper {
                             reviewerExpression, variables, "reviewer expression", task, result);
             cloneAndMerge(reviewers, refList);
         }
-        resolveRoleReviewers(reviewers, result);
+        resolveRoleReviewers(reviewers, cache, result);
         if (reviewers.isEmpty()) {
             cloneAndMerge(reviewers, reviewerSpec.getDefaultReviewerRef());
         }
         cloneAndMerge(reviewers, reviewerSpec.getAdditionalReviewerRef());
-        resolveRoleReviewers(reviewers, result);
+        resolveRoleReviewers(reviewers, cache, result);
 
         return reviewers;
     }
 
-    private void resolveRoleReviewers(List<ObjectReferenceType> reviewers, OperationResult result)
-            throws SchemaException {
+    /** Key of reviewers cached in {@link ReviewersCache}, e.g. owners of a given target. */
+    private record CacheKey(String kind, Object value) {
+    }
+
+    /**
+     * Managers of a user depend only on the orgs the user belongs to - unless the user is a manager, because then
+     * the user may be excluded from the managers (see `allowSelf`), so the result must not be shared with others.
+     */
+    private record UserManagersKey(Set<String> orgOids, String orgType, boolean allowSelf, String managerOid) {
+    }
+
+    private Collection<ObjectReferenceType> cached(
+            @Nullable ReviewersCache cache, String kind, @Nullable ObjectReferenceType ref,
+            ReviewersCache.ReviewersSupplier supplier) throws SchemaException, ObjectNotFoundException {
+        if (cache == null || ref == null || ref.getOid() == null) {
+            return supplier.get();
+        }
+        return cache.get(new CacheKey(kind, ref.getOid()), supplier);
+    }
+
+    private void resolveRoleReviewers(List<ObjectReferenceType> reviewers, @Nullable ReviewersCache cache, OperationResult result)
+            throws SchemaException, ObjectNotFoundException {
         List<ObjectReferenceType> resolved = new ArrayList<>();
         for (Iterator<ObjectReferenceType> iterator = reviewers.iterator(); iterator.hasNext(); ) {
             ObjectReferenceType reviewer = iterator.next();
@@ -111,12 +151,12 @@ public class AccCertReviewersHelper {
                     || QNameUtil.match(reviewer.getType(), OrgType.COMPLEX_TYPE)
                     || QNameUtil.match(reviewer.getType(), ServiceType.COMPLEX_TYPE)) {
                 iterator.remove();
-                resolved.addAll(getMembers(reviewer, result));
+                resolved.addAll(cached(cache, "members", reviewer, () -> getMembers(reviewer, result)));
             }
         }
         for (ObjectReferenceType ref : resolved) {
             if (!containsOid(reviewers, ref.getOid())) {
-                reviewers.add(ref);
+                reviewers.add(ref.clone());
             }
         }
     }
@@ -157,7 +197,8 @@ public class AccCertReviewersHelper {
     }
 
     private Collection<ObjectReferenceType> getObjectManagers(
-            AccessCertificationCaseType _case, ManagerSearchType managerSearch, Task task, OperationResult result)
+            AccessCertificationCaseType _case, ManagerSearchType managerSearch, @Nullable ReviewersCache cache,
+            Task task, OperationResult result)
             throws ObjectNotFoundException, SchemaException {
         ExpressionEnvironmentThreadLocalHolder.pushExpressionEnvironment(new ExpressionEnvironment(task, result));
         try {
@@ -166,6 +207,27 @@ public class AccCertReviewersHelper {
 
             String orgType = managerSearch.getOrgType();
             boolean allowSelf = Boolean.TRUE.equals(managerSearch.isAllowSelf());
+            if (cache == null) {
+                return computeObjectManagers(object, orgType, allowSelf);
+            } else if (object instanceof UserType user) {
+                Set<String> orgOids = user.getParentOrgRef().stream()
+                        .map(ObjectReferenceType::getOid)
+                        .collect(Collectors.toCollection(TreeSet::new));
+                String managerOid = orgStructFunctions.isManager(user) ? user.getOid() : null;
+                return cache.get(new UserManagersKey(orgOids, orgType, allowSelf, managerOid),
+                        () -> computeObjectManagers(object, orgType, allowSelf));
+            } else {
+                return cache.get(new CacheKey("managers", object.getOid()),
+                        () -> computeObjectManagers(object, orgType, allowSelf));
+            }
+        } finally {
+            ExpressionEnvironmentThreadLocalHolder.popExpressionEnvironment();
+        }
+    }
+
+    private List<ObjectReferenceType> computeObjectManagers(ObjectType object, String orgType, boolean allowSelf)
+            throws SchemaException {
+        try {
             Collection<UserType> managers;
             if (object instanceof UserType) {
                 managers = orgStructFunctions.getManagers((UserType) object, orgType, allowSelf, true);
@@ -187,8 +249,6 @@ public class AccCertReviewersHelper {
         } catch (SecurityViolationException e) {
             // never occurs, as preAuthorized is TRUE above
             throw new IllegalStateException("Impossible has happened: " + e.getMessage(), e);
-        } finally {
-            ExpressionEnvironmentThreadLocalHolder.popExpressionEnvironment();
         }
     }
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.certification.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.evolveum.midpoint.schema.internals.InternalCounters;
+import com.evolveum.midpoint.schema.internals.InternalMonitor;
+import com.evolveum.midpoint.util.exception.ObjectNotFoundException;
+import com.evolveum.midpoint.util.exception.SchemaException;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectReferenceType;
+
+/**
+ * Reviewers resolved while creating cases or opening a stage, to be reused for other cases of the same campaign.
+ * For example, managers of an org, owners of a role, or members of a reviewer role are resolved only once,
+ * not for each case.
+ *
+ * Lives only as long as a single activity run; thread-safe, as the cases may be processed by multiple worker threads.
+ * The cached lists are never returned directly, the values must be cloned before use
+ * (see {@link AccCertReviewersHelper#getReviewersForCase}).
+ */
+public class ReviewersCache {
+
+    private final Map<Object, List<ObjectReferenceType>> cache = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    interface ReviewersSupplier {
+        Collection<ObjectReferenceType> get() throws SchemaException, ObjectNotFoundException;
+    }
+
+    /**
+     * Returns cached reviewers for the key, computing them if needed. Null values (meaning "not applicable") are cached
+     * as empty lists. Concurrent computation of the same key is possible, but harmless.
+     *
+     * Each computation is counted as {@link InternalCounters#CERTIFICATION_REVIEWERS_RESOLUTION_COUNT}.
+     */
+    @NotNull List<ObjectReferenceType> get(@NotNull Object key, @NotNull ReviewersSupplier supplier)
+            throws SchemaException, ObjectNotFoundException {
+        List<ObjectReferenceType> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        InternalMonitor.recordCount(InternalCounters.CERTIFICATION_REVIEWERS_RESOLUTION_COUNT);
+        Collection<ObjectReferenceType> computed = supplier.get();
+        List<ObjectReferenceType> immutable = computed != null ? List.copyOf(computed) : List.of();
+        cache.putIfAbsent(key, immutable);
+        return immutable;
+    }
+}
@@ -8,6 +8,8 @@ package com.evolveum.midpoint.certification.impl.task;
 
 import static com.evolveum.midpoint.certification.api.OutcomeUtils.fromUri;
 import static com.evolveum.midpoint.certification.api.OutcomeUtils.normalizeToNull;
+import static com.evolveum.midpoint.repo.common.activity.ActivityRunResultStatus.PERMANENT_ERROR;
+import static com.evolveum.midpoint.schema.result.OperationResultStatus.FATAL_ERROR;
 import static com.evolveum.midpoint.schema.util.CertCampaignTypeUtil.norm;
 import static com.evolveum.midpoint.util.MiscUtil.or0;
 import static com.evolveum.midpoint.xml.ns._public.common.common_3.AbstractAccessCertificationDefinitionType.F_LAST_CAMPAIGN_STARTED_TIMESTAMP;
@@ -15,8 +17,11 @@ import static com.evolveum.midpoint.xml.ns._public.common.common_3.AccessCertifi
 import static com.evolveum.midpoint.xml.ns._public.common.common_3.AccessCertificationCampaignType.F_STAGE;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import javax.xml.datatype.Duration;
 import javax.xml.datatype.XMLGregorianCalendar;
 
@@ -33,8 +38,11 @@ import com.evolveum.midpoint.prism.query.ObjectQuery;
 import com.evolveum.midpoint.prism.util.CloneUtil;
 import com.evolveum.midpoint.prism.xml.XmlTypeConverter;
 import com.evolveum.midpoint.repo.common.activity.run.*;
+import com.evolveum.midpoint.repo.common.activity.run.processing.ItemProcessingRequest;
 import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.schema.statistics.IterativeOperationStartInfo;
 import com.evolveum.midpoint.schema.util.CertCampaignTypeUtil;
+import com.evolveum.midpoint.task.api.RunningTask;
 import com.evolveum.midpoint.task.api.Task;
 import com.evolveum.midpoint.util.PrettyPrinter;
 import com.evolveum.midpoint.util.exception.CommonException;
@@ -46,6 +54,11 @@ import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
 /**
  * T might be eiter focus, e.g. when new campaign is started (first stage is opening)
  * or it migth be AccessCertificationCaseType for other actions.
+ *
+ * Items can be processed by multiple worker threads and in buckets. Modifications of cases are collected
+ * and written to the campaign in batches (see {@link #addCaseModifications(Collection, ItemProcessingRequest, RunningTask, OperationResult)}),
+ * and reviewers are resolved using {@link ReviewersCache} shared by all the worker threads.
+ *
  * @param <T>
  */
 public abstract class AccessCertificationStageManagementRun<
@@ -56,6 +69,12 @@ public abstract class AccessCertificationStageManagementRun<
 
     private static final Trace LOGGER = TraceManager.getTrace(AccessCertificationStageManagementRun.class);
 
+    /**
+     * Maximal number of cases whose modifications are written to the campaign in one operation.
+     * The campaign is then locked (and its container ID sequence updated) once per batch, not once per case.
+     */
+    private static final int CASE_MODIFICATIONS_BATCH_SIZE = 100;
+
     private AccessCertificationCampaignType campaign;
     private ObjectQuery query;
     private AccessCertificationReviewerSpecificationType reviewerSpec;
@@ -68,6 +87,18 @@ public abstract class AccessCertificationStageManagementRun<
     private AccCertResponseComputationHelper computationHelper;
     private AccCertReviewersHelper reviewersHelper;
 
+    private final ReviewersCache reviewersCache = new ReviewersCache();
+
+    /** Modifications of cases not written yet, guarded by itself. Written at the latest at the end of each bucket. */
+    private final List<ItemDelta<?, ?>> pendingCaseModifications = new ArrayList<>();
+    private int pendingCases;
+
+    /** Items whose cases are in {@link #pendingCaseModifications}; guarded by the same lock. */
+    private final Set<ItemProcessingRequest<?>> pendingRequests = new LinkedHashSet<>();
+
+    /** Set if a batch of case modifications couldn't be written; such bucket must not be marked as complete. */
+    private volatile Throwable caseModificationsFailure;
+
     public AccessCertificationStageManagementRun(@NotNull ActivityRunInstantiationContext<WD, AH> context, @NotNull String shortNameCapitalized) {
         super(context, shortNameCapitalized);
     }
@@ -101,6 +132,87 @@ public abstract class AccessCertificationStageManagementRun<
         return super.beforeRun(result);
     }
 
+    /**
+     * Adds modifications of a single case (creating or updating it) to the current batch. A full batch is written
+     * by the calling worker thread.
+     */
+    protected void addCaseModifications(
+            Collection<? extends ItemDelta<?, ?>> modifications, ItemProcessingRequest<?> request,
+            RunningTask workerTask, OperationResult result)
+            throws CommonException {
+        CaseModificationsBatch batch;
+        synchronized (pendingCaseModifications) {
+            pendingCaseModifications.addAll(modifications);
+            pendingRequests.add(request);
+            if (++pendingCases < CASE_MODIFICATIONS_BATCH_SIZE) {
+                return;
+            }
+            batch = takePendingCaseModifications();
+        }
+        writeCaseModifications(batch, request, workerTask, result);
+    }
+
+    private CaseModificationsBatch takePendingCaseModifications() {
+        CaseModificationsBatch batch =
+                new CaseModificationsBatch(new ArrayList<>(pendingCaseModifications), new ArrayList<>(pendingRequests));
+        pendingCaseModifications.clear();
+        pendingRequests.clear();
+        pendingCases = 0;
+        return batch;
+    }
+
+    /**
+     * Writes the batch. If that fails, the failure is recorded for all items in the batch, except for the current one
+     * (if any), for which the exception is thrown to the caller.
+     */
+    private void writeCaseModifications(
+            CaseModificationsBatch batch, @Nullable ItemProcessingRequest<?> currentRequest, Task task,
+            OperationResult result)
+            throws CommonException {
+        LOGGER.trace("Writing {} modifications of cases in {}", batch.modifications.size(), campaign);
+        try {
+            updateHelper.modifyObjectPreAuthorized(
+                    AccessCertificationCampaignType.class, campaign.getOid(), batch.modifications, task, result);
+        } catch (CommonException | RuntimeException e) {
+            // The batch contains cases of other items as well, so the failure must not be limited to the current item.
+            caseModificationsFailure = e;
+            for (ItemProcessingRequest<?> request : batch.requests) {
+                if (request != currentRequest) {
+                    recordCaseModificationsFailure(request, e);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void recordCaseModificationsFailure(ItemProcessingRequest<?> request, Throwable t) {
+        LOGGER.error("Couldn't write certification case(s) for {}: {}", request.getIterationItemInformation(), t.getMessage());
+        recordIterativeOperationStart(new IterativeOperationStartInfo(request.getIterationItemInformation()))
+                .failed(t);
+    }
+
+    @Override
+    public void afterBucketProcessing(OperationResult result) throws ActivityRunException, CommonException {
+        CaseModificationsBatch batch;
+        synchronized (pendingCaseModifications) {
+            batch = takePendingCaseModifications();
+        }
+        if (caseModificationsFailure == null && !batch.modifications.isEmpty()) {
+            writeCaseModifications(batch, null, getRunningTask(), result);
+        }
+        if (caseModificationsFailure != null) {
+            throw new ActivityRunException("Couldn't write modifications of certification cases: "
+                    + caseModificationsFailure.getMessage(), FATAL_ERROR, PERMANENT_ERROR, caseModificationsFailure);
+        }
+        super.afterBucketProcessing(result);
+    }
+
+    /** Modifications of cases to be written in one operation, along with the items the cases were created for. */
+    private record CaseModificationsBatch(
+            @NotNull List<ItemDelta<?, ?>> modifications,
+            @NotNull List<ItemProcessingRequest<?>> requests) {
+    }
+
     @Override
     public void afterRun(OperationResult result) throws CommonException, ActivityRunException {
 
@@ -307,4 +419,8 @@ public abstract class AccessCertificationStageManagementRun<
     public AccCertReviewersHelper getReviewersHelper() {
         return reviewersHelper;
     }
+
+    public ReviewersCache getReviewersCache() {
+        return reviewersCache;
+    }
 }
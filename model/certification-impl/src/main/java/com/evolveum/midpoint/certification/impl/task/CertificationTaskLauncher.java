@@ -10,6 +10,7 @@ import com.evolveum.midpoint.model.api.ActivitySubmissionOptions;
 import com.evolveum.midpoint.model.api.ModelInteractionService;
 import com.evolveum.midpoint.model.impl.lens.tasks.TaskOperationalDataManager;
 import com.evolveum.midpoint.repo.api.RepositoryService;
+import com.evolveum.midpoint.repo.common.SystemObjectCache;
 import com.evolveum.midpoint.schema.constants.Channel;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.schema.result.OperationResultStatus;
@@ -18,6 +19,7 @@ import com.evolveum.midpoint.task.api.Task;
 import com.evolveum.midpoint.task.api.TaskManager;
 import com.evolveum.midpoint.util.LocalizableMessageBuilder;
 import com.evolveum.midpoint.util.exception.*;
+import com.evolveum.midpoint.util.logging.LoggingUtils;
 import com.evolveum.midpoint.util.logging.Trace;
 import com.evolveum.midpoint.util.logging.TraceManager;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
@@ -25,6 +27,7 @@ import com.evolveum.prism.xml.ns._public.types_3.PolyStringType;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
@@ -42,6 +45,7 @@ public class CertificationTaskLauncher {
     @Autowired private TaskOperationalDataManager taskOperationalDataManager;
     @Autowired private ModelInteractionService modelInteractionService;
     @Autowired private SecurityContextManager securityContextManager;
+    @Autowired private SystemObjectCache systemObjectCache;
 
     private static final Trace LOGGER = TraceManager.getTrace(CertificationTaskLauncher.class);
 
@@ -67,6 +71,7 @@ public class CertificationTaskLauncher {
         activityDef.beginWork()
                 .beginCertificationStartCampaign()
                 .certificationCampaignRef(campaign.getOid(), AccessCertificationCampaignType.COMPLEX_TYPE);
+        activityDef.setDistribution(getStageOpeningDistribution(parentResult));
 
         startTask(
                 campaign,
@@ -84,6 +89,7 @@ public class CertificationTaskLauncher {
         activityDef.beginWork()
                 .beginCertificationOpenNextStage()
                 .certificationCampaignRef(campaign.getOid(), AccessCertificationCampaignType.COMPLEX_TYPE);
+        activityDef.setDistribution(getStageOpeningDistribution(parentResult));
 
         startTask(
                 campaign,
@@ -127,6 +133,31 @@ public class CertificationTaskLauncher {
                 SystemObjectsType.ARCHETYPE_CERTIFICATION_REITERATE_CAMPAIGN_TASK.value());
     }
 
+    /**
+     * Worker threads and buckets for tasks that create cases and work items, as configured in the system configuration.
+     * Worker tasks are not supported, because the stage itself is opened by the (single) task at the end of its run.
+     */
+    private @Nullable ActivityDistributionDefinitionType getStageOpeningDistribution(OperationResult result) {
+        SystemConfigurationType systemConfiguration;
+        try {
+            systemConfiguration = systemObjectCache.getSystemConfigurationBean(result);
+        } catch (SchemaException e) {
+            LoggingUtils.logUnexpectedException(LOGGER, "Couldn't get system configuration, using default task distribution", e);
+            return null;
+        }
+        AccessCertificationConfigurationType certConfig =
+                systemConfiguration != null ? systemConfiguration.getAccessCertification() : null;
+        ActivityDistributionDefinitionType distribution =
+                certConfig != null ? certConfig.getStageOpeningDistribution() : null;
+        if (distribution == null) {
+            return null;
+        }
+        return new ActivityDistributionDefinitionType()
+                .workerThreads(distribution.getWorkerThreads())
+                .readAheadBufferSize(distribution.getReadAheadBufferSize())
+                .buckets(distribution.getBuckets() != null ? distribution.getBuckets().clone() : null);
+    }
+
     private void startTask(
             AccessCertificationCampaignType campaign,
             ActivityDefinitionType activityDef,
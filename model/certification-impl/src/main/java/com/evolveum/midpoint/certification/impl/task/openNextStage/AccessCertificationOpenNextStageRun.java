@@ -67,7 +67,8 @@ public final class AccessCertificationOpenNextStageRun
             return true;
         }
 
-        List<ObjectReferenceType> reviewers = getReviewersHelper().getReviewersForCase(item, getCampaign(), getReviewerSpec(), getRunningTask(), result);
+        List<ObjectReferenceType> reviewers = getReviewersHelper().getReviewersForCase(
+                item, getCampaign(), getReviewerSpec(), getReviewersCache(), workerTask, result);
         List<AccessCertificationWorkItemType> workItems = createWorkItems(reviewers, getStageToBe(), getIteration(), item);
 
         item.getWorkItem().addAll(CloneUtil.cloneCollectionMembers(workItems));
@@ -87,7 +88,7 @@ public final class AccessCertificationOpenNextStageRun
                 .item(F_CASE, caseId, F_ITERATION).replace(getIteration())
                 .asItemDeltas();
 
-        getActivityHandler().getUpdateHelper().modifyObjectPreAuthorized(AccessCertificationCampaignType.class, getCampaign().getOid(), modifications, getRunningTask(), result);
+        addCaseModifications(modifications, request, workerTask, result);
         return true;
     }
 
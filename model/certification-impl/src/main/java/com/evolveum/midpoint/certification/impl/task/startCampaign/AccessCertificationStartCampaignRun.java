@@ -11,7 +11,6 @@ import static com.evolveum.midpoint.schema.util.ObjectTypeUtil.toShortString;
 import static com.evolveum.midpoint.xml.ns._public.common.common_3.AccessCertificationCampaignType.F_CASE;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import javax.xml.namespace.QName;
 
@@ -21,13 +20,11 @@ import com.evolveum.midpoint.certification.impl.task.AccessCertificationStageMan
 import com.evolveum.midpoint.prism.PrismContainerValue;
 import com.evolveum.midpoint.prism.PrismContext;
 import com.evolveum.midpoint.prism.delta.ContainerDelta;
-import com.evolveum.midpoint.prism.delta.ItemDelta;
 import com.evolveum.midpoint.prism.query.ObjectQuery;
 import com.evolveum.midpoint.repo.common.activity.run.ActivityRunInstantiationContext;
 import com.evolveum.midpoint.repo.common.activity.run.processing.ItemProcessingRequest;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.task.api.RunningTask;
-import com.evolveum.midpoint.task.api.Task;
 import com.evolveum.midpoint.util.exception.CommonException;
 import com.evolveum.midpoint.util.exception.SchemaException;
 import com.evolveum.midpoint.util.logging.Trace;
@@ -53,10 +50,8 @@ public final class AccessCertificationStartCampaignRun
 
     @Override
     public boolean processItem(@NotNull AssignmentHolderType item, @NotNull ItemProcessingRequest<AssignmentHolderType> request, RunningTask workerTask, OperationResult result) throws CommonException {
-        Task task = getRunningTask();
-        List<AccessCertificationCaseType> caseList = new ArrayList<>(getCertificationHandler().createCasesForObject(request.getItem().asPrismObject(), getCampaign(), task, result));
+        List<AccessCertificationCaseType> caseList = new ArrayList<>(getCertificationHandler().createCasesForObject(request.getItem().asPrismObject(), getCampaign(), workerTask, result));
 
-        Collection<ItemDelta<?, ?>> modifications = new ArrayList<>();
         for (AccessCertificationCaseType aCase : caseList) {
             ContainerDelta<AccessCertificationCaseType> caseDelta = PrismContext.get().deltaFactory().container().createDelta(F_CASE,
                     AccessCertificationCampaignType.class);
@@ -66,7 +61,8 @@ public final class AccessCertificationStartCampaignRun
             aCase.setCurrentStageDeadline(getStage().getDeadline());
 
 
-            List<ObjectReferenceType> reviewers = getReviewersHelper().getReviewersForCase(aCase, getCampaign(), getReviewerSpec(), task, result);
+            List<ObjectReferenceType> reviewers = getReviewersHelper().getReviewersForCase(
+                    aCase, getCampaign(), getReviewerSpec(), getReviewersCache(), workerTask, result);
             aCase.getWorkItem().addAll(createWorkItems(reviewers, 1, 1, aCase));
 
             AccessCertificationResponseType currentStageOutcome = getComputationHelper().computeOutcomeForStage(aCase, getCampaign(), 1);
@@ -77,9 +73,8 @@ public final class AccessCertificationStartCampaignRun
             PrismContainerValue<AccessCertificationCaseType> caseCVal = aCase.asPrismContainerValue();
             caseDelta.addValueToAdd(caseCVal);
             LOGGER.trace("Adding certification case:\n{}", caseCVal.debugDumpLazily());
-            modifications.add(caseDelta);
+            addCaseModifications(List.of(caseDelta), request, workerTask, result);
         }
-        getUpdateHelper().modifyObjectPreAuthorized(AccessCertificationCampaignType.class, getCampaign().getOid(), modifications, task, result);
 
         return true;
     }
@@ -35,8 +35,10 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.testng.annotations.Test;
 
+import com.evolveum.midpoint.audit.api.AuditEventType;
 import com.evolveum.midpoint.prism.PrismConstants;
 import com.evolveum.midpoint.prism.PrismObject;
+import com.evolveum.midpoint.prism.delta.ChangeType;
 import com.evolveum.midpoint.prism.query.ObjectQuery;
 import com.evolveum.midpoint.prism.xml.XmlTypeConverter;
 import com.evolveum.midpoint.schema.GetOperationOptions;
@@ -44,6 +46,7 @@ import com.evolveum.midpoint.schema.SearchResultList;
 import com.evolveum.midpoint.schema.SelectorOptions;
 import com.evolveum.midpoint.schema.constants.SchemaConstants;
 import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.schema.result.OperationResultStatus;
 import com.evolveum.midpoint.schema.util.CertCampaignTypeUtil;
 import com.evolveum.midpoint.task.api.Task;
 import com.evolveum.midpoint.test.util.TestUtil;
@@ -569,6 +572,8 @@ public class TestCertificationBasic extends AbstractCertificationTest {
 
         List<AccessCertificationCaseType> caseList = queryHelper.searchCases(campaignOid, null, result);
         AccessCertificationCaseType superuserCase = findCase(caseList, USER_ADMINISTRATOR_OID, ROLE_SUPERUSER_OID);
+        String campaignVersionBefore = getCampaignVersion(result);
+        dummyAuditService.clear();
 
         when();
         AccessCertificationWorkItemType workItem = findWorkItem(superuserCase, 1, 1, USER_ADMINISTRATOR_OID);
@@ -579,6 +584,19 @@ public class TestCertificationBasic extends AbstractCertificationTest {
         result.computeStatus();
         TestUtil.assertSuccess(result);
 
+        displayDumpable("audit", dummyAuditService);
+        dummyAuditService.assertRecords(2);
+        dummyAuditService.assertSimpleRecordSanity();
+        assertEquals("Wrong request event type",
+                AuditEventType.EXECUTE_CHANGES_RAW, dummyAuditService.getRequestRecord().getEventType());
+        dummyAuditService.assertExecutionDeltas(1);
+        dummyAuditService.assertHasDelta(ChangeType.MODIFY, AccessCertificationCampaignType.class);
+        dummyAuditService.assertTarget(campaignOid);
+        dummyAuditService.assertExecutionOutcome(OperationResultStatus.SUCCESS);
+
+        // Only the case was updated in the repository, not the campaign itself.
+        assertEquals("campaign version changed", campaignVersionBefore, getCampaignVersion(result));
+
         caseList = queryHelper.searchCases(campaignOid, null, result);
         display("caseList", caseList);
         checkAllCasesSanity(caseList);
@@ -1065,4 +1083,9 @@ public class TestCertificationBasic extends AbstractCertificationTest {
         PrismObject<AccessCertificationCampaignType> remainingCampaign = campaignsAfter.get(0);
         assertEquals("Wrong name of the remaining campaign", "c1", remainingCampaign.getName().getOrig());
     }
+
+    private String getCampaignVersion(OperationResult result) throws CommonException {
+        return repositoryService.getObject(AccessCertificationCampaignType.class, campaignOid, null, result)
+                .getVersion();
+    }
 }
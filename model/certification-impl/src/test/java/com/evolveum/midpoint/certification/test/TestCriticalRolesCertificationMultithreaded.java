@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.certification.test;
+
+import static com.evolveum.midpoint.xml.ns._public.common.common_3.AccessCertificationResponseType.NO_RESPONSE;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.testng.annotations.Test;
+
+import com.evolveum.midpoint.prism.PrismObject;
+import com.evolveum.midpoint.schema.internals.InternalCounters;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.task.api.Task;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
+
+/**
+ * The same as {@link TestCriticalRolesCertification}, but cases and work items are created by multiple worker threads
+ * (see `stageOpeningDistribution` in the access certification configuration). In addition, a large campaign
+ * is created in buckets.
+ */
+public class TestCriticalRolesCertificationMultithreaded extends TestCriticalRolesCertification {
+
+    private static final int WORKER_THREADS = 3;
+
+    private static final String CERT_DEF_OID = "33333333-0000-0000-0000-000000000003";
+
+    /** More than the number of cases written to the campaign at once, so that full batches are written in each bucket. */
+    private static final int MANY_USERS = 250;
+
+    @Override
+    public void initSystem(Task initTask, OperationResult initResult) throws Exception {
+        super.initSystem(initTask, initResult);
+        setStageOpeningDistribution(
+                new ActivityDistributionDefinitionType()
+                        .workerThreads(WORKER_THREADS),
+                initResult);
+    }
+
+    /**
+     * Creates a campaign for many users in two buckets. Each user must get exactly one case, with a work item
+     * for the manager, and the manager must be resolved only a few times, not for each case.
+     */
+    @Test
+    public void test900ManyUsersInBuckets() throws Exception {
+        given("many users with a critical role, in an org managed by cheese");
+        clock.resetOverride();
+        Task task = getTestTask();
+        task.setOwner(userAdministrator.asPrismObject());
+        OperationResult result = task.getResult();
+
+        Set<String> userOids = new HashSet<>();
+        for (int i = 0; i < MANY_USERS; i++) {
+            UserType user = new UserType()
+                    .name(String.format("many-%03d", i))
+                    .parentOrgRef(ORG_SCUMM_BAR_OID, OrgType.COMPLEX_TYPE)
+                    .assignment(new AssignmentType()
+                            .targetRef(ORG_SCUMM_BAR_OID, OrgType.COMPLEX_TYPE))
+                    .assignment(new AssignmentType()
+                            .targetRef(ROLE_COO_OID, RoleType.COMPLEX_TYPE));
+            userOids.add(repositoryService.addObject(user.asPrismObject(), null, result));
+        }
+
+        and("two buckets (OIDs below and above '8') processed by multiple threads");
+        setStageOpeningDistribution(
+                new ActivityDistributionDefinitionType()
+                        .workerThreads(WORKER_THREADS)
+                        .buckets(new BucketsDefinitionType()
+                                .oidSegmentation(new OidWorkSegmentationType()
+                                        .boundary(new BoundarySpecificationType()
+                                                .characters("8")))),
+                result);
+
+        String campaignOid = certificationManager.createCampaign(CERT_DEF_OID, task, result).getOid();
+        XMLGregorianCalendar startTime = clock.currentTimeXMLGregorianCalendar();
+        rememberCounter(InternalCounters.CERTIFICATION_REVIEWERS_RESOLUTION_COUNT);
+
+        when("the first stage is opened");
+        certificationService.openNextStage(campaignOid, task, result);
+
+        then("the task finishes successfully, processing both buckets");
+        List<PrismObject<TaskType>> tasks = getFirstStageTasks(campaignOid, startTime, result);
+        assertEquals("unexpected number of related tasks", 1, tasks.size());
+        String taskOid = tasks.get(0).getOid();
+        waitForTaskFinish(taskOid, 60000);
+        assertTask(taskOid, "after")
+                .display()
+                .assertSuccess();
+        assertProgress(taskOid, "after")
+                .display()
+                .assertBuckets(2, 2);
+
+        and("each user has exactly one case with a work item for the manager");
+        List<AccessCertificationCaseType> caseList = queryHelper.searchCases(campaignOid, null, result);
+        for (String userOid : userOids) {
+            List<AccessCertificationCaseType> userCases = caseList.stream()
+                    .filter(aCase -> userOid.equals(aCase.getObjectRef().getOid()))
+                    .toList();
+            assertEquals("wrong number of cases for " + userOid, 1, userCases.size());
+            AccessCertificationCaseType userCase = userCases.get(0);
+            assertEquals("wrong target of " + userCase, ROLE_COO_OID, userCase.getTargetRef().getOid());
+            assertCaseReviewers(userCase, NO_RESPONSE, 1, singletonList(USER_CHEESE_OID));
+            assertEquals("wrong number of work items in " + userCase, 1, userCase.getWorkItem().size());
+        }
+        assertThat(caseList.stream().map(aCase -> aCase.asPrismContainerValue().getId()).distinct())
+                .as("case IDs")
+                .hasSize(caseList.size());
+
+        and("the reviewers are resolved per org (and thread), not per case");
+        assertThat(getCounterIncrement(InternalCounters.CERTIFICATION_REVIEWERS_RESOLUTION_COUNT))
+                .as("reviewers resolutions")
+                .isGreaterThan(0)
+                .isLessThan(MANY_USERS / 10);
+    }
+
+    private void setStageOpeningDistribution(ActivityDistributionDefinitionType distribution, OperationResult result)
+            throws Exception {
+        modifySystemObjectInRepo(SystemConfigurationType.class, SystemObjectsType.SYSTEM_CONFIGURATION.value(),
+                deltaFor(SystemConfigurationType.class)
+                        .item(SystemConfigurationType.F_ACCESS_CERTIFICATION,
+                                AccessCertificationConfigurationType.F_STAGE_OPENING_DISTRIBUTION)
+                        .replace(distribution)
+                        .asItemDeltas(),
+                result);
+    }
+}
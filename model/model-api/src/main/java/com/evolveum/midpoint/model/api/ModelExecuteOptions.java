@@ -483,6 +483,20 @@ public class ModelExecuteOptions extends AbstractOptions implements Serializable
         return is(options, F_PREVIEW_POLICY_RULES_ENFORCEMENT);
     }
 
+    @SuppressWarnings("WeakerAccess")
+    public ModelExecuteOptions incrementalRecompute(Boolean value) {
+        content.setIncrementalRecompute(value);
+        return this;
+    }
+
+    public ModelExecuteOptions incrementalRecompute() {
+        return incrementalRecompute(true);
+    }
+
+    public static boolean isIncrementalRecompute(ModelExecuteOptions options) {
+        return is(options, F_INCREMENTAL_RECOMPUTE);
+    }
+
     //endregion
 
     public static ModelExecuteOptionsType toModelExecutionOptionsBean(ModelExecuteOptions options) {
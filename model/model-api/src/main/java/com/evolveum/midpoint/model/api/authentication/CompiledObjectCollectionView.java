@@ -57,6 +57,8 @@ public class CompiledObjectCollectionView implements DebugDumpable, Serializable
     private DistinctSearchOptionType distinct;
     private Boolean disableSorting;
     private Boolean disableCounting;
+    private ObjectListCountingModeType countingMode;
+    private ObjectListPagingModeType pagingMode;
     private SearchBoxConfigurationType searchBoxConfiguration;
     private ObjectFilter filter;
     private ObjectFilter domainFilter;
@@ -167,6 +169,22 @@ public class CompiledObjectCollectionView implements DebugDumpable, Serializable
         this.disableCounting = disableCounting;
     }
 
+    public ObjectListCountingModeType getCountingMode() {
+        return countingMode;
+    }
+
+    public void setCountingMode(ObjectListCountingModeType countingMode) {
+        this.countingMode = countingMode;
+    }
+
+    public ObjectListPagingModeType getPagingMode() {
+        return pagingMode;
+    }
+
+    public void setPagingMode(ObjectListPagingModeType pagingMode) {
+        this.pagingMode = pagingMode;
+    }
+
     public SearchBoxConfigurationType getSearchBoxConfiguration() {
         return searchBoxConfiguration;
     }
@@ -307,6 +325,8 @@ public class CompiledObjectCollectionView implements DebugDumpable, Serializable
         DebugUtil.debugDumpWithLabelToStringLn(sb, "distinct", distinct, indent + 1);
         DebugUtil.debugDumpWithLabelLn(sb, "disableSorting", disableSorting, indent + 1);
         DebugUtil.debugDumpWithLabelLn(sb, "disableCounting", disableCounting, indent + 1);
+        DebugUtil.debugDumpWithLabelToStringLn(sb, "countingMode", countingMode, indent + 1);
+        DebugUtil.debugDumpWithLabelToStringLn(sb, "pagingMode", pagingMode, indent + 1);
         DebugUtil.debugDumpWithLabelToStringLn(sb, "searchBoxConfiguration", searchBoxConfiguration, indent + 1);
         DebugUtil.debugDumpWithLabelLn(sb, "filter", filter, indent + 1);
         DebugUtil.debugDumpWithLabel(sb, "domainFilter", domainFilter, indent + 1);
@@ -333,6 +353,8 @@ public class CompiledObjectCollectionView implements DebugDumpable, Serializable
         viewType.setDistinct(getDistinct());
         viewType.setDisableSorting(isDisableSorting());
         viewType.setDisableCounting(isDisableCounting());
+        viewType.setCountingMode(getCountingMode());
+        viewType.setPagingMode(getPagingMode());
         viewType.setSearchBoxConfiguration(getSearchBoxConfiguration() != null ? getSearchBoxConfiguration().clone() : null);
         viewType.setDisplayOrder(getDisplayOrder());
         viewType.setRefreshInterval(getRefreshInterval());
@@ -389,6 +411,8 @@ public class CompiledObjectCollectionView implements DebugDumpable, Serializable
         clone.distinct = distinct;
         clone.disableSorting = disableSorting;
         clone.disableCounting = disableCounting;
+        clone.countingMode = countingMode;
+        clone.pagingMode = pagingMode;
         clone.searchBoxConfiguration = CloneUtil.clone(searchBoxConfiguration);
         clone.filter = CloneUtil.clone(filter);
         clone.domainFilter = CloneUtil.clone(domainFilter);
@@ -57,6 +57,8 @@ public class CompiledShadowCollectionView extends CompiledObjectCollectionView {
         viewType.setDistinct(getDistinct());
         viewType.setDisableSorting(isDisableSorting());
         viewType.setDisableCounting(isDisableCounting());
+        viewType.setCountingMode(getCountingMode());
+        viewType.setPagingMode(getPagingMode());
         viewType.setSearchBoxConfiguration(getSearchBoxConfiguration());
         viewType.setDisplayOrder(getDisplayOrder());
         viewType.setRefreshInterval(getRefreshInterval());
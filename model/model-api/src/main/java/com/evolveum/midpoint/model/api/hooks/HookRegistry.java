@@ -29,6 +29,9 @@ public interface HookRegistry {
 
     void registerReadHook(String url, ReadHook searchHook);
 
+    /** Removes the read hook registered under given URL, if there is any. */
+    void unregisterReadHook(String url);
+
     Collection<ReadHook> getAllReadHooks();
 
     /** Unused for now, as we have no read hooks today. */
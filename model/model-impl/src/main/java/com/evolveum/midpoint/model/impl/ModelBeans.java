@@ -138,6 +138,7 @@ public class ModelBeans {
     @Autowired public Migrator migrator;
     @Autowired public PersonaProcessor personaProcessor;
     @Autowired public ChangeExecutor changeExecutor;
+    @Autowired public ProjectionWorkers projectionWorkers;
     @Autowired public Projector projector;
     @Autowired public PolicyRuleProcessor policyRuleProcessor;
     @Autowired public ClockworkHookHelper clockworkHookHelper;
@@ -160,7 +160,7 @@ public class CleanupActivityHandler
         // Global authorization (we cannot filter by containerables yet)
         securityEnforcer.authorize(
                 ModelAuthorizationAction.CLEANUP_AUDIT_RECORDS.getUrl(), task, result);
-        auditService.cleanupAudit(p, result);
+        auditService.cleanupAudit(p, task, result);
     }
 
     private void cleanupTasks(CleanupPolicyType p, RunningTask task, OperationResult result)
@@ -232,8 +232,7 @@ public class CleanupActivityHandler
     }
 
     enum Part {
-        // TODO progress
-        AUDIT_RECORDS("Audit records cleanup", SchemaConstants.ID_AUDIT_RECORDS_CLEANUP, false),
+        AUDIT_RECORDS("Audit records cleanup", SchemaConstants.ID_AUDIT_RECORDS_CLEANUP, true),
 
         CLOSED_TASKS("Closed tasks", SchemaConstants.ID_CLOSED_TASKS_CLEANUP, true),
 
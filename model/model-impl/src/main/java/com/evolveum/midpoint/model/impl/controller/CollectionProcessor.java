@@ -560,6 +560,7 @@ public class CollectionProcessor {
         compileDistinct(existingView, objectListViewType, replaceIfExist);
         compileSorting(existingView, objectListViewType, replaceIfExist);
         compileCounting(existingView, objectListViewType, replaceIfExist);
+        compilePagingMode(existingView, objectListViewType, replaceIfExist);
         compileDisplayOrder(existingView, objectListViewType, replaceIfExist);
         compileSearchBox(existingView, objectListViewType, replaceIfExist);
         compileRefreshInterval(existingView, objectListViewType, replaceIfExist);
@@ -664,6 +665,17 @@ public class CollectionProcessor {
         if (newDisableCounting != null && (existingView.isDisableCounting() == null || replaceIfExist)) {
             existingView.setDisableCounting(newDisableCounting);
         }
+        ObjectListCountingModeType newCountingMode = objectListViewType.getCountingMode();
+        if (newCountingMode != null && (existingView.getCountingMode() == null || replaceIfExist)) {
+            existingView.setCountingMode(newCountingMode);
+        }
+    }
+
+    private void compilePagingMode(CompiledObjectCollectionView existingView, GuiObjectListViewType objectListViewType, boolean replaceIfExist) {
+        ObjectListPagingModeType newPagingMode = objectListViewType.getPagingMode();
+        if (newPagingMode != null && (existingView.getPagingMode() == null || replaceIfExist)) {
+            existingView.setPagingMode(newPagingMode);
+        }
     }
 
     private void compileDisplayOrder(CompiledObjectCollectionView existingView, GuiObjectListViewType objectListViewType, boolean replaceIfExist) {
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.model.impl.controller;
+
+import static com.evolveum.midpoint.schema.GetOperationOptions.readOnly;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.evolveum.midpoint.model.common.archetypes.ArchetypeManager;
+import com.evolveum.midpoint.model.impl.lens.LensContext;
+import com.evolveum.midpoint.model.impl.lens.LensFocusContext;
+import com.evolveum.midpoint.prism.PrismContext;
+import com.evolveum.midpoint.prism.PrismObject;
+import com.evolveum.midpoint.repo.api.PreconditionViolationException;
+import com.evolveum.midpoint.repo.api.RepositoryService;
+import com.evolveum.midpoint.repo.api.VersionPrecondition;
+import com.evolveum.midpoint.repo.common.SystemObjectCache;
+import com.evolveum.midpoint.schema.constants.ObjectTypes;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.util.exception.*;
+import com.evolveum.midpoint.util.logging.LoggingUtils;
+import com.evolveum.midpoint.util.logging.Trace;
+import com.evolveum.midpoint.util.logging.TraceManager;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
+
+/**
+ * Computes, checks, and records {@link FocusType#F_PROCESSING_FINGERPRINT} for incremental recomputation,
+ * see {@link ModelExecuteOptionsType#F_INCREMENTAL_RECOMPUTE}.
+ *
+ * The fingerprint is a hash of the focus content (without operational data) and versions of objects the processing
+ * of the focus depends on. It is deliberately cheap to compute: only versions of the dependencies are needed,
+ * and these are mostly served by the repository cache. The price is that only the dependencies listed
+ * in {@link #computeFingerprint(FocusType, OperationResult)} are considered.
+ */
+@Component
+public class FocusProcessingFingerprints {
+
+    private static final Trace LOGGER = TraceManager.getTrace(FocusProcessingFingerprints.class);
+
+    private static final String OP_CHECK = FocusProcessingFingerprints.class.getName() + ".check";
+    private static final String OP_RECORD = FocusProcessingFingerprints.class.getName() + ".record";
+
+    private static final String NO_VERSION = "-";
+
+    @Autowired private PrismContext prismContext;
+    @Autowired private SystemObjectCache systemObjectCache;
+    @Autowired private ArchetypeManager archetypeManager;
+    @Autowired @Qualifier("cacheRepositoryService") private RepositoryService cacheRepositoryService;
+
+    /**
+     * Returns true if the focus has a fingerprint recorded, and the current fingerprint is the same,
+     * i.e. the recomputation can be skipped.
+     */
+    public boolean isUnchanged(@NotNull FocusType focus, @NotNull OperationResult parentResult)
+            throws SchemaException, ConfigurationException {
+        String recorded = focus.getProcessingFingerprint();
+        if (recorded == null) {
+            LOGGER.trace("No processing fingerprint recorded for {}", focus);
+            return false;
+        }
+        OperationResult result = parentResult.subresult(OP_CHECK)
+                .setMinor()
+                .build();
+        try {
+            boolean unchanged = recorded.equals(computeFingerprint(focus, result));
+            result.addReturn("unchanged", unchanged);
+            return unchanged;
+        } catch (Throwable t) {
+            result.recordException(t);
+            throw t;
+        } finally {
+            result.close();
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the focus as processed by the clockwork, and stores it (if it differs from the recorded
+     * one). The focus is taken from the lens context, so it is not read again from the repository.
+     *
+     * The fingerprint is written with a precondition on the version the focus had in the context. If the focus was
+     * changed in the meantime (by the clockwork itself, e.g. by linking a new shadow, or by anyone else), the fingerprint
+     * is not stored: it may not correspond to the stored focus. It will be recorded by the next (full) recomputation.
+     *
+     * Failures are logged and recorded in the operation result, but not propagated, as they do not invalidate
+     * the recomputation itself.
+     */
+    public <F extends ObjectType> void record(@NotNull LensContext<F> context, @NotNull OperationResult parentResult) {
+        LensFocusContext<F> focusContext = context.getFocusContext();
+        PrismObject<F> object = focusContext != null ? focusContext.getObjectNew() : null;
+        if (object == null
+                || object.getOid() == null
+                || object.getVersion() == null
+                || !(object.asObjectable() instanceof FocusType focus)) {
+            LOGGER.trace("No focus with OID and version in the context, not recording the processing fingerprint");
+            return;
+        }
+        Class<F> type = focusContext.getObjectTypeClass();
+        String oid = object.getOid();
+        OperationResult result = parentResult.subresult(OP_RECORD)
+                .setMinor()
+                .addParam(OperationResult.PARAM_OID, oid)
+                .build();
+        try {
+            String fingerprint = computeFingerprint(focus, result);
+            if (fingerprint.equals(focus.getProcessingFingerprint())) {
+                LOGGER.trace("Processing fingerprint for {} has not changed", focus);
+                result.addReturn("recorded", false);
+                return;
+            }
+            cacheRepositoryService.modifyObject(
+                    type, oid,
+                    prismContext.deltaFor(type)
+                            .item(FocusType.F_PROCESSING_FINGERPRINT).replace(fingerprint)
+                            .asItemDeltas(),
+                    new VersionPrecondition<>(object.getVersion()),
+                    null,
+                    result);
+            result.addReturn("recorded", true);
+        } catch (PreconditionViolationException e) {
+            LOGGER.trace("{} was changed after it was read by the clockwork, not recording the processing fingerprint",
+                    focus);
+            result.muteLastSubresultError();
+            result.addReturn("recorded", false);
+        } catch (CommonException | RuntimeException e) {
+            LoggingUtils.logUnexpectedException(LOGGER, "Couldn't record processing fingerprint for {}:{}", e, type, oid);
+            result.recordException(e);
+            result.muteErrorsRecursively();
+        } finally {
+            result.close();
+        }
+    }
+
+    /**
+     * The fingerprint covers:
+     *
+     * . focus content, excluding operational data (metadata, operation execution records, the fingerprint itself),
+     * . version of the system configuration (global policy rules, default templates, ...),
+     * . versions of archetypes, and roles, orgs, services the focus is member of (directly or indirectly),
+     * . version of the object template, and templates it directly includes,
+     * . versions of linked shadows and their resources.
+     */
+    private @NotNull String computeFingerprint(@NotNull FocusType focus, @NotNull OperationResult result)
+            throws SchemaException, ConfigurationException {
+
+        // Sorted to be independent on the order of values.
+        var dependencies = new TreeMap<String, String>();
+
+        var systemConfiguration = systemObjectCache.getSystemConfiguration(result);
+        dependencies.put("systemConfiguration", systemConfiguration != null ? systemConfiguration.getVersion() : NO_VERSION);
+
+        addReferencedVersions(dependencies, focus.getArchetypeRef(), ArchetypeType.class, result);
+        addReferencedVersions(dependencies, focus.getRoleMembershipRef(), AbstractRoleType.class, result);
+
+        var archetypePolicy = archetypeManager.determineArchetypePolicy(focus, result);
+        var templateRef = archetypePolicy != null ? archetypePolicy.getObjectTemplateRef() : null;
+        if (templateRef != null && templateRef.getOid() != null) {
+            var template = getObject(ObjectTemplateType.class, templateRef.getOid(), result);
+            dependencies.put(templateRef.getOid(), template != null ? template.getVersion() : NO_VERSION);
+            if (template != null) {
+                addReferencedVersions(dependencies, template.getIncludeRef(), ObjectTemplateType.class, result);
+            }
+        }
+
+        for (ObjectReferenceType linkRef : focus.getLinkRef()) {
+            if (linkRef.getOid() == null) {
+                continue;
+            }
+            var shadow = getObject(ShadowType.class, linkRef.getOid(), result);
+            dependencies.put(linkRef.getOid(), shadow != null ? shadow.getVersion() : NO_VERSION);
+            String resourceOid = shadow != null && shadow.getResourceRef() != null ? shadow.getResourceRef().getOid() : null;
+            if (resourceOid != null) {
+                dependencies.put(resourceOid, getVersion(ResourceType.class, resourceOid, result));
+            }
+        }
+
+        MessageDigest digest = createDigest();
+        digest.update(serializeContent(focus).getBytes(StandardCharsets.UTF_8));
+        dependencies.forEach((oid, version) ->
+                digest.update((oid + ":" + version + "\n").getBytes(StandardCharsets.UTF_8)));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private @NotNull String serializeContent(@NotNull FocusType focus) throws SchemaException {
+        PrismObject<? extends FocusType> content = focus.asPrismObject().clone();
+        content.setVersion(null);
+        content.removeContainer(ObjectType.F_METADATA);
+        content.removeContainer(ObjectType.F_OPERATION_EXECUTION);
+        content.removeProperty(FocusType.F_PROCESSING_FINGERPRINT);
+        return prismContext.jsonSerializer().serialize(content);
+    }
+
+    private void addReferencedVersions(
+            TreeMap<String, String> dependencies, Collection<ObjectReferenceType> refs,
+            Class<? extends ObjectType> defaultType, OperationResult result) throws SchemaException {
+        for (ObjectReferenceType ref : refs) {
+            String oid = ref.getOid();
+            if (oid == null || dependencies.containsKey(oid)) {
+                continue;
+            }
+            Class<? extends ObjectType> type = ref.getType() != null ?
+                    Objects.requireNonNullElse(ObjectTypes.getObjectTypeClassIfKnown(ref.getType()), defaultType) :
+                    defaultType;
+            dependencies.put(oid, getVersion(type, oid, result));
+        }
+    }
+
+    private @NotNull String getVersion(Class<? extends ObjectType> type, String oid, OperationResult result)
+            throws SchemaException {
+        try {
+            return cacheRepositoryService.getVersion(type, oid, result);
+        } catch (ObjectNotFoundException e) {
+            // Dangling references are OK here; the fingerprint will change when the object appears.
+            result.muteLastSubresultError();
+            return NO_VERSION;
+        }
+    }
+
+    private <O extends ObjectType> @Nullable O getObject(Class<O> type, String oid, OperationResult result)
+            throws SchemaException {
+        try {
+            return cacheRepositoryService.getObject(type, oid, readOnly(), result).asObjectable();
+        } catch (ObjectNotFoundException e) {
+            result.muteLastSubresultError();
+            return null;
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new SystemException(e);
+        }
+    }
+}
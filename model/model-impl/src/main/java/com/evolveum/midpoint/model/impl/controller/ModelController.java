@@ -47,6 +47,7 @@ import com.evolveum.midpoint.certification.api.CertificationManager;
 import com.evolveum.midpoint.common.LocalizationService;
 import com.evolveum.midpoint.model.api.*;
 import com.evolveum.midpoint.model.api.authentication.GuiProfiledPrincipalManager;
+import com.evolveum.midpoint.model.api.hooks.HookOperationMode;
 import com.evolveum.midpoint.model.api.hooks.HookRegistry;
 import com.evolveum.midpoint.repo.common.AuditHelper;
 import com.evolveum.midpoint.model.impl.ModelObjectResolver;
@@ -158,6 +159,7 @@ public class ModelController implements ModelService, TaskService, CaseService,
     @Autowired private SystemObjectCache systemObjectCache;
     @Autowired private ClockworkMedic clockworkMedic;
     @Autowired private ClockworkAuditHelper clockworkAuditHelper;
+    @Autowired private FocusProcessingFingerprints focusProcessingFingerprints;
     @Autowired private EventDispatcher dispatcher;
     @Autowired
     @Qualifier("cacheRepositoryService")
@@ -563,8 +565,22 @@ public class ModelController implements ModelService, TaskService, CaseService,
                 AuthorizationParameters.forObject(object.asObjectable()),
                 SecurityEnforcer.Options.create(), task, result);
 
+        boolean incremental = ModelExecuteOptions.isIncrementalRecompute(options)
+                && object.asObjectable() instanceof FocusType;
+        if (incremental && focusProcessingFingerprints.isUnchanged((FocusType) object.asObjectable(), result)) {
+            LOGGER.debug("Skipping recomputation of {}, as its processing fingerprint has not changed", object);
+            return;
+        }
+
         LOGGER.trace("Recomputing {}, context:\n{}", object, lensContext.debugDumpLazily());
-        clockwork.run(lensContext, task, result);
+        HookOperationMode mode = clockwork.run(lensContext, task, result);
+
+        if (incremental
+                && mode == HookOperationMode.FOREGROUND
+                && task.isExecutionFullyPersistent()
+                && !result.getComputeStatus().isError()) {
+            focusProcessingFingerprints.record(lensContext, result);
+        }
     }
 
     private void applyDefinitions(
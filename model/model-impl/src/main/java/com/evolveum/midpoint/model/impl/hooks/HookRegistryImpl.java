@@ -40,6 +40,11 @@ public class HookRegistryImpl implements HookRegistry {
         readHookMap.put(url, searchHook);
     }
 
+    @Override
+    public void unregisterReadHook(String url) {
+        readHookMap.remove(url);
+    }
+
     @Override
     public Collection<ReadHook> getAllReadHooks() {
         return readHookMap.values();
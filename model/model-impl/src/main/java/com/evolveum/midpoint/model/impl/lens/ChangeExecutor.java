@@ -6,14 +6,22 @@
 
 package com.evolveum.midpoint.model.impl.lens;
 
+import java.util.*;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.evolveum.midpoint.model.impl.lens.executor.FocusChangeExecution;
 import com.evolveum.midpoint.model.impl.lens.executor.ProjectionChangeExecution;
+import com.evolveum.midpoint.model.impl.lens.projector.DependencyProcessor;
 import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.schema.util.SystemConfigurationTypeUtil;
 import com.evolveum.midpoint.task.api.Task;
 import com.evolveum.midpoint.util.exception.*;
+import com.evolveum.midpoint.util.logging.Trace;
+import com.evolveum.midpoint.util.logging.TraceManager;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectType;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ResourceObjectTypeDependencyType;
 
 /**
  * Executes precomputed changes.
@@ -23,6 +31,8 @@ import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectType;
  * - {@link FocusChangeExecution}
  * - {@link ProjectionChangeExecution}
  *
+ * Projections can be executed concurrently, see {@link #executeProjectionsChanges(LensContext, Task, OperationResult)}.
+ *
  * TODO Move to `executor` package. But this is incompatible change regarding loggers and operation names.
  *
  * @author semancik
@@ -30,11 +40,15 @@ import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectType;
 @Component
 public class ChangeExecutor {
 
+    private static final Trace LOGGER = TraceManager.getTrace(ChangeExecutor.class);
+
     private static final String OPERATION_EXECUTE = ChangeExecutor.class.getName() + ".execute";
     public static final String OPERATION_EXECUTE_FOCUS = OPERATION_EXECUTE + ".focus";
     public static final String OPERATION_EXECUTE_PROJECTION = OPERATION_EXECUTE + ".projection";
     public static final String OPERATION_EXECUTE_DELTA = ChangeExecutor.class.getName() + ".executeDelta";
 
+    @Autowired private ProjectionWorkers projectionWorkers;
+
     public <O extends ObjectType> void executeChanges(LensContext<O> context, Task task,
             OperationResult parentResult) throws ObjectAlreadyExistsException, ObjectNotFoundException,
             SchemaException, CommunicationException, ConfigurationException,
@@ -67,14 +81,104 @@ public class ChangeExecutor {
                 .execute(result);
     }
 
+    /**
+     * Projections are executed sequentially, unless more projection execution threads are configured.
+     * In that case, projections of the current wave are grouped by resource, and the groups are executed concurrently
+     * (projections in a group sequentially, in the original order). This is done only if there is no dependency
+     * between projections of different groups in the current wave; otherwise, everything is executed sequentially.
+     *
+     * Unlike in sequential execution, a failure of one group does not prevent execution of other groups.
+     * The exception of the first failed group is rethrown after all groups finish.
+     */
     private <O extends ObjectType> void executeProjectionsChanges(LensContext<O> context, Task task, OperationResult result)
             throws ObjectNotFoundException, SchemaException, CommunicationException, ConfigurationException,
             SecurityViolationException, PolicyViolationException, ExpressionEvaluationException, ObjectAlreadyExistsException {
 
+        int threads = SystemConfigurationTypeUtil.getProjectionExecutionThreads(context.getSystemConfigurationBean());
+        Collection<List<LensProjectionContext>> groups = threads > 1 ? groupIndependentProjections(context) : null;
+        if (groups == null || groups.size() <= 1) {
+            for (LensProjectionContext projCtx : context.getProjectionContexts()) {
+                context.checkAbortRequested();
+                new ProjectionChangeExecution<O>(projCtx, task)
+                        .execute(result);
+            }
+            return;
+        }
+
+        LOGGER.trace("Executing {} independent groups of projections in wave {} using {} threads",
+                groups.size(), context.getExecutionWave(), threads);
+        List<ProjectionWorkers.Work> works = new ArrayList<>();
+        for (List<LensProjectionContext> group : groups) {
+            works.add(workResult -> {
+                for (LensProjectionContext projCtx : group) {
+                    context.checkAbortRequested();
+                    new ProjectionChangeExecution<O>(projCtx, task)
+                            .execute(workResult);
+                }
+            });
+        }
+        Throwable failure = projectionWorkers.runAll(works, threads, result);
+        if (failure != null) {
+            rethrowProjectionFailure(failure);
+        }
+    }
+
+    /**
+     * Returns projections to be executed in the current wave, grouped by resource;
+     * or null if there is a dependency between projections on different resources.
+     */
+    private Collection<List<LensProjectionContext>> groupIndependentProjections(LensContext<?> context)
+            throws SchemaException, ConfigurationException {
+        Map<String, List<LensProjectionContext>> groups = new LinkedHashMap<>();
         for (LensProjectionContext projCtx : context.getProjectionContexts()) {
-            context.checkAbortRequested();
-            new ProjectionChangeExecution<O>(projCtx, task)
-                    .execute(result);
+            if (projCtx.getWave() == context.getExecutionWave() && !projCtx.isCompleted()) {
+                groups.computeIfAbsent(projCtx.getResourceOid(), k -> new ArrayList<>())
+                        .add(projCtx);
+            }
+        }
+
+        for (List<LensProjectionContext> group : groups.values()) {
+            for (LensProjectionContext projCtx : group) {
+                for (ResourceObjectTypeDependencyType dependency : projCtx.getDependencies()) {
+                    for (List<LensProjectionContext> otherGroup : groups.values()) {
+                        if (otherGroup != group
+                                && otherGroup.stream().anyMatch(ctx -> DependencyProcessor.matches(ctx, dependency))) {
+                            LOGGER.trace("Projection {} depends on a projection on other resource in the same wave,"
+                                    + " executing projections sequentially", projCtx.getHumanReadableName());
+                            return null;
+                        }
+                    }
+                }
+            }
+        }
+        return groups.values();
+    }
+
+    private void rethrowProjectionFailure(Throwable t)
+            throws ObjectNotFoundException, SchemaException, CommunicationException, ConfigurationException,
+            SecurityViolationException, PolicyViolationException, ExpressionEvaluationException, ObjectAlreadyExistsException {
+        if (t instanceof ObjectNotFoundException e) {
+            throw e;
+        } else if (t instanceof SchemaException e) {
+            throw e;
+        } else if (t instanceof CommunicationException e) {
+            throw e;
+        } else if (t instanceof ConfigurationException e) {
+            throw e;
+        } else if (t instanceof SecurityViolationException e) {
+            throw e;
+        } else if (t instanceof PolicyViolationException e) {
+            throw e;
+        } else if (t instanceof ExpressionEvaluationException e) {
+            throw e;
+        } else if (t instanceof ObjectAlreadyExistsException e) {
+            throw e;
+        } else if (t instanceof RuntimeException e) {
+            throw e;
+        } else if (t instanceof Error e) {
+            throw e;
+        } else {
+            throw new SystemException(t.getMessage(), t);
         }
     }
 }
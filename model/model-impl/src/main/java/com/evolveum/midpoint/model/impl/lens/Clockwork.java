@@ -40,6 +40,7 @@ import com.evolveum.midpoint.provisioning.api.ResourceObjectChangeListener;
 import com.evolveum.midpoint.provisioning.api.ResourceOperationListener;
 import com.evolveum.midpoint.schema.cache.CacheConfigurationManager;
 import com.evolveum.midpoint.schema.cache.CacheType;
+import com.evolveum.midpoint.schema.jfr.ClockworkRunEvent;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.schema.result.OperationResultBuilder;
 import com.evolveum.midpoint.security.enforcer.api.SecurityEnforcer;
@@ -80,6 +81,9 @@ public class Clockwork {
             throws SchemaException, PolicyViolationException, ExpressionEvaluationException, ObjectNotFoundException,
             ObjectAlreadyExistsException, CommunicationException, ConfigurationException, SecurityViolationException {
 
+        ClockworkRunEvent event = new ClockworkRunEvent();
+        event.begin();
+
         OperationResultBuilder builder = parentResult.subresult(OP_RUN);
         boolean tracingRequested = startTracingIfRequested(context, task, builder, parentResult);
         OperationResult result = builder.build();
@@ -116,6 +120,21 @@ public class Clockwork {
             if (tracingRequested) {
                 tracer.storeTrace(task, result, parentResult);
             }
+
+            commitEvent(event, context, result);
+        }
+    }
+
+    private void commitEvent(ClockworkRunEvent event, LensContext<?> context, OperationResult result) {
+        event.end();
+        if (event.shouldCommit()) {
+            LensFocusContext<?> focusContext = context.getFocusContext();
+            event.focusType = context.getFocusClass() != null ? context.getFocusClass().getSimpleName() : null;
+            event.oid = focusContext != null ? focusContext.getOid() : null;
+            event.channel = context.getChannel();
+            event.projections = context.getProjectionContexts().size();
+            event.status = String.valueOf(result.getStatus());
+            event.commit();
         }
     }
 
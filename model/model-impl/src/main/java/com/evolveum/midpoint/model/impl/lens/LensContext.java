@@ -1547,7 +1547,8 @@ public class LensContext<F extends ObjectType> implements ModelContext<F>, Clone
     }
 
     @Override
-    public void reportProgress(ProgressInformation progress) {
+    /** Synchronized, as projections can be executed concurrently, see {@link ProjectionWorkers}. */
+    public synchronized void reportProgress(ProgressInformation progress) {
         if (progressListeners == null) {
             return;
         }
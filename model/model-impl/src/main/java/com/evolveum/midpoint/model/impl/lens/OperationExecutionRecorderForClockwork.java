@@ -60,6 +60,10 @@ import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
  *     <li>And if the focus does not exist as well, we simply discard them. We assume that the most relevant
  *     information - that is, the complex operation execution record - will be written by the task handler.</li>
  * </ol>
+ *
+ * <p>If write-behind of the records is enabled, the records are buffered by the {@link OperationExecutionWriter}.
+ * Records for objects that are expected to be deleted are still written immediately, so the above fallback works
+ * for them; records for objects deleted unexpectedly before the flush are discarded.</p>
  */
 @Component
 class OperationExecutionRecorderForClockwork {
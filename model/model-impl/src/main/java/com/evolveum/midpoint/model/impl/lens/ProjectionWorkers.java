@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.model.impl.lens;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.annotation.PreDestroy;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.util.exception.CommonException;
+import com.evolveum.midpoint.util.exception.SystemException;
+import com.evolveum.midpoint.util.logging.Trace;
+import com.evolveum.midpoint.util.logging.TraceManager;
+
+/**
+ * Runs independent pieces of work related to projections (e.g. execution of projection changes)
+ * concurrently on a bounded thread pool shared by all clockwork operations on this node.
+ *
+ * Each piece of work gets its own subresult of the parent result. These subresults are created by the calling thread
+ * in the order of the works (so the result tree is the same regardless of the order in which the works were actually
+ * executed) and they inherit the tracing and profiling settings of the parent. Each worker thread then writes
+ * only into its own subresult.
+ *
+ * Each worker gets its own security context with the authentication of the calling thread. (Sharing the context
+ * object itself would mean that `runAs` or `runPrivileged` in one worker changes the authentication of the caller
+ * and of the other workers.)
+ *
+ * Works started from a worker thread (e.g. a nested clockwork run) are executed directly in that thread,
+ * so the workers never wait for the pool, and the pool can't deadlock.
+ */
+@Component
+public class ProjectionWorkers {
+
+    private static final Trace LOGGER = TraceManager.getTrace(ProjectionWorkers.class);
+
+    private static final String OP_WORK = ProjectionWorkers.class.getName() + ".work";
+    private static final String THREAD_NAME_PREFIX = "midpoint-projection-worker-";
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static final ThreadLocal<Boolean> IN_WORKER = ThreadLocal.withInitial(() -> false);
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    private ThreadPoolExecutor executor;
+
+    @FunctionalInterface
+    public interface Work {
+        void run(OperationResult result) throws CommonException;
+    }
+
+    /**
+     * Runs the works using at most `threads` threads (the current thread only waits for them),
+     * and waits until all of them finish, even if some of them fail.
+     *
+     * @return failure of the first work (in the order of the list) that failed, or null if all of them succeeded
+     */
+    public @Nullable Throwable runAll(@NotNull List<Work> works, int threads, @NotNull OperationResult parentResult) {
+        if (works.size() <= 1 || threads <= 1 || IN_WORKER.get()) {
+            return runAllInCurrentThread(works, parentResult);
+        }
+
+        int runners = Math.min(threads, works.size());
+        ExecutorService executor = getExecutor(runners);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        List<OperationResult> workResults = new ArrayList<>(works.size());
+        for (int i = 0; i < works.size(); i++) {
+            workResults.add(
+                    parentResult.subresult(OP_WORK)
+                            .setMinor()
+                            .build());
+        }
+        Throwable[] failures = new Throwable[works.size()];
+
+        // Each runner takes the works one by one, so this call never uses more than "runners" threads,
+        // even if the pool is bigger.
+        AtomicInteger nextWork = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(runners);
+        for (int r = 0; r < runners; r++) {
+            futures.add(executor.submit(() -> {
+                IN_WORKER.set(true);
+                SecurityContext workerSecurityContext = SecurityContextHolder.createEmptyContext();
+                workerSecurityContext.setAuthentication(authentication);
+                SecurityContextHolder.setContext(workerSecurityContext);
+                try {
+                    int i;
+                    while ((i = nextWork.getAndIncrement()) < works.size()) {
+                        OperationResult workResult = workResults.get(i);
+                        try {
+                            works.get(i).run(workResult);
+                        } catch (Throwable t) {
+                            failures[i] = t;
+                            workResult.recordFatalError(t);
+                        } finally {
+                            workResult.close();
+                        }
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    IN_WORKER.set(false);
+                }
+            }));
+        }
+
+        Throwable interruption = null;
+        for (Future<?> future : futures) {
+            Throwable failure = waitFor(future);
+            if (failure != null && interruption == null) {
+                interruption = failure;
+            }
+        }
+
+        Throwable firstFailure = interruption;
+        for (int i = 0; i < works.size() && firstFailure == null; i++) {
+            firstFailure = failures[i];
+        }
+        return firstFailure;
+    }
+
+    private @Nullable Throwable runAllInCurrentThread(@NotNull List<Work> works, @NotNull OperationResult parentResult) {
+        Throwable firstFailure = null;
+        for (Work work : works) {
+            try {
+                work.run(parentResult);
+            } catch (Throwable t) {
+                if (firstFailure == null) {
+                    firstFailure = t;
+                }
+            }
+        }
+        return firstFailure;
+    }
+
+    private @Nullable Throwable waitFor(Future<?> future) {
+        try {
+            future.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return new SystemException("Interrupted while waiting for projection worker", e);
+        }
+    }
+
+    /**
+     * The pool grows to the highest number of threads requested so far; the idle threads are terminated after a while.
+     * The number of threads used by individual calls is limited by the callers themselves.
+     */
+    private synchronized ExecutorService getExecutor(int threads) {
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), this::createThread);
+            executor.allowCoreThreadTimeOut(true);
+        } else if (threads > executor.getMaximumPoolSize()) {
+            LOGGER.debug("Increasing number of projection worker threads from {} to {}", executor.getMaximumPoolSize(), threads);
+            // The order matters: core size must never be greater than maximum size.
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        }
+        return executor;
+    }
+
+    private Thread createThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -367,8 +367,11 @@ public class ProjectionChangeExecution<O extends ObjectType> extends ElementChan
             return;
         }
 
-        //noinspection unchecked
-        new LinkUpdater<>(context, (LensFocusContext<? extends FocusType>) focusContext, projCtx, shadowLivenessState, task, b)
-                .updateLinks(result);
+        // Projections may be executed concurrently (see ProjectionWorkers), but the focus must be updated by one at a time.
+        synchronized (focusContext) {
+            //noinspection unchecked
+            new LinkUpdater<>(context, (LensFocusContext<? extends FocusType>) focusContext, projCtx, shadowLivenessState, task, b)
+                    .updateLinks(result);
+        }
     }
 }
@@ -8,6 +8,7 @@ package com.evolveum.midpoint.model.impl.lens.projector.loader;
 
 import com.evolveum.midpoint.model.impl.ModelBeans;
 import com.evolveum.midpoint.model.impl.lens.*;
+import com.evolveum.midpoint.prism.PrismObject;
 import com.evolveum.midpoint.prism.delta.ObjectDelta;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.task.api.Task;
@@ -18,14 +19,17 @@ import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import static com.evolveum.midpoint.model.impl.lens.LensUtil.getExportType;
 
 /**
  * Represents the loading of the lens context: both focus and projections.
  *
- * Delegates much to {@link FocusLoadOperation}, {@link ProjectionsLoadOperation}, and {@link ProjectionUpdateOperation}.
+ * Delegates much to {@link FocusLoadOperation}, {@link ProjectionsLoadOperation}, {@link ProjectionUpdateOperation},
+ * and {@link ProjectionsFullLoadPrefetchOperation}.
  *
  * Intentionally package-private.
  *
@@ -46,6 +50,9 @@ class ContextLoadOperation<F extends ObjectType> {
 
     @NotNull private final ModelBeans beans = ModelBeans.get();
 
+    /** Shadows loaded in bulk by {@link ProjectionsLoadOperation}, to be reused by {@link ProjectionUpdateOperation}. */
+    @NotNull private final Map<String, PrismObject<ShadowType>> bulkLoadedShadows = new HashMap<>();
+
     /** Trace that is used during the context load operation (if any). */
     private ProjectorComponentTraceType trace;
 
@@ -104,6 +111,9 @@ class ContextLoadOperation<F extends ObjectType> {
                 updateProjection(projectionContext, result);
             }
 
+            new ProjectionsFullLoadPrefetchOperation(context, task)
+                    .prefetch(result);
+
             context.checkConsistenceIfNeeded();
 
             // Set the "fresh" mark now so following consistency check will be stricter
@@ -125,7 +135,7 @@ class ContextLoadOperation<F extends ObjectType> {
     private void updateProjection(LensProjectionContext projectionContext, OperationResult result)
             throws SchemaException, ExpressionEvaluationException, CommunicationException, SecurityViolationException,
             ConfigurationException, ObjectNotFoundException {
-        new ProjectionUpdateOperation<>(context, projectionContext, task)
+        new ProjectionUpdateOperation<>(context, projectionContext, bulkLoadedShadows, task)
                 .update(result);
     }
 
@@ -133,7 +143,7 @@ class ContextLoadOperation<F extends ObjectType> {
             throws ObjectNotFoundException, SchemaException, CommunicationException, ConfigurationException,
             SecurityViolationException, PolicyViolationException, ExpressionEvaluationException, ObjectAlreadyExistsException {
         //noinspection unchecked
-        new ProjectionsLoadOperation<>((LensContext<? extends FocusType>) context, task)
+        new ProjectionsLoadOperation<>((LensContext<? extends FocusType>) context, bulkLoadedShadows, task)
                 .load(result); // this also removes the accountRef deltas (???)
     }
 
@@ -166,8 +166,9 @@ class ProjectionFullLoadOperation {
                 .refresh(result);
     }
 
+    /** Also used by {@link ProjectionsFullLoadPrefetchOperation}, so the prefetch loads the object in the same way. */
     @NotNull
-    private Collection<SelectorOptions<GetOperationOptions>> createOptions() throws SchemaException, ConfigurationException {
+    Collection<SelectorOptions<GetOperationOptions>> createOptions() throws SchemaException, ConfigurationException {
         GetOperationOptions getOptions = GetOperationOptions.createAllowNotFound();
         //getOptions.setReadOnly(true);
         getOptions.setPointInTimeType(PointInTimeType.FUTURE);
@@ -12,7 +12,9 @@ import static com.evolveum.midpoint.schema.GetOperationOptions.isNoFetch;
 import static com.evolveum.midpoint.schema.util.ShadowUtil.getShadowCachedStatus;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.evolveum.midpoint.schema.util.ItemCachedStatus;
 import com.evolveum.midpoint.util.annotation.Experimental;
@@ -79,13 +81,25 @@ class ProjectionUpdateOperation<F extends ObjectType> {
      */
     private ShadowType projectionObject;
 
+    /** Shadows loaded by {@link ProjectionsLoadOperation}; usable instead of `noFetch` loading. Used ones are removed. */
+    @NotNull private final Map<String, PrismObject<ShadowType>> bulkLoadedShadows;
+
+    ProjectionUpdateOperation(
+            @NotNull LensContext<F> context,
+            @NotNull LensProjectionContext projectionContext,
+            @NotNull Task task) {
+        this(context, projectionContext, new HashMap<>(), task);
+    }
+
     ProjectionUpdateOperation(
             @NotNull LensContext<F> context,
             @NotNull LensProjectionContext projectionContext,
+            @NotNull Map<String, PrismObject<ShadowType>> bulkLoadedShadows,
             @NotNull Task task) {
         this.context = context;
         this.projectionContext = projectionContext;
         this.projectionObjectOid = projectionContext.getOid();
+        this.bulkLoadedShadows = bulkLoadedShadows;
         this.task = task;
         this.beans = ModelBeans.get();
     }
@@ -315,9 +329,11 @@ class ProjectionUpdateOperation<F extends ObjectType> {
         try {
             LOGGER.trace("Loading shadow {} for projection {}, options={}", projectionObjectOid, projectionContext, options);
 
-            PrismObject<ShadowType> object =
-                    beans.provisioningService.getObject(
-                            ShadowType.class, projectionObjectOid, options, task, result);
+            PrismObject<ShadowType> object = getBulkLoadedShadowIfApplicable(options);
+            if (object == null) {
+                object = beans.provisioningService.getObject(
+                        ShadowType.class, projectionObjectOid, options, task, result);
+            }
 
             logLoadedShadow(object, options);
             checkLoadedShadowConsistency(object);
@@ -369,6 +385,23 @@ class ProjectionUpdateOperation<F extends ObjectType> {
         return false;
     }
 
+    /**
+     * The shadow loaded in bulk a moment ago is as good as the one we would get by `noFetch` loading now.
+     * It is used only once, and cloned, as the loaded object is expected to be mutable here.
+     */
+    private PrismObject<ShadowType> getBulkLoadedShadowIfApplicable(
+            Collection<SelectorOptions<GetOperationOptions>> options) {
+        if (!isNoFetch(SelectorOptions.findRootOptions(options))) {
+            return null;
+        }
+        var shadow = bulkLoadedShadows.remove(projectionObjectOid);
+        if (shadow == null) {
+            return null;
+        }
+        LOGGER.trace("Using bulk-loaded shadow {} instead of loading it again", projectionObjectOid);
+        return shadow.clone();
+    }
+
     private boolean isExceptionFatal(Throwable e) {
         ResourceType resource = projectionContext.getResource();
         if (resource == null) {
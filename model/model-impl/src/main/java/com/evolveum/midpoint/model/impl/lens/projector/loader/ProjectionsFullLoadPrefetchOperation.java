@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.model.impl.lens.projector.loader;
+
+import java.util.*;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.evolveum.midpoint.model.api.context.SynchronizationIntent;
+import com.evolveum.midpoint.model.impl.ModelBeans;
+import com.evolveum.midpoint.model.impl.lens.LensContext;
+import com.evolveum.midpoint.model.impl.lens.LensProjectionContext;
+import com.evolveum.midpoint.model.impl.lens.ProjectionWorkers;
+import com.evolveum.midpoint.model.impl.lens.projector.ReconciliationProcessor;
+import com.evolveum.midpoint.prism.PrismObject;
+import com.evolveum.midpoint.schema.GetOperationOptions;
+import com.evolveum.midpoint.schema.SelectorOptions;
+import com.evolveum.midpoint.schema.internals.InternalCounters;
+import com.evolveum.midpoint.schema.internals.InternalMonitor;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.schema.util.ShadowUtil;
+import com.evolveum.midpoint.schema.util.SystemConfigurationTypeUtil;
+import com.evolveum.midpoint.task.api.Task;
+import com.evolveum.midpoint.util.exception.*;
+import com.evolveum.midpoint.util.logging.Trace;
+import com.evolveum.midpoint.util.logging.TraceManager;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.FullShadowLoadedTraceType;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ShadowType;
+
+/**
+ * Loads full resource objects for projections that are going to be reconciled, concurrently.
+ *
+ * Without this, the objects are loaded by {@link ReconciliationProcessor} one after another, each of them waiting
+ * for the (potentially slow) resource. Here they are fetched in advance, using {@link ProjectionWorkers}; projections
+ * on the same resource are fetched sequentially, so the resource is not hit by more than one request of this operation
+ * at once. The fetching uses the same options as the reconciliation does (i.e. no discovery), so it only moves
+ * the loading earlier; the reconciliation then finds the full shadow already loaded.
+ *
+ * The worker threads only call the provisioning service; they do not touch the lens context. The fetched objects
+ * are put into the projection contexts afterwards, by the calling (clockwork) thread. Only objects that exist are
+ * applied: anything else (a failure, a non-existing object) is left to the regular lazy load, which handles it
+ * in its usual way, including the refresh of the context after the shadow is found to be missing.
+ *
+ * Done only if more than one thread is configured, see {@link SystemConfigurationTypeUtil#getProjectionFullLoadThreads}.
+ * Each applied object is counted as {@link InternalCounters#PROJECTION_FULL_SHADOW_PREFETCH_COUNT}.
+ * Duration of the whole operation is recorded in the operation result (and hence in operations performance information).
+ *
+ * Intentionally package-private.
+ */
+class ProjectionsFullLoadPrefetchOperation {
+
+    private static final Trace LOGGER = TraceManager.getTrace(ProjectionsFullLoadPrefetchOperation.class);
+
+    private static final String OP_PREFETCH_FULL_SHADOWS = ContextLoader.CLASS_DOT + "prefetchFullShadows";
+    private static final String OP_PREFETCH_FULL_SHADOW = ContextLoader.CLASS_DOT + "prefetchFullShadow";
+
+    private static final String REASON = "projection reconciliation (prefetch)";
+
+    @NotNull private final LensContext<?> context;
+    @NotNull private final Task task;
+    @NotNull private final ModelBeans beans = ModelBeans.get();
+
+    ProjectionsFullLoadPrefetchOperation(@NotNull LensContext<?> context, @NotNull Task task) {
+        this.context = context;
+        this.task = task;
+    }
+
+    public void prefetch(OperationResult parentResult) throws SchemaException, ConfigurationException {
+
+        int threads = SystemConfigurationTypeUtil.getProjectionFullLoadThreads(context.getSystemConfigurationBean());
+        if (threads <= 1 || parentResult.isTracingAny(FullShadowLoadedTraceType.class)) {
+            // When tracing, the whole lens context is dumped for each load; this is better left to the regular load.
+            return;
+        }
+
+        Collection<List<Fetch>> groups = createFetches();
+        int projections = groups.stream().mapToInt(List::size).sum();
+        if (projections <= 1) {
+            LOGGER.trace("{} projection(s) to be loaded, no point in loading them concurrently", projections);
+            return;
+        }
+
+        OperationResult result = parentResult.subresult(OP_PREFETCH_FULL_SHADOWS)
+                .setMinor()
+                .addParam("projections", projections)
+                .addParam("resources", groups.size())
+                .addParam("threads", threads)
+                .build();
+        try {
+            LOGGER.trace("Loading {} projections on {} resources using {} threads", projections, groups.size(), threads);
+            List<ProjectionWorkers.Work> works = new ArrayList<>();
+            for (List<Fetch> group : groups) {
+                works.add(workResult -> {
+                    for (Fetch fetch : group) {
+                        fetch.execute(workResult);
+                    }
+                });
+            }
+            Throwable failure = beans.projectionWorkers.runAll(works, threads, result);
+            if (failure != null) {
+                throw new SystemException("Unexpected failure while loading projections: " + failure.getMessage(), failure);
+            }
+            int applied = 0;
+            for (List<Fetch> group : groups) {
+                for (Fetch fetch : group) {
+                    if (fetch.apply()) {
+                        applied++;
+                    }
+                }
+            }
+            result.addReturn("applied", applied);
+        } catch (Throwable t) {
+            result.recordException(t);
+            throw t;
+        } finally {
+            result.close();
+        }
+    }
+
+    /**
+     * Mirrors the conditions in {@link ReconciliationProcessor} as far as they can be evaluated at this time.
+     * Everything that needs the lens context is evaluated here, in the calling thread.
+     */
+    private Collection<List<Fetch>> createFetches() throws SchemaException, ConfigurationException {
+        Map<String, List<Fetch>> groups = new LinkedHashMap<>();
+        for (LensProjectionContext projCtx : context.getProjectionContexts()) {
+            if (projCtx.isDoReconciliation()
+                    && !projCtx.isFullShadow()
+                    && !projCtx.isGone()
+                    && !projCtx.isHigherOrder()
+                    && !projCtx.isInMaintenance()
+                    && projCtx.getOid() != null
+                    && projCtx.getResourceOid() != null
+                    && projCtx.getSynchronizationIntent() != SynchronizationIntent.DELETE
+                    && projCtx.getSynchronizationIntent() != SynchronizationIntent.UNLINK
+                    && !projCtx.isCachedShadowsUseAllowed()) {
+                var options = new ProjectionFullLoadOperation(projCtx, REASON, true, task)
+                        .createOptions();
+                groups.computeIfAbsent(projCtx.getResourceOid(), k -> new ArrayList<>())
+                        .add(new Fetch(projCtx, projCtx.getOid(), options));
+            }
+        }
+        return groups.values();
+    }
+
+    /** Fetching of a single resource object. Executed by a worker thread, applied by the calling one. */
+    private class Fetch {
+
+        @NotNull private final LensProjectionContext projCtx;
+        @NotNull private final String oid;
+        @NotNull private final Collection<SelectorOptions<GetOperationOptions>> options;
+
+        /** Set by the worker thread; read by the calling thread after the workers are done. */
+        private PrismObject<ShadowType> object;
+
+        Fetch(
+                @NotNull LensProjectionContext projCtx,
+                @NotNull String oid,
+                @NotNull Collection<SelectorOptions<GetOperationOptions>> options) {
+            this.projCtx = projCtx;
+            this.oid = oid;
+            this.options = options;
+        }
+
+        /** Must not touch {@link #projCtx} (nor anything else in the lens context). */
+        void execute(OperationResult parentResult) {
+            OperationResult result = parentResult.subresult(OP_PREFETCH_FULL_SHADOW)
+                    .setMinor()
+                    .addParam("oid", oid)
+                    .build();
+            try {
+                object = beans.provisioningService.getObject(ShadowType.class, oid, options, task, result);
+            } catch (CommonException | RuntimeException e) {
+                LOGGER.debug("Couldn't load full shadow {} in advance, it will be tried again later: {}",
+                        oid, e.getMessage(), e);
+                result.recordException(e);
+                result.muteError();
+            } finally {
+                result.close();
+            }
+        }
+
+        /** Puts the fetched object into the projection context, if it's usable. Returns true if it was applied. */
+        boolean apply() {
+            if (object == null || !ShadowUtil.isExists(object.asObjectable())) {
+                LOGGER.trace("Prefetched full shadow {} not available, leaving it to the regular load", oid);
+                return false;
+            }
+            projCtx.setCurrentObject(object);
+            projCtx.determineFullShadowFlag(object.asObjectable());
+            InternalMonitor.recordCount(InternalCounters.PROJECTION_FULL_SHADOW_PREFETCH_COUNT);
+            LOGGER.trace("Prefetched full shadow applied to {}; isFullShadow={}", projCtx, projCtx.isFullShadow());
+            return true;
+        }
+    }
+}
@@ -11,9 +11,7 @@ import static com.evolveum.midpoint.model.impl.lens.LensContext.getOrCreateProje
 import static com.evolveum.midpoint.schema.internals.InternalsConfig.consistencyChecks;
 import static com.evolveum.midpoint.util.MiscUtil.*;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 import com.evolveum.midpoint.model.api.context.ProjectionContextFilter;
 import com.evolveum.midpoint.model.api.context.ProjectionContextKey;
@@ -23,6 +21,7 @@ import com.evolveum.midpoint.model.impl.lens.LensContext.GetOrCreateProjectionCo
 import com.evolveum.midpoint.prism.*;
 
 import com.evolveum.midpoint.prism.util.CloneUtil;
+import com.evolveum.midpoint.provisioning.api.ProvisioningOperationContext;
 import com.evolveum.midpoint.provisioning.api.ProvisioningService;
 import com.evolveum.midpoint.util.DebugUtil;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
@@ -77,9 +76,19 @@ public class ProjectionsLoadOperation<F extends FocusType> {
     @NotNull private final ModelBeans beans;
     @NotNull private final ProvisioningService provisioningService;
 
-    ProjectionsLoadOperation(@NotNull LensContext<F> context, @NotNull Task task) {
+    /**
+     * Linked shadows loaded in bulk, see {@link #bulkLoadLinkedShadows(List, OperationResult)}.
+     * Shared with {@link ProjectionUpdateOperation} that can reuse them instead of loading them again.
+     */
+    @NotNull private final Map<String, PrismObject<ShadowType>> bulkLoadedShadows;
+
+    ProjectionsLoadOperation(
+            @NotNull LensContext<F> context,
+            @NotNull Map<String, PrismObject<ShadowType>> bulkLoadedShadows,
+            @NotNull Task task) {
         this.context = context;
         this.focusContext = context.getFocusContext();
+        this.bulkLoadedShadows = bulkLoadedShadows;
         this.task = task;
         this.beans = ModelBeans.get();
         this.provisioningService = beans.provisioningService;
@@ -125,6 +134,8 @@ public class ProjectionsLoadOperation<F extends FocusType> {
         PrismObject<F> focus = focusContext.getObjectCurrent();
         List<ObjectReferenceType> linkRefs = focus != null ? focus.asObjectable().getLinkRef() : List.of();
 
+        bulkLoadLinkedShadows(linkRefs, result);
+
         for (ObjectReferenceType linkRef : linkRefs) {
             new LinkLevelLoadOperation(linkRef)
                     .getOrCreateFromExistingValue(result);
@@ -222,6 +233,48 @@ public class ProjectionsLoadOperation<F extends FocusType> {
         }
     }
 
+    /**
+     * Loads shadows for all active linkRefs that need them (i.e. the ones without embedded shadow and without existing
+     * projection context) using a single provisioning call, which reads them by a single repository search, instead of
+     * one repository read per link.
+     *
+     * Shadows that couldn't be loaded this way are loaded individually later, see {@link LinkLevelLoadOperation#getShadow}.
+     */
+    private void bulkLoadLinkedShadows(List<ObjectReferenceType> linkRefs, OperationResult result) throws SchemaException {
+        Set<String> oids = new HashSet<>();
+        for (ObjectReferenceType linkRef : linkRefs) {
+            String oid = linkRef.getOid();
+            if (StringUtils.isNotBlank(oid)
+                    && linkRef.asReferenceValue().getObject() == null
+                    && !isInactive(linkRef)
+                    && !bulkLoadedShadows.containsKey(oid)
+                    && context.findProjectionContextByOid(oid) == null) {
+                oids.add(oid);
+            }
+        }
+        if (oids.size() <= 1) {
+            LOGGER.trace("Not loading linked shadows in bulk, as there are only {} shadow(s) to be loaded", oids.size());
+            return;
+        }
+
+        var shadows = provisioningService.getShadowsNoFetch(
+                oids, createLinkedShadowOptions(), new ProvisioningOperationContext(), task, result);
+        LOGGER.trace("Loaded {} linked shadows in bulk (out of {} requested)", shadows.size(), oids.size());
+        bulkLoadedShadows.putAll(shadows);
+    }
+
+    /**
+     * Using NO_FETCH so we avoid reading in a full account. This is more efficient as we don't need full account here.
+     * We need to fetch from provisioning and not repository so the correct definition will be set.
+     */
+    private Collection<SelectorOptions<GetOperationOptions>> createLinkedShadowOptions() {
+        return SchemaService.get().getOperationOptionsBuilder()
+                .noFetch()
+                .futurePointInTime()
+                .readOnly()
+                .build();
+    }
+
     private boolean isInactive(Referencable linkRef) {
         return !SchemaService.get().relationRegistry().isMember(linkRef.getRelation());
     }
@@ -531,13 +584,14 @@ public class ProjectionsLoadOperation<F extends FocusType> {
             }
 
             String oid = linkRef.getOid();
-            // Using NO_FETCH so we avoid reading in a full account. This is more efficient as we don't need full account here.
-            // We need to fetch from provisioning and not repository so the correct definition will be set.
-            var options = SchemaService.get().getOperationOptionsBuilder()
-                    .noFetch()
-                    .futurePointInTime()
-                    .readOnly()
-                    .build();
+            var bulkLoadedShadow = bulkLoadedShadows.get(oid);
+            if (bulkLoadedShadow != null) {
+                LOGGER.trace("Using bulk-loaded shadow {}", ShadowUtil.getDiagInfoLazily(bulkLoadedShadow));
+                // The instance in the map is shared (see ProjectionUpdateOperation), so it must not get into the context.
+                return bulkLoadedShadow.clone();
+            }
+
+            var options = createLinkedShadowOptions();
             LOGGER.trace("Loading shadow {} from linkRef, options={}", oid, options);
             try {
                 var shadow = provisioningService.getObject(ShadowType.class, oid, options, task, result);
@@ -11,6 +11,8 @@ import com.evolveum.midpoint.model.api.context.ModelProjectionContext;
 
 import com.evolveum.midpoint.model.impl.lens.LensContext;
 
+import java.util.concurrent.TimeUnit;
+
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +28,8 @@ import com.evolveum.midpoint.prism.ItemDefinition;
 import com.evolveum.midpoint.prism.PrismValue;
 import com.evolveum.midpoint.repo.common.expression.ExpressionEnvironmentThreadLocalHolder;
 import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.schema.constants.SchemaConstantsGenerated;
+import com.evolveum.midpoint.schema.statistics.EnvironmentalPerformanceInformation;
 import com.evolveum.midpoint.schema.statistics.StatisticsCollector;
 import com.evolveum.midpoint.task.api.Task;
 import com.evolveum.midpoint.util.MiscUtil;
@@ -34,6 +38,7 @@ import com.evolveum.midpoint.util.logging.LoggingUtils;
 import com.evolveum.midpoint.util.logging.Trace;
 import com.evolveum.midpoint.util.logging.TraceManager;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.AbstractMappingType;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ExpressionType;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectType;
 
 /**
@@ -84,15 +89,15 @@ public class MappingEvaluator {
                         .provideExtraOptions(context.expressionEnvironmentExtraOptionsProvider)
                         .build());
 
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         try {
             task.recordStateMessage("Started evaluation of mapping " + mapping.getMappingContextDescription() + ".");
             mapping.evaluate(task, result);
             task.recordStateMessage("Successfully finished evaluation of mapping " + mapping.getMappingContextDescription()
-                    + " in " + (System.currentTimeMillis() - start) + " ms.");
+                    + " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
         } catch (Exception e) {
             task.recordStateMessage("Evaluation of mapping " + mapping.getMappingContextDescription() + " finished with error in "
-                    + (System.currentTimeMillis() - start) + " ms.");
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
             //noinspection IfStatementWithIdenticalBranches
             if (e instanceof ExpressionEvaluationException) {
                 // The exception probably contains the correct context description
@@ -109,8 +114,14 @@ public class MappingEvaluator {
         }
     }
 
+    /**
+     * Records the evaluation in the task statistics, under the mapping identity (origin object + mapping name),
+     * see {@link EnvironmentalPerformanceInformation}. This is done for each evaluation, as it is cheap:
+     * each worker thread has its own statistics, so there is no contention.
+     */
     private <V extends PrismValue, D extends ItemDefinition<?>> void recordMappingOperation(
-            MappingImpl<V, D> mapping, Task task, long start) {
+            MappingImpl<V, D> mapping, Task task, long startNanos) {
+        long durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
         try {
             String objectOid, objectName, objectTypeName;
             ObjectType originObject = mapping.getOriginObject();
@@ -121,15 +132,29 @@ public class MappingEvaluator {
             } else {
                 objectOid = objectName = objectTypeName = null;
             }
-            String mappingName = mapping.getItemName() != null ? mapping.getItemName().getLocalPart() : null;
+            String mappingName;
+            if (mapping.getIdentifier() != null) {
+                mappingName = mapping.getIdentifier();
+            } else {
+                mappingName = mapping.getItemName() != null ? mapping.getItemName().getLocalPart() : null;
+            }
             task.recordMappingOperation(
-                    objectOid, objectName, objectTypeName, mappingName, System.currentTimeMillis() - start);
+                    objectOid, objectName, objectTypeName, mappingName, getExpressionType(mapping), durationMicros);
         } catch (Exception e) {
             LoggingUtils.logUnexpectedException(LOGGER, "Couldn't record mapping operation on {}", e, mapping);
             // Not propagating the exception, as there's no real harm done.
         }
     }
 
+    private static String getExpressionType(MappingImpl<?, ?> mapping) {
+        ExpressionType expression = mapping.getMappingBean().getExpression();
+        if (expression == null || expression.getExpressionEvaluator().isEmpty()) {
+            return SchemaConstantsGenerated.C_AS_IS.getLocalPart(); // the default
+        } else {
+            return expression.getExpressionEvaluator().get(0).getName().getLocalPart();
+        }
+    }
+
     public record EvaluationContext<V extends PrismValue, D extends ItemDefinition<?>> (
             @NotNull ExtraOptionsProvider<V, D> expressionEnvironmentExtraOptionsProvider,
             @NotNull MappingInspector mappingInspector) {
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.model.intest.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.io.File;
+
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ContextConfiguration;
+import org.testng.annotations.Test;
+
+import com.evolveum.midpoint.model.api.ModelExecuteOptions;
+import com.evolveum.midpoint.model.intest.AbstractEmptyModelIntegrationTest;
+import com.evolveum.midpoint.prism.polystring.PolyString;
+import com.evolveum.midpoint.schema.internals.InternalCounters;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.task.api.Task;
+import com.evolveum.midpoint.test.DummyTestResource;
+import com.evolveum.midpoint.test.TestObject;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
+
+/**
+ * Tests the incremental recomputation, i.e. skipping the recomputation of a focus if its processing fingerprint
+ * has not changed (see {@link ModelExecuteOptionsType#F_INCREMENTAL_RECOMPUTE}).
+ *
+ * The user has an archetype (with an object template) and a role giving an account on a dummy resource.
+ * A change of the user, the role, the template, or the shadow must cause the recomputation to be executed.
+ */
+@ContextConfiguration(locations = { "classpath:ctx-model-intest-test-main.xml" })
+@DirtiesContext(classMode = ClassMode.AFTER_CLASS)
+public class TestIncrementalRecompute extends AbstractEmptyModelIntegrationTest {
+
+    private static final File TEST_DIR = new File("src/test/resources/incremental-recompute");
+
+    /** Recomputation right after a change may not be able to record the fingerprint; see the method description. */
+    private static final int MAX_RECOMPUTATIONS_TO_SETTLE = 3;
+
+    private static final DummyTestResource RESOURCE_DUMMY = new DummyTestResource(
+            TEST_DIR, "resource-dummy.xml", "5c0a0b8e-2f41-4d57-9c3e-7a1e0f6b1a01", "incremental");
+    private static final TestObject<RoleType> ROLE_ACCOUNT = TestObject.file(
+            TEST_DIR, "role-account.xml", "5c0a0b8e-2f41-4d57-9c3e-7a1e0f6b1b01");
+    private static final TestObject<ObjectTemplateType> TEMPLATE_PERSON = TestObject.file(
+            TEST_DIR, "object-template-person.xml", "5c0a0b8e-2f41-4d57-9c3e-7a1e0f6b1c01");
+    private static final TestObject<ArchetypeType> ARCHETYPE_PERSON = TestObject.file(
+            TEST_DIR, "archetype-person.xml", "5c0a0b8e-2f41-4d57-9c3e-7a1e0f6b1d01");
+
+    private String userOid;
+
+    @Override
+    public void initSystem(Task initTask, OperationResult initResult) throws Exception {
+        super.initSystem(initTask, initResult);
+
+        RESOURCE_DUMMY.initAndTest(this, initTask, initResult);
+        repoAdd(ROLE_ACCOUNT, initResult);
+        repoAdd(TEMPLATE_PERSON, initResult);
+        repoAdd(ARCHETYPE_PERSON, initResult);
+    }
+
+    /** The fingerprint is recorded by the (incremental) recomputation, and the next one is skipped. */
+    @Test
+    public void test100RecomputeUnchangedUser() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        userOid = addObject(
+                new UserType()
+                        .name("jack")
+                        .assignment(ARCHETYPE_PERSON.assignmentTo())
+                        .assignment(ROLE_ACCOUNT.assignmentTo()),
+                task, result);
+        RESOURCE_DUMMY.controller.assertAccountByUsername("jack");
+
+        when("the user is recomputed until the fingerprint is recorded");
+        settle(task, result);
+
+        then("the fingerprint is there");
+        assertThat(getUser(userOid).asObjectable().getProcessingFingerprint())
+                .as("processing fingerprint")
+                .isNotNull();
+
+        when("the user is recomputed again");
+        boolean executed = recomputeIncrementally(task, result);
+
+        then("the recomputation is skipped");
+        assertThat(executed).as("recomputation executed").isFalse();
+    }
+
+    /** A change of the user itself. */
+    @Test
+    public void test110ChangeUser() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        repositoryService.modifyObject(
+                UserType.class, userOid,
+                deltaFor(UserType.class)
+                        .item(UserType.F_FULL_NAME).replace(PolyString.fromOrig("Jack Sparrow"))
+                        .asItemDeltas(),
+                result);
+
+        assertRecomputationExecutedAndThenSkipped(task, result);
+    }
+
+    /** A change of the role the user is member of. */
+    @Test
+    public void test120ChangeRole() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        repositoryService.modifyObject(
+                RoleType.class, ROLE_ACCOUNT.oid,
+                deltaFor(RoleType.class)
+                        .item(RoleType.F_DESCRIPTION).replace("changed")
+                        .asItemDeltas(),
+                result);
+
+        assertRecomputationExecutedAndThenSkipped(task, result);
+    }
+
+    /** A change of the object template (applied via the archetype). */
+    @Test
+    public void test130ChangeTemplate() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        repositoryService.modifyObject(
+                ObjectTemplateType.class, TEMPLATE_PERSON.oid,
+                deltaFor(ObjectTemplateType.class)
+                        .item(ObjectTemplateType.F_DESCRIPTION).replace("changed")
+                        .asItemDeltas(),
+                result);
+
+        assertRecomputationExecutedAndThenSkipped(task, result);
+    }
+
+    /** A change of the linked shadow. */
+    @Test
+    public void test140ChangeShadow() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        UserType user = getUser(userOid).asObjectable();
+        assertThat(user.getLinkRef()).as("links").hasSize(1);
+        String shadowOid = user.getLinkRef().get(0).getOid();
+
+        repositoryService.modifyObject(
+                ShadowType.class, shadowOid,
+                deltaFor(ShadowType.class)
+                        .item(ShadowType.F_DESCRIPTION).replace("changed")
+                        .asItemDeltas(),
+                result);
+
+        assertRecomputationExecutedAndThenSkipped(task, result);
+    }
+
+    private void assertRecomputationExecutedAndThenSkipped(Task task, OperationResult result) throws Exception {
+        when("the user is recomputed after the change");
+        boolean executed = recomputeIncrementally(task, result);
+
+        then("the recomputation is executed");
+        assertThat(executed).as("recomputation executed").isTrue();
+
+        when("the user is recomputed until the fingerprint is recorded");
+        settle(task, result);
+
+        then("the next recomputation is skipped");
+        assertThat(recomputeIncrementally(task, result)).as("recomputation executed").isFalse();
+    }
+
+    /**
+     * The fingerprint is not recorded if the clockwork itself changed the user (e.g. by linking a shadow),
+     * because the stored user then differs from the one the fingerprint was computed from. So we recompute
+     * until there is nothing to change.
+     */
+    private void settle(Task task, OperationResult result) throws Exception {
+        for (int i = 0; i < MAX_RECOMPUTATIONS_TO_SETTLE; i++) {
+            if (!recomputeIncrementally(task, result)) {
+                return;
+            }
+        }
+        fail("The fingerprint was not recorded after " + MAX_RECOMPUTATIONS_TO_SETTLE + " recomputations");
+    }
+
+    /** Returns true if the recomputation was really executed (i.e. not skipped). */
+    private boolean recomputeIncrementally(Task task, OperationResult result) throws Exception {
+        rememberCounter(InternalCounters.PROJECTOR_RUN_COUNT);
+        recomputeUser(userOid, ModelExecuteOptions.create().incrementalRecompute(), task, result);
+        assertSuccess(result);
+        return getCounterIncrement(InternalCounters.PROJECTOR_RUN_COUNT) > 0;
+    }
+}
@@ -16,9 +16,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.AssertJUnit.*;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.xml.datatype.XMLGregorianCalendar;
 
 import com.evolveum.midpoint.model.api.ModelService;
 import com.evolveum.midpoint.model.impl.controller.ModelController;
@@ -30,7 +35,12 @@ import com.evolveum.midpoint.provisioning.ucf.api.ConnectorInstance;
 import com.evolveum.midpoint.provisioning.ucf.impl.connid.ConnectorInstanceConnIdImpl;
 import com.evolveum.midpoint.repo.api.RepositoryService;
 import com.evolveum.midpoint.repo.cache.RepositoryCache;
+import com.evolveum.midpoint.repo.common.util.OperationExecutionWriter;
 import com.evolveum.midpoint.schema.cache.CacheConfigurationManager;
+import com.evolveum.midpoint.schema.jfr.ClockworkRunEvent;
+import com.evolveum.midpoint.schema.jfr.ConnectorOperationEvent;
+import com.evolveum.midpoint.schema.jfr.ItemProcessingEvent;
+import com.evolveum.midpoint.schema.result.OperationResultStatus;
 import com.evolveum.midpoint.schema.statistics.AbstractStatisticsPrinter.SortBy;
 import com.evolveum.midpoint.schema.statistics.BasicComponentStructure;
 import com.evolveum.midpoint.schema.util.Resource;
@@ -42,6 +52,9 @@ import com.evolveum.midpoint.util.exception.*;
 
 import com.evolveum.midpoint.util.statistics.OperationsPerformanceMonitor;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.DirtiesContext.ClassMode;
@@ -52,8 +65,10 @@ import com.evolveum.midpoint.prism.Objectable;
 import com.evolveum.midpoint.prism.PrismObject;
 import com.evolveum.midpoint.prism.PrismReference;
 import com.evolveum.midpoint.prism.delta.ObjectDelta;
+import com.evolveum.midpoint.prism.path.ItemPath;
 import com.evolveum.midpoint.prism.query.ObjectQuery;
 import com.evolveum.midpoint.prism.util.PrismAsserts;
+import com.evolveum.midpoint.prism.xml.XmlTypeConverter;
 import com.evolveum.midpoint.schema.GetOperationOptions;
 import com.evolveum.midpoint.schema.RepositoryDiag;
 import com.evolveum.midpoint.schema.SelectorOptions;
@@ -65,6 +80,7 @@ import com.evolveum.midpoint.schema.util.ShadowUtil;
 import com.evolveum.midpoint.task.api.Task;
 import com.evolveum.midpoint.test.DummyResourceContoller;
 import com.evolveum.midpoint.test.TestObject;
+import com.evolveum.midpoint.test.TestTask;
 import com.evolveum.midpoint.test.util.TestUtil;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
 
@@ -87,6 +103,11 @@ public class TestMisc extends AbstractMiscTest {
     private static final DummyTestResource RESOURCE_DUMMY_PERF = new DummyTestResource(
             TEST_DIR, "resource-dummy-perf.xml", "5d9cdc84-09cd-45f0-a60c-522ccc8fca88", "perf");
 
+    private static final TestTask TASK_RECOMPUTE_JACK =
+            TestTask.file(TEST_DIR, "task-recompute-jack.xml", "52cc19cf-94f7-409b-8eed-266dcbc0f8c6");
+    private static final TestTask TASK_MODIFY_USERS_SLOWLY =
+            TestTask.file(TEST_DIR, "task-modify-users-slowly.xml", "16201984-dc36-4f01-9061-943c43b47eca");
+
     private static final byte[] KEY = { 0x01, 0x02, 0x03, 0x04, 0x05 };
 
     private static final String USER_CLEAN_NAME = "clean";
@@ -97,6 +118,7 @@ public class TestMisc extends AbstractMiscTest {
     private static final double SAFETY_MARGIN = 1.5;
 
     @Autowired private CacheConfigurationManager cacheConfigurationManager;
+    @Autowired private OperationExecutionWriter operationExecutionWriter;
 
     private String userCleanOid;
     private Integer lastDummyConnectorNumber;
@@ -1229,4 +1251,235 @@ public class TestMisc extends AbstractMiscTest {
         assertThat(localNodeGroups).as("local node groups")
                 .containsExactlyInAnyOrder(ARCHETYPE_NODE_GROUP_GUI.oid);
     }
+
+    /** Operation execution records are buffered when write-behind is enabled, and written on flush. */
+    @Test
+    public void test800OperationExecutionWriteBehind() throws Exception {
+        given("write-behind of operation execution records with a long interval");
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+        setOperationExecutionWriteBehind("PT1H", null, task, result);
+        XMLGregorianCalendar start = clock.currentTimeXMLGregorianCalendar();
+
+        try {
+            when("jack is modified");
+            modifyUserReplace(USER_JACK_OID, UserType.F_DESCRIPTION, task, result, "write-behind");
+
+            then("the operation execution record is not written yet");
+            assertSuccess(result);
+            assertThat(getNewOperationExecutions(USER_JACK_OID, start)).as("new operation executions").isEmpty();
+
+            when("the buffered records are flushed");
+            operationExecutionWriter.flush(result);
+
+            then("the operation execution record is written");
+            assertThat(getNewOperationExecutions(USER_JACK_OID, start)).as("new operation executions").hasSize(1);
+        } finally {
+            setOperationExecutionWriteBehind(null, null, task, result);
+        }
+    }
+
+    /** Buffered operation execution records are written when the batch size is reached. */
+    @Test
+    public void test810OperationExecutionWriteBehindBatchSize() throws Exception {
+        given("write-behind of operation execution records with a long interval and the batch size of 2");
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+        setOperationExecutionWriteBehind("PT1H", 2, task, result);
+        XMLGregorianCalendar start = clock.currentTimeXMLGregorianCalendar();
+
+        try {
+            when("jack is modified once");
+            modifyUserReplace(USER_JACK_OID, UserType.F_DESCRIPTION, task, result, "batch 1");
+
+            then("the operation execution record is not written yet");
+            assertSuccess(result);
+            assertThat(getNewOperationExecutions(USER_JACK_OID, start)).as("new operation executions").isEmpty();
+
+            when("jack is modified for the second time");
+            modifyUserReplace(USER_JACK_OID, UserType.F_DESCRIPTION, task, result, "batch 2");
+
+            then("both operation execution records are written");
+            assertSuccess(result);
+            assertThat(getNewOperationExecutions(USER_JACK_OID, start)).as("new operation executions").hasSize(2);
+        } finally {
+            setOperationExecutionWriteBehind(null, null, task, result);
+        }
+    }
+
+    /** Buffered operation execution records are written when the write-behind is turned off. */
+    @Test
+    public void test820OperationExecutionWriteBehindTurnedOff() throws Exception {
+        given("write-behind of operation execution records with a long interval");
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+        setOperationExecutionWriteBehind("PT1H", null, task, result);
+        XMLGregorianCalendar start = clock.currentTimeXMLGregorianCalendar();
+
+        try {
+            when("jack is modified");
+            modifyUserReplace(USER_JACK_OID, UserType.F_DESCRIPTION, task, result, "turned off");
+
+            then("the operation execution record is not written yet");
+            assertSuccess(result);
+            assertThat(getNewOperationExecutions(USER_JACK_OID, start)).as("new operation executions").isEmpty();
+        } finally {
+            when("the write-behind is turned off");
+            setOperationExecutionWriteBehind(null, null, task, result);
+        }
+
+        then("the operation execution record is written");
+        assertThat(getNewOperationExecutions(USER_JACK_OID, start)).as("new operation executions").hasSize(1);
+    }
+
+    /** Buffered operation execution records are written when the bucket of an iterative activity is done. */
+    @Test
+    public void test830OperationExecutionWriteBehindInTask() throws Exception {
+        given("write-behind of operation execution records with a long interval");
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+        setOperationExecutionWriteBehind("PT1H", null, task, result);
+        TASK_RECOMPUTE_JACK.init(this, task, result);
+        XMLGregorianCalendar start = clock.currentTimeXMLGregorianCalendar();
+
+        try {
+            when("jack is recomputed by a task");
+            TASK_RECOMPUTE_JACK.rerun(result);
+
+            then("the operation execution record is written, without an explicit flush");
+            TASK_RECOMPUTE_JACK.assertAfter()
+                    .assertSuccess()
+                    .assertProgress(1);
+            assertThat(getNewOperationExecutions(USER_JACK_OID, start)).as("new operation executions").hasSize(1);
+        } finally {
+            setOperationExecutionWriteBehind(null, null, task, result);
+        }
+    }
+
+    /** Buffered operation execution records are written when an iterative activity is suspended. */
+    @Test
+    public void test840OperationExecutionWriteBehindInSuspendedTask() throws Exception {
+        given("write-behind of operation execution records with a long interval");
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+        setOperationExecutionWriteBehind("PT1H", null, task, result);
+        TASK_MODIFY_USERS_SLOWLY.init(this, task, result);
+        XMLGregorianCalendar start = clock.currentTimeXMLGregorianCalendar();
+
+        try {
+            when("the task modifying users is run for a while");
+            TASK_MODIFY_USERS_SLOWLY.runFor(2500, result);
+
+            then("the records of the users processed so far are written, without an explicit flush");
+            TASK_MODIFY_USERS_SLOWLY.assertAfter()
+                    .assertSuspended(); // May fail on an extremely fast machine
+            List<PrismObject<UserType>> modifiedUsers = repositoryService.searchObjects(UserType.class,
+                    queryFor(UserType.class).item(UserType.F_DESCRIPTION).eq("modified slowly").build(),
+                    null, result);
+            assertThat(modifiedUsers).as("modified users").isNotEmpty();
+            for (PrismObject<UserType> modifiedUser : modifiedUsers) {
+                assertThat(getNewOperationExecutions(modifiedUser.getOid(), start))
+                        .as("new operation executions of " + modifiedUser)
+                        .hasSize(1);
+            }
+        } finally {
+            setOperationExecutionWriteBehind(null, null, task, result);
+        }
+    }
+
+    /**
+     * Clockwork, connector and item processing operations are recorded as JFR events when a recording is running.
+     * (Repository operation events are tested in the repository itself.)
+     */
+    @Test
+    public void test900FlightRecorderEvents() throws Exception {
+        given("an account on the resource and a running recording of midPoint events");
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+        RESOURCE_DUMMY_PERF.controller.addAccount("jfr-account");
+        TASK_RECOMPUTE_JACK.initWithOverwrite(this, task, result);
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(ClockworkRunEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(ConnectorOperationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(ItemProcessingEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            when("accounts are searched for and jack is recomputed by a task");
+            modelService.searchObjects(ShadowType.class,
+                    Resource.of(RESOURCE_DUMMY_PERF.get())
+                            .queryFor(ACCOUNT, INTENT_DEFAULT)
+                            .build(),
+                    null, task, result);
+            TASK_RECOMPUTE_JACK.rerun(result);
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        then("there are events for the search on the resource, the clockwork run and the processing of jack");
+        assertThat(events)
+                .as("connector operation events")
+                .anySatisfy(e -> {
+                    assertThat(e.getEventType().getName()).isEqualTo(ConnectorOperationEvent.NAME);
+                    assertThat(e.getString("operation")).isEqualTo("search");
+                    assertThat(e.getString("resourceOid")).isEqualTo(RESOURCE_DUMMY_PERF.oid);
+                    assertThat(e.getBoolean("success")).isTrue();
+                });
+        assertThat(events)
+                .as("clockwork run events")
+                .anySatisfy(e -> {
+                    assertThat(e.getEventType().getName()).isEqualTo(ClockworkRunEvent.NAME);
+                    assertThat(e.getString("focusType")).isEqualTo("UserType");
+                    assertThat(e.getString("oid")).isEqualTo(USER_JACK_OID);
+                    assertThat(e.getString("status")).isEqualTo(OperationResultStatus.SUCCESS.toString());
+                });
+        assertThat(events)
+                .as("item processing events")
+                .anySatisfy(e -> {
+                    assertThat(e.getEventType().getName()).isEqualTo(ItemProcessingEvent.NAME);
+                    assertThat(e.getString("taskOid")).isEqualTo(TASK_RECOMPUTE_JACK.oid);
+                    assertThat(e.getString("activityType")).isEqualTo("recomputation");
+                    assertThat(e.getString("oid")).isEqualTo(USER_JACK_OID);
+                    assertThat(e.getString("outcome")).isEqualTo(ItemProcessingOutcomeType.SUCCESS.value());
+                });
+    }
+
+    private List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path file = Files.createTempFile(getTestNameShort(), ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Sets (or removes, if the values are null) the write-behind of simple operation execution records. */
+    private void setOperationExecutionWriteBehind(String interval, Integer batchSize, Task task, OperationResult result)
+            throws CommonException {
+        ItemPath strategyPath = ItemPath.create(
+                SystemConfigurationType.F_INTERNALS,
+                InternalsConfigurationType.F_SIMPLE_OPERATION_EXECUTION_RECORDING);
+        Object[] intervalValues = interval != null ? new Object[] { XmlTypeConverter.createDuration(interval) } : new Object[0];
+        Object[] batchSizeValues = batchSize != null ? new Object[] { batchSize } : new Object[0];
+        executeChanges(
+                deltaFor(SystemConfigurationType.class)
+                        .item(strategyPath.append(OperationExecutionRecordingStrategyType.F_WRITE_BEHIND_INTERVAL))
+                        .replace(intervalValues)
+                        .item(strategyPath.append(OperationExecutionRecordingStrategyType.F_WRITE_BEHIND_BATCH_SIZE))
+                        .replace(batchSizeValues)
+                        .asObjectDelta(SYSTEM_CONFIGURATION_OID),
+                null, task, result);
+    }
+
+    /** Returns simple operation execution records created since given time. */
+    private List<OperationExecutionType> getNewOperationExecutions(String oid, XMLGregorianCalendar since)
+            throws CommonException {
+        return getUser(oid).asObjectable().getOperationExecution().stream()
+                .filter(e -> e.getRecordType() == null || e.getRecordType() == OperationExecutionRecordTypeType.SIMPLE)
+                .filter(e -> XmlTypeConverter.toMillis(e.getTimestamp()) >= XmlTypeConverter.toMillis(since))
+                .toList();
+    }
 }
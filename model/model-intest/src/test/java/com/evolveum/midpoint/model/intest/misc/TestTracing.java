@@ -10,6 +10,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
 
 import com.evolveum.midpoint.prism.path.ItemName;
 import com.evolveum.midpoint.util.exception.ObjectNotFoundException;
@@ -21,16 +24,19 @@ import org.springframework.test.annotation.DirtiesContext.ClassMode;
 import org.springframework.test.context.ContextConfiguration;
 import org.testng.annotations.Test;
 
+import com.evolveum.midpoint.common.configuration.api.MidpointConfiguration;
 import com.evolveum.midpoint.model.api.ModelExecuteOptions;
 import com.evolveum.midpoint.model.intest.AbstractEmptyModelIntegrationTest;
 import com.evolveum.midpoint.prism.PrismObject;
 import com.evolveum.midpoint.prism.delta.ObjectDelta;
+import com.evolveum.midpoint.prism.path.ItemPath;
 import com.evolveum.midpoint.schema.SearchResultList;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.schema.traces.TraceParser;
 import com.evolveum.midpoint.task.api.Task;
 import com.evolveum.midpoint.test.DummyTestResource;
 import com.evolveum.midpoint.test.TestObject;
+import com.evolveum.midpoint.test.TestTask;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
 
 /**
@@ -55,6 +61,20 @@ public class TestTracing extends AbstractEmptyModelIntegrationTest {
     private static final TestObject<RoleType> ROLE_CLASS_LESS_VALUES = TestObject.file(TEST_DIR, "role-class-less-values.xml", "c903aee4-8726-47cd-99e9-8aad7a60b12f");
     private static final TestObject<FunctionLibraryType> FUNCTION_LIBRARY_HACKING = TestObject.file(TEST_DIR, "function-library-hacking.xml", "87b91749-5f92-4328-bcc3-6f1b6e6e8364");
 
+    private static final TestObject<RoleType> ROLE_FAILING = TestObject.file(TEST_DIR, "role-failing.xml", "7c1d4a0e-5b2f-4e8a-9d61-3f0a2b7c8e01");
+    private static final TestTask TASK_RECOMPUTE_TRACED_MIN_DURATION = TestTask.file(
+            TEST_DIR, "task-recompute-traced-min-duration.xml", "7c1d4a0e-5b2f-4e8a-9d61-3f0a2b7c8d01");
+    private static final TestTask TASK_RECOMPUTE_TRACED_FAILED_ONLY = TestTask.file(
+            TEST_DIR, "task-recompute-traced-failed-only.xml", "7c1d4a0e-5b2f-4e8a-9d61-3f0a2b7c8d02");
+    private static final TestTask TASK_RECOMPUTE_TRACED_MAX_SIZE = TestTask.file(
+            TEST_DIR, "task-recompute-traced-max-size.xml", "7c1d4a0e-5b2f-4e8a-9d61-3f0a2b7c8d03");
+    private static final TestTask TASK_RECOMPUTE_TRACED_ALL = TestTask.file(
+            TEST_DIR, "task-recompute-traced-all.xml", "7c1d4a0e-5b2f-4e8a-9d61-3f0a2b7c8d04");
+
+    /** Users recomputed by the "traced" tasks; the last one fails. */
+    private static final int TRACED_USERS = 3;
+    private static final String TRACED_USER_FAILING = "traced-failing";
+
     private static final String CONTAINERS_NS = "http://super.org/midpoint";
     private static final ItemName NAME_MY_CONTAINER = ItemName.from(CONTAINERS_NS, "myContainer");
     public static final ItemName NAME_VALUE = ItemName.from(CONTAINERS_NS, "value");
@@ -75,6 +95,17 @@ public class TestTracing extends AbstractEmptyModelIntegrationTest {
         repoAdd(USER_JIM, initResult);
         repoAdd(ROLE_CLASS_LESS_VALUES, initResult);
         repoAdd(FUNCTION_LIBRARY_HACKING, initResult);
+
+        repoAdd(ROLE_FAILING, initResult);
+        for (int i = 0; i < TRACED_USERS; i++) {
+            repoAddObject(new UserType().name("traced-" + i).asPrismObject(), initResult);
+        }
+        repoAddObject(
+                new UserType()
+                        .name(TRACED_USER_FAILING)
+                        .assignment(ROLE_FAILING.assignmentTo())
+                        .asPrismObject(),
+                initResult);
     }
 
     @Override
@@ -164,6 +195,116 @@ public class TestTracing extends AbstractEmptyModelIntegrationTest {
         assertTraceCanBeParsed(result);
     }
 
+    /** No item is processed long enough to be traced. */
+    @Test
+    public void test300TraceOnlySlowItems() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = getTestOperationResult();
+
+        deleteReportDataObjects(result);
+
+        when();
+        TASK_RECOMPUTE_TRACED_MIN_DURATION.init(this, task, result);
+        TASK_RECOMPUTE_TRACED_MIN_DURATION.rerunErrorsOk(result);
+
+        then();
+        assertReportDataObjects(0, result);
+    }
+
+    /** Only the failing item is traced. */
+    @Test
+    public void test310TraceOnlyFailedItems() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = getTestOperationResult();
+
+        deleteReportDataObjects(result);
+
+        when();
+        TASK_RECOMPUTE_TRACED_FAILED_ONLY.init(this, task, result);
+        TASK_RECOMPUTE_TRACED_FAILED_ONLY.rerunErrorsOk(result);
+
+        then();
+        assertReportDataObjects(1, result);
+        assertTraceCanBeParsed(result);
+    }
+
+    /** Traces are too large even without traces and log entries, so none is written. */
+    @Test
+    public void test320DoNotWriteTooLargeTraces() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = getTestOperationResult();
+
+        deleteReportDataObjects(result);
+        int traceFilesBefore = getTraceFiles().length;
+
+        when();
+        TASK_RECOMPUTE_TRACED_MAX_SIZE.init(this, task, result);
+        TASK_RECOMPUTE_TRACED_MAX_SIZE.rerunErrorsOk(result);
+
+        then();
+        assertReportDataObjects(0, result);
+        assertThat(getTraceFiles()).as("trace files").hasSize(traceFilesBefore);
+    }
+
+    /** The oldest trace files are deleted when the limit is exceeded; other files in the directory are kept. */
+    @Test
+    public void test330KeepLimitedNumberOfTraceFiles() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = getTestOperationResult();
+
+        ItemPath maxTraceFilesPath = ItemPath.create(
+                SystemConfigurationType.F_INTERNALS,
+                InternalsConfigurationType.F_TRACING,
+                TracingConfigurationType.F_MAX_TRACE_FILES);
+        InternalsConfigurationType internals = getSystemConfiguration().getInternals();
+        TracingConfigurationType tracing = internals != null ? internals.getTracing() : null;
+        Integer originalMaxTraceFiles = tracing != null ? tracing.getMaxTraceFiles() : null;
+
+        int maxTraceFiles = 2;
+        modifyObjectReplaceProperty(
+                SystemConfigurationType.class, SystemObjectsType.SYSTEM_CONFIGURATION.value(),
+                maxTraceFilesPath, task, result, maxTraceFiles);
+
+        File otherFile = new File(getTraceDirectory(), "notes.txt");
+        FileUtils.writeStringToFile(otherFile, "not a trace", StandardCharsets.UTF_8);
+
+        try {
+            when();
+            TASK_RECOMPUTE_TRACED_ALL.init(this, task, result);
+            TASK_RECOMPUTE_TRACED_ALL.rerunErrorsOk(result);
+
+            then();
+            assertThat(getTraceFiles()).as("trace files").hasSize(maxTraceFiles);
+            assertThat(otherFile).as("other file in the trace directory").exists();
+        } finally {
+            modifyObjectReplaceProperty(
+                    SystemConfigurationType.class, SystemObjectsType.SYSTEM_CONFIGURATION.value(),
+                    maxTraceFilesPath, task, result,
+                    originalMaxTraceFiles != null ? new Object[] { originalMaxTraceFiles } : new Object[0]);
+            FileUtils.deleteQuietly(otherFile);
+        }
+    }
+
+    private File getTraceDirectory() {
+        return new File(System.getProperty(MidpointConfiguration.MIDPOINT_HOME_PROPERTY), "trace");
+    }
+
+    private File[] getTraceFiles() {
+        File[] files = getTraceDirectory().listFiles(
+                file -> file.getName().endsWith(".zip") || file.getName().endsWith(".xml"));
+        return files != null ? files : new File[0];
+    }
+
+    private void assertReportDataObjects(int expected, OperationResult result) throws SchemaException {
+        assertThat(repositoryService.countObjects(ReportDataType.class, null, null, result))
+                .as("# of report outputs")
+                .isEqualTo(expected);
+    }
+
     private void deleteReportDataObjects(OperationResult result) throws ObjectNotFoundException, SchemaException {
         SearchResultList<PrismObject<ReportDataType>> objects = repositoryService.searchObjects(
                 ReportDataType.class, null, null, result);
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.model.intest.multi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.List;
+
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ContextConfiguration;
+import org.testng.annotations.Test;
+
+import com.evolveum.icf.dummy.resource.BreakMode;
+import com.evolveum.icf.dummy.resource.DummyAccount;
+import com.evolveum.midpoint.model.impl.lens.ProjectionWorkers;
+import com.evolveum.midpoint.model.intest.AbstractEmptyModelIntegrationTest;
+import com.evolveum.midpoint.prism.path.ItemPath;
+import com.evolveum.midpoint.prism.polystring.PolyString;
+import com.evolveum.midpoint.schema.internals.InternalCounters;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.schema.result.OperationResultStatus;
+import com.evolveum.midpoint.task.api.Task;
+import com.evolveum.midpoint.test.DummyTestResource;
+import com.evolveum.midpoint.test.TestObject;
+import com.evolveum.midpoint.test.TestTask;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
+
+/**
+ * Tests concurrent execution of changes of independent projections and concurrent loading of full shadows
+ * before reconciliation (see `projectionExecutionThreads` and `projectionFullLoadThreads` in the internals
+ * configuration and {@link ProjectionWorkers}).
+ *
+ * There are three resources and a role that gives an account on each of them, so the account creation
+ * on these resources is executed by three threads concurrently.
+ */
+@ContextConfiguration(locations = { "classpath:ctx-model-intest-test-main.xml" })
+@DirtiesContext(classMode = ClassMode.AFTER_CLASS)
+public class TestConcurrentProjections extends AbstractEmptyModelIntegrationTest {
+
+    private static final File TEST_DIR = new File("src/test/resources/multi-concurrent");
+
+    private static final int THREADS = 3;
+    private static final int USERS = 10;
+
+    private static final DummyTestResource RESOURCE_DUMMY_A = new DummyTestResource(
+            TEST_DIR, "resource-dummy-a.xml", "9f3e1c2a-6b7d-4f0e-8a51-2d4c6e8b0a01", "a");
+    private static final DummyTestResource RESOURCE_DUMMY_B = new DummyTestResource(
+            TEST_DIR, "resource-dummy-b.xml", "9f3e1c2a-6b7d-4f0e-8a51-2d4c6e8b0a02", "b");
+    private static final DummyTestResource RESOURCE_DUMMY_C = new DummyTestResource(
+            TEST_DIR, "resource-dummy-c.xml", "9f3e1c2a-6b7d-4f0e-8a51-2d4c6e8b0a03", "c");
+    private static final List<DummyTestResource> RESOURCES = List.of(RESOURCE_DUMMY_A, RESOURCE_DUMMY_B, RESOURCE_DUMMY_C);
+
+    private static final TestObject<RoleType> ROLE_ALL_ACCOUNTS = TestObject.file(
+            TEST_DIR, "role-all-accounts.xml", "9f3e1c2a-6b7d-4f0e-8a51-2d4c6e8b0b01");
+
+    private static final TestTask TASK_RECOMPUTE = TestTask.file(
+            TEST_DIR, "task-recompute.xml", "9f3e1c2a-6b7d-4f0e-8a51-2d4c6e8b0c01");
+
+    @Override
+    public void initSystem(Task initTask, OperationResult initResult) throws Exception {
+        super.initSystem(initTask, initResult);
+
+        for (DummyTestResource resource : RESOURCES) {
+            resource.initAndTest(this, initTask, initResult);
+        }
+        repoAdd(ROLE_ALL_ACCOUNTS, initResult);
+
+        repositoryService.modifyObject(
+                SystemConfigurationType.class,
+                SystemObjectsType.SYSTEM_CONFIGURATION.value(),
+                deltaFor(SystemConfigurationType.class)
+                        .item(ItemPath.create(
+                                SystemConfigurationType.F_INTERNALS,
+                                InternalsConfigurationType.F_PROJECTION_EXECUTION_THREADS))
+                        .replace(THREADS)
+                        .item(ItemPath.create(
+                                SystemConfigurationType.F_INTERNALS,
+                                InternalsConfigurationType.F_PROJECTION_FULL_LOAD_THREADS))
+                        .replace(THREADS)
+                        .asItemDeltas(),
+                initResult);
+    }
+
+    /** Accounts on all three resources are created in a single operation. */
+    @Test
+    public void test100AddUserWithAllAccounts() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        UserType user = new UserType()
+                .name("jack")
+                .fullName("Jack Sparrow")
+                .assignment(ROLE_ALL_ACCOUNTS.assignmentTo());
+
+        when();
+        String oid = addObject(user, task, result);
+
+        then();
+        assertSuccess(result);
+        assertUserAfter(oid)
+                .assertLiveLinks(RESOURCES.size());
+        for (DummyTestResource resource : RESOURCES) {
+            resource.controller.assertAccountByUsername("jack")
+                    .assertFullName("Jack Sparrow");
+        }
+    }
+
+    /** Changes on all three resources are executed and the failure on one of them does not affect the others. */
+    @Test
+    public void test110ModifyUserWithOneResourceBroken() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+        RESOURCE_DUMMY_B.getDummyResource().setModifyBreakMode(BreakMode.NETWORK);
+
+        try {
+            when();
+            String oid = searchObjectByName(UserType.class, "jack", task, result).getOid();
+            modifyUserReplace(oid, UserType.F_FULL_NAME, task, result, PolyString.fromOrig("Captain Jack Sparrow"));
+
+            then();
+            assertThat(result.getStatus()).as("result status").isNotEqualTo(OperationResultStatus.SUCCESS);
+            RESOURCE_DUMMY_A.controller.assertAccountByUsername("jack")
+                    .assertFullName("Captain Jack Sparrow");
+            RESOURCE_DUMMY_C.controller.assertAccountByUsername("jack")
+                    .assertFullName("Captain Jack Sparrow");
+            RESOURCE_DUMMY_B.controller.assertAccountByUsername("jack")
+                    .assertFullName("Jack Sparrow");
+        } finally {
+            RESOURCE_DUMMY_B.getDummyResource().resetBreakMode();
+        }
+    }
+
+    /**
+     * Accounts on all three resources are changed externally, and the user is reconciled. The full shadows are
+     * fetched concurrently in advance, and the results are then used by the reconciliation, fixing all the accounts.
+     */
+    @Test
+    public void test150ReconcileUserWithChangedAccounts() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+        String oid = searchObjectByName(UserType.class, "jack", task, result).getOid();
+        for (DummyTestResource resource : RESOURCES) {
+            resource.getDummyResource().getAccountByName("jack")
+                    .replaceAttributeValue(DummyAccount.ATTR_FULLNAME_NAME, "Davy Jones");
+        }
+        rememberCounter(InternalCounters.PROJECTION_FULL_SHADOW_PREFETCH_COUNT);
+
+        when();
+        reconcileUser(oid, task, result);
+
+        then();
+        assertSuccess(result);
+        assertCounterIncrement(InternalCounters.PROJECTION_FULL_SHADOW_PREFETCH_COUNT, RESOURCES.size());
+        assertUserAfter(oid)
+                .assertLiveLinks(RESOURCES.size());
+        for (DummyTestResource resource : RESOURCES) {
+            resource.controller.assertAccountByUsername("jack")
+                    .assertFullName("Captain Jack Sparrow");
+        }
+    }
+
+    /**
+     * Many users are recomputed by a task, so actions executed are recorded concurrently
+     * into the statistics of the task by the projection worker threads.
+     */
+    @Test
+    public void test200RecomputeManyUsers() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        for (int i = 0; i < USERS; i++) {
+            repoAddObject(
+                    new UserType()
+                            .name(userName(i))
+                            .fullName("User " + i)
+                            .assignment(ROLE_ALL_ACCOUNTS.assignmentTo())
+                            .asPrismObject(),
+                    result);
+        }
+        TASK_RECOMPUTE.init(this, task, result);
+
+        when();
+        TASK_RECOMPUTE.rerun(result);
+
+        then();
+        // @formatter:off
+        TASK_RECOMPUTE.assertAfter()
+                .assertSuccess()
+                .rootActivityState()
+                    .actionsExecuted()
+                        .resulting()
+                            .display()
+                            .assertCount(ChangeTypeType.ADD, ShadowType.COMPLEX_TYPE, USERS * RESOURCES.size(), 0)
+                        .end()
+                    .end();
+        // @formatter:on
+
+        for (int i = 0; i < USERS; i++) {
+            for (DummyTestResource resource : RESOURCES) {
+                resource.controller.assertAccountByUsername(userName(i))
+                        .assertFullName("User " + i);
+            }
+        }
+    }
+
+    private static String userName(int i) {
+        return String.format("concurrent-%02d", i);
+    }
+}
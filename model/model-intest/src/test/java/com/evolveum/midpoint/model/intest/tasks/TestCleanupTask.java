@@ -16,11 +16,16 @@ import java.util.stream.Collectors;
 import com.evolveum.midpoint.audit.api.AuditEventRecord;
 import com.evolveum.midpoint.audit.api.AuditEventType;
 import com.evolveum.midpoint.audit.api.AuditService;
+import com.evolveum.midpoint.init.AuditServiceProxy;
 import com.evolveum.midpoint.prism.PrismObject;
 import com.evolveum.midpoint.prism.query.ObjectQuery;
+import com.evolveum.midpoint.prism.xml.XmlTypeConverter;
+import com.evolveum.midpoint.repo.sqale.SqaleRepositoryConfiguration;
+import com.evolveum.midpoint.repo.sqale.audit.SqaleAuditService;
 import com.evolveum.midpoint.schema.constants.SchemaConstants;
 import com.evolveum.midpoint.schema.util.ObjectTypeUtil;
 import com.evolveum.midpoint.util.exception.CommonException;
+import com.evolveum.midpoint.xml.ns._public.common.audit_3.AuditEventRecordType;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +36,7 @@ import org.testng.annotations.Test;
 import com.evolveum.midpoint.model.intest.AbstractEmptyModelIntegrationTest;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.task.api.Task;
+import com.evolveum.midpoint.test.IntegrationTestTools;
 import com.evolveum.midpoint.test.TestObject;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,11 +54,16 @@ public class TestCleanupTask extends AbstractEmptyModelIntegrationTest {
 
     private static final TestObject<TaskType> TASK_CLEANUP_ADMIN = TestObject.file(TEST_DIR, "task-cleanup-admin.xml", "0726d8b4-641e-4a01-9878-a11cabace465");
     private static final TestObject<TaskType> TASK_CLEANUP_LIMITED = TestObject.file(TEST_DIR, "task-cleanup-limited.xml", "08f630d0-0459-49c7-9c70-a813ba2e9da6");
+    private static final TestObject<TaskType> TASK_CLEANUP_AUDIT = TestObject.file(TEST_DIR, "task-cleanup-audit.xml", "b4c0e1f2-5d3a-4c8e-9f71-2a6d8e3c5b10");
+    private static final TestObject<TaskType> TASK_CLEANUP_AUDIT_SUSPENDED = TestObject.file(TEST_DIR, "task-cleanup-audit-suspended.xml", "6e2f9a47-1c85-4b3d-a0e6-7d94c2b8f351");
 
     private static final String TEST_OBJECT_PREFIX = "test";
 
     private static final long HISTORIC_AUDIT_TIMESTAMP = System.currentTimeMillis() - 86400L * 1000L;
 
+    /** Older than the maxAge of the audit cleanup tasks (10 minutes), but newer than {@link #HISTORIC_AUDIT_TIMESTAMP}. */
+    private static final long OLD_AUDIT_TIMESTAMP = System.currentTimeMillis() - 3600L * 1000L;
+
     @Autowired AuditService auditService;
 
     @Override
@@ -192,6 +203,131 @@ public class TestCleanupTask extends AbstractEmptyModelIntegrationTest {
         assertHistoricAuditRecordPresence(false);
     }
 
+    /**
+     * Audit records are deleted in batches (of 2 records here), each batch is reported as a processed item.
+     * Runs on the native repository only, as the progress is reported by its audit service.
+     */
+    @Test
+    public void test300AuditCleanupProgress() throws Exception {
+        skipIfNotNativeRepository();
+
+        given("5 old audit records, nothing else to be cleaned up in the audit");
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+        SqaleRepositoryConfiguration configuration = getSqaleAuditService().repositoryConfiguration();
+        int originalBatchSize = configuration.getCleanupBatchSize();
+        configuration.setCleanupBatchSize(2);
+        try {
+            cleanupOldAuditRecords(result);
+            createOldAuditRecords(5, task, result);
+
+            when("audit cleanup task is run");
+            addTask(TASK_CLEANUP_AUDIT, result);
+            waitForTaskCloseOrSuspend(TASK_CLEANUP_AUDIT.oid);
+
+            then("the records are deleted in 3 batches, reported as 3 items");
+            // @formatter:off
+            assertTask(TASK_CLEANUP_AUDIT.oid, "after")
+                    .display()
+                    .assertClosed()
+                    .assertSuccess()
+                    .activityState(SchemaConstants.PATH_AUDIT_RECORDS_CLEANUP)
+                        .progress()
+                            .display()
+                            .assertCommitted(3, 0, 0)
+                        .end()
+                        .itemProcessingStatistics()
+                            .display()
+                            .assertTotalCounts(3, 0, 0)
+                        .end()
+                    .end();
+            // @formatter:on
+            assertThat(countOldAuditRecords(result)).as("old audit records").isZero();
+        } finally {
+            configuration.setCleanupBatchSize(originalBatchSize);
+        }
+    }
+
+    /**
+     * The audit cleanup is suspended between the batches; the deleted records stay deleted,
+     * and the cleanup continues with the remaining ones when the task is resumed.
+     */
+    @Test
+    public void test310AuditCleanupSuspendedAndResumed() throws Exception {
+        skipIfNotNativeRepository();
+
+        given("10 old audit records, deleted one by one with a pause between the batches");
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+        SqaleRepositoryConfiguration configuration = getSqaleAuditService().repositoryConfiguration();
+        int originalBatchSize = configuration.getCleanupBatchSize();
+        long originalBatchDelay = configuration.getCleanupBatchDelay();
+        configuration.setCleanupBatchSize(1);
+        configuration.setCleanupBatchDelay(500);
+        try {
+            cleanupOldAuditRecords(result);
+            createOldAuditRecords(10, task, result);
+
+            when("audit cleanup task is started and suspended after the first batch");
+            addTask(TASK_CLEANUP_AUDIT_SUSPENDED, result);
+            IntegrationTestTools.waitFor("Waiting for the first audit record to be deleted",
+                    () -> countOldAuditRecords(result) < 10, 30000, 100);
+            boolean suspended = suspendTask(TASK_CLEANUP_AUDIT_SUSPENDED.oid, 10000);
+
+            then("the task is suspended, and only some of the records are deleted");
+            assertThat(suspended).as("task suspended (stopped in time)").isTrue();
+            assertTask(TASK_CLEANUP_AUDIT_SUSPENDED.oid, "after suspension")
+                    .display()
+                    .assertSuspended();
+            assertThat(countOldAuditRecords(result)).as("old audit records after suspension")
+                    .isGreaterThan(0)
+                    .isLessThan(10);
+
+            when("the task is resumed");
+            taskManager.resumeTask(TASK_CLEANUP_AUDIT_SUSPENDED.oid, result);
+            waitForTaskCloseOrSuspend(TASK_CLEANUP_AUDIT_SUSPENDED.oid, 30000);
+
+            then("the remaining records are deleted");
+            assertTask(TASK_CLEANUP_AUDIT_SUSPENDED.oid, "after resume")
+                    .display()
+                    .assertClosed()
+                    .assertSuccess();
+            assertThat(countOldAuditRecords(result)).as("old audit records after resume").isZero();
+        } finally {
+            configuration.setCleanupBatchSize(originalBatchSize);
+            configuration.setCleanupBatchDelay(originalBatchDelay);
+        }
+    }
+
+    private SqaleAuditService getSqaleAuditService() {
+        return ((AuditServiceProxy) auditService).getImplementation(SqaleAuditService.class);
+    }
+
+    /** Deletes old records possibly left by the previous tests, so that the counts are predictable. */
+    private void cleanupOldAuditRecords(OperationResult result) {
+        getSqaleAuditService().cleanupAudit(
+                new CleanupPolicyType().maxAge(XmlTypeConverter.createDuration("PT10M")), result);
+        assertThat(countOldAuditRecords(result)).as("old audit records before the test").isZero();
+    }
+
+    private void createOldAuditRecords(int count, Task task, OperationResult result) {
+        for (int i = 0; i < count; i++) {
+            AuditEventRecord auditRecord = new AuditEventRecord(AuditEventType.ADD_OBJECT);
+            auditRecord.setTimestamp(OLD_AUDIT_TIMESTAMP + i);
+            auditService.audit(auditRecord, task, result);
+        }
+        assertThat(countOldAuditRecords(result)).as("old audit records").isEqualTo(count);
+    }
+
+    private int countOldAuditRecords(OperationResult result) {
+        return getSqaleAuditService().countObjects(
+                queryFor(AuditEventRecordType.class)
+                        .item(AuditEventRecordType.F_TIMESTAMP)
+                        .lt(XmlTypeConverter.createXMLGregorianCalendar(System.currentTimeMillis() - 600_000L))
+                        .build(),
+                null, result);
+    }
+
     private void createHistoricAuditRecord(Task task, OperationResult result) {
         AuditEventRecord auditRecord = new AuditEventRecord(AuditEventType.ADD_OBJECT);
         auditRecord.setTimestamp(HISTORIC_AUDIT_TIMESTAMP);
@@ -16,6 +16,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import javax.xml.namespace.QName;
+import jakarta.servlet.http.HttpServletResponse;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.Validate;
@@ -69,6 +70,8 @@ public class ModelRestController extends AbstractRestController {
     private static final long WAIT_FOR_TASK_STOP = 2000L;
     private static final String METADATA_SUFFIX = "@metadata";
 
+    private static final String OPERATION_SEARCH_OBJECTS_STREAMED = "searchObjectsStreamed";
+
     @Autowired private ModelCrudService model;
     @Autowired private ModelDiagnosticService modelDiagnosticService;
     @Autowired private ModelInteractionService modelInteraction;
@@ -678,6 +681,73 @@ public class ModelRestController extends AbstractRestController {
         return response;
     }
 
+    /**
+     * Streaming variant of {@link #searchObjects}, objects are written to the response as they are found
+     * by iterative search, so big results are not kept in memory.
+     * JSON response is an array of objects, XML response (default) is `objects` element.
+     * The search is stopped when the client disconnects.
+     *
+     * Errors occurring before the first object is written are reported as for the normal search.
+     * After that, the response status can't be changed and the error is only logged and the response
+     * is left unfinished, which the client sees as malformed (truncated) output.
+     */
+    @RestHandlerMethod(authorization = SEARCH_OBJECTS)
+    @PostMapping("/{type}/search/stream")
+    public <T extends ObjectType> ResponseEntity<?> searchObjectsStreamed(
+            @PathVariable("type") String type,
+            @RequestParam(value = "options", required = false) List<String> options,
+            @RequestParam(value = "include", required = false) List<String> include,
+            @RequestParam(value = "exclude", required = false) List<String> exclude,
+            @RequestParam(value = "resolveNames", required = false) List<String> resolveNames,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestBody QueryType queryType,
+            HttpServletResponse httpResponse) {
+
+        Task task = initRequest();
+        OperationResult result = createSubresult(task, OPERATION_SEARCH_OBJECTS_STREAMED);
+
+        //noinspection unchecked
+        Class<T> clazz = (Class<T>) ObjectTypes.getClassFromRestType(type);
+        boolean json = accept != null && accept.contains(MediaType.APPLICATION_JSON.getSubtype());
+        SearchResultStreamWriter writer = new SearchResultStreamWriter(httpResponse, prismContext, json);
+        ResponseEntity<?> response = null;
+        try {
+            ObjectQuery query = prismContext.getQueryConverter().createObjectQuery(clazz, queryType);
+            Collection<SelectorOptions<GetOperationOptions>> searchOptions = GetOperationOptions.fromRestOptions(options, include,
+                    exclude, resolveNames, DefinitionProcessingOption.ONLY_IF_EXISTS, prismContext);
+
+            modelService.searchObjectsIterative(clazz, query, (object, lResult) -> {
+                try {
+                    if (exclude != null) {
+                        removeExcludes(object, exclude);
+                    }
+                    return writer.write(object);
+                } catch (SchemaException e) {
+                    throw new SystemException("Couldn't write object " + object + " to the response: " + e.getMessage(), e);
+                }
+            }, searchOptions, task, result);
+
+            writer.finish();
+            result.addReturn("count", writer.getCount());
+            if (writer.isClientDisconnected()) {
+                result.recordWarning("Client disconnected, search was stopped after " + writer.getCount() + " objects");
+            }
+        } catch (Exception ex) {
+            if (writer.isStarted()) {
+                LoggingUtils.logUnexpectedException(logger, "Search failed after {} objects were streamed,"
+                        + " the response is not complete", ex, writer.getCount());
+                result.recordFatalError(ex);
+            } else {
+                response = handleException(result, ex);
+            }
+        }
+
+        result.computeStatus();
+        finishRequest(task, result);
+        // null means the response was already written
+        return response;
+    }
+
     private HttpHeaders addHeader(String headerName, String headerValue, HttpHeaders headers) {
         if (headers == null) {
             headers = new HttpHeaders();
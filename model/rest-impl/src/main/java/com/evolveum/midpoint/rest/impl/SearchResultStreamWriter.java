@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.rest.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import com.evolveum.midpoint.prism.PrismContext;
+import com.evolveum.midpoint.prism.PrismObject;
+import com.evolveum.midpoint.prism.PrismSerializer;
+import com.evolveum.midpoint.prism.SerializationOptions;
+import com.evolveum.midpoint.util.exception.SchemaException;
+import com.evolveum.midpoint.util.logging.Trace;
+import com.evolveum.midpoint.util.logging.TraceManager;
+
+/**
+ * Writes objects found by iterative search directly to the HTTP response as they are found,
+ * so the whole search result does not have to be kept in memory.
+ *
+ * JSON output is an array of objects, XML output is `objects` element with objects as its children
+ * (the same format as used by ninja export).
+ *
+ * Writing blocks if the client does not read the response fast enough, which also blocks the search.
+ * If the client disconnects, {@link #write(PrismObject)} returns false, which stops the search.
+ */
+class SearchResultStreamWriter {
+
+    private static final Trace LOGGER = TraceManager.getTrace(SearchResultStreamWriter.class);
+
+    private static final String XML_OBJECTS_PREFIX = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<c:objects xmlns=\"http://midpoint.evolveum.com/xml/ns/public/common/common-3\"\n"
+            + "\txmlns:c=\"http://midpoint.evolveum.com/xml/ns/public/common/common-3\">\n";
+    private static final String XML_OBJECTS_SUFFIX = "</c:objects>\n";
+
+    private static final String JSON_OBJECTS_PREFIX = "[\n";
+    private static final String JSON_OBJECTS_SEPARATOR = ",\n";
+    private static final String JSON_OBJECTS_SUFFIX = "\n]";
+
+    private final HttpServletResponse response;
+    private final boolean json;
+    private final PrismSerializer<String> serializer;
+
+    private OutputStream output;
+    private int count;
+    private boolean clientDisconnected;
+
+    SearchResultStreamWriter(HttpServletResponse response, PrismContext prismContext, boolean json) {
+        this.response = response;
+        this.json = json;
+
+        PrismSerializer<String> serializer = json ? prismContext.jsonSerializer() : prismContext.xmlSerializer();
+        this.serializer = serializer.options(SerializationOptions.createSerializeReferenceNames());
+    }
+
+    /**
+     * Returns true if something was written to the response already, so the response status can't be changed.
+     */
+    boolean isStarted() {
+        return output != null;
+    }
+
+    boolean isClientDisconnected() {
+        return clientDisconnected;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Writes the object to the response, returns false if the client is not connected anymore.
+     */
+    boolean write(PrismObject<?> object) throws SchemaException {
+        String serialized = serializer.serialize(object);
+        try {
+            start();
+            if (json && count > 0) {
+                write(JSON_OBJECTS_SEPARATOR);
+            }
+            write(serialized);
+            count++;
+            return true;
+        } catch (IOException ex) {
+            LOGGER.debug("Client disconnected after {} objects were written, stopping the search: {}",
+                    count, ex.getMessage());
+            clientDisconnected = true;
+            return false;
+        }
+    }
+
+    void finish() throws IOException {
+        if (clientDisconnected) {
+            return;
+        }
+
+        start();
+        write(json ? JSON_OBJECTS_SUFFIX : XML_OBJECTS_SUFFIX);
+        output.flush();
+    }
+
+    private void start() throws IOException {
+        if (output != null) {
+            return;
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(json ? MediaType.APPLICATION_JSON_VALUE : MediaType.APPLICATION_XML_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        output = response.getOutputStream();
+        write(json ? JSON_OBJECTS_PREFIX : XML_OBJECTS_PREFIX);
+    }
+
+    private void write(String text) throws IOException {
+        output.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
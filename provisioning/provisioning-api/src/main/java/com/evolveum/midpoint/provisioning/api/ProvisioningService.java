@@ -8,6 +8,7 @@ package com.evolveum.midpoint.provisioning.api;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.evolveum.midpoint.prism.query.ObjectFilter;
@@ -76,6 +77,7 @@ import static com.evolveum.midpoint.provisioning.api.ProvisioningOperationContex
 public interface ProvisioningService {
 
     String OP_GET_OBJECT = ProvisioningService.class.getName() + ".getObject";
+    String OP_GET_SHADOWS_NO_FETCH = ProvisioningService.class.getName() + ".getShadowsNoFetch";
     String OP_SEARCH_OBJECTS = ProvisioningService.class.getName() + ".searchObjects";
     String OP_SEARCH_OBJECTS_ITERATIVE = ProvisioningService.class.getName() + ".searchObjectsIterative";
     String OP_COUNT_OBJECTS = ProvisioningService.class.getName() + ".countObjects";
@@ -364,6 +366,27 @@ public interface ProvisioningService {
         return getObject(type, oid, options, new ProvisioningOperationContext(), task, parentResult);
     }
 
+    /**
+     * Gets a number of shadows in the same way as {@link #getObject(Class, String, Collection, Task, OperationResult)}
+     * with the `noFetch` option does, but the repository shadows are read using a single repository search,
+     * instead of one repository read per shadow. It is meant e.g. for loading all shadows linked to a focus.
+     *
+     * The `noFetch` option is applied automatically, other options are applied as for `getObject` call.
+     *
+     * Shadows that do not exist in the repository, or whose processing fails, are not present in the returned map
+     * (and any errors are muted in the operation result). The caller should get them individually by `getObject` call,
+     * in order to get the usual error reporting and handling.
+     *
+     * @return shadows successfully retrieved, indexed by OID
+     */
+    @NotNull Map<String, PrismObject<ShadowType>> getShadowsNoFetch(
+            @NotNull Collection<String> oids,
+            @Nullable Collection<SelectorOptions<GetOperationOptions>> options,
+            @NotNull ProvisioningOperationContext context,
+            @NotNull Task task,
+            @NotNull OperationResult parentResult)
+            throws SchemaException;
+
     /**
      * Add new object.
      *
@@ -8,10 +8,7 @@ package com.evolveum.midpoint.provisioning.impl;
 
 import static com.evolveum.midpoint.schema.util.ObjectTypeUtil.asPrismObject;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
 
 import com.evolveum.midpoint.provisioning.impl.shadows.RepoShadowWithState.ShadowState;
 import com.evolveum.midpoint.provisioning.impl.shadows.ShadowModifyOperation;
@@ -163,6 +160,68 @@ public class ProvisioningServiceImpl implements ProvisioningService, SystemConfi
                 .asPrismObject();
     }
 
+    @Override
+    public @NotNull Map<String, PrismObject<ShadowType>> getShadowsNoFetch(
+            @NotNull Collection<String> oids,
+            @Nullable Collection<SelectorOptions<GetOperationOptions>> options,
+            @NotNull ProvisioningOperationContext context,
+            @NotNull Task task,
+            @NotNull OperationResult parentResult) throws SchemaException {
+
+        OperationResult result = parentResult.subresult(OP_GET_SHADOWS_NO_FETCH)
+                .addParam("count", oids.size())
+                .addArbitraryObjectCollectionAsParam(OperationResult.PARAM_OPTIONS, options)
+                .addContext(OperationResult.CONTEXT_IMPLEMENTATION_CLASS, ProvisioningServiceImpl.class)
+                .build();
+        try {
+            Map<String, PrismObject<ShadowType>> shadows = new HashMap<>();
+            if (oids.isEmpty()) {
+                return shadows;
+            }
+
+            var noFetchOptions = GetOperationOptions.updateRootOptionsSafe(
+                    options, opt -> !GetOperationOptions.isNoFetch(opt), opt -> opt.setNoFetch(true));
+
+            // Shadows must be mutable here, as they are updated by the get operation.
+            var query = prismContext.queryFor(ShadowType.class)
+                    .id(oids.toArray(new String[0]))
+                    .build();
+            var repoShadows = repositoryService.searchObjects(ShadowType.class, query, null, result);
+
+            for (PrismObject<ShadowType> repoShadow : repoShadows) {
+                String oid = repoShadow.getOid();
+                OperationResult shadowResult = result.subresult(OP_GET_OBJECT)
+                        .setMinor()
+                        .addParam(OperationResult.PARAM_OID, oid)
+                        .build();
+                ShadowType shadow;
+                try {
+                    shadow = shadowsFacade
+                            .getShadow(oid, RawRepoShadow.of(repoShadow), null, noFetchOptions, context, task, shadowResult)
+                            .getBean();
+                } catch (Exception e) {
+                    LOGGER.debug("Couldn't get shadow {} in bulk, leaving it to the caller: {}", oid, e.getMessage(), e);
+                    shadowResult.recordException(e);
+                    shadowResult.muteErrorsRecursively();
+                    continue;
+                } finally {
+                    shadowResult.close();
+                    shadowResult.cleanup();
+                }
+                // The same as in getObject: this must be done after the result is closed.
+                shadows.put(oid, ProvisioningUtil.storeFetchResultIfApplicable(shadow, shadowResult).asPrismObject());
+            }
+            LOGGER.trace("Got {} shadows out of {} requested", shadows.size(), oids.size());
+            result.addReturn("count", shadows.size());
+            return shadows;
+        } catch (Throwable t) {
+            result.recordException(t);
+            throw t;
+        } finally {
+            result.close();
+        }
+    }
+
     @Override
     public <T extends ObjectType> String addObject(
             @NotNull PrismObject<T> object,
@@ -53,6 +53,7 @@ import com.evolveum.midpoint.prism.util.PrismTestUtil;
 import com.evolveum.midpoint.prism.xml.XmlTypeConverter;
 import com.evolveum.midpoint.provisioning.api.ItemComparisonResult;
 import com.evolveum.midpoint.provisioning.api.LiveSyncTokenStorage;
+import com.evolveum.midpoint.provisioning.api.ProvisioningOperationContext;
 import com.evolveum.midpoint.provisioning.api.ProvisioningOperationOptions;
 import com.evolveum.midpoint.provisioning.api.ResourceObjectShadowChangeDescription;
 import com.evolveum.midpoint.provisioning.impl.DummyTokenStorageImpl;
@@ -603,6 +604,48 @@ public class TestDummy extends AbstractBasicDummyTest {
         assertSteadyResource();
     }
 
+    /**
+     * Bulk `noFetch` get (as used when loading shadows linked to a focus) must provide the same shadows
+     * as individual `noFetch` gets do. Non-existing shadows are simply left out.
+     */
+    @Test
+    public void test111cGetShadowsNoFetchInBulk() throws Exception {
+        given();
+        Task task = getTestTask();
+        OperationResult result = createOperationResult();
+
+        List<String> oids = new ArrayList<>();
+        for (PrismObject<ShadowType> repoShadow :
+                repositoryService.searchObjects(ShadowType.class, createAllAccountsQuery(), null, result)) {
+            oids.add(repoShadow.getOid());
+        }
+        assertEquals("Wrong # of account shadows", 4, oids.size());
+        List<String> oidsToGet = new ArrayList<>(oids);
+        oidsToGet.add("c0c010c0-d34d-b33f-f00d-000000000111"); // non-existing
+
+        rememberCounter(InternalCounters.SHADOW_FETCH_OPERATION_COUNT);
+
+        when();
+        Map<String, PrismObject<ShadowType>> shadows = provisioningService.getShadowsNoFetch(
+                oidsToGet, null, new ProvisioningOperationContext(), task, result);
+
+        then();
+        assertSuccess(result);
+        assertCounterIncrement(InternalCounters.SHADOW_FETCH_OPERATION_COUNT, 0);
+
+        display("Shadows", shadows);
+        assertThat(shadows.keySet()).as("OIDs of shadows got").containsExactlyInAnyOrderElementsOf(oids);
+        for (String oid : oids) {
+            PrismObject<ShadowType> shadow = provisioningService.getObject(
+                    ShadowType.class, oid, createNoFetchCollection(), task, result);
+            ObjectDelta<ShadowType> diff = shadow.diff(shadows.get(oid));
+            assertTrue("Shadow " + oid + " got in bulk differs from the one got individually: " + diff.debugDump(),
+                    diff.isEmpty());
+        }
+
+        assertSteadyResource();
+    }
+
     @Test
     public void test112SearchIterativeKindIntent() throws Exception {
         Task task = getTestTask();
@@ -15,6 +15,7 @@ import com.evolveum.midpoint.schema.processor.ResourceObjectDefinition;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.evolveum.midpoint.schema.jfr.ConnectorOperationEvent;
 import com.evolveum.midpoint.schema.reporting.ConnIdOperation;
 import com.evolveum.midpoint.schema.statistics.ProvisioningOperation;
 import com.evolveum.midpoint.schema.util.ObjectTypeUtil;
@@ -36,6 +37,8 @@ import com.evolveum.midpoint.xml.ns._public.common.common_3.ResourceType;
  * both statistics and state message. This includes creation of {@link ConnIdOperation} objects carrying e.g. the lightweight
  * identifier.
  *
+ * . Emits {@link ConnectorOperationEvent} JFR events for ConnId operations.
+ *
  * . Lets the called method know if the task was suspended (see {@link #canRun()}).
  *
  * Because of a complex nature of some operations (search and sync) this object has to keep some information
@@ -57,6 +60,9 @@ public class UcfExecutionContext {
      */
     private ConnIdOperation currentOperation;
 
+    /** JFR event for the current execution segment of {@link #currentOperation}. */
+    private ConnectorOperationEvent currentEvent;
+
     public UcfExecutionContext(
             @NotNull LightweightIdentifierGenerator lightweightIdentifierGenerator,
             @NotNull ResourceType resource,
@@ -81,6 +87,7 @@ public class UcfExecutionContext {
             LOGGER.warn("Unfinished operation: {}", currentOperation);
         }
         currentOperation = operation;
+        beginEvent(operation);
 
         task.onConnIdOperationStart(operation);
 
@@ -100,6 +107,7 @@ public class UcfExecutionContext {
                     operation, currentOperation, task);
         } else {
             task.onConnIdOperationSuspend(operation);
+            commitEvent(operation, true);
         }
         currentOperation = null;
         recordState("Returned from " + operation + " of " + getObjectClassName(objectClassDef) + " on " + getResourceName());
@@ -113,6 +121,7 @@ public class UcfExecutionContext {
             task.onConnIdOperationResume(operation);
         }
         currentOperation = operation;
+        beginEvent(operation);
         recordState("Continuing " + operation + " of " + getObjectClassName(operation.getObjectClassDef()) + " on " + getResourceName());
     }
 
@@ -151,7 +160,39 @@ public class UcfExecutionContext {
                         " on " + getResourceName() + durationString;
         recordState(stateMessage);
         task.onConnIdOperationEnd(operation);
+        if (relevant) {
+            commitEvent(operation, ex == null);
+        }
         currentOperation = null;
+        currentEvent = null;
+    }
+
+    private void beginEvent(@NotNull ConnIdOperation operation) {
+        ConnectorOperationEvent event = new ConnectorOperationEvent();
+        if (event.isEnabled()) {
+            event.identifier = operation.getIdentifier();
+            event.operation = operation.getOperation().getName();
+            event.resourceOid = resource.getOid();
+            event.resourceName = getResourceName();
+            event.objectClass = getObjectClassName(operation.getObjectClassDef());
+            event.begin();
+            currentEvent = event;
+        } else {
+            currentEvent = null;
+        }
+    }
+
+    private void commitEvent(@NotNull ConnIdOperation operation, boolean success) {
+        ConnectorOperationEvent event = currentEvent;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.uid = operation.getUid(); // may be known only after the operation (e.g. for "create")
+                event.success = success;
+                event.commit();
+            }
+        }
+        currentEvent = null;
     }
 
     private String getResourceName() {
@@ -15,6 +15,7 @@ import org.jetbrains.annotations.Nullable;
 
 import com.evolveum.midpoint.prism.query.ObjectQuery;
 import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.task.api.RunningTask;
 import com.evolveum.midpoint.task.api.Task;
 import com.evolveum.midpoint.util.annotation.Experimental;
 import com.evolveum.midpoint.util.exception.SchemaException;
@@ -64,6 +65,15 @@ public interface AuditService {
      */
     void cleanupAudit(CleanupPolicyType policy, OperationResult parentResult);
 
+    /**
+     * Clean up audit records as {@link #cleanupAudit(CleanupPolicyType, OperationResult)} does, but within
+     * a running task: the progress is reported to the task, and the cleanup stops when the task is suspended.
+     * Implementations that do not support this simply ignore the task.
+     */
+    default void cleanupAudit(CleanupPolicyType policy, RunningTask task, OperationResult parentResult) {
+        cleanupAudit(policy, parentResult);
+    }
+
     /**
      * Returns true if retrieval of objects from the audit trail is supported.
      * This applies to listRecords, countObjects, reconstructObject and similar
@@ -69,6 +69,11 @@ public class ActivityDistributionDefinition implements DebugDumpable, Cloneable
         return or0(bean.getWorkerThreads());
     }
 
+    /** Returns null if the default should be used. */
+    public Integer getReadAheadBufferSize() {
+        return bean.getReadAheadBufferSize();
+    }
+
     void applyChangeTailoring(@NotNull ActivityTailoringType tailoring) {
         if (tailoring.getDistribution() != null) {
             bean = TailoringUtil.getTailoredBean(bean, tailoring.getDistribution());
@@ -10,6 +10,7 @@ import static java.util.Comparator.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import com.google.common.base.MoreObjects;
 import org.jetbrains.annotations.NotNull;
@@ -26,6 +27,8 @@ import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
  */
 public class ActivityReportingDefinition implements DebugDumpable, Cloneable {
 
+    private static final int DEFAULT_ITEM_OPERATION_RESULT_FULL_DEPTH = 2;
+
     /**
      * This bean is detached copy dedicated for this definition. It is therefore freely modifiable.
      */
@@ -198,6 +201,18 @@ public class ActivityReportingDefinition implements DebugDumpable, Cloneable {
         }
     }
 
+    /**
+     * Returns the number of levels of item processing operation result that should be kept in full,
+     * if the lean mode is requested for them. Returns null if the lean mode is not requested.
+     */
+    public @Nullable Integer getItemOperationResultLeanDepth() {
+        ActivityItemOperationResultDefinitionType itemOperationResult = bean.getItemOperationResult();
+        if (itemOperationResult == null || !Boolean.TRUE.equals(itemOperationResult.isLean())) {
+            return null;
+        }
+        return Objects.requireNonNullElse(itemOperationResult.getFullDepth(), DEFAULT_ITEM_OPERATION_RESULT_FULL_DEPTH);
+    }
+
     /** Are we explicitly instructed to create or not create the simulation result? */
     Boolean getExplicitSimulationResultCreationInstruction() {
         var resultDef = bean.getSimulationResult();
@@ -20,6 +20,7 @@ import com.evolveum.midpoint.repo.common.expression.ExpressionFactory;
 import com.evolveum.midpoint.repo.common.activity.run.buckets.BucketingManager;
 import com.evolveum.midpoint.repo.common.activity.run.buckets.segmentation.BucketContentFactoryGenerator;
 import com.evolveum.midpoint.repo.common.util.OperationExecutionRecorderForTasks;
+import com.evolveum.midpoint.repo.common.util.OperationExecutionWriter;
 import com.evolveum.midpoint.schema.SchemaService;
 import com.evolveum.midpoint.schema.cache.CacheConfigurationManager;
 import com.evolveum.midpoint.task.api.LightweightIdentifierGenerator;
@@ -59,6 +60,7 @@ public class CommonTaskBeans {
     @Autowired public SchemaService schemaService;
     @Autowired public MatchingRuleRegistry matchingRuleRegistry;
     @Autowired public OperationExecutionRecorderForTasks operationExecutionRecorder;
+    @Autowired public OperationExecutionWriter operationExecutionWriter;
     @Autowired public LightweightIdentifierGenerator lightweightIdentifierGenerator;
     @Autowired public WorkDefinitionFactory workDefinitionFactory;
     @Autowired public Clock clock;
@@ -456,6 +456,9 @@ public abstract class IterativeActivityRun<
             // But overall, it is necessary to do this here in order to avoid endless waiting if any exception occurs.
             coordinator.finishProcessing(result);
             getRunningTask().setSimulationTransaction(oldTx);
+            // Operation execution records of processed items must not wait after the bucket is done
+            // (or the task is suspended).
+            beans.operationExecutionWriter.flush(result);
         }
 
         afterBucketProcessing(result);
@@ -621,7 +624,10 @@ public abstract class IterativeActivityRun<
      * Creates the processing coordinator and worker threads.
      */
     private ProcessingCoordinator<I> setupCoordinatorAndWorkerThreads() throws ConfigurationException {
-        ProcessingCoordinator<I> coordinator = new ProcessingCoordinator<>(getWorkerThreadsCount(), this);
+        ProcessingCoordinator<I> coordinator = new ProcessingCoordinator<>(
+                getWorkerThreadsCount(),
+                getActivity().getDistributionDefinition().getReadAheadBufferSize(),
+                this);
         coordinator.createWorkerThreads();
         return coordinator;
     }
@@ -95,6 +95,11 @@ public class StatisticsLogger {
                             + "Wall clock average: %,.1f milliseconds, throughput: %,.1f items per minute.",
                     current.getAverageTime(), current.getAverageWallClockTime(end), current.getThroughput(end));
         }
+        if (activityRun.isMultithreaded()) {
+            currentBrief += String.format(Locale.US, " Coordinator waited %.1f seconds for the item source "
+                            + "and %.1f seconds for the workers.",
+                    current.getSourceWaitTime() / 1000.0, current.getWorkersWaitTime() / 1000.0);
+        }
 
         Long wallClockTime = overall.getWallClockTime();
 
@@ -166,6 +171,7 @@ public class StatisticsLogger {
                         + "Average throughput is %,.1f items per minute (in current run) and %,.1f items per minute (overall).\n\n"
                         + "Processing time is %,.1f ms (for current run) and %,.1f ms (overall)\n"
                         + "Wall-clock time is %,d ms (for current run) and %,d ms (overall)\n"
+                        + "Coordinator waiting time is %,.1f ms for the item source and %,.1f ms for the workers (current run)\n"
                         + "Start time was:\n"
                         + " - for current run: %s\n"
                         + " - overall:         %s\n",
@@ -178,6 +184,7 @@ public class StatisticsLogger {
                 current.getThroughput(end), overall.getThroughput(),
                 current.getProcessingTime(), overall.getProcessingTime(),
                 current.getWallClockTime(end), overall.getWallClockTime(),
+                current.getSourceWaitTime(), current.getWorkersWaitTime(),
                 XmlTypeConverter.createXMLGregorianCalendar(current.getStartTimeMillis()),
                 overall.getEarliestStartTime());
     }
@@ -35,6 +35,18 @@ public class TransientActivityRunStatistics {
      */
     private final AtomicDouble totalTimeProcessing = new AtomicDouble();
 
+    /**
+     * Time (in millis) the coordinator spent waiting for items from the item source (e.g. for the connector to return
+     * next object), i.e. the time between submitting an item for processing and getting the next one.
+     */
+    private final AtomicDouble totalTimeWaitingForSource = new AtomicDouble();
+
+    /**
+     * Time (in millis) the coordinator spent waiting for the workers, i.e. for a free space in the (full) buffer
+     * of items to be processed. Relevant only for multithreaded processing.
+     */
+    private final AtomicDouble totalTimeWaitingForWorkers = new AtomicDouble();
+
     /** The wall clock time when activity run started. */
     protected volatile long startTimeMillis;
 
@@ -56,6 +68,12 @@ public class TransientActivityRunStatistics {
         totalTimeProcessing.addAndGet(duration);
     }
 
+    /** Called by the coordinator thread. */
+    public void recordWaitTimes(double sourceWait, double workersWait) {
+        totalTimeWaitingForSource.addAndGet(sourceWait);
+        totalTimeWaitingForWorkers.addAndGet(workersWait);
+    }
+
     public final Double getAverageTime() {
         int count = getItemsProcessed();
         if (count > 0) {
@@ -70,6 +88,16 @@ public class TransientActivityRunStatistics {
         return totalTimeProcessing.get();
     }
 
+    /** Time spent waiting for the item source; if dominant, the processing is bound by the source (e.g. the resource). */
+    public final double getSourceWaitTime() {
+        return totalTimeWaitingForSource.get();
+    }
+
+    /** Time spent waiting for the workers; if dominant, the processing is bound by the workers. */
+    public final double getWorkersWaitTime() {
+        return totalTimeWaitingForWorkers.get();
+    }
+
     Double getAverageWallClockTime(long now) {
         int count = getItemsProcessed();
         if (count > 0) {
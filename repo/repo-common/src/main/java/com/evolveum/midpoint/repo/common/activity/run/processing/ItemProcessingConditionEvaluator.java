@@ -11,9 +11,11 @@ import com.evolveum.midpoint.repo.common.expression.ExpressionUtil;
 import com.evolveum.midpoint.schema.constants.ExpressionConstants;
 import com.evolveum.midpoint.schema.expression.VariablesMap;
 import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.schema.statistics.Operation;
 import com.evolveum.midpoint.util.exception.CommonException;
 import com.evolveum.midpoint.util.exception.SystemException;
 
+import com.evolveum.midpoint.xml.ns._public.common.common_3.AfterItemConditionType;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.ExpressionType;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.ItemReportingConditionType;
 
@@ -31,9 +33,13 @@ class ItemProcessingConditionEvaluator {
     /** Request to be processed. */
     @NotNull private final ItemProcessingRequest<?> request;
 
+    /** Gatekeeper processing the request; provides the information about the processing for "after item" conditions. */
+    @NotNull private final ItemProcessingGatekeeper<?> gatekeeper;
+
     ItemProcessingConditionEvaluator(ItemProcessingGatekeeper<?> itemProcessingGatekeeper) {
         activityRun = itemProcessingGatekeeper.getActivityRun();
         request = itemProcessingGatekeeper.getRequest();
+        gatekeeper = itemProcessingGatekeeper;
     }
 
     boolean legacyIntervalRejects(Integer interval) {
@@ -70,9 +76,26 @@ class ItemProcessingConditionEvaluator {
             return false;
         }
 
+        if (condition instanceof AfterItemConditionType afterItemCondition
+                && !processingCharacteristicsMatch(afterItemCondition)) {
+            return false;
+        }
+
         return evaluateConditionDefaultTrue(condition.getExpression(), additionalVariableProvider, result);
     }
 
+    /** Checks the duration and the outcome of the processing. Must be called only after the item is processed. */
+    private boolean processingCharacteristicsMatch(@NotNull AfterItemConditionType condition) {
+        Long minDuration = condition.getMinDuration();
+        if (minDuration != null) {
+            Operation operation = gatekeeper.getOperation();
+            if (operation == null || operation.getDurationRounded() < minDuration) {
+                return false;
+            }
+        }
+        return !Boolean.TRUE.equals(condition.isFailedOnly()) || gatekeeper.isError();
+    }
+
     boolean evaluateConditionDefaultTrue(@Nullable ExpressionType expression,
             @Nullable AdditionalVariableProvider additionalVariableProvider, OperationResult result) {
 
@@ -6,6 +6,8 @@
 
 package com.evolveum.midpoint.repo.common.activity.run.processing;
 
+import javax.xml.namespace.QName;
+
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -20,12 +22,14 @@ import com.evolveum.midpoint.repo.common.activity.run.state.ActivityStatistics;
 import com.evolveum.midpoint.repo.common.util.OperationExecutionRecorderForTasks;
 import com.evolveum.midpoint.schema.cache.CacheConfigurationManager;
 import com.evolveum.midpoint.schema.constants.ExpressionConstants;
+import com.evolveum.midpoint.schema.jfr.ItemProcessingEvent;
 import com.evolveum.midpoint.schema.reporting.ConnIdOperation;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.schema.result.OperationResultBuilder;
 import com.evolveum.midpoint.schema.result.OperationResultStatus;
 import com.evolveum.midpoint.schema.statistics.IterationItemInformation;
 import com.evolveum.midpoint.schema.statistics.IterativeOperationStartInfo;
+import com.evolveum.midpoint.schema.statistics.NodeOperationStatistics;
 import com.evolveum.midpoint.schema.statistics.Operation;
 import com.evolveum.midpoint.task.api.ConnIdOperationsListener;
 import com.evolveum.midpoint.task.api.RunningTask;
@@ -136,6 +140,9 @@ class ItemProcessingGatekeeper<I> {
 
     boolean process(OperationResult parentResult) {
 
+        ItemProcessingEvent event = new ItemProcessingEvent();
+        event.begin();
+
         OperationResult result = parentResult.subresult(OP_PROCESS)
                 .build();
 
@@ -211,6 +218,23 @@ class ItemProcessingGatekeeper<I> {
             cleanupAndSummarizeResults(parentResult);
 
             workerTask.setExecutionSupport(null);
+
+            commitEvent(event);
+        }
+    }
+
+    private void commitEvent(ItemProcessingEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.taskOid = coordinatorTask.getOid();
+            event.activityPath = activityRun.getActivityPath().toDebugName();
+            event.activityType = activityRun.getActivity().getWorkDefinition().getActivityTypeName().getLocalPart();
+            QName objectType = iterationItemInformation.getObjectType();
+            event.objectType = objectType != null ? objectType.getLocalPart() : null;
+            event.oid = iterationItemInformation.getObjectOid();
+            event.name = iterationItemInformation.getObjectName();
+            event.outcome = processingResult != null ? processingResult.outcome().getOutcome().value() : null;
+            event.commit();
         }
     }
 
@@ -430,6 +454,11 @@ class ItemProcessingGatekeeper<I> {
                 beforeConditionForInternalOpReportPasses(parentResult)) {
             internalOperationReportRequested = true;
             builder.preserve();
+        } else {
+            Integer leanDepth = activityRun.getActivity().getReportingDefinition().getItemOperationResultLeanDepth();
+            if (leanDepth != null) {
+                builder.lean(leanDepth);
+            }
         }
         return builder.build();
     }
@@ -518,6 +547,10 @@ class ItemProcessingGatekeeper<I> {
                 isError(),
                 operation.getDurationRounded(),
                 processingResult.getMessage());
+        NodeOperationStatistics.INSTANCE.recordItemProcessed(
+                activityRun.getActivity().getWorkDefinition().getActivityTypeName().getLocalPart(),
+                processingResult.outcome().getOutcome(),
+                Math.round(operation.getDurationRounded()));
         updateStatisticsInTasks(result);
     }
 
@@ -564,6 +597,11 @@ class ItemProcessingGatekeeper<I> {
         return getActivityRun().getReportingCharacteristics();
     }
 
+    /** Available after the processing of the item starts. */
+    @Nullable Operation getOperation() {
+        return operation;
+    }
+
     public @NotNull RunningTask getWorkerTask() {
         return workerTask;
     }
@@ -6,9 +6,12 @@
 
 package com.evolveum.midpoint.repo.common.activity.run.processing;
 
+import static com.evolveum.midpoint.util.MiscUtil.configCheck;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
 
 import com.evolveum.midpoint.repo.common.activity.run.IterativeActivityRun;
 import com.evolveum.midpoint.task.api.RunningLightweightTask;
@@ -24,6 +27,7 @@ import org.jetbrains.annotations.NotNull;
 import com.evolveum.midpoint.prism.util.CloneUtil;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.schema.result.OperationResultStatus;
+import com.evolveum.midpoint.schema.statistics.NodeOperationStatistics;
 import com.evolveum.midpoint.task.api.LightweightTaskHandler;
 import com.evolveum.midpoint.task.api.RunningTask;
 import com.evolveum.midpoint.util.logging.Trace;
@@ -48,6 +52,16 @@ public class ProcessingCoordinator<I> {
     private final List<OperationResult> workerSpecificResults;
     private final RequestsBuffer<I> requestsBuffer;
 
+    /** Provides the size of {@link #requestsBuffer} for node-wide statistics; registered while the workers run. */
+    private final IntSupplier queueSizeSupplier;
+
+    /**
+     * When the coordinator finished submitting the previous item (or when it was created).
+     * The time between this moment and the next {@link #submit(ItemProcessingRequest, OperationResult)} call
+     * is the time spent waiting for the item source (e.g. the connector). Accessed only by the coordinator thread.
+     */
+    private long lastSubmitEndNanos = System.nanoTime();
+
     @NotNull private final IterativeActivityRun<I, ?, ?, ?> activityRun;
 
     /**
@@ -63,7 +77,13 @@ public class ProcessingCoordinator<I> {
      */
     private final AtomicBoolean allItemsSubmitted = new AtomicBoolean(false);
 
-    public ProcessingCoordinator(int threadsCount, @NotNull IterativeActivityRun<I, ?, ?, ?> activityRun) {
+    /**
+     * @param bufferSize How many items can be read ahead from the item source while the workers are busy.
+     * Null means the default, i.e. twice the number of threads. Irrelevant for single-threaded processing.
+     */
+    public ProcessingCoordinator(
+            int threadsCount, Integer bufferSize, @NotNull IterativeActivityRun<I, ?, ?, ?> activityRun)
+            throws ConfigurationException {
         this.coordinatorTask = activityRun.getRunningTask();
         this.activityRun = activityRun;
 
@@ -71,15 +91,49 @@ public class ProcessingCoordinator<I> {
         if (threadsCount > 0) {
             multithreaded = true;
             workerSpecificResults = new ArrayList<>(threadsCount);
-            requestsBuffer = new RequestsBuffer<>(threadsCount);
+            requestsBuffer = new RequestsBuffer<>(getRequestsBufferCapacity(threadsCount, bufferSize));
+            queueSizeSupplier = requestsBuffer::size;
         } else {
             multithreaded = false;
             workerSpecificResults = null;
             requestsBuffer = null;
+            queueSizeSupplier = null;
+        }
+    }
+
+    /**
+     * Determines how many requests can wait for the workers.
+     *
+     * @param configuredSize Configured read-ahead buffer size. Null means the default, i.e. twice the number of threads.
+     */
+    static int getRequestsBufferCapacity(int threadsCount, Integer configuredSize) throws ConfigurationException {
+        if (configuredSize == null) {
+            return threadsCount * 2;
         }
+        configCheck(configuredSize > 0, "Read-ahead buffer size must be positive; it is %s", configuredSize);
+        return configuredSize;
     }
 
     public boolean submit(ItemProcessingRequest<I> request, OperationResult parentResult) {
+        long submitStartNanos = System.nanoTime();
+        double sourceWait = toMillis(submitStartNanos - lastSubmitEndNanos);
+        try {
+            return submitInternal(request, parentResult);
+        } finally {
+            lastSubmitEndNanos = System.nanoTime();
+            // In the single-threaded case, the time is spent by processing the item, which is measured elsewhere.
+            double workersWait = multithreaded ? toMillis(lastSubmitEndNanos - submitStartNanos) : 0;
+            activityRun.getTransientRunStatistics().recordWaitTimes(sourceWait, workersWait);
+            activityRun.getActivityState().getLiveStatistics().getLiveItemProcessing()
+                    .recordWaitTimes(sourceWait, workersWait);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private boolean submitInternal(ItemProcessingRequest<I> request, OperationResult parentResult) {
         // For single-threaded case, this is is only a thin wrapper around request.process(..) method.
         // But for the multi-threaded case, the coordinator thread can spend some time here, waiting for
         // the request buffer to accept the request. Hence, it makes sense to provide an operation result here.
@@ -188,6 +242,7 @@ public class ProcessingCoordinator<I> {
             subtask.startLightweightHandler();
             LOGGER.trace("Worker subtask {} created", subtask);
         }
+        NodeOperationStatistics.INSTANCE.registerItemQueue(queueSizeSupplier);
     }
 
     public boolean isMultithreaded() {
@@ -203,8 +258,14 @@ public class ProcessingCoordinator<I> {
         LOGGER.trace("ProcessingCoordinator: finishing processing. Coordinator task canRun = {}", coordinatorTask.canRun());
 
         allItemsSubmitted.set(true);
-        waitForWorkersFinish(result);
-        nackQueuedRequests(result);
+        try {
+            waitForWorkersFinish(result);
+            nackQueuedRequests(result);
+        } finally {
+            if (multithreaded) {
+                NodeOperationStatistics.INSTANCE.unregisterItemQueue(queueSizeSupplier);
+            }
+        }
     }
 
     private void waitForWorkersFinish(OperationResult result) {
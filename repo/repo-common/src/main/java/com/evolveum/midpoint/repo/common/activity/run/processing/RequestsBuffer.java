@@ -61,9 +61,12 @@ class RequestsBuffer<I> {
      */
     private final Map<String, PriorityQueue<ItemProcessingRequest<I>>> reservedRequestsQueueMap = new HashMap<>();
 
-    RequestsBuffer(int threadsCount) {
-        int globalQueueSize = threadsCount*2; // actually, size of threadsCount should be sufficient but it doesn't hurt if queue is larger
-        globalQueue = new ArrayBlockingQueue<>(globalQueueSize);
+    /**
+     * @param capacity Capacity of the global queue, i.e. how many items can be read ahead from the item source
+     * while the workers are busy.
+     */
+    RequestsBuffer(int capacity) {
+        globalQueue = new ArrayBlockingQueue<>(capacity);
     }
 
     /**
@@ -77,6 +80,11 @@ class RequestsBuffer<I> {
         return globalQueue.offer(request, REQUEST_QUEUE_OFFER_TIMEOUT, TimeUnit.MILLISECONDS);
     }
 
+    /** Number of requests waiting in the global queue. Intentionally NOT synchronized. */
+    int size() {
+        return globalQueue.size();
+    }
+
     /**
      * Tries to obtain a request to be processed by the specified subtask.
      * Does NOT wait, it just checks reserved requests and global queues.
@@ -169,6 +169,18 @@ public class ActivityItemProcessingStatistics extends Initializable {
         return newRecord;
     }
 
+    /**
+     * Records the time the coordinator waited for the item source and for the workers (when submitting an item).
+     * The latter is zero for single-threaded processing.
+     */
+    public synchronized void recordWaitTimes(double sourceWait, double workersWait) {
+        assertInitialized();
+        value.setSourceWaitTime(or0(value.getSourceWaitTime()) + sourceWait);
+        if (workersWait > 0) {
+            value.setWorkersWaitTime(or0(value.getWorkersWaitTime()) + workersWait);
+        }
+    }
+
     /**
      * Records the operation end. Must be synchronized because it is called externally (through Operation interface).
      */
@@ -28,7 +28,8 @@ import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectType;
  * Assumptions:
  *
  * 1. Exists during a single item processing only.
- * 2. Executed from a single thread only (the worker task).
+ * 2. Executed mostly from a single thread (the worker task). However, changes of independent projections can be
+ * executed concurrently by several threads on behalf of the worker task, hence the synchronization.
  */
 public class ActionsExecutedCollectorImpl implements ActionsExecutedCollector {
 
@@ -91,7 +92,7 @@ public class ActionsExecutedCollectorImpl implements ActionsExecutedCollector {
         recordInternal(name, displayName, typeQName, oid, changeType, channel, exception);
     }
 
-    private void recordInternal(String objectName, String objectDisplayName, QName objectType,
+    private synchronized void recordInternal(String objectName, String objectDisplayName, QName objectType,
             String objectOid, ChangeType changeType, String channel, Throwable exception) {
         XMLGregorianCalendar now = XmlTypeConverter.createXMLGregorianCalendar(new Date());
         ActionExecuted action = new ActionExecuted(objectName, objectDisplayName, objectType, objectOid,
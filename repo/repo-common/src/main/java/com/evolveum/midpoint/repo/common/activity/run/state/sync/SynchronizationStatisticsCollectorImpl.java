@@ -24,7 +24,8 @@ import static com.evolveum.midpoint.util.MiscUtil.stateCheck;
  * Assumptions:
  *
  * 1. Exists during a single item processing only.
- * 2. Executed from a single thread only (the worker task).
+ * 2. Executed mostly from a single thread (the worker task). However, changes of independent projections can be
+ * executed concurrently by several threads on behalf of the worker task, hence the synchronization.
  */
 public class SynchronizationStatisticsCollectorImpl implements SynchronizationStatisticsCollector {
 
@@ -76,7 +77,7 @@ public class SynchronizationStatisticsCollectorImpl implements SynchronizationSt
         this.onProcessingStart = situationOnStart;
     }
 
-    public void onSynchronizationStart(@Nullable String processingIdentifier, @Nullable String shadowOid,
+    public synchronized void onSynchronizationStart(@Nullable String processingIdentifier, @Nullable String shadowOid,
             @Nullable SynchronizationSituationType situation) {
         if (identifierMatches(processingIdentifier)) {
             this.onSynchronizationStart = situation;
@@ -85,14 +86,14 @@ public class SynchronizationStatisticsCollectorImpl implements SynchronizationSt
         }
     }
 
-    public void onSynchronizationExclusion(@Nullable String processingIdentifier,
+    public synchronized void onSynchronizationExclusion(@Nullable String processingIdentifier,
             @NotNull SynchronizationExclusionReasonType exclusionReason) {
         if (identifierMatches(processingIdentifier)) {
             this.exclusionReason = exclusionReason;
         }
     }
 
-    public void onSynchronizationSituationChange(@Nullable String processingIdentifier,
+    public synchronized void onSynchronizationSituationChange(@Nullable String processingIdentifier,
             @Nullable String shadowOid, @Nullable SynchronizationSituationType situation) {
         if (identifierMatches(processingIdentifier) && shadowMatches(shadowOid)) {
             this.onSynchronizationEnd = situation;
@@ -118,7 +119,7 @@ public class SynchronizationStatisticsCollectorImpl implements SynchronizationSt
         }
     }
 
-    public void stop(@NotNull QualifiedItemProcessingOutcomeType outcome) {
+    public synchronized void stop(@NotNull QualifiedItemProcessingOutcomeType outcome) {
 
         // Poor man's solution: We create artificial delta and reuse the summarization code.
         ActivitySynchronizationStatisticsType delta = new ActivitySynchronizationStatisticsType(PrismContext.get())
@@ -24,6 +24,7 @@ import com.evolveum.midpoint.util.annotation.Experimental;
 import com.evolveum.midpoint.util.exception.ObjectAlreadyExistsException;
 import com.evolveum.midpoint.util.exception.ObjectNotFoundException;
 import com.evolveum.midpoint.util.exception.SchemaException;
+import com.evolveum.midpoint.util.logging.LoggingUtils;
 import com.evolveum.midpoint.util.logging.Trace;
 import com.evolveum.midpoint.util.logging.TraceManager;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
@@ -38,9 +39,12 @@ import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import javax.xml.datatype.Duration;
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.util.*;
 import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static com.evolveum.midpoint.xml.ns._public.common.common_3.OperationExecutionRecordTypeType.SIMPLE;
@@ -54,6 +58,12 @@ import static java.util.Collections.singletonList;
  *
  * 1. writes provided operation execution record to the specified object
  * 2. deletes superfluous operation execution records from that object
+ *
+ * Simple records can be written behind (see `writeBehindInterval` in {@link OperationExecutionRecordingStrategyType}):
+ * they are buffered and all the records for the same object are written by a single modification later,
+ * either periodically, or when the buffer is full, or when {@link #flush(OperationResult)} is called explicitly.
+ * Records that could not be written (except for the ones for deleted objects) are returned to the buffer
+ * and retried by the next flush, up to {@link #MAX_WRITE_BEHIND_ATTEMPTS} times.
  */
 @Experimental
 @Component
@@ -70,7 +80,18 @@ public class OperationExecutionWriter implements SystemConfigurationChangeListen
 
     public static final int DEFAUL_NUMBER_OF_RESULTS_TO_KEEP_PER_TASK = 3;
 
+    public static final int DEFAULT_WRITE_BEHIND_BATCH_SIZE = 100;
+
+    /** How many times we try to write a buffered record before giving up. */
+    private static final int MAX_WRITE_BEHIND_ATTEMPTS = 3;
+
+    /** How long we wait for the running periodic flush on shutdown. */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 60_000;
+
     private static final String OP_WRITE = OperationExecutionWriter.class.getName() + ".write";
+    private static final String OP_FLUSH = OperationExecutionWriter.class.getName() + ".flush";
+
+    private static final String FLUSH_THREAD_NAME = "OperationExecutionWriteBehind";
 
     /** Extracted recorded strategy for simple OpExec records (from system configuration). */
     private volatile OperationExecutionRecordingStrategyType simpleExecsRecordingStrategy;
@@ -84,9 +105,32 @@ public class OperationExecutionWriter implements SystemConfigurationChangeListen
     /** Extracted cleanup policy for complex OpExec records (from system configuration). */
     private volatile OperationExecutionCleanupPolicyType complexExecsCleanupPolicy;
 
+    /** Write-behind interval for simple OpExec records (from system configuration); 0 means no buffering. */
+    private volatile long writeBehindIntervalMillis;
+
+    /** Maximal number of buffered requests (from system configuration). */
+    private volatile int writeBehindBatchSize = DEFAULT_WRITE_BEHIND_BATCH_SIZE;
+
+    /** Requests waiting to be written. Filled only if write-behind is enabled. */
+    private final Queue<Request<?>> bufferedRequests = new ConcurrentLinkedQueue<>();
+
+    /** Number of requests in {@link #bufferedRequests} (the queue does not have a cheap size method). */
+    private final AtomicInteger bufferedRequestsCount = new AtomicInteger();
+
+    /** Ensures that the records for a single object are not written by two concurrent flushes. */
+    private final Object flushLock = new Object();
+
+    /** Executes the periodic flushes; created when write-behind is enabled for the first time. */
+    private ScheduledExecutorService flushScheduler;
+
+    private ScheduledFuture<?> scheduledFlush;
+
     /**
      * Writes operation execution record and deletes the one(s) that have to be deleted,
      * according to the current cleanup policy.
+     *
+     * If write-behind is enabled, simple records are only buffered here (except for the ones for objects
+     * that may be deleted), so {@link ObjectNotFoundException} is not thrown for them.
      */
     public <O extends ObjectType> void write(Request<O> request, OperationResult parentResult)
             throws SchemaException, ObjectAlreadyExistsException, ObjectNotFoundException {
@@ -102,20 +146,14 @@ public class OperationExecutionWriter implements SystemConfigurationChangeListen
                 return;
             }
 
-            CleaningSpecification cleaningSpec = CleaningSpecification.createFrom(selectCleanupPolicy(currentRecordType));
-
-            boolean addingRecord;
-            if (cleaningSpec.isKeepNone()) {
-                LOGGER.trace("Will skip operation execution recording because it's turned off (recordsToKeep is set to 0).");
-                addingRecord = false;
-            } else if (request.recordToAdd.getStatus() == OperationResultStatusType.SUCCESS
-                    && shouldSkipOperationExecutionRecordingWhenSuccess(currentRecordType)) {
-                LOGGER.trace("Will skip operation execution recording because it's turned off for successful processing.");
-                addingRecord = false; // we may still delete old records
-            } else {
-                addingRecord = true;
+            if (currentRecordType == SIMPLE && writeBehindIntervalMillis > 0 && !request.deletedOk) {
+                buffer(request, result);
+                return;
             }
 
+            CleaningSpecification cleaningSpec = CleaningSpecification.createFrom(selectCleanupPolicy(currentRecordType));
+            boolean addingRecord = shouldAddRecord(request, cleaningSpec);
+
             try {
                 List<OperationExecutionType> recordsToAdd = addingRecord ? singletonList(request.recordToAdd) : emptyList();
                 List<OperationExecutionType> recordsToDelete = getRecordsToDelete(request, cleaningSpec, addingRecord, result);
@@ -139,6 +177,136 @@ public class OperationExecutionWriter implements SystemConfigurationChangeListen
         }
     }
 
+    private boolean shouldAddRecord(Request<?> request, CleaningSpecification cleaningSpec) {
+        if (cleaningSpec.isKeepNone()) {
+            LOGGER.trace("Will skip operation execution recording because it's turned off (recordsToKeep is set to 0).");
+            return false;
+        } else if (request.recordToAdd.getStatus() == OperationResultStatusType.SUCCESS
+                && shouldSkipOperationExecutionRecordingWhenSuccess(toNotNull(request.recordToAdd.getRecordType()))) {
+            LOGGER.trace("Will skip operation execution recording because it's turned off for successful processing.");
+            return false; // we may still delete old records
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Puts the request into the buffer. Existing records are not kept, as they would be out of date
+     * at the time of the flush. If the buffer is full, it is flushed right now, in the current thread.
+     */
+    private <O extends ObjectType> void buffer(Request<O> request, OperationResult result) {
+        if (addToBuffer(new Request<>(request.objectType, request.oid, request.recordToAdd, null, false))
+                >= writeBehindBatchSize) {
+            flush(result);
+        }
+    }
+
+    /** Returns the number of buffered requests after the addition. */
+    private int addToBuffer(Request<?> request) {
+        bufferedRequests.add(request);
+        return bufferedRequestsCount.incrementAndGet();
+    }
+
+    /**
+     * Writes all the buffered records. Records for the same object are written by a single modification.
+     * Errors are logged and recorded into the operation result, not thrown.
+     */
+    public void flush(OperationResult parentResult) {
+        if (bufferedRequestsCount.get() == 0) {
+            return;
+        }
+
+        OperationResult result = parentResult.subresult(OP_FLUSH)
+                .setMinor()
+                .build();
+        try {
+            synchronized (flushLock) {
+                Map<String, List<Request<?>>> requestsByOid = new LinkedHashMap<>();
+                Request<?> request;
+                while ((request = bufferedRequests.poll()) != null) {
+                    bufferedRequestsCount.decrementAndGet();
+                    requestsByOid.computeIfAbsent(request.oid, k -> new ArrayList<>())
+                            .add(request);
+                }
+                result.addContext("objects", requestsByOid.size());
+                LOGGER.trace("Flushing buffered operation execution records for {} object(s)", requestsByOid.size());
+
+                for (List<Request<?>> requests : requestsByOid.values()) {
+                    writeBuffered(requests, result);
+                }
+            }
+        } catch (Throwable t) {
+            result.recordFatalError(t);
+            throw t;
+        } finally {
+            result.computeStatusIfUnknown();
+        }
+    }
+
+    /**
+     * Writes buffered records for a single object. The cleanup is computed for each request in turn,
+     * as if they were written one after another, but all the changes are applied at once.
+     */
+    private void writeBuffered(List<Request<?>> requests, OperationResult result) {
+        Request<?> firstRequest = requests.get(0);
+        try {
+            CleaningSpecification cleaningSpec = CleaningSpecification.createFrom(selectCleanupPolicy(SIMPLE));
+            boolean needsExistingRecords = !cleaningSpec.isKeepAll()
+                    || requests.stream().anyMatch(r -> r.getTaskOid() != null);
+            List<OperationExecutionType> currentRecords = needsExistingRecords ?
+                    new ArrayList<>(loadExistingRecords(firstRequest.objectType, firstRequest.oid, result)) :
+                    new ArrayList<>();
+
+            List<OperationExecutionType> recordsToAdd = new ArrayList<>();
+            List<OperationExecutionType> recordsToDelete = new ArrayList<>();
+            for (Request<?> request : requests) {
+                boolean addingRecord = shouldAddRecord(request, cleaningSpec);
+                for (OperationExecutionType recordToDelete :
+                        selectRecordsToDelete(request, currentRecords, cleaningSpec, addingRecord)) {
+                    currentRecords.removeIf(r -> r == recordToDelete);
+                    // Records added by earlier requests in this batch are simply not added at all.
+                    if (!recordsToAdd.removeIf(r -> r == recordToDelete)) {
+                        recordsToDelete.add(recordToDelete);
+                    }
+                }
+                if (addingRecord) {
+                    currentRecords.add(request.recordToAdd);
+                    recordsToAdd.add(request.recordToAdd);
+                }
+            }
+
+            if (!recordsToAdd.isEmpty() || !recordsToDelete.isEmpty()) {
+                executeChanges(firstRequest, recordsToAdd, recordsToDelete, result);
+            }
+        } catch (ObjectNotFoundException e) {
+            // The object was deleted in the meanwhile; there is nothing to record the operations to.
+            LOGGER.debug("Object {} no longer exists, {} buffered operation execution record(s) were not written",
+                    firstRequest.oid, requests.size());
+            result.muteLastSubresultError();
+        } catch (SchemaException | ObjectAlreadyExistsException | RuntimeException e) {
+            // We continue with other objects.
+            LoggingUtils.logUnexpectedException(LOGGER, "Couldn't write {} buffered operation execution record(s) to {}",
+                    e, requests.size(), firstRequest.oid);
+            result.recordPartialError(e);
+            returnToBuffer(requests);
+        }
+    }
+
+    /**
+     * Puts the requests that could not be written back to the buffer, so they are retried by the next flush.
+     * (The ones that failed too many times are dropped, so that a permanent error does not keep them forever.)
+     */
+    private void returnToBuffer(List<Request<?>> requests) {
+        for (Request<?> request : requests) {
+            if (++request.writeAttempts < MAX_WRITE_BEHIND_ATTEMPTS) {
+                addToBuffer(request);
+            } else {
+                LOGGER.error("Giving up writing buffered operation execution record to {} after {} attempts: {}",
+                        request.oid, request.writeAttempts, request.recordToAdd);
+            }
+        }
+    }
+
     private OperationExecutionRecordTypeType toNotNull(OperationExecutionRecordTypeType recordType) {
         return MoreObjects.firstNonNull(recordType, SIMPLE);
     }
@@ -296,12 +464,80 @@ public class OperationExecutionWriter implements SystemConfigurationChangeListen
     @PreDestroy
     public void destroy() {
         systemConfigurationChangeDispatcher.unregisterListener(this);
+        ScheduledExecutorService scheduler;
+        synchronized (this) {
+            scheduler = flushScheduler;
+            flushScheduler = null;
+            scheduledFlush = null;
+        }
+        if (scheduler != null) {
+            // Not interrupting the running flush, as the requests it has taken from the buffer would be lost.
+            scheduler.shutdown();
+            try {
+                if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warn("The periodic flush of operation execution records did not finish in {} ms",
+                            SHUTDOWN_TIMEOUT_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while waiting for the periodic flush of operation execution records to finish");
+            }
+        }
+        // Nothing buffered may be lost on node shutdown.
+        flush(new OperationResult(OP_FLUSH));
+        if (bufferedRequestsCount.get() > 0) {
+            LOGGER.warn("{} operation execution record(s) could not be written on shutdown", bufferedRequestsCount.get());
+        }
     }
 
     @Override
     public void update(@Nullable SystemConfigurationType value) {
         updateRecordingStrategies(value);
         updateCleanupPolicies(value);
+        updateWriteBehind();
+    }
+
+    private synchronized void updateWriteBehind() {
+        var strategy = simpleExecsRecordingStrategy;
+        Duration interval = strategy != null ? strategy.getWriteBehindInterval() : null;
+        long intervalMillis = interval != null ? Math.max(interval.getTimeInMillis(new Date()), 0) : 0;
+        Integer batchSize = strategy != null ? strategy.getWriteBehindBatchSize() : null;
+        writeBehindBatchSize = batchSize != null ? Math.max(batchSize, 1) : DEFAULT_WRITE_BEHIND_BATCH_SIZE;
+
+        if (intervalMillis == writeBehindIntervalMillis) {
+            return;
+        }
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        writeBehindIntervalMillis = intervalMillis;
+        if (intervalMillis > 0) {
+            LOGGER.info("Operation execution records will be written behind, with the interval of {} ms", intervalMillis);
+            if (flushScheduler == null) {
+                flushScheduler = Executors.newSingleThreadScheduledExecutor(this::createFlushThread);
+            }
+            scheduledFlush = flushScheduler.scheduleAtFixedRate(
+                    this::flushScheduled, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            LOGGER.info("Operation execution records will be written immediately");
+            flush(new OperationResult(OP_FLUSH));
+        }
+    }
+
+    private Thread createFlushThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, FLUSH_THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void flushScheduled() {
+        try {
+            flush(new OperationResult(OP_FLUSH));
+        } catch (Throwable t) {
+            // The exception must not get to the scheduler, as it would cancel the subsequent flushes.
+            LoggingUtils.logUnexpectedException(LOGGER, "Couldn't flush buffered operation execution records", t);
+        }
     }
 
     private void updateRecordingStrategies(@Nullable SystemConfigurationType value) {
@@ -436,6 +672,9 @@ public class OperationExecutionWriter implements SystemConfigurationChangeListen
          */
         private final boolean deletedOk;
 
+        /** How many times we tried to write this (buffered) request. */
+        private int writeAttempts;
+
         public Request(@NotNull Class<O> objectType, @NotNull String oid, @NotNull OperationExecutionType recordToAdd,
                 @Nullable Collection<OperationExecutionType> existingRecords, boolean deletedOk) {
             this.objectType = objectType;
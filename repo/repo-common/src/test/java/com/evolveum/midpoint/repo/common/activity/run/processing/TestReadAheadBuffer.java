@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.repo.common.activity.run.processing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.IOException;
+
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Test;
+import org.xml.sax.SAXException;
+
+import com.evolveum.midpoint.prism.util.PrismTestUtil;
+import com.evolveum.midpoint.repo.common.activity.run.TransientActivityRunStatistics;
+import com.evolveum.midpoint.schema.MidPointPrismContextFactory;
+import com.evolveum.midpoint.schema.util.task.ActivityItemProcessingStatisticsUtil;
+import com.evolveum.midpoint.tools.testng.AbstractUnitTest;
+import com.evolveum.midpoint.util.exception.ConfigurationException;
+import com.evolveum.midpoint.util.exception.SchemaException;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ActivityItemProcessingStatisticsType;
+
+/**
+ * Tests the sizing of the read-ahead buffer of {@link ProcessingCoordinator} and the accounting
+ * of the time the coordinator waits for the item source and for the workers.
+ */
+public class TestReadAheadBuffer extends AbstractUnitTest {
+
+    @BeforeSuite
+    public void setup() throws SchemaException, SAXException, IOException {
+        PrismTestUtil.resetPrismContext(MidPointPrismContextFactory.FACTORY);
+    }
+
+    @Test
+    public void test100DefaultCapacity() throws Exception {
+        expect("the default capacity is twice the number of threads");
+        assertThat(ProcessingCoordinator.getRequestsBufferCapacity(4, null)).isEqualTo(8);
+    }
+
+    @Test
+    public void test110ConfiguredCapacity() throws Exception {
+        expect("the configured capacity is used, even if smaller than the number of threads");
+        assertThat(ProcessingCoordinator.getRequestsBufferCapacity(4, 50)).isEqualTo(50);
+        assertThat(ProcessingCoordinator.getRequestsBufferCapacity(4, 1)).isEqualTo(1);
+    }
+
+    @Test
+    public void test120NonPositiveCapacityIsRejected() {
+        expect("zero and negative capacities are rejected");
+        assertThatThrownBy(() -> ProcessingCoordinator.getRequestsBufferCapacity(4, 0))
+                .isInstanceOf(ConfigurationException.class);
+        assertThatThrownBy(() -> ProcessingCoordinator.getRequestsBufferCapacity(4, -1))
+                .isInstanceOf(ConfigurationException.class);
+    }
+
+    @Test
+    public void test200TransientWaitTimes() {
+        given("transient statistics");
+        TransientActivityRunStatistics statistics = new TransientActivityRunStatistics();
+
+        when("wait times are recorded");
+        statistics.recordWaitTimes(1.5, 0.25);
+        statistics.recordWaitTimes(2.0, 0);
+
+        then("they are summed up");
+        assertThat(statistics.getSourceWaitTime()).as("source wait time").isCloseTo(3.5, within(1e-9));
+        assertThat(statistics.getWorkersWaitTime()).as("workers wait time").isCloseTo(0.25, within(1e-9));
+    }
+
+    @Test
+    public void test210StoredWaitTimesAreAggregated() {
+        given("stored statistics from two workers, one of them single-threaded");
+        ActivityItemProcessingStatisticsType first = new ActivityItemProcessingStatisticsType()
+                .sourceWaitTime(10.0)
+                .workersWaitTime(3.0);
+        ActivityItemProcessingStatisticsType second = new ActivityItemProcessingStatisticsType()
+                .sourceWaitTime(5.0);
+
+        when("they are aggregated");
+        ActivityItemProcessingStatisticsType sum = new ActivityItemProcessingStatisticsType();
+        ActivityItemProcessingStatisticsUtil.addTo(sum, first);
+        ActivityItemProcessingStatisticsUtil.addTo(sum, second);
+
+        then("the wait times are summed up");
+        assertThat(sum.getSourceWaitTime()).as("source wait time").isEqualTo(15.0);
+        assertThat(sum.getWorkersWaitTime()).as("workers wait time").isEqualTo(3.0);
+    }
+}
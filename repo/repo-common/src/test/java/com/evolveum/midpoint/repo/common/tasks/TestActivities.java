@@ -96,6 +96,8 @@ public class TestActivities extends AbstractRepoCommonTest {
     private static final TestObject<TaskType> TASK_140_CUSTOM_COMPOSITE = TestObject.file(TEST_DIR, "task-140-custom-composite.xml", "65866e01-73cd-4249-9b7b-03ebc4413bd0");
     private static final TestObject<TaskType> TASK_150_MOCK_ITERATIVE = TestObject.file(TEST_DIR, "task-150-mock-iterative.xml", "c21785e9-1c67-492f-bc79-0c51f74561a1");
     private static final TestObject<TaskType> TASK_155_MOCK_ITERATIVE_BUCKETED = TestObject.file(TEST_DIR, "task-155-mock-iterative-bucketed.xml", "02a94071-2eff-4ca0-aa63-3fdf9d540064");
+    private static final TestObject<TaskType> TASK_157_MOCK_ITERATIVE_READ_AHEAD = TestObject.file(TEST_DIR, "task-157-mock-iterative-read-ahead.xml", "54db331f-a09b-464c-ab79-242e6fdb649f");
+    private static final TestObject<TaskType> TASK_158_MOCK_ITERATIVE_INVALID_READ_AHEAD = TestObject.file(TEST_DIR, "task-158-mock-iterative-invalid-read-ahead.xml", "c2686804-1511-405d-9e85-a7e898ec5afe");
     private static final TestObject<TaskType> TASK_160_MOCK_SEARCH_ITERATIVE = TestObject.file(TEST_DIR, "task-160-mock-search-iterative.xml", "9d8384b3-a007-44e2-a9f7-084a64bdc285");
     private static final TestObject<TaskType> TASK_170_MOCK_BUCKETED = TestObject.file(TEST_DIR, "task-170-mock-bucketed.xml", "04e257d1-bb25-4675-8e00-f248f164fbc3");
     private static final TestObject<TaskType> TASK_180_BUCKETED_TREE = TestObject.file(TEST_DIR, "task-180-bucketed-tree.xml", "ac3220c5-6ded-4b94-894e-9ed39c05db66");
@@ -649,6 +651,77 @@ public class TestActivities extends AbstractRepoCommonTest {
                 .assertHasWallClockTime();
     }
 
+    /**
+     * Runs mock iterative activity with worker threads and an explicit read-ahead buffer size.
+     * Checks that the waiting times of the coordinator are stored in the item processing statistics.
+     */
+    @Test
+    public void test157RunMultithreadedMockIterativeTask() throws Exception {
+        given();
+
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        recorder.reset();
+
+        Task task1 = taskAdd(TASK_157_MOCK_ITERATIVE_READ_AHEAD, result);
+
+        when();
+
+        waitForTaskClose(task1.getOid(), result, 10000);
+
+        then();
+
+        task1.refresh(result);
+        // @formatter:off
+        assertTask(task1, "after")
+                .display()
+                .assertSuccess()
+                .assertClosed()
+                .assertProgress(10)
+                .activityState()
+                    .rootActivity()
+                        .itemProcessingStatistics()
+                            .assertTotalCounts(10, 0, 0)
+                        .end();
+        // @formatter:on
+
+        assertThat(recorder.getExecutions()).as("recorder").hasSize(10);
+
+        ActivityItemProcessingStatisticsType itemProcessing =
+                task1.getActivitiesStateOrClone().getActivity().getStatistics().getItemProcessing();
+        assertThat(itemProcessing.getSourceWaitTime()).as("source wait time").isNotNull().isNotNegative();
+        assertThat(itemProcessing.getWorkersWaitTime()).as("workers wait time").isNotNull().isNotNegative();
+    }
+
+    /**
+     * Non-positive read-ahead buffer size is rejected.
+     */
+    @Test
+    public void test158RunMockIterativeTaskWithInvalidReadAheadBuffer() throws Exception {
+        given();
+
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        recorder.reset();
+
+        Task task1 = taskAdd(TASK_158_MOCK_ITERATIVE_INVALID_READ_AHEAD, result);
+
+        when();
+
+        waitForTaskCloseOrSuspend(task1.getOid(), 10000, 200);
+
+        then();
+
+        task1.refresh(result);
+        assertTask(task1, "after")
+                .display()
+                .assertFatalError();
+
+        assertThat(recorder.getExecutions()).as("recorder").isEmpty();
+    }
+
     /**
      * Runs mock search-based activity.
      */
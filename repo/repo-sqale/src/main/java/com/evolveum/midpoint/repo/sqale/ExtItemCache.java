@@ -6,16 +6,14 @@
 
 package com.evolveum.midpoint.repo.sqale;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
+import com.querydsl.core.QueryFlag.Position;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -27,6 +25,11 @@ import com.evolveum.midpoint.util.logging.TraceManager;
 
 /**
  * Cache for {@link MExtItem} catalog.
+ *
+ * Thread-safe without any global lock: reads go to concurrent maps only, and only the threads resolving
+ * the same new item wait for each other - the first one inserts the row, the others wait for its result.
+ * Items known from the schema can be registered in bulk when the cache is initialized,
+ * see {@link #registerExtensionItems(Collection)}, so that they are not inserted one by one from the worker threads.
  */
 public class ExtItemCache {
 
@@ -35,10 +38,19 @@ public class ExtItemCache {
     private final Map<Integer, MExtItem> idToExtItem = new ConcurrentHashMap<>();
     private final Map<MExtItem.Key, MExtItem> keyToExtItem = new ConcurrentHashMap<>();
 
-    private final Multimap<String, MExtItem> nameToExtItem = HashMultimap.create();
+    private final Map<String, Set<MExtItem>> nameToExtItem = new ConcurrentHashMap<>();
+
+    /** Inserts of new items in progress; other threads needing the same item wait for these. */
+    private final Map<MExtItem.Key, CompletableFuture<MExtItem>> pendingInserts = new ConcurrentHashMap<>();
+
+    /** Number of lookups not satisfied by the cache, i.e. going to the database. */
+    private final LongAdder missCount = new LongAdder();
+
+    /** Number of items inserted into the database by this cache. */
+    private final LongAdder insertCount = new LongAdder();
 
     // WARNING: Each .get() creates new connection, always use in try-with-resource block!
-    private Supplier<JdbcSession> jdbcSessionSupplier;
+    private volatile Supplier<JdbcSession> jdbcSessionSupplier;
 
     /**
      * Initializes the ext-item cache.
@@ -50,7 +62,15 @@ public class ExtItemCache {
         // this can be called repeatedly in tests, so the clear may be necessary
         idToExtItem.clear();
         keyToExtItem.clear();
+        nameToExtItem.clear();
+        missCount.reset();
+        insertCount.reset();
+
+        List<MExtItem> result = loadAll();
+        LOGGER.info("Ext item cache initialized with {} items.", result.size());
+    }
 
+    private List<MExtItem> loadAll() {
         QExtItem uri = QExtItem.DEFAULT;
         List<MExtItem> result;
         try (JdbcSession jdbcSession = jdbcSessionSupplier.get().startReadOnlyTransaction()) {
@@ -64,17 +84,64 @@ public class ExtItemCache {
         for (MExtItem row : result) {
             updateMaps(row);
         }
-        LOGGER.info("Ext item cache initialized with {} items.", result.size());
+        return result;
+    }
+
+    /**
+     * Registers the provided items (typically all the indexed extension items from the schema) that are not cached yet.
+     * All missing items are inserted in a single transaction (rows created by other nodes meanwhile are skipped)
+     * and then the whole catalog is reloaded.
+     */
+    public synchronized void registerExtensionItems(@NotNull Collection<MExtItem.Key> extItemKeys) {
+        if (jdbcSessionSupplier == null) {
+            throw new IllegalStateException("Ext item cache was not initialized yet!");
+        }
+
+        List<MExtItem.Key> missingKeys = extItemKeys.stream()
+                .filter(key -> !keyToExtItem.containsKey(key))
+                .distinct()
+                .toList();
+        if (missingKeys.isEmpty()) {
+            LOGGER.debug("All {} ext items from the schema are already cached.", extItemKeys.size());
+            return;
+        }
+
+        QExtItem ei = QExtItem.DEFAULT;
+        long inserted = 0;
+        try (JdbcSession jdbcSession = jdbcSessionSupplier.get().startTransaction()) {
+            for (MExtItem.Key key : missingKeys) {
+                inserted += jdbcSession.newInsert(ei)
+                        .set(ei.itemName, key.itemName)
+                        .set(ei.valueType, key.valueType)
+                        .set(ei.holderType, key.holderType)
+                        .set(ei.cardinality, key.cardinality)
+                        // Another node may be registering the same items.
+                        .addFlag(Position.END, " ON CONFLICT DO NOTHING")
+                        .execute();
+            }
+            jdbcSession.commit();
+        }
+        insertCount.add(inserted);
+
+        int size = loadAll().size();
+        LOGGER.info("Ext item cache registered {} items from the schema ({} inserted), {} items cached.",
+                missingKeys.size(), inserted, size);
     }
 
     private void updateMaps(MExtItem row) {
         idToExtItem.put(row.id, row);
         keyToExtItem.put(row.key(), row);
-        nameToExtItem.put(row.itemName, row);
-
+        nameToExtItem.computeIfAbsent(row.itemName, k -> ConcurrentHashMap.newKeySet())
+                .add(row);
     }
 
-    public synchronized @NotNull MExtItem resolveExtensionItem(@NotNull MExtItem.Key extItemKey) {
+    /**
+     * Returns the extension item for the key, creating new row in the DB as needed.
+     *
+     * Only one thread inserts any given item, other threads asking for the same item at the same time
+     * wait for its result; threads resolving other items are not blocked.
+     */
+    public @NotNull MExtItem resolveExtensionItem(@NotNull MExtItem.Key extItemKey) {
         if (jdbcSessionSupplier == null) {
             throw new IllegalStateException("Ext item cache was not initialized yet!");
         }
@@ -84,6 +151,42 @@ public class ExtItemCache {
             return extItem;
         }
 
+        CompletableFuture<MExtItem> insert = new CompletableFuture<>();
+        CompletableFuture<MExtItem> pendingInsert = pendingInserts.putIfAbsent(extItemKey, insert);
+        if (pendingInsert != null) {
+            return awaitInsert(pendingInsert);
+        }
+
+        try {
+            // The item may have been added by the previous owner of the pending insert.
+            extItem = keyToExtItem.get(extItemKey);
+            if (extItem == null) {
+                missCount.increment();
+                extItem = insertExtensionItem(extItemKey);
+            }
+            insert.complete(extItem);
+            return extItem;
+        } catch (RuntimeException e) {
+            insert.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingInserts.remove(extItemKey, insert);
+        }
+    }
+
+    private MExtItem awaitInsert(CompletableFuture<MExtItem> pendingInsert) {
+        try {
+            return pendingInsert.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private @NotNull MExtItem insertExtensionItem(@NotNull MExtItem.Key extItemKey) {
+        MExtItem extItem;
         QExtItem ei = QExtItem.DEFAULT;
         try (JdbcSession jdbcSession = jdbcSessionSupplier.get().startTransaction()) {
             Integer id = jdbcSession.newInsert(ei)
@@ -96,9 +199,14 @@ public class ExtItemCache {
 
             extItem = MExtItem.of(id, extItemKey);
             updateMaps(extItem);
+            insertCount.increment();
         } catch (RuntimeException e) {
             if (SqaleUtils.isUniqueConstraintViolation(e)) {
                 extItem = retrieveFromDb(extItemKey);
+                if (extItem == null) {
+                    throw new IllegalStateException(
+                            "Couldn't insert ext item to cache and it was not present in the database.", e);
+                }
             } else {
                 throw e;
             }
@@ -127,7 +235,7 @@ public class ExtItemCache {
         return row;
     }
 
-    public synchronized @Nullable MExtItem getExtensionItem(Integer id) {
+    public @Nullable MExtItem getExtensionItem(Integer id) {
         if (jdbcSessionSupplier == null) {
             throw new IllegalStateException("Ext item cache was not initialized yet!");
         }
@@ -137,6 +245,8 @@ public class ExtItemCache {
             return extItem;
         }
 
+        // No coordination needed here, reading the same row by multiple threads is harmless.
+        missCount.increment();
         try (JdbcSession jdbcSession = jdbcSessionSupplier.get().startReadOnlyTransaction()) {
             extItem = jdbcSession.newQuery()
                     .from(QExtItem.DEFAULT)
@@ -164,9 +274,24 @@ public class ExtItemCache {
     }
 
     public Collection<MExtItem> findConflictingExtensions(MExtItem extItemInfo) {
-        var conflicting = new ArrayList<>(nameToExtItem.get(extItemInfo.itemName));
+        var conflicting = new ArrayList<>(nameToExtItem.getOrDefault(extItemInfo.itemName, Set.of()));
         // Remove self from conflicting, all other items are conflicting
         conflicting.remove(extItemInfo);
         return conflicting;
     }
+
+    /** Returns the number of cached items. */
+    public int size() {
+        return keyToExtItem.size();
+    }
+
+    /** Returns the number of lookups that were not satisfied by the cache (since the initialization). */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /** Returns the number of items inserted into the database by this cache (since the initialization). */
+    public long getInsertCount() {
+        return insertCount.sum();
+    }
 }
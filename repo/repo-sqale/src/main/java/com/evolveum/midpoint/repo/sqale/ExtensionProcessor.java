@@ -213,6 +213,16 @@ public class ExtensionProcessor {
      */
     public MExtItem resolveExtensionItem(
             @NotNull ItemDefinition<?> definition, MExtItemHolderType holderType) {
+        MExtItem.Key key = extItemKey(definition, holderType);
+        return key != null ? repositoryContext.resolveExtensionItem(key) : null;
+    }
+
+    /**
+     * Returns the ext item key for the provided definition and holder type.
+     * Returns null if the item is not indexed.
+     */
+    public static @Nullable MExtItem.Key extItemKey(
+            @NotNull ItemDefinition<?> definition, MExtItemHolderType holderType) {
         if (definition instanceof PrismContainerDefinition<?>) {
             // Skip containers for now
             return null;
@@ -235,7 +245,7 @@ public class ExtensionProcessor {
                     + "', can't say if '" + definition.getItemName() + "' is indexed or not.");
         } // else it's reference which is indexed implicitly
 
-        return repositoryContext.resolveExtensionItem(MExtItem.keyFrom(definition, holderType));
+        return MExtItem.keyFrom(definition, holderType);
     }
 
     public void extensionsToContainer(Map<String, Object> attributes, Containerable container) throws SchemaException {
@@ -7,12 +7,16 @@
 package com.evolveum.midpoint.repo.sqale;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.xml.namespace.QName;
 
 import com.evolveum.midpoint.xml.ns._public.common.common_3.RepositoryConfigurationType;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.ShadowType;
 
+import com.querydsl.core.QueryFlag.Position;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.Expressions;
@@ -47,6 +51,9 @@ import org.jetbrains.annotations.Nullable;
 public class SqaleQueryContext<S, Q extends FlexibleRelationalPathBase<R>, R>
         extends SqlQueryContext<S, Q, R> {
 
+    /** Row estimate of the top plan node in the output of PostgreSQL EXPLAIN. */
+    private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("rows=(\\d+)");
+
     /**
      * Flag guarding whether we need to refresh organization closure before executing
      * the actual query.
@@ -220,6 +227,37 @@ public class SqaleQueryContext<S, Q extends FlexibleRelationalPathBase<R>, R>
         }
     }
 
+    /**
+     * If {@link GetOperationOptions#isEstimatedCount} is requested, returns the row estimate from the planner
+     * instead of the exact count, unless the estimate is lower than {@link GetOperationOptions#EXACT_COUNT_THRESHOLD}.
+     * Planner estimate is cheap (no rows are read), while exact count of a big table can take a long time.
+     */
+    @Override
+    public int executeCount(JdbcSession jdbcSession) {
+        if (GetOperationOptions.isEstimatedCount(SelectorOptions.findRootOptions(options))) {
+            long estimate = executeCountEstimate(jdbcSession);
+            if (estimate >= GetOperationOptions.EXACT_COUNT_THRESHOLD) {
+                return (int) Math.min(estimate, Integer.MAX_VALUE);
+            }
+        }
+        return super.executeCount(jdbcSession);
+    }
+
+    private long executeCountEstimate(JdbcSession jdbcSession) {
+        // Select is not used by EXPLAIN, but the first line of its textual output is read as String.
+        List<String> plan = sqlQuery.clone(jdbcSession.connection())
+                .select(Expressions.stringTemplate("1"))
+                .addFlag(Position.START, "EXPLAIN ")
+                .fetch();
+        if (!plan.isEmpty()) {
+            Matcher matcher = PLAN_ROWS_PATTERN.matcher(plan.get(0));
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        return 0; // unknown estimate, exact count will be used
+    }
+
     @Override
     public QueryModelMapping<S, Q, R> queryMapping() {
         return queryMapping;
@@ -9,12 +9,16 @@ package com.evolveum.midpoint.repo.sqale;
 import java.lang.reflect.Array;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 import javax.sql.DataSource;
 import javax.xml.namespace.QName;
 
+import com.evolveum.midpoint.prism.ItemDefinition;
 import com.evolveum.midpoint.prism.ParsingContext;
+import com.evolveum.midpoint.prism.PrismContainerDefinition;
+import com.evolveum.midpoint.prism.PrismObjectDefinition;
 import com.evolveum.midpoint.xml.ns._public.common.audit_3.EffectivePrivilegesModificationType;
 
 import com.querydsl.sql.types.ArrayType;
@@ -46,6 +50,7 @@ import com.evolveum.midpoint.repo.sqlbase.SqlRepoContext;
 import com.evolveum.midpoint.repo.sqlbase.mapping.QueryModelMappingRegistry;
 import com.evolveum.midpoint.schema.SchemaConstantsGenerated;
 import com.evolveum.midpoint.schema.SchemaService;
+import com.evolveum.midpoint.schema.constants.ObjectTypes;
 import com.evolveum.midpoint.schema.util.FullTextSearchUtil;
 import com.evolveum.midpoint.util.QNameUtil;
 import com.evolveum.midpoint.util.exception.SchemaException;
@@ -128,6 +133,12 @@ public class SqaleRepoContext extends SqlRepoContext {
         extItemCache = new ExtItemCache();
     }
 
+    /**
+     * Checks the DB schema version and initializes the URI and ext item caches.
+     *
+     * Note that this writes to the database (`m_ext_item`) on every start of the repository, including ninja,
+     * if there are indexed extension items in the schema that are not in the catalog yet; see {@link #clearCaches()}.
+     */
     @PostConstruct
     public void initialize() {
         // skip version check if option was defined or option value is "true" (equals ignore case)
@@ -161,10 +172,68 @@ public class SqaleRepoContext extends SqlRepoContext {
         }
     }
 
-    // This has nothing to do with "repo cache" which is higher than this.
+    /**
+     * Reloads the URI and ext item caches and registers the indexed extension items from the schema
+     * that are not in the ext item catalog yet (inserting them into the database).
+     * This has nothing to do with "repo cache" which is higher than this.
+     */
     public void clearCaches() {
         uriCache.initialize(this::newJdbcSession);
         extItemCache.initialize(this::newJdbcSession);
+        registerSchemaExtensionItems();
+    }
+
+    /**
+     * Registers indexed extension items of objects and assignments known from the schema in bulk,
+     * so they do not have to be inserted one by one when the first objects with them are stored.
+     * Failure is not fatal, the items are then registered on their first use.
+     */
+    private void registerSchemaExtensionItems() {
+        Set<MExtItem.Key> keys = new LinkedHashSet<>();
+        var schemaRegistry = prismContext().getSchemaRegistry();
+        for (ObjectTypes objectType : ObjectTypes.values()) {
+            PrismObjectDefinition<?> objectDefinition =
+                    schemaRegistry.findObjectDefinitionByCompileTimeClass(objectType.getClassDefinition());
+            if (objectDefinition != null) {
+                addExtensionItemKeys(keys, objectDefinition.getExtensionDefinition());
+            }
+        }
+        PrismContainerDefinition<AssignmentType> assignmentDefinition =
+                schemaRegistry.findContainerDefinitionByCompileTimeClass(AssignmentType.class);
+        if (assignmentDefinition != null) {
+            addExtensionItemKeys(keys, assignmentDefinition.findContainerDefinition(AssignmentType.F_EXTENSION));
+        }
+
+        try {
+            extItemCache.registerExtensionItems(keys);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Couldn't register extension items from the schema, they will be registered on the first use: {}",
+                    e.getMessage(), e);
+        }
+    }
+
+    private void addExtensionItemKeys(Set<MExtItem.Key> keys, PrismContainerDefinition<?> extensionDefinition) {
+        if (extensionDefinition == null) {
+            return;
+        }
+        for (ItemDefinition<?> itemDefinition : extensionDefinition.getDefinitions()) {
+            try {
+                MExtItem.Key key = ExtensionProcessor.extItemKey(itemDefinition, MExtItemHolderType.EXTENSION);
+                if (key != null) {
+                    keys.add(key);
+                }
+            } catch (UnsupportedOperationException e) {
+                LOGGER.debug("Skipping extension item {} in bulk registration: {}",
+                        itemDefinition.getItemName(), e.getMessage());
+            }
+        }
+    }
+
+    /** Returns statistics of URI and ext item caches, e.g. for diagnostics. */
+    public String getCacheStatistics() {
+        return "URI cache: " + uriCache.size() + " items, " + uriCache.getMissCount() + " misses, "
+                + uriCache.getInsertCount() + " inserts; ext item cache: " + extItemCache.size() + " items, "
+                + extItemCache.getMissCount() + " misses, " + extItemCache.getInsertCount() + " inserts";
     }
 
     /**
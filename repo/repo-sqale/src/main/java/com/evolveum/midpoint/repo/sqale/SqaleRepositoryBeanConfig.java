@@ -129,8 +129,18 @@ public class SqaleRepositoryBeanConfig {
                 new SqlLogger(repositoryConfiguration.getSqlDurationWarningMs()));
 
         // Registered mapping needs repository context which needs registry. Now we can fill it.
-        // Mappings are ordered alphabetically here, mappings without schema type are at the end.
+        registerMappings(repositoryContext, mappingRegistry);
+
+        return repositoryContext;
+    }
 
+    /**
+     * Registers all the mappings into the (still empty) registry of the repository context, and seals the registry.
+     * Public for the cases when the context is created outside of Spring, e.g. for query translation benchmarks.
+     */
+    public static void registerMappings(
+            SqaleRepoContext repositoryContext, QueryModelMappingRegistry mappingRegistry) {
+        // Mappings are ordered alphabetically here, mappings without schema type are at the end.
         mappingRegistry
                 .register(AbstractRoleType.COMPLEX_TYPE,
                         QAbstractRoleMapping.initAbstractRoleMapping(repositoryContext))
@@ -210,8 +220,6 @@ public class SqaleRepositoryBeanConfig {
                 .register(ApplicationType.COMPLEX_TYPE, QApplicationMapping.init(repositoryContext))
                 .register(ConnectorDevelopmentType.COMPLEX_TYPE, QConnectorDevelopmentMapping.init(repositoryContext))
                 .seal();
-
-        return repositoryContext;
     }
 
     @Bean
@@ -22,6 +22,8 @@ import com.evolveum.midpoint.repo.sqlbase.SupportedDatabase;
 import com.evolveum.midpoint.repo.sqlbase.TransactionIsolation;
 import com.evolveum.midpoint.repo.sqlbase.perfmon.SqlPerformanceMonitorImpl;
 import com.evolveum.midpoint.util.exception.SystemException;
+import com.evolveum.midpoint.util.logging.Trace;
+import com.evolveum.midpoint.util.logging.TraceManager;
 
 /**
  * Common part of the SQL-based repository configuration.
@@ -29,8 +31,16 @@ import com.evolveum.midpoint.util.exception.SystemException;
  */
 public class SqaleRepositoryConfiguration implements JdbcRepositoryConfiguration {
 
+    private static final Trace LOGGER = TraceManager.getTrace(SqaleRepositoryConfiguration.class);
+
     private static final String PROPERTY_SQL_DURATION_WARNING_MS = "sqlDurationWarningMs";
 
+    // Audit only, ignored for the main repository
+    private static final String PROPERTY_CLEANUP_BATCH_SIZE = "cleanupBatchSize";
+    private static final String PROPERTY_CLEANUP_BATCH_DELAY = "cleanupBatchDelay";
+    private static final String PROPERTY_FUTURE_PARTITION_COUNT = "futurePartitionCount";
+    private static final String PROPERTY_PARTITION_SEARCH_THREADS = "partitionSearchThreads";
+
     private static final String DEFAULT_DRIVER = "org.postgresql.Driver";
     private static final SupportedDatabase DEFAULT_DATABASE = SupportedDatabase.POSTGRESQL;
     private static final String DEFAULT_JDBC_URL = "jdbc:postgresql://localhost:5432/midpoint";
@@ -61,6 +71,9 @@ public class SqaleRepositoryConfiguration implements JdbcRepositoryConfiguration
 
     private static final int DEFAULT_SQL_DURATION_WARNING_MS = 0; // 0 or less means no warning
 
+    private static final int DEFAULT_CLEANUP_BATCH_SIZE = 10_000;
+    private static final int DEFAULT_FUTURE_PARTITION_COUNT = 3;
+
     @NotNull private final Configuration configuration;
 
     // either dataSource or JDBC URL must be set
@@ -89,6 +102,11 @@ public class SqaleRepositoryConfiguration implements JdbcRepositoryConfiguration
 
     private long sqlDurationWarningMs; // 0 or less means no warning
 
+    private int cleanupBatchSize;
+    private long cleanupBatchDelay;
+    private int futurePartitionCount;
+    private int partitionSearchThreads;
+
     // Provided with configuration node "midpoint.repository".
     public SqaleRepositoryConfiguration(@NotNull Configuration configuration) {
         this.configuration = configuration;
@@ -143,6 +161,12 @@ public class SqaleRepositoryConfiguration implements JdbcRepositoryConfiguration
         sqlDurationWarningMs = configuration.getLong(
                 PROPERTY_SQL_DURATION_WARNING_MS, DEFAULT_SQL_DURATION_WARNING_MS);
 
+        cleanupBatchSize = Math.max(configuration.getInt(PROPERTY_CLEANUP_BATCH_SIZE, DEFAULT_CLEANUP_BATCH_SIZE), 1);
+        cleanupBatchDelay = configuration.getLong(PROPERTY_CLEANUP_BATCH_DELAY, 0L);
+        futurePartitionCount = configuration.getInt(PROPERTY_FUTURE_PARTITION_COUNT, DEFAULT_FUTURE_PARTITION_COUNT);
+        partitionSearchThreads = limitPartitionSearchThreads(
+                configuration.getInt(PROPERTY_PARTITION_SEARCH_THREADS, 0), maxPoolSize);
+
         validateConfiguration();
     }
 
@@ -300,6 +324,70 @@ public class SqaleRepositoryConfiguration implements JdbcRepositoryConfiguration
         return sqlDurationWarningMs;
     }
 
+    /**
+     * Returns the maximal number of audit records deleted in one transaction by the audit cleanup.
+     * Only relevant for audit.
+     */
+    public int getCleanupBatchSize() {
+        return cleanupBatchSize;
+    }
+
+    // exists because of testing
+    public void setCleanupBatchSize(int cleanupBatchSize) {
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+
+    /**
+     * Returns the pause (in milliseconds) between the batches deleted by the audit cleanup,
+     * to give the database some time for other work (e.g. vacuum). Value of 0 or less means no pause.
+     * Only relevant for audit.
+     */
+    public long getCleanupBatchDelay() {
+        return cleanupBatchDelay;
+    }
+
+    // exists because of testing
+    public void setCleanupBatchDelay(long cleanupBatchDelay) {
+        this.cleanupBatchDelay = cleanupBatchDelay;
+    }
+
+    /**
+     * Returns the number of monthly audit partitions (including the current month) that should exist
+     * after the audit cleanup; missing ones are created by the cleanup.
+     * Value of 0 or less means that no partitions are created.
+     * Only relevant for audit, and only if the audit tables are already partitioned by months.
+     */
+    public int getFuturePartitionCount() {
+        return futurePartitionCount;
+    }
+
+    /**
+     * Returns the number of threads used by iterative audit search to search audit partitions in parallel.
+     * Value of 1 or less means that the partitions are not searched in parallel.
+     * Only relevant for audit, and only if the audit tables are partitioned.
+     *
+     * The threads are shared by all the searches and each of them holds a connection while searching,
+     * so the configured value is limited to a half of the connection pool size.
+     */
+    public int getPartitionSearchThreads() {
+        return partitionSearchThreads;
+    }
+
+    // exists because of testing
+    public void setPartitionSearchThreads(int partitionSearchThreads) {
+        this.partitionSearchThreads = partitionSearchThreads;
+    }
+
+    private static int limitPartitionSearchThreads(int configured, int maxPoolSize) {
+        int limit = maxPoolSize / 2;
+        if (configured > limit) {
+            LOGGER.warn("Audit partition search threads ({}) limited to {}, a half of the connection pool size",
+                    configured, limit);
+            return limit;
+        }
+        return configured;
+    }
+
     /**
      * Creates a copy of provided configuration for audit and applies override from config.xml.
      * This is used when the same data source is used by audit and repository.
@@ -314,6 +402,14 @@ public class SqaleRepositoryConfiguration implements JdbcRepositoryConfiguration
                 PROPERTY_ITERATIVE_SEARCH_BY_PAGING_BATCH_SIZE, mainRepoConfig.iterativeSearchByPagingBatchSize);
         config.createMissingCustomColumns = auditConfig.getBoolean(
                 PROPERTY_CREATE_MISSING_CUSTOM_COLUMNS, mainRepoConfig.createMissingCustomColumns);
+        config.cleanupBatchSize =
+                Math.max(auditConfig.getInt(PROPERTY_CLEANUP_BATCH_SIZE, DEFAULT_CLEANUP_BATCH_SIZE), 1);
+        config.cleanupBatchDelay = auditConfig.getLong(PROPERTY_CLEANUP_BATCH_DELAY, 0L);
+        config.futurePartitionCount =
+                auditConfig.getInt(PROPERTY_FUTURE_PARTITION_COUNT, DEFAULT_FUTURE_PARTITION_COUNT);
+        // Audit uses the connection pool of the repository in this case.
+        config.partitionSearchThreads = limitPartitionSearchThreads(
+                auditConfig.getInt(PROPERTY_PARTITION_SEARCH_THREADS, 0), mainRepoConfig.maxPoolSize);
 
         // perf stats settings must be copied to allow proper perf monitoring of audit
         config.performanceStatisticsFile = mainRepoConfig.performanceStatisticsFile;
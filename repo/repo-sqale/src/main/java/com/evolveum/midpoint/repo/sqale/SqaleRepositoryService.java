@@ -42,6 +42,7 @@ import com.evolveum.midpoint.common.crypto.CryptoUtil;
 import com.evolveum.midpoint.prism.*;
 import com.evolveum.midpoint.prism.equivalence.EquivalenceStrategy;
 import com.evolveum.midpoint.prism.path.ItemPath;
+import com.evolveum.midpoint.prism.path.UniformItemPath;
 import com.evolveum.midpoint.prism.polystring.PolyString;
 import com.evolveum.midpoint.prism.query.*;
 import com.evolveum.midpoint.prism.query.builder.S_ConditionEntry;
@@ -52,6 +53,7 @@ import com.evolveum.midpoint.repo.sqale.mapping.SqaleTableMapping;
 import com.evolveum.midpoint.repo.sqale.qmodel.object.MObject;
 import com.evolveum.midpoint.repo.sqale.qmodel.object.MObjectType;
 import com.evolveum.midpoint.repo.sqale.qmodel.object.QObject;
+import com.evolveum.midpoint.repo.sqale.qmodel.object.QObjectMapping;
 import com.evolveum.midpoint.repo.sqale.qmodel.org.QOrg;
 import com.evolveum.midpoint.repo.sqale.qmodel.org.QOrgClosure;
 import com.evolveum.midpoint.repo.sqale.qmodel.org.QOrgMapping;
@@ -209,6 +211,19 @@ public class SqaleRepositoryService extends SqaleServiceBase implements Reposito
             @NotNull UUID oid,
             Collection<SelectorOptions<GetOperationOptions>> options, boolean forUpdate)
             throws SchemaException, ObjectNotFoundException {
+        return internalReadByOid(jdbcSession, rootMapping, oid, options, forUpdate, forUpdate);
+    }
+
+    /**
+     * @param forUpdate whether columns needed for the update (container ID sequence) are selected too
+     * @param lockRow whether the object row is locked (`FOR UPDATE`)
+     */
+    private <S extends ObjectType, Q extends QObject<R>, R extends MObject> MappedTuple<S> internalReadByOid(
+            @NotNull JdbcSession jdbcSession,
+            SqaleTableMapping<S, Q, R> rootMapping,
+            @NotNull UUID oid,
+            Collection<SelectorOptions<GetOperationOptions>> options, boolean forUpdate, boolean lockRow)
+            throws SchemaException, ObjectNotFoundException {
         Q root = rootMapping.defaultAlias();
 
         var expressions = rootMapping.selectExpressions(root, options);
@@ -219,7 +234,7 @@ public class SqaleRepositoryService extends SqaleServiceBase implements Reposito
                 .from(root)
                 .select(expressions)
                 .where(root.oid.eq(oid));
-        if (forUpdate) {
+        if (lockRow) {
             query.forUpdate();
         }
         Tuple result;
@@ -518,7 +533,10 @@ public class SqaleRepositoryService extends SqaleServiceBase implements Reposito
             return executeRetriable(OP_MODIFY_OBJECT, oidUuid, opHandle, () -> {
                 try (JdbcSession jdbcSession = sqlRepoContext.newJdbcSession().startTransaction()) {
                     RootUpdateContext<T, QObject<MObject>, MObject> updateContext =
-                            prepareUpdateContext(jdbcSession, type, modifications, oidUuid, options);
+                            prepareContainerOnlyUpdateContext(jdbcSession, type, modifications, oidUuid, precondition, options);
+                    if (updateContext == null) {
+                        updateContext = prepareUpdateContext(jdbcSession, type, modifications, oidUuid, options);
+                    }
 
                     ModifyObjectResult<T> rv = modifyObjectInternal(
                             updateContext, modifications, precondition, options, parentResult);
@@ -766,6 +784,48 @@ public class SqaleRepositoryService extends SqaleServiceBase implements Reposito
         return new RootUpdateContext<>(sqlRepoContext, jdbcSession, mapped.schemaObject, rootRow, skipFullObject);
     }
 
+    /**
+     * Returns update context for modifications changing only rows of separately stored containers,
+     * see {@link QObjectMapping#lockForContainerOnlyUpdate(JdbcSession, UUID, Collection)}, or `null` if the standard
+     * update is needed.
+     * Only the rows of modified containers are locked, the object row is not locked nor updated (version stays the same).
+     * This way, e.g. concurrent decisions of many reviewers in a single certification campaign don't wait for each other.
+     */
+    private <S extends ObjectType, Q extends QObject<R>, R extends MObject>
+    @Nullable RootUpdateContext<S, Q, R> prepareContainerOnlyUpdateContext(
+            @NotNull JdbcSession jdbcSession,
+            @NotNull Class<S> schemaType,
+            @NotNull Collection<? extends ItemDelta<?, ?>> modifications,
+            @NotNull UUID oid,
+            @Nullable ModificationPrecondition<S> precondition,
+            @Nullable RepoModifyOptions options)
+            throws SchemaException, ObjectNotFoundException {
+        if (precondition != null || RepoModifyOptions.isForceReindex(options)) {
+            return null; // precondition may depend on the whole object
+        }
+        QObjectMapping<S, QObject<R>, R> rootMapping = sqlRepoContext.getMappingBySchemaType(schemaType);
+        if (!rootMapping.lockForContainerOnlyUpdate(jdbcSession, oid, modifications)) {
+            return null;
+        }
+
+        Collection<SelectorOptions<GetOperationOptions>> getOptions = new ArrayList<>(
+                rootMapping.updateGetOptions(GET_FOR_UPDATE_OPTIONS, modifications, false));
+        // Full object is not needed (and it is not stored) for container-only modifications.
+        getOptions.add(SelectorOptions.create(
+                UniformItemPath.from(ItemPath.EMPTY_PATH), GetOperationOptions.createDontRetrieve()));
+        MappedTuple<S> mapped = internalReadByOid(jdbcSession, rootMapping, oid, getOptions, true, false);
+        if (mapped.schemaObject.asPrismObject().getUserData().get(SqaleUtils.REINDEX_NEEDED) == Boolean.TRUE) {
+            return null;
+        }
+
+        R rootRow = rootMapping.newRowObject();
+        rootRow.oid = oid;
+        rootRow.containerIdSeq = mapped.tuple.get(rootMapping.defaultAlias().containerIdSeq);
+        rootRow.objectType = MObjectType.fromSchemaType(mapped.schemaObject.getClass());
+        return new RootUpdateContext<>(sqlRepoContext, jdbcSession, mapped.schemaObject, rootRow,
+                SqaleUtils.isWithoutFullObject(mapped.schemaObject), true);
+    }
+
     private void checkModifications(@NotNull Collection<? extends ItemDelta<?, ?>> modifications) {
         if (InternalsConfig.encryptionChecks) {
             CryptoUtil.checkEncrypted(modifications);
@@ -1212,77 +1272,12 @@ public class SqaleRepositoryService extends SqaleServiceBase implements Reposito
             return null;
         }
 
-        String lastProcessedOid = lastProcessedObject.getOid();
         if (providedOrdering == null || providedOrdering.isEmpty()) {
-            return prismContext()
-                    .queryFor(lastProcessedObject.getCompileTimeClass())
-                    .item(OID_PATH).gt(lastProcessedOid).buildFilter();
+            return ObjectQueryUtil.createKeysetFilter(lastProcessedObject, null);
         }
 
         if (providedOrdering.size() == 1) {
-            ObjectOrdering objectOrdering = providedOrdering.get(0);
-            ItemPath orderByPath = objectOrdering.getOrderBy();
-            boolean asc = objectOrdering.getDirection() != OrderDirection.DESCENDING; // null => asc
-            S_ConditionEntry filter = prismContext()
-                    .queryFor(lastProcessedObject.getCompileTimeClass())
-                    .item(orderByPath);
-
-            Item<PrismValue, ItemDefinition<?>> item = lastProcessedObject.findItem(orderByPath);
-            if (item.size() > 1) {
-                throw new IllegalArgumentException(
-                        "Multi-value property for ordering is forbidden - item: " + item);
-            } else if (item.isEmpty()) {
-                // TODO what if it's nullable? is it null-first or last?
-                // See: https://www.postgresql.org/docs/13/queries-order.html
-                // "By default, null values sort as if larger than any non-null value; that is,
-                // NULLS FIRST is the default for DESC order, and NULLS LAST otherwise."
-            } else {
-                /*
-                IMPL NOTE: Compare this code with SqaleAuditService.iterativeSearchCondition, there is a couple of differences.
-                This one seems bloated, but each branch is simple; on the other hand it's not obvious what is different in each.
-                Also, audit version does not require polystring treatment.
-                Finally, this works for a single provided ordering, but not for multiple (unsupported commented code lower).
-                 */
-                Object realValue = item.getRealValue();
-                if (realValue instanceof PolyString) {
-                    // We need to use matchingOrig for polystring, see MID-7860
-                    if (asc) {
-                        return filter.gt(realValue).matchingOrig().or()
-                                .block()
-                                .item(orderByPath).eq(realValue).matchingOrig()
-                                .and()
-                                .item(OID_PATH).gt(lastProcessedOid)
-                                .endBlock()
-                                .buildFilter();
-                    } else {
-                        return filter.lt(realValue).matchingOrig().or()
-                                .block()
-                                .item(orderByPath).eq(realValue).matchingOrig()
-                                .and()
-                                .item(OID_PATH).lt(lastProcessedOid)
-                                .endBlock()
-                                .buildFilter();
-                    }
-                } else {
-                    if (asc) {
-                        return filter.gt(realValue).or()
-                                .block()
-                                .item(orderByPath).eq(realValue)
-                                .and()
-                                .item(OID_PATH).gt(lastProcessedOid)
-                                .endBlock()
-                                .buildFilter();
-                    } else {
-                        return filter.lt(realValue).or()
-                                .block()
-                                .item(orderByPath).eq(realValue)
-                                .and()
-                                .item(OID_PATH).lt(lastProcessedOid)
-                                .endBlock()
-                                .buildFilter();
-                    }
-                }
-            }
+            return ObjectQueryUtil.createKeysetFilter(lastProcessedObject, providedOrdering.get(0));
         }
 
         throw new IllegalArgumentException(
@@ -2567,6 +2562,7 @@ public class SqaleRepositoryService extends SqaleServiceBase implements Reposito
             throw t;
         } finally {
             result.computeStatusIfUnknown();
+            registerOperationFinish(opHandle);
         }
     }
 
@@ -2605,7 +2601,7 @@ public class SqaleRepositoryService extends SqaleServiceBase implements Reposito
         var maxAttempts = 100;
         var attempt = 1;
         while (attempt < maxAttempts) {
-
+            updateOperationEvent(oid, attempt);
             try {
                 return operation.execute();
             } catch (Exception e) {
@@ -2739,10 +2735,14 @@ public class SqaleRepositoryService extends SqaleServiceBase implements Reposito
         var result = parentResult.createSubresult(OP_CREATE_PARTITIONS_FOR_EXISTING_DATA);
         try {
             long opHandle = registerOperationStart(OP_CREATE_PARTITIONS_FOR_EXISTING_DATA, ShadowType.class);
-            executeRetriable("createPartitions", null, opHandle, () -> {
-                partitionManager.createMissingPartitions(result);
-                return null;
-            });
+            try {
+                executeRetriable("createPartitions", null, opHandle, () -> {
+                    partitionManager.createMissingPartitions(result);
+                    return null;
+                });
+            } finally {
+                registerOperationFinish(opHandle);
+            }
             result.computeStatus();
         } catch (Exception e) {
             result.recordFatalError(e);
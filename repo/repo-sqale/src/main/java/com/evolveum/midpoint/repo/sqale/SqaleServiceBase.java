@@ -10,14 +10,18 @@ import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Properties;
+import java.util.UUID;
 
 import com.evolveum.midpoint.repo.sqlbase.SupportedDatabase;
 
 import jakarta.annotation.PreDestroy;
+import jdk.jfr.EventType;
 import org.jetbrains.annotations.NotNull;
 import org.postgresql.util.PSQLException;
 
@@ -34,6 +38,7 @@ import com.evolveum.midpoint.repo.sqlbase.JdbcSession;
 import com.evolveum.midpoint.repo.sqlbase.perfmon.SqlPerformanceMonitorImpl;
 import com.evolveum.midpoint.schema.LabeledString;
 import com.evolveum.midpoint.schema.RepositoryDiag;
+import com.evolveum.midpoint.schema.jfr.RepositoryOperationEvent;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.schema.util.ExceptionUtil;
 import com.evolveum.midpoint.util.exception.SystemException;
@@ -63,6 +68,20 @@ public class SqaleServiceBase {
      */
     protected final String opNamePrefix = getClass().getSimpleName() + '.';
 
+    /**
+     * JFR events for operations running in the current thread; operations can be nested, e.g. when called
+     * from a handler of an iterative search. Maintained by {@link #registerOperationStart(String, Class)}
+     * and {@link #registerOperationFinish(long)}, regardless of the performance monitor level.
+     *
+     * The events are created (and this stack is touched) only if the event type is enabled, i.e. when a recording
+     * is running, so there is no cost on the hot path otherwise. Operations in progress when a recording is started
+     * or stopped may not be recorded precisely.
+     */
+    private static final ThreadLocal<Deque<RepositoryOperationEvent>> OPERATION_EVENTS =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final EventType OPERATION_EVENT_TYPE = EventType.getEventType(RepositoryOperationEvent.class);
+
     protected final SqaleRepoContext sqlRepoContext;
     protected final SqlPerformanceMonitorsCollection sqlPerformanceMonitorsCollection;
     protected SqlPerformanceMonitorImpl performanceMonitor; // set to null in destroy
@@ -150,17 +169,44 @@ public class SqaleServiceBase {
     }
 
     protected long registerOperationStart(String kind, Class<?> type) {
+        if (OPERATION_EVENT_TYPE.isEnabled()) {
+            RepositoryOperationEvent event = new RepositoryOperationEvent();
+            event.operation = opNamePrefix + kind;
+            event.objectType = type != null ? type.getSimpleName() : null;
+            OPERATION_EVENTS.get().push(event);
+            event.begin();
+        }
+
         return performanceMonitor != null
                 ? performanceMonitor.registerOperationStart(opNamePrefix + kind, type)
                 : -1;
     }
 
     protected void registerOperationFinish(long opHandle) {
+        if (OPERATION_EVENT_TYPE.isEnabled()) {
+            RepositoryOperationEvent event = OPERATION_EVENTS.get().poll();
+            if (event != null) {
+                event.commit(); // does nothing if the event is below the threshold
+            }
+        }
+
         if (performanceMonitor != null) {
             performanceMonitor.registerOperationFinish(opHandle, 1);
         }
     }
 
+    /** Records the OID of the object the current operation works with (if known) and the number of attempts. */
+    protected void updateOperationEvent(UUID oid, int attempts) {
+        if (!OPERATION_EVENT_TYPE.isEnabled()) {
+            return;
+        }
+        RepositoryOperationEvent event = OPERATION_EVENTS.get().peek();
+        if (event != null) {
+            event.oid = oid != null ? oid.toString() : null;
+            event.attempts = attempts;
+        }
+    }
+
     @PreDestroy
     public void destroy() {
         if (performanceMonitor != null) {
@@ -196,6 +242,7 @@ public class SqaleServiceBase {
         List<LabeledString> details = new ArrayList<>();
         diag.setAdditionalDetails(details);
         details.add(new LabeledString("dataSource", config.getDataSource()));
+        details.add(new LabeledString("caches", sqlRepoContext.getCacheStatistics()));
 
         try (JdbcSession jdbcSession = sqlRepoContext.newJdbcSession().startTransaction()) {
             details.add(new LabeledString("transactionIsolation",
@@ -9,7 +9,10 @@ package com.evolveum.midpoint.repo.sqale;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 import javax.xml.namespace.QName;
 
@@ -47,6 +50,15 @@ import com.evolveum.midpoint.util.logging.TraceManager;
  * This could be avoided if the runtime maps were updated *only* after the row was successfully
  * read from the DB in other operations - which beats the purposes of those fast operations.
  * Instead, we risk adding the row that is not used, it is no harm; it will likely be used later.
+ *
+ * [NOTE]
+ * The cache is thread-safe without any global lock: reads go to concurrent maps only,
+ * and only the threads processing the same new URI wait for each other - the first one inserts the row,
+ * the others wait for its result (see {@link #processCacheableUri(Object)}).
+ *
+ * [NOTE]
+ * Before the cache is initialized (which is normal only when there is no data source, e.g. in benchmarks),
+ * URIs not in the cache are reported as unknown instead of being looked up in the database.
  */
 public class UriCache {
 
@@ -64,8 +76,17 @@ public class UriCache {
     private final Map<Integer, String> idToUri = new ConcurrentHashMap<>();
     private final Map<String, Integer> uriToId = new ConcurrentHashMap<>();
 
+    /** Inserts of new URIs in progress; other threads needing the same URI wait for these. */
+    private final Map<String, CompletableFuture<Integer>> pendingInserts = new ConcurrentHashMap<>();
+
+    /** Number of lookups not satisfied by the cache, i.e. going to the database. */
+    private final LongAdder missCount = new LongAdder();
+
+    /** Number of URI rows inserted into the database by this cache. */
+    private final LongAdder insertCount = new LongAdder();
+
     // WARNING: Each .get() creates new connection, always use in try-with-resource block!
-    private Supplier<JdbcSession> jdbcSessionSupplier;
+    private volatile Supplier<JdbcSession> jdbcSessionSupplier;
 
     /**
      * Initializes the URI cache.
@@ -77,6 +98,8 @@ public class UriCache {
         // this can be called repeatedly in tests, so the clear may be necessary
         idToUri.clear();
         uriToId.clear();
+        missCount.reset();
+        insertCount.reset();
 
         QUri uri = QUri.DEFAULT;
         List<MUri> result;
@@ -162,7 +185,8 @@ public class UriCache {
 
     private String retrieveUri(Integer id) {
         String uri = idToUri.get(id);
-        if (uri == null) {
+        if (uri == null && jdbcSessionSupplier != null) {
+            missCount.increment();
             uri = retrieveUriFromDb(id);
         }
         return uri;
@@ -170,7 +194,8 @@ public class UriCache {
 
     private Integer retrieveId(String uri) {
         Integer id = uriToId.get(uri);
-        if (id == null) {
+        if (id == null && jdbcSessionSupplier != null) {
+            missCount.increment();
             id = retrieveIdFromDb(uri);
         }
         return id;
@@ -179,8 +204,11 @@ public class UriCache {
     /**
      * Returns ID for URI creating new cache row in DB as needed.
      * Returns null for null URI parameter.
+     *
+     * Only one thread inserts any given URI, other threads asking for the same URI at the same time
+     * wait for its result; threads processing other URIs are not blocked.
      */
-    public synchronized @Nullable Integer processCacheableUri(@Nullable Object uri) {
+    public @Nullable Integer processCacheableUri(@Nullable Object uri) {
         if (uri == null) {
             return null;
         }
@@ -192,11 +220,45 @@ public class UriCache {
                 ? QNameUtil.qNameToUri((QName) uri)
                 : uri.toString();
 
-        Integer id = getId(uriString);
+        Integer id = uriToId.get(uriString);
         if (id != null) {
             return id;
         }
 
+        CompletableFuture<Integer> insert = new CompletableFuture<>();
+        CompletableFuture<Integer> pendingInsert = pendingInserts.putIfAbsent(uriString, insert);
+        if (pendingInsert != null) {
+            return awaitInsert(pendingInsert);
+        }
+
+        try {
+            id = getId(uriString); // checks the DB as well, the URI may have been added by other node
+            if (id == null) {
+                id = insertUri(uriString);
+            }
+            insert.complete(id);
+            return id;
+        } catch (RuntimeException e) {
+            insert.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingInserts.remove(uriString, insert);
+        }
+    }
+
+    private Integer awaitInsert(CompletableFuture<Integer> pendingInsert) {
+        try {
+            return pendingInsert.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Integer insertUri(String uriString) {
+        Integer id;
         QUri qu = QUri.DEFAULT;
         try (JdbcSession jdbcSession = jdbcSessionSupplier.get().startTransaction()) {
             id = jdbcSession.newInsert(qu)
@@ -205,6 +267,7 @@ public class UriCache {
             jdbcSession.commit();
 
             updateMaps(MUri.of(id, uriString));
+            insertCount.increment();
         } catch (RuntimeException e) {
 
             if (SqaleUtils.isUniqueConstraintViolation(e)) {
@@ -217,10 +280,25 @@ public class UriCache {
             }
             throw e;
         }
-        LOGGER.debug("URI cache inserted URI={} under ID={}", uri, id);
+        LOGGER.debug("URI cache inserted URI={} under ID={}", uriString, id);
         return id;
     }
 
+    /** Returns the number of cached URIs. */
+    public int size() {
+        return uriToId.size();
+    }
+
+    /** Returns the number of lookups that were not satisfied by the cache (since the initialization). */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /** Returns the number of URIs inserted into the database by this cache (since the initialization). */
+    public long getInsertCount() {
+        return insertCount.sum();
+    }
+
     private Integer retrieveIdFromDb(String uriString) {
         MUri row;
         try (JdbcSession jdbcSession = jdbcSessionSupplier.get().startReadOnlyTransaction()) {
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.repo.sqale.audit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.querydsl.sql.SQLExpressions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.evolveum.midpoint.repo.sqale.SqaleRepoContext;
+import com.evolveum.midpoint.repo.sqale.audit.qmodel.QAuditDelta;
+import com.evolveum.midpoint.repo.sqale.audit.qmodel.QAuditEventRecord;
+import com.evolveum.midpoint.repo.sqale.audit.qmodel.QAuditEventRecordMapping;
+import com.evolveum.midpoint.repo.sqale.audit.qmodel.QAuditRefValue;
+import com.evolveum.midpoint.repo.sqlbase.JdbcSession;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.schema.statistics.IterationItemInformation;
+import com.evolveum.midpoint.schema.statistics.IterativeOperationStartInfo;
+import com.evolveum.midpoint.schema.statistics.Operation;
+import com.evolveum.midpoint.task.api.RunningTask;
+import com.evolveum.midpoint.util.exception.CommonException;
+import com.evolveum.midpoint.util.exception.SystemException;
+import com.evolveum.midpoint.util.logging.Trace;
+import com.evolveum.midpoint.util.logging.TraceManager;
+
+/**
+ * Deletes audit records older than specified timestamp, utilizing timestamp range partitions of the audit tables:
+ *
+ * . Partitions that contain only expired records are detached and dropped as a whole.
+ * Each partition (with the corresponding delta and ref partitions) is dropped in its own transaction.
+ * . Remaining expired records (from the partition containing the boundary timestamp and from the default partition)
+ * are deleted in batches, each in its own transaction, so neither long transactions nor huge WAL bursts occur.
+ * Deltas and refs are deleted by the cascading foreign keys.
+ * . If the audit tables are partitioned by months, missing partitions for the following months are created,
+ * using `audit_create_monthly_partitions` procedure.
+ *
+ * Without partitions (i.e. with the default partitions only), this is just the batched delete.
+ *
+ * If a task is provided, each dropped partition and each deleted batch is reported as an iterative operation
+ * (i.e. the progress is visible in the task), and the cleanup stops when the task is suspended.
+ * As everything is committed continuously, the next run simply continues with the rest.
+ *
+ * Intentionally package-private, used by {@link SqaleAuditService} only.
+ */
+class AuditAgeCleanup {
+
+    private static final Trace LOGGER = TraceManager.getTrace(AuditAgeCleanup.class);
+
+    @NotNull private final SqaleRepoContext sqlRepoContext;
+    @NotNull private final Instant olderThan;
+    @Nullable private final RunningTask task;
+
+    private int partitionsDropped;
+    private long recordsDeleted;
+    private int partitionsCreated;
+    private boolean interrupted;
+
+    AuditAgeCleanup(@NotNull SqaleRepoContext sqlRepoContext, @NotNull Instant olderThan, @Nullable RunningTask task) {
+        this.sqlRepoContext = sqlRepoContext;
+        this.olderThan = olderThan;
+        this.task = task;
+    }
+
+    /**
+     * @param batchSize Maximal number of records deleted in one transaction.
+     * @param batchDelay Pause between the batches (in milliseconds), 0 or less means no pause.
+     * @param futurePartitionCount Number of monthly partitions to be created, 0 or less means none.
+     */
+    void execute(int batchSize, long batchDelay, int futurePartitionCount, OperationResult result) {
+        List<AuditPartition> eventPartitions = dropExpiredPartitions(result);
+        if (!interrupted) {
+            deleteExpiredRecords(batchSize, batchDelay, result);
+        }
+        if (futurePartitionCount > 0 && eventPartitions.stream().anyMatch(p -> p.to() != null)) {
+            createFuturePartitions(futurePartitionCount);
+        }
+    }
+
+    /** Returns the remaining (non-dropped) partitions of the event table. */
+    private List<AuditPartition> dropExpiredPartitions(OperationResult result) {
+        List<AuditPartition> eventPartitions;
+        List<AuditPartition> deltaPartitions;
+        List<AuditPartition> refPartitions;
+        try (JdbcSession jdbcSession = sqlRepoContext.newJdbcSession().startReadOnlyTransaction()) {
+            eventPartitions = AuditPartition.list(jdbcSession, QAuditEventRecord.TABLE_NAME);
+            deltaPartitions = AuditPartition.list(jdbcSession, QAuditDelta.TABLE_NAME);
+            refPartitions = AuditPartition.list(jdbcSession, QAuditRefValue.TABLE_NAME);
+        }
+
+        List<AuditPartition> remaining = new ArrayList<>();
+        for (AuditPartition eventPartition : eventPartitions) {
+            if (!eventPartition.isExpired(olderThan) || !checkCanRun()) {
+                remaining.add(eventPartition);
+                continue;
+            }
+            Operation op = recordOperationStart("partition " + eventPartition.name());
+            try (JdbcSession jdbcSession = sqlRepoContext.newJdbcSession().startTransaction()) {
+                // Dependent partitions first, they have FK to the event partition.
+                for (AuditPartition partition : eventPartition.findSameRange(refPartitions)) {
+                    dropPartition(jdbcSession, QAuditRefValue.TABLE_NAME, partition);
+                }
+                for (AuditPartition partition : eventPartition.findSameRange(deltaPartitions)) {
+                    dropPartition(jdbcSession, QAuditDelta.TABLE_NAME, partition);
+                }
+                dropPartition(jdbcSession, QAuditEventRecord.TABLE_NAME, eventPartition);
+                jdbcSession.commit();
+            } catch (Throwable t) {
+                recordOperationFailure(op, t);
+                throw t;
+            }
+            partitionsDropped++;
+            recordOperationSuccess(op, result);
+        }
+        return remaining;
+    }
+
+    private void dropPartition(JdbcSession jdbcSession, String tableName, AuditPartition partition) {
+        LOGGER.info("Audit cleanup, dropping partition {} ({} - {}).", partition.name(), partition.from(), partition.to());
+        jdbcSession.executeStatement("ALTER TABLE " + tableName + " DETACH PARTITION " + partition.name());
+        jdbcSession.executeStatement("DROP TABLE " + partition.name());
+    }
+
+    private void deleteExpiredRecords(int batchSize, long batchDelay, OperationResult result) {
+        QAuditEventRecord qae = QAuditEventRecordMapping.get().defaultAlias();
+        QAuditEventRecord qaeSub = new QAuditEventRecord("aes");
+        long deleted;
+        int batch = 0;
+        do {
+            if ((batch > 0 && !pause(batchDelay)) || !checkCanRun()) {
+                return;
+            }
+            batch++;
+            Operation op = recordOperationStart("batch " + batch + " of records older than " + olderThan);
+            try (JdbcSession jdbcSession = sqlRepoContext.newJdbcSession().startTransaction()) {
+                deleted = jdbcSession.newDelete(qae)
+                        .where(qae.timestamp.lt(olderThan),
+                                qae.id.in(SQLExpressions.select(qaeSub.id)
+                                        .from(qaeSub)
+                                        .where(qaeSub.timestamp.lt(olderThan))
+                                        .limit(batchSize)))
+                        .execute();
+                jdbcSession.commit();
+            } catch (Throwable t) {
+                recordOperationFailure(op, t);
+                throw t;
+            }
+            recordsDeleted += deleted;
+            if (deleted > 0) {
+                recordOperationSuccess(op, result);
+            } else if (op != null) {
+                op.skipped();
+            }
+            LOGGER.debug("Audit cleanup, deleted {} records in a batch, {} in total.", deleted, recordsDeleted);
+        } while (deleted >= batchSize);
+    }
+
+    private void createFuturePartitions(int futurePartitionCount) {
+        try (JdbcSession jdbcSession = sqlRepoContext.newJdbcSession().startTransaction()) {
+            int before = AuditPartition.list(jdbcSession, QAuditEventRecord.TABLE_NAME).size();
+            jdbcSession.executeStatement("CALL audit_create_monthly_partitions(" + futurePartitionCount + ")");
+            partitionsCreated = AuditPartition.list(jdbcSession, QAuditEventRecord.TABLE_NAME).size() - before;
+            jdbcSession.commit();
+        } catch (SystemException e) {
+            // E.g. when the default partition contains rows for the new partition; the cleanup itself is done.
+            LOGGER.warn("Audit cleanup couldn't create future audit partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean checkCanRun() {
+        if (task != null && !task.canRun()) {
+            LOGGER.warn("Audit cleanup was interrupted.");
+            interrupted = true;
+        }
+        return !interrupted;
+    }
+
+    /** Returns false if interrupted. */
+    private boolean pause(long delay) {
+        if (delay <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupted = true;
+            return false;
+        }
+    }
+
+    private @Nullable Operation recordOperationStart(String name) {
+        if (task == null) {
+            return null;
+        }
+        IterativeOperationStartInfo info = new IterativeOperationStartInfo(
+                new IterationItemInformation(name, null, null, null));
+        info.setSimpleCaller(true);
+        return task.recordIterativeOperationStart(info);
+    }
+
+    private void recordOperationSuccess(@Nullable Operation op, OperationResult result) {
+        if (op == null) {
+            return;
+        }
+        op.succeeded();
+        try {
+            // structured progress is incremented with iterative operation reporting
+            task.incrementLegacyProgressAndStoreStatisticsIfTimePassed(result);
+        } catch (CommonException e) {
+            LOGGER.warn("Couldn't store audit cleanup statistics into the task: {}", e.getMessage(), e);
+        }
+    }
+
+    private void recordOperationFailure(@Nullable Operation op, Throwable t) {
+        if (op != null) {
+            op.failed(t);
+        }
+    }
+
+    int getPartitionsDropped() {
+        return partitionsDropped;
+    }
+
+    long getRecordsDeleted() {
+        return recordsDeleted;
+    }
+
+    int getPartitionsCreated() {
+        return partitionsCreated;
+    }
+
+    boolean isInterrupted() {
+        return interrupted;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.repo.sqale.audit;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.evolveum.midpoint.repo.sqlbase.JdbcSession;
+import com.evolveum.midpoint.util.exception.SystemException;
+
+/**
+ * Partition of an audit table with its timestamp range; `from` is inclusive, `to` is exclusive.
+ * Bound is `null` if the partition is unbounded from that side, both bounds are `null` for the default partition.
+ *
+ * Intentionally package-private.
+ */
+record AuditPartition(@NotNull String name, @Nullable Instant from, @Nullable Instant to) {
+
+    /** Returns partitions of the table with their bounds. */
+    private static final String SQL_LIST_PARTITIONS = "SELECT c.relname,"
+            + " (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'FROM \\(''([^'']+)''\\)'))[1]::timestamptz,"
+            + " (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \\(''([^'']+)''\\)'))[1]::timestamptz"
+            + " FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+            + " WHERE i.inhparent = CAST(? AS regclass)";
+
+    static List<AuditPartition> list(JdbcSession jdbcSession, String tableName) {
+        List<AuditPartition> partitions = new ArrayList<>();
+        try (PreparedStatement stmt = jdbcSession.connection().prepareStatement(SQL_LIST_PARTITIONS)) {
+            stmt.setString(1, tableName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(new AuditPartition(
+                            rs.getString(1), toInstant(rs.getTimestamp(2)), toInstant(rs.getTimestamp(3))));
+                }
+            }
+        } catch (SQLException e) {
+            throw new SystemException("Couldn't list partitions of table " + tableName, e);
+        }
+        return partitions;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    boolean isDefault() {
+        return from == null && to == null;
+    }
+
+    /** Only range partitions with upper bound are considered, default partition never expires. */
+    boolean isExpired(Instant olderThan) {
+        return to != null && !to.isAfter(olderThan);
+    }
+
+    List<AuditPartition> findSameRange(List<AuditPartition> partitions) {
+        return partitions.stream()
+                .filter(p -> Objects.equals(p.from, from) && Objects.equals(p.to, to))
+                .toList();
+    }
+}
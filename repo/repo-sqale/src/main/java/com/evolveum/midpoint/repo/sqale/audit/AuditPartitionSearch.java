@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.repo.sqale.audit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.evolveum.midpoint.audit.api.AuditResultHandler;
+import com.evolveum.midpoint.prism.PrismContext;
+import com.evolveum.midpoint.prism.query.*;
+import com.evolveum.midpoint.repo.sqale.SqaleRepoContext;
+import com.evolveum.midpoint.repo.sqale.audit.qmodel.QAuditEventRecord;
+import com.evolveum.midpoint.repo.sqlbase.JdbcSession;
+import com.evolveum.midpoint.repo.sqlbase.RepositoryException;
+import com.evolveum.midpoint.schema.SearchResultMetadata;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.schema.util.ObjectQueryUtil;
+import com.evolveum.midpoint.util.MiscUtil;
+import com.evolveum.midpoint.util.exception.SchemaException;
+import com.evolveum.midpoint.util.exception.SystemException;
+import com.evolveum.midpoint.util.logging.Trace;
+import com.evolveum.midpoint.util.logging.TraceManager;
+import com.evolveum.midpoint.xml.ns._public.common.audit_3.AuditEventRecordType;
+
+/**
+ * Iterative audit search that searches timestamp partitions of the audit table in parallel.
+ *
+ * The query is split into one query per partition (by adding the partition timestamp range to the filter),
+ * and these are executed by the standard (sequential) iterative search in separate threads.
+ * The results are passed to the handler in the calling thread, partition after partition, in the order
+ * of their timestamps; each partition is read ahead into a bounded buffer. Because partitions do not overlap,
+ * this keeps the order of the results if they are ordered by timestamp.
+ *
+ * The slices are executed by an executor shared by all the searches (see {@link SqaleAuditService}), so the number
+ * of the threads (and hence the connections) used is limited globally. The executor runs the slices in the order
+ * of their submission and each search consumes its slices in the same order; so the earliest submitted slice
+ * that is not finished yet is always running and being consumed, and the searches can't block each other forever.
+ * The slices of a finished (or stopped) search are cancelled, so they don't hold the threads.
+ *
+ * The handler may search the audit again. Such nested search is not executed in parallel, because its slices
+ * would wait for the threads held by the slices of the outer search, which in turn wait for the handler;
+ * with all the threads taken, this would be a deadlock.
+ *
+ * The operation result of each slice is created and closed by the calling thread, the searching thread
+ * does not touch it; so the operation result tree is not modified concurrently.
+ *
+ * Usable only if:
+ *
+ * * the audit is partitioned and the default partition is empty (we don't know what is in there),
+ * * there is no ordering, or there is a single ordering by timestamp,
+ * * there is no offset and no maximal size in the query paging,
+ * * the search is not called from a handler of another partitioned search in the same thread.
+ *
+ * See {@link #isApplicable(ObjectQuery)} and {@link #createSlices(JdbcSession)}.
+ * Otherwise, the caller uses the sequential search.
+ *
+ * Intentionally package-private, used by {@link SqaleAuditService} only.
+ */
+class AuditPartitionSearch {
+
+    private static final Trace LOGGER = TraceManager.getTrace(AuditPartitionSearch.class);
+
+    private static final String OP_SEARCH_PARTITION = SqaleAuditService.class.getName() + ".searchPartition";
+
+    /** Set while the current thread consumes the results of a partitioned search, i.e. while it runs the handler. */
+    private static final ThreadLocal<Boolean> CONSUMING = new ThreadLocal<>();
+
+    /** Marks the end of the results in a partition buffer. */
+    private static final AuditEventRecordType END = new AuditEventRecordType();
+
+    /** Search of a single partition, this is the standard sequential iterative search. */
+    @FunctionalInterface
+    interface PartitionSearcher {
+        void search(ObjectQuery query, AuditResultHandler handler, OperationResult result)
+                throws SchemaException, RepositoryException;
+    }
+
+    @NotNull private final SqaleRepoContext sqlRepoContext;
+    @Nullable private final ObjectQuery query;
+    private final int threads;
+    private final int bufferSize;
+
+    AuditPartitionSearch(@NotNull SqaleRepoContext sqlRepoContext, @Nullable ObjectQuery query, int threads, int bufferSize) {
+        this.sqlRepoContext = sqlRepoContext;
+        this.query = query;
+        this.threads = threads;
+        this.bufferSize = bufferSize;
+    }
+
+    static boolean isApplicable(@Nullable ObjectQuery query) {
+        if (CONSUMING.get() != null) {
+            LOGGER.trace("Nested audit search called from a handler of a partitioned search, not searching in parallel");
+            return false;
+        }
+        ObjectPaging paging = query != null ? query.getPaging() : null;
+        if (paging == null) {
+            return true;
+        }
+        if (paging.getOffset() != null || paging.getMaxSize() != null) {
+            return false;
+        }
+        List<? extends ObjectOrdering> ordering = paging.getOrderingInstructions();
+        return ordering == null || ordering.isEmpty()
+                || ordering.size() == 1 && AuditEventRecordType.F_TIMESTAMP.equivalent(ordering.get(0).getOrderBy());
+    }
+
+    /**
+     * Returns partitions to be searched in the order in which their results are passed to the handler,
+     * or `null` if the partitioned search is not possible.
+     */
+    @Nullable List<AuditPartition> createSlices(JdbcSession jdbcSession) {
+        List<AuditPartition> partitions = AuditPartition.list(jdbcSession, QAuditEventRecord.TABLE_NAME);
+        List<AuditPartition> slices = new ArrayList<>();
+        for (AuditPartition partition : partitions) {
+            if (partition.isDefault()) {
+                QAuditEventRecord qp = new QAuditEventRecord("aep", QAuditEventRecord.DEFAULT_SCHEMA_NAME, partition.name());
+                if (jdbcSession.newQuery().select(qp.id).from(qp).fetchFirst() != null) {
+                    LOGGER.debug("Default audit partition {} is not empty, partitioned search is not possible",
+                            partition.name());
+                    return null;
+                }
+            } else {
+                slices.add(partition);
+            }
+        }
+        if (slices.size() < 2) {
+            return null;
+        }
+        // Partitions do not overlap, so ordering by the lower bound is enough; MINVALUE (null) goes first.
+        slices.sort(Comparator.comparing(AuditPartition::from, Comparator.nullsFirst(Comparator.<Instant>naturalOrder())));
+        if (isDescending()) {
+            Collections.reverse(slices);
+        }
+        return slices;
+    }
+
+    private boolean isDescending() {
+        ObjectPaging paging = query != null ? query.getPaging() : null;
+        List<? extends ObjectOrdering> ordering = paging != null ? paging.getOrderingInstructions() : null;
+        return ordering != null && ordering.size() == 1
+                && ordering.get(0).getDirection() == OrderDirection.DESCENDING;
+    }
+
+    SearchResultMetadata execute(
+            @NotNull List<AuditPartition> slices,
+            @NotNull AuditResultHandler handler,
+            @NotNull PartitionSearcher searcher,
+            @NotNull ExecutorService executor,
+            @NotNull OperationResult operationResult) throws SchemaException, RepositoryException {
+        LOGGER.debug("Searching {} audit partitions using {} threads", slices.size(), threads);
+        List<Slice> running = new ArrayList<>();
+        CONSUMING.set(Boolean.TRUE);
+        try {
+            // Submitted in the order of consumption, see the class description.
+            for (AuditPartition partition : slices) {
+                Slice slice = new Slice(partition, operationResult);
+                running.add(slice);
+                slice.future = executor.submit(() -> slice.search(searcher));
+            }
+
+            int handled = 0;
+            AuditEventRecordType lastProcessed = null;
+            for (Slice slice : running) {
+                while (true) {
+                    AuditEventRecordType record = slice.take();
+                    if (record == END) {
+                        break;
+                    }
+                    lastProcessed = record;
+                    if (!handler.handle(record, operationResult)) {
+                        return new SearchResultMetadata()
+                                .approxNumberOfAllResults(handled + 1)
+                                .pagingCookie(record.getRepoId().toString())
+                                .partialResults(true);
+                    }
+                    handled++;
+                }
+                slice.checkFailure();
+            }
+            return new SearchResultMetadata()
+                    .approxNumberOfAllResults(handled)
+                    .pagingCookie(lastProcessed != null ? lastProcessed.getRepoId().toString() : null);
+        } finally {
+            CONSUMING.remove();
+            // Stops the slices still running or waiting, if the search was stopped by the handler or failed.
+            for (Slice slice : running) {
+                slice.cancel();
+            }
+            for (Slice slice : running) {
+                slice.awaitFinish();
+                slice.closeResult();
+            }
+        }
+    }
+
+    /** Search of a single partition, producing its results into the buffer. */
+    private class Slice {
+
+        @NotNull private final AuditPartition partition;
+        @NotNull private final BlockingQueue<AuditEventRecordType> buffer = new LinkedBlockingQueue<>(bufferSize);
+
+        /** Created and closed by the calling thread. */
+        @NotNull private final OperationResult result;
+
+        /** Set when the search starts; or when the slice is cancelled before that, preventing the search. */
+        @NotNull private final AtomicBoolean startedOrCancelled = new AtomicBoolean();
+        @NotNull private final CountDownLatch finished = new CountDownLatch(1);
+        private Future<?> future;
+        private volatile Throwable failure;
+        private volatile boolean notSearched;
+
+        Slice(@NotNull AuditPartition partition, @NotNull OperationResult parentResult) {
+            this.partition = partition;
+            this.result = parentResult.subresult(OP_SEARCH_PARTITION)
+                    .addParam("partition", partition.name())
+                    .build();
+        }
+
+        private void search(PartitionSearcher searcher) {
+            if (!startedOrCancelled.compareAndSet(false, true)) {
+                return; // cancelled before it was started
+            }
+            try {
+                // The handler ignores the result, so a separate one is enough; the slice result is not touched here.
+                OperationResult searchResult = new OperationResult(OP_SEARCH_PARTITION);
+                searcher.search(createQuery(), (record, r) -> {
+                    try {
+                        buffer.put(record);
+                        return true;
+                    } catch (InterruptedException e) {
+                        // The consumer does not want more results.
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }, searchResult);
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                finished.countDown();
+                try {
+                    buffer.put(END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void cancel() {
+            if (startedOrCancelled.compareAndSet(false, true)) {
+                notSearched = true;
+                finished.countDown();
+            }
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        /** Waits for the search of the slice to stop, so its result is not modified after we return it. */
+        private void awaitFinish() {
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.debug("Interrupted while waiting for the search of audit partition {} to stop", partition.name());
+            }
+        }
+
+        /** Called by the calling thread after the search of the slice is stopped. */
+        private void closeResult() {
+            if (notSearched) {
+                result.recordNotApplicable("Not searched, the search was stopped before");
+            } else if (failure != null) {
+                result.recordException(failure);
+            }
+            result.close();
+        }
+
+        private ObjectQuery createQuery() {
+            PrismContext prismContext = sqlRepoContext.prismContext();
+            ObjectFilter rangeFilter;
+            if (partition.from() != null && partition.to() != null) {
+                rangeFilter = prismContext.queryFor(AuditEventRecordType.class)
+                        .item(AuditEventRecordType.F_TIMESTAMP).ge(MiscUtil.asXMLGregorianCalendar(partition.from()))
+                        .and().item(AuditEventRecordType.F_TIMESTAMP).lt(MiscUtil.asXMLGregorianCalendar(partition.to()))
+                        .buildFilter();
+            } else if (partition.from() != null) {
+                rangeFilter = prismContext.queryFor(AuditEventRecordType.class)
+                        .item(AuditEventRecordType.F_TIMESTAMP).ge(MiscUtil.asXMLGregorianCalendar(partition.from()))
+                        .buildFilter();
+            } else {
+                rangeFilter = prismContext.queryFor(AuditEventRecordType.class)
+                        .item(AuditEventRecordType.F_TIMESTAMP).lt(MiscUtil.asXMLGregorianCalendar(partition.to()))
+                        .buildFilter();
+            }
+            ObjectQuery sliceQuery = prismContext.queryFactory().createQuery(
+                    ObjectQueryUtil.filterAndImmutable(query != null ? query.getFilter() : null, rangeFilter));
+            if (query != null && query.getPaging() != null) {
+                sliceQuery.setPaging(query.getPaging().clone());
+            }
+            return sliceQuery;
+        }
+
+        private AuditEventRecordType take() {
+            try {
+                return buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SystemException("Interrupted while waiting for audit search results", e);
+            }
+        }
+
+        private void checkFailure() throws SchemaException, RepositoryException {
+            if (failure instanceof SchemaException e) {
+                throw e;
+            } else if (failure instanceof RepositoryException e) {
+                throw e;
+            } else if (failure instanceof RuntimeException e) {
+                throw e;
+            } else if (failure != null) {
+                throw new SystemException("Couldn't search audit partition " + partition.name(), failure);
+            }
+        }
+    }
+}
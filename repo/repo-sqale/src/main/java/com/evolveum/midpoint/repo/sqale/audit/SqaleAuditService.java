@@ -17,6 +17,10 @@ import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.xml.datatype.Duration;
 
 import com.evolveum.midpoint.prism.*;
@@ -52,6 +56,7 @@ import com.evolveum.midpoint.repo.sqlbase.SqlQueryExecutor;
 import com.evolveum.midpoint.schema.*;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.schema.util.ObjectQueryUtil;
+import com.evolveum.midpoint.task.api.RunningTask;
 import com.evolveum.midpoint.task.api.Task;
 import com.evolveum.midpoint.util.exception.SchemaException;
 import com.evolveum.midpoint.util.exception.SystemException;
@@ -63,8 +68,16 @@ import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
  */
 public class SqaleAuditService extends SqaleServiceBase implements AuditService {
 
+    private static final String PARTITION_SEARCH_THREAD_NAME_PREFIX = "midpoint-audit-partition-search-";
+    private static final long PARTITION_SEARCH_KEEP_ALIVE_SECONDS = 60;
+
     private final SqlQueryExecutor sqlQueryExecutor;
 
+    private final AtomicInteger partitionSearchThreadCounter = new AtomicInteger();
+
+    /** Shared by all partitioned searches, so their total number of threads (and connections) is limited. */
+    private ThreadPoolExecutor partitionSearchExecutor;
+
     // set from SystemConfigurationAuditType
     private boolean escapeIllegalCharacters = false;
     @NotNull private OperationResultDetailLevel deltaSuccessExecutionResult = OperationResultDetailLevel.CLEANED_UP;
@@ -367,16 +380,21 @@ public class SqaleAuditService extends SqaleServiceBase implements AuditService
 
     @Override
     public void cleanupAudit(CleanupPolicyType policy, OperationResult parentResult) {
+        cleanupAudit(policy, null, parentResult);
+    }
+
+    @Override
+    public void cleanupAudit(CleanupPolicyType policy, @Nullable RunningTask task, OperationResult parentResult) {
         Objects.requireNonNull(policy, "Cleanup policy must not be null.");
         Objects.requireNonNull(parentResult, "Operation result must not be null.");
 
         // TODO review monitoring performance of these cleanup operations
         // It looks like the attempts (and wasted time) are not counted correctly
-        cleanupAuditMaxRecords(policy, parentResult);
-        cleanupAuditMaxAge(policy, parentResult);
+        cleanupAuditMaxRecords(policy, task, parentResult);
+        cleanupAuditMaxAge(policy, task, parentResult);
     }
 
-    private void cleanupAuditMaxAge(CleanupPolicyType policy, OperationResult parentResult) {
+    private void cleanupAuditMaxAge(CleanupPolicyType policy, RunningTask task, OperationResult parentResult) {
         if (policy.getMaxAge() == null) {
             return;
         }
@@ -384,7 +402,7 @@ public class SqaleAuditService extends SqaleServiceBase implements AuditService
         OperationResult operationResult =
                 parentResult.createSubresult(opNamePrefix + OP_CLEANUP_AUDIT_MAX_AGE);
         try {
-            executeCleanupAuditMaxAge(policy.getMaxAge());
+            executeCleanupAuditMaxAge(policy.getMaxAge(), task, operationResult);
         } catch (RuntimeException e) {
             throw handledGeneralException(e, operationResult);
         } catch (Throwable t) {
@@ -395,7 +413,7 @@ public class SqaleAuditService extends SqaleServiceBase implements AuditService
         }
     }
 
-    private void executeCleanupAuditMaxAge(Duration maxAge) {
+    private void executeCleanupAuditMaxAge(Duration maxAge, RunningTask task, OperationResult operationResult) {
         long opHandle = registerOperationStart(OP_CLEANUP_AUDIT_MAX_AGE);
 
         if (maxAge.getSign() > 0) {
@@ -407,25 +425,20 @@ public class SqaleAuditService extends SqaleServiceBase implements AuditService
         Instant olderThan = Instant.ofEpochMilli(minValue.getTime());
 
         long start = System.currentTimeMillis();
-        long deletedCount = 0;
-        try (JdbcSession jdbcSession = sqlRepoContext.newJdbcSession().startTransaction()) {
+        AuditAgeCleanup cleanup = new AuditAgeCleanup(sqlRepoContext, olderThan, task);
+        try {
             logger.info("Audit cleanup, deleting records older than {}.", olderThan);
-
-            QAuditEventRecord qae = QAuditEventRecordMapping.get().defaultAlias();
-            deletedCount = jdbcSession.newDelete(qae)
-                    .where(qae.timestamp.lt(olderThan))
-                    .execute();
-            jdbcSession.commit();
+            executeAgeCleanup(cleanup, operationResult);
         } finally {
             registerOperationFinish(opHandle);
-            logger.info("Audit cleanup based on age finished; deleted {} entries in {} seconds.",
-                    deletedCount, (System.currentTimeMillis() - start) / 1000L);
+            logger.info("Audit cleanup based on age finished; dropped {} partitions, deleted {} entries"
+                            + " and created {} partitions in {} seconds.",
+                    cleanup.getPartitionsDropped(), cleanup.getRecordsDeleted(), cleanup.getPartitionsCreated(),
+                    (System.currentTimeMillis() - start) / 1000L);
         }
     }
 
-    // TODO: Document that this is less efficient with current timestamp-partitioned repo.
-    //  Not necessarily inefficient per se, just less efficient than using timestamp.
-    private void cleanupAuditMaxRecords(CleanupPolicyType policy, OperationResult parentResult) {
+    private void cleanupAuditMaxRecords(CleanupPolicyType policy, RunningTask task, OperationResult parentResult) {
         Integer maxRecords = policy.getMaxRecords();
         if (maxRecords == null) {
             return;
@@ -434,7 +447,7 @@ public class SqaleAuditService extends SqaleServiceBase implements AuditService
         OperationResult operationResult =
                 parentResult.createSubresult(opNamePrefix + OP_CLEANUP_AUDIT_MAX_RECORDS);
         try {
-            executeCleanupAuditMaxRecords(maxRecords);
+            executeCleanupAuditMaxRecords(maxRecords, task, operationResult);
         } catch (RuntimeException e) {
             throw handledGeneralException(e, operationResult);
         } catch (Throwable t) {
@@ -445,36 +458,107 @@ public class SqaleAuditService extends SqaleServiceBase implements AuditService
         }
     }
 
-    private void executeCleanupAuditMaxRecords(int maxRecords) {
+    /**
+     * Finds the timestamp of the newest record that is over the limit, and then deletes this record and all
+     * the older ones just like the cleanup based on age does - that is, in batches, or by dropping whole partitions.
+     * This means that records with the same timestamp as the cut-off record are deleted as well.
+     */
+    private void executeCleanupAuditMaxRecords(int maxRecords, RunningTask task, OperationResult operationResult) {
         long opHandle = registerOperationStart(OP_CLEANUP_AUDIT_MAX_RECORDS);
 
         long start = System.currentTimeMillis();
-        long deletedCount = 0;
-        try (JdbcSession jdbcSession = sqlRepoContext.newJdbcSession().startTransaction()) {
+        AuditAgeCleanup cleanup = null;
+        try {
             logger.info("Audit cleanup, deleting to leave only {} records.", maxRecords);
-            QAuditEventRecord qae = QAuditEventRecordMapping.get().defaultAlias();
-            Long deleteFromId = jdbcSession.newQuery()
-                    .select(qae.id)
-                    .from(qae)
-                    .orderBy(qae.id.desc())
-                    .offset(maxRecords)
-                    .fetchFirst();
-            if (deleteFromId == null) {
+            Instant cutoff;
+            try (JdbcSession jdbcSession = sqlRepoContext.newJdbcSession().startReadOnlyTransaction()) {
+                cutoff = findMaxRecordsCutoff(jdbcSession, maxRecords);
+            }
+            if (cutoff == null) {
                 logger.info("Nothing to delete from audit, {} entries allowed.", maxRecords);
                 return;
             }
 
-            deletedCount = jdbcSession.newDelete(qae)
-                    .where(qae.id.loe(deleteFromId))
-                    .execute();
-            jdbcSession.commit();
+            // Timestamps are stored with microsecond precision, we want to include the cut-off record.
+            cleanup = new AuditAgeCleanup(sqlRepoContext, cutoff.plusNanos(1000), task);
+            executeAgeCleanup(cleanup, operationResult);
         } finally {
             registerOperationFinish(opHandle);
-            logger.info("Audit cleanup based on record count finished; deleted {} entries in {} seconds.",
-                    deletedCount, (System.currentTimeMillis() - start) / 1000L);
+            if (cleanup != null) {
+                logger.info("Audit cleanup based on record count finished; dropped {} partitions and deleted {} entries"
+                                + " in {} seconds.",
+                        cleanup.getPartitionsDropped(), cleanup.getRecordsDeleted(),
+                        (System.currentTimeMillis() - start) / 1000L);
+            }
+        }
+    }
+
+    private void executeAgeCleanup(AuditAgeCleanup cleanup, OperationResult operationResult) {
+        SqaleRepositoryConfiguration config = repositoryConfiguration();
+        try {
+            cleanup.execute(config.getCleanupBatchSize(), config.getCleanupBatchDelay(),
+                    config.getFuturePartitionCount(), operationResult);
+            if (cleanup.isInterrupted()) {
+                operationResult.recordWarning("Interrupted");
+            }
+        } finally {
+            operationResult.addReturn("partitionsDropped", cleanup.getPartitionsDropped());
+            operationResult.addReturn("recordsDeleted", cleanup.getRecordsDeleted());
+            operationResult.addReturn("partitionsCreated", cleanup.getPartitionsCreated());
         }
     }
 
+    /**
+     * Returns the timestamp of the newest record that should be deleted to leave only `maxRecords` records,
+     * or `null` if there are not more records than that.
+     *
+     * If the audit is partitioned (and the default partition is empty), the partitions are visited from the newest
+     * one and their rows are counted, until the partition containing the cut-off record is found.
+     * Only this partition is then searched with an offset. This avoids ordering of the whole audit table.
+     */
+    private @Nullable Instant findMaxRecordsCutoff(JdbcSession jdbcSession, int maxRecords) {
+        List<AuditPartition> partitions = AuditPartition.list(jdbcSession, QAuditEventRecord.TABLE_NAME);
+        QAuditEventRecord qae = QAuditEventRecordMapping.get().defaultAlias();
+        boolean rangePartitioned = partitions.stream().anyMatch(p -> !p.isDefault());
+        boolean defaultPartitionEmpty = partitions.stream()
+                .filter(AuditPartition::isDefault)
+                .allMatch(p -> {
+                    QAuditEventRecord qp = partitionPath(p);
+                    return jdbcSession.newQuery().select(qp.id).from(qp).fetchFirst() == null;
+                });
+        if (!rangePartitioned || !defaultPartitionEmpty) {
+            return findCutoff(jdbcSession, qae, maxRecords);
+        }
+
+        long remaining = maxRecords;
+        List<AuditPartition> newestFirst = partitions.stream()
+                .sorted(Comparator.comparing(AuditPartition::to, Comparator.nullsFirst(Comparator.<Instant>reverseOrder())))
+                .toList();
+        for (AuditPartition partition : newestFirst) {
+            QAuditEventRecord qp = partitionPath(partition);
+            long count = jdbcSession.newQuery().from(qp).fetchCount();
+            if (count > remaining) {
+                logger.debug("Audit cleanup cut-off record is in partition {}", partition.name());
+                return findCutoff(jdbcSession, qp, remaining);
+            }
+            remaining -= count;
+        }
+        return null;
+    }
+
+    private @Nullable Instant findCutoff(JdbcSession jdbcSession, QAuditEventRecord qae, long offset) {
+        return jdbcSession.newQuery()
+                .select(qae.timestamp)
+                .from(qae)
+                .orderBy(qae.timestamp.desc())
+                .offset(offset)
+                .fetchFirst();
+    }
+
+    private QAuditEventRecord partitionPath(AuditPartition partition) {
+        return new QAuditEventRecord("aep", QAuditEventRecord.DEFAULT_SCHEMA_NAME, partition.name());
+    }
+
     @Override
     public boolean supportsRetrieval() {
         return true;
@@ -591,6 +675,11 @@ public class SqaleAuditService extends SqaleServiceBase implements AuditService
                 return new SearchResultMetadata().approxNumberOfAllResults(0);
             }
 
+            SearchResultMetadata partitionedResult =
+                    tryPartitionedSearchObjectsIterative(query, handler, options, operationResult);
+            if (partitionedResult != null) {
+                return partitionedResult;
+            }
             return executeSearchObjectsIterative(query, handler, options, operationResult);
         } catch (RepositoryException | RuntimeException e) {
             throw handledGeneralException(e, operationResult);
@@ -602,6 +691,71 @@ public class SqaleAuditService extends SqaleServiceBase implements AuditService
         }
     }
 
+    /**
+     * Executes the iterative search over audit partitions in parallel, if configured and possible;
+     * returns `null` if the standard sequential search should be used instead. See {@link AuditPartitionSearch}.
+     */
+    private @Nullable SearchResultMetadata tryPartitionedSearchObjectsIterative(
+            ObjectQuery query,
+            AuditResultHandler handler,
+            Collection<SelectorOptions<GetOperationOptions>> options,
+            OperationResult operationResult) throws SchemaException, RepositoryException {
+        int threads = repositoryConfiguration().getPartitionSearchThreads();
+        if (threads <= 1 || !AuditPartitionSearch.isApplicable(query)) {
+            return null;
+        }
+
+        AuditPartitionSearch search = new AuditPartitionSearch(sqlRepoContext, query, threads,
+                repositoryConfiguration().getIterativeSearchByPagingBatchSize());
+        List<AuditPartition> slices;
+        try (JdbcSession jdbcSession = sqlRepoContext.newJdbcSession().startReadOnlyTransaction()) {
+            slices = search.createSlices(jdbcSession);
+        }
+        if (slices == null) {
+            return null;
+        }
+        operationResult.addParam("partitions", slices.size());
+        return search.execute(slices, handler,
+                (sliceQuery, sliceHandler, sliceResult) ->
+                        executeSearchObjectsIterative(sliceQuery, sliceHandler, options, sliceResult),
+                getPartitionSearchExecutor(threads),
+                operationResult);
+    }
+
+    /**
+     * The pool grows to the highest number of threads configured so far (the configuration can change in tests);
+     * the idle threads are terminated after a while.
+     */
+    private synchronized ThreadPoolExecutor getPartitionSearchExecutor(int threads) {
+        if (partitionSearchExecutor == null) {
+            partitionSearchExecutor = new ThreadPoolExecutor(threads, threads,
+                    PARTITION_SEARCH_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), this::createPartitionSearchThread);
+            partitionSearchExecutor.allowCoreThreadTimeOut(true);
+        } else if (threads > partitionSearchExecutor.getMaximumPoolSize()) {
+            // The order matters: core size must never be greater than maximum size.
+            partitionSearchExecutor.setMaximumPoolSize(threads);
+            partitionSearchExecutor.setCorePoolSize(threads);
+        }
+        return partitionSearchExecutor;
+    }
+
+    private Thread createPartitionSearchThread(Runnable runnable) {
+        Thread thread = new Thread(runnable,
+                PARTITION_SEARCH_THREAD_NAME_PREFIX + partitionSearchThreadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (partitionSearchExecutor != null) {
+            partitionSearchExecutor.shutdownNow();
+            partitionSearchExecutor = null;
+        }
+        super.destroy();
+    }
+
     /*
     TODO: We should try to unify iterative search for repo and audit.
      There are some obvious differences - like the provider of the page results - the differences need to be
@@ -230,6 +230,41 @@ public class QAccessCertificationCampaignMapping
         );
     }
 
+    /**
+     * Modifications inside existing cases (e.g. reviewer decisions) change only the rows of the cases
+     * and their work items, as the cases are not stored in the campaign full object.
+     * Concurrent decisions in a single campaign don't need to lock (or bump the version of) the campaign itself.
+     * Adding or deleting whole cases, or adding container values that need new IDs, needs the standard update.
+     * So does the modification of a case that does not exist (e.g. was deleted in the meantime), so the error
+     * is reported in the standard way.
+     */
+    @Override
+    public boolean lockForContainerOnlyUpdate(@NotNull JdbcSession jdbcSession, @NotNull UUID oid,
+            @NotNull Collection<? extends ItemDelta<?, ?>> modifications) {
+        if (modifications.isEmpty()) {
+            return false;
+        }
+        // Sorted, so the concurrent modifications of multiple cases lock them in the same order.
+        SortedSet<Long> caseIds = new TreeSet<>();
+        for (ItemDelta<?, ?> modification : modifications) {
+            ItemPath path = modification.getPath();
+            if (path.size() < 3 || !F_CASE.equals(path.firstName()) || !ItemPath.isId(path.getSegment(1))
+                    || needsNewContainerIds(modification)) {
+                return false;
+            }
+            caseIds.add(ItemPath.toId(path.getSegment(1)));
+        }
+        QAccessCertificationCase qcase = QAccessCertificationCaseMapping.getAccessCertificationCaseMapping().defaultAlias();
+        List<Long> locked = jdbcSession.newQuery()
+                .select(qcase.cid)
+                .from(qcase)
+                .where(qcase.ownerOid.eq(oid).and(qcase.cid.in(caseIds)))
+                .orderBy(qcase.cid.asc())
+                .forUpdate()
+                .fetch();
+        return locked.size() == caseIds.size();
+    }
+
     @Override
     public Collection<SelectorOptions<GetOperationOptions>> updateGetOptions(
             Collection<SelectorOptions<GetOperationOptions>> options,
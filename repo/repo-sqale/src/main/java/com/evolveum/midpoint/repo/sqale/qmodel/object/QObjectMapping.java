@@ -30,6 +30,8 @@ import com.evolveum.midpoint.repo.sqlbase.mapping.ResultListRowTransformer;
 
 import com.evolveum.midpoint.repo.sqlbase.querydsl.FlexibleRelationalPathBase;
 import com.evolveum.midpoint.schema.RetrieveOption;
+import com.evolveum.midpoint.schema.internals.InternalCounters;
+import com.evolveum.midpoint.schema.internals.InternalMonitor;
 import com.evolveum.midpoint.schema.util.ValueMetadataTypeUtil;
 import com.evolveum.midpoint.util.exception.SystemException;
 
@@ -95,6 +97,13 @@ public class QObjectMapping<S extends ObjectType, Q extends QObject<R>, R extend
 
     private final Map<ItemName, FullObjectItemMapping<?,?>> separatellySerializedItems = new HashMap<>();
 
+    /**
+     * Items which are stored in the columns of the object table and can be returned without the full object.
+     * If root is excluded and only these (or separately serialized) items are included, the full object
+     * is neither fetched nor parsed and the returned object is partial (see {@link SqaleUtils#markWithoutFullObject}).
+     */
+    private static final Set<ItemName> COLUMN_BACKED_ITEMS = Set.of(F_NAME, F_LIFECYCLE_STATE, F_SUBTYPE, F_TENANT_REF);
+
     // Explanation in class Javadoc for SqaleTableMapping
     public static QObjectMapping<?, ?, ?> getObjectMapping() {
         return Objects.requireNonNull(instance);
@@ -203,9 +212,15 @@ public class QObjectMapping<S extends ObjectType, Q extends QObject<R>, R extend
         paths.add(entity.objectType);
         paths.add(entity.version);
         if (isExcludeFullObject(options)) {
-            // We have options to exclude everything, so at least we should fetch name, since lot of code assumes name is present
-            paths.add( entity.nameOrig);
+            // We have options to exclude everything, so at least we should fetch name, since lot of code assumes name is present.
+            // Other column-backed items are cheap to fetch too, so the caller gets them without parsing the full object.
+            paths.add(entity.nameOrig);
             paths.add(entity.nameNorm);
+            paths.add(entity.lifecycleState);
+            paths.add(entity.subtypes);
+            paths.add(entity.tenantRefTargetOid);
+            paths.add(entity.tenantRefTargetType);
+            paths.add(entity.tenantRefRelationId);
         } else {
            paths.add(entity.fullObject);
         }
@@ -246,10 +261,22 @@ public class QObjectMapping<S extends ObjectType, Q extends QObject<R>, R extend
             //noinspection unchecked
             ret = (S) repoType.createObject()
                 .oid(oid.toString())
-                .name(new PolyStringType(new PolyString(row.get(entityPath.nameOrig), row.get(entityPath.nameNorm))));
+                .name(new PolyStringType(new PolyString(row.get(entityPath.nameOrig), row.get(entityPath.nameNorm))))
+                .lifecycleState(row.get(entityPath.lifecycleState))
+                .tenantRef(objectReference(row.get(entityPath.tenantRefTargetOid),
+                        row.get(entityPath.tenantRefTargetType), row.get(entityPath.tenantRefRelationId)));
+            String[] subtypes = row.get(entityPath.subtypes);
+            if (subtypes != null) {
+                ret.getSubtype().addAll(Arrays.asList(subtypes));
+            }
             SqaleUtils.markWithoutFullObject(ret);
+            InternalMonitor.recordCount(InternalCounters.REPOSITORY_PARTIAL_READ_COUNT);
         } else {
             // We load full object
+            if (isRootExcluded(options)) {
+                // Caller asked for partial object, but included some item we can't provide without the full object.
+                InternalMonitor.recordCount(InternalCounters.REPOSITORY_PARTIAL_READ_MATERIALIZED_COUNT);
+            }
 
             ret = parseSchemaObject(fullObject, oid.toString());
             if (GetOperationOptions.isAttachDiagData(SelectorOptions.findRootOptions(options))) {
@@ -296,7 +323,8 @@ public class QObjectMapping<S extends ObjectType, Q extends QObject<R>, R extend
                     rootExcluded = true;
                 }
                 if (option.getOptions().getRetrieve() == RetrieveOption.INCLUDE) {
-                    if (!separatellySerializedItems.containsKey(option.getItemPath().firstName())) {
+                    if (!separatellySerializedItems.containsKey(option.getItemPath().firstName())
+                            && !isAvailableFromColumns(option.getItemPath())) {
                         return false;
                     }
                 }
@@ -305,6 +333,27 @@ public class QObjectMapping<S extends ObjectType, Q extends QObject<R>, R extend
         return rootExcluded;
     }
 
+    /**
+     * Returns true if the item can be provided from the columns of the object table
+     * without fetching and parsing the full object.
+     */
+    protected boolean isAvailableFromColumns(ItemPath path) {
+        return path.size() == 1 && COLUMN_BACKED_ITEMS.contains(path.firstName());
+    }
+
+    private boolean isRootExcluded(@Nullable Collection<SelectorOptions<GetOperationOptions>> options) {
+        if (options == null) {
+            return false;
+        }
+        for (var option : options) {
+            if (option.isRoot() && option.getOptions() != null
+                    && option.getOptions().getRetrieve() == RetrieveOption.EXCLUDE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected boolean upgradeLegacyMetadataToValueMetadata(Containerable ret, MetadataType legacyMeta) {
         if (legacyMeta == null || !ret.asPrismContainerValue().getValueMetadata().isEmpty()) {
             return false;
@@ -823,6 +872,37 @@ public class QObjectMapping<S extends ObjectType, Q extends QObject<R>, R extend
         fullObjectSkips = null; // Needs to be recomputed
     }
 
+    /**
+     * Checks whether the modifications change only values of containers stored in separate tables,
+     * without any change of the object row (columns, full object, container ID sequence), and if so,
+     * locks the rows of the modified containers and returns true.
+     * Such modifications are then executed without locking the object row and without changing the object version.
+     *
+     * Returns false if the standard update (locking the object row) is needed. This is the default.
+     */
+    public boolean lockForContainerOnlyUpdate(@NotNull JdbcSession jdbcSession, @NotNull UUID oid,
+            @NotNull Collection<? extends ItemDelta<?, ?>> modifications) {
+        return false;
+    }
+
+    /** Returns true if the modification adds multi-value container values that need new container IDs. */
+    protected static boolean needsNewContainerIds(@NotNull ItemDelta<?, ?> modification) {
+        for (PrismValue value : modification.getNewValues()) {
+            boolean[] found = { false };
+            value.acceptVisitor(visitable -> {
+                if (visitable instanceof PrismContainerValue<?> pcv
+                        && pcv.getId() == null && pcv.getDefinition() != null && pcv.getDefinition().isMultiValue()) {
+                    found[0] = true;
+                }
+                return !found[0];
+            });
+            if (found[0]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * If mapping supports force reindex
      *
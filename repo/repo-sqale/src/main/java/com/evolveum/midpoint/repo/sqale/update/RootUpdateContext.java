@@ -51,10 +51,21 @@ public class RootUpdateContext<S extends ObjectType, Q extends QObject<R>, R ext
     private final int objectVersion;
     private final boolean skipFullObject;
 
+    /**
+     * If true, only rows of separately stored containers are updated, the object row is not updated at all
+     * (and it is not locked), see {@link QObjectMapping#lockForContainerOnlyUpdate}.
+     */
+    private final boolean containerOnly;
+
     private ContainerValueIdGenerator cidGenerator;
 
     public RootUpdateContext(SqaleRepoContext repositoryContext,
             JdbcSession jdbcSession, S object, R rootRow, boolean skipFullObject) {
+        this(repositoryContext, jdbcSession, object, rootRow, skipFullObject, false);
+    }
+
+    public RootUpdateContext(SqaleRepoContext repositoryContext,
+            JdbcSession jdbcSession, S object, R rootRow, boolean skipFullObject, boolean containerOnly) {
         super(repositoryContext, jdbcSession, rootRow);
 
         this.object = object;
@@ -66,6 +77,7 @@ public class RootUpdateContext<S extends ObjectType, Q extends QObject<R>, R ext
                 .where(rootPath.oid.eq(rootRow.oid)
                         .and(rootPath.version.eq(objectVersion)));
         this.skipFullObject = skipFullObject;
+        this.containerOnly = containerOnly;
     }
 
     @Override
@@ -171,6 +183,12 @@ public class RootUpdateContext<S extends ObjectType, Q extends QObject<R>, R ext
      */
     @Override
     public void finishExecutionOwn() throws SchemaException, RepositoryException {
+        if (containerOnly && (cidGenerator == null || cidGenerator.getGenerated() == 0)) {
+            // Container rows were updated by the subcontexts, the object row stays untouched.
+            return;
+        }
+        // In the container-only mode, new CIDs (e.g. missing in previously stored values) still require the CID
+        // sequence update; the object row was not locked, but the version check in the update guards it.
         int newVersion = objectVersionAsInt(object) + 1;
         object.setVersion(String.valueOf(newVersion));
         update.set(rootPath.version, newVersion);
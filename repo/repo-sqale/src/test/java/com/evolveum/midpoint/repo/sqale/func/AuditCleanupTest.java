@@ -9,6 +9,7 @@ package com.evolveum.midpoint.repo.sqale.func;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.UUID;
 
 import com.querydsl.core.types.dsl.NumberExpression;
@@ -146,6 +147,70 @@ public class AuditCleanupTest extends SqaleRepoBaseTest {
                 .isZero(); // start + 40s should be < now - 60s, it should be all gone
     }
 
+    @Test
+    public void test210CleanupByAgeDropsExpiredPartitions() throws SchemaException {
+        given("audit has monthly partitions for the last 6 months and records in some of them");
+        OperationResult operationResult = createOperationResult();
+        createMonthlyPartitions();
+        ZonedDateTime now = ZonedDateTime.now();
+        auditRecord(now.minusMonths(5).withDayOfMonth(15), operationResult);
+        auditRecord(now.minusMonths(4).withDayOfMonth(15), operationResult);
+        auditRecord(now.minusMonths(3).minusDays(1), operationResult); // in the boundary partition or the older one
+        auditRecord(now.minusMinutes(1), operationResult);
+        QAuditEventRecord qae = QAuditEventRecordMapping.get().defaultAlias();
+
+        when("audit cleanup is called to leave just last 3 months");
+        auditService.cleanupAudit(new CleanupPolicyType()
+                .maxAge(XmlTypeConverter.createDuration("P3M")), operationResult);
+
+        then("operation is success, partitions for months -5 and -4 are dropped and only the new record is left");
+        assertThatOperationResult(operationResult).isSuccess();
+        OperationResult cleanupResult = operationResult.getLastSubresult();
+        assertThat(Integer.parseInt(cleanupResult.getReturnSingle("partitionsDropped"))).isGreaterThanOrEqualTo(2);
+        assertThat(count(qae)).isEqualTo(1);
+        assertThat(count(qae, qae.timestamp.lt(now.minusMonths(3).toInstant()))).isZero();
+    }
+
+    @Test
+    public void test220CleanupByCountWithPartitions() throws SchemaException {
+        given("audit is partitioned and has 100 records");
+        OperationResult operationResult = createOperationResult();
+        createMonthlyPartitions();
+        prepareAuditRecords(System.currentTimeMillis() - 100_000, 100, operationResult);
+        QAuditEventRecord qae = QAuditEventRecordMapping.get().defaultAlias();
+        long maxId = selectMinMaxId(qae, qae.id.max());
+
+        when("audit cleanup is called to leave 50 records");
+        auditService.cleanupAudit(new CleanupPolicyType().maxRecords(50), operationResult);
+
+        then("operation is success and only the newest 50 records are left");
+        assertThatOperationResult(operationResult).isSuccess();
+        assertThat(operationResult.getLastSubresult().getReturnSingle("recordsDeleted")).isEqualTo("50");
+        assertCount(qae, 50);
+        assertThat(maxId - selectMinMaxId(qae, qae.id.min())).isEqualTo(49);
+    }
+
+    /**
+     * Clears the audit and creates monthly partitions for the last 6 months (if they do not exist yet).
+     * The audit must be empty, otherwise the rows in the default partition could prevent the creation.
+     */
+    private void createMonthlyPartitions() {
+        clearAudit();
+        try (JdbcSession jdbcSession = startTransaction()) {
+            jdbcSession.executeStatement("CALL audit_create_monthly_partitions(-6)");
+            jdbcSession.commit();
+        }
+    }
+
+    private void auditRecord(ZonedDateTime timestamp, OperationResult result) {
+        AuditEventRecord record = new AuditEventRecord();
+        record.setTimestamp(timestamp.toInstant().toEpochMilli());
+        record.addReferenceValue("ref1",
+                ObjectTypeUtil.createObjectRef(UUID.randomUUID().toString(), ObjectTypes.USER)
+                        .asReferenceValue());
+        auditService.audit(record, NullTaskImpl.INSTANCE, result);
+    }
+
     private long selectMinMaxId(QAuditEventRecord qae, NumberExpression<Long> minMaxPath) {
         try (JdbcSession jdbcSession = startReadOnlyTransaction()) {
             return jdbcSession.newQuery()
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.repo.sqale.func;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.evolveum.midpoint.audit.api.AuditEventRecord;
+import com.evolveum.midpoint.init.AuditServiceProxy;
+import com.evolveum.midpoint.prism.query.ObjectQuery;
+import com.evolveum.midpoint.repo.sqale.SqaleRepoBaseTest;
+import com.evolveum.midpoint.repo.sqale.audit.SqaleAuditService;
+import com.evolveum.midpoint.repo.sqlbase.JdbcSession;
+import com.evolveum.midpoint.schema.SearchResultMetadata;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.task.api.test.NullTaskImpl;
+import com.evolveum.midpoint.xml.ns._public.common.audit_3.AuditEventRecordType;
+
+/**
+ * Tests iterative audit search executed over timestamp partitions in parallel,
+ * see `partitionSearchThreads` audit configuration option.
+ */
+public class AuditPartitionSearchTest extends SqaleRepoBaseTest {
+
+    private static final int RECORDS_PER_MONTH = 30;
+    private static final int MONTHS = 3;
+
+    private SqaleAuditService sqaleAuditService;
+
+    @BeforeClass
+    public void initAuditRecords() {
+        sqaleAuditService = ((AuditServiceProxy) auditService).getImplementation(SqaleAuditService.class);
+        clearAudit();
+        try (JdbcSession jdbcSession = startTransaction()) {
+            // Partitions for the current and previous months, existing partitions are skipped.
+            jdbcSession.executeStatement("CALL audit_create_monthly_partitions(-" + MONTHS + ")");
+            jdbcSession.commit();
+        }
+
+        OperationResult result = createOperationResult();
+        ZonedDateTime thisMonth = ZonedDateTime.now().withDayOfMonth(1).withHour(12);
+        for (int month = 0; month < MONTHS; month++) {
+            for (int i = 0; i < RECORDS_PER_MONTH; i++) {
+                AuditEventRecord record = new AuditEventRecord();
+                record.setParameter(String.format("%02d-%02d", month, i));
+                record.setTimestamp(thisMonth.minusMonths(month).plusMinutes(i).toInstant().toEpochMilli());
+                auditService.audit(record, NullTaskImpl.INSTANCE, result);
+            }
+        }
+
+        sqaleAuditService.repositoryConfiguration().setPartitionSearchThreads(4);
+    }
+
+    @AfterClass
+    public void resetConfiguration() {
+        sqaleAuditService.repositoryConfiguration().setPartitionSearchThreads(0);
+    }
+
+    @Test
+    public void test100SearchWithoutOrderingReturnsAllRecords() throws Exception {
+        given("query without ordering");
+        OperationResult operationResult = createOperationResult();
+        List<AuditEventRecordType> processed = new ArrayList<>();
+
+        when("searching iteratively with partition search enabled");
+        SearchResultMetadata metadata = auditService.searchObjectsIterative(null,
+                (record, r) -> processed.add(record), null, operationResult);
+
+        then("all records are processed just once");
+        assertThatOperationResult(operationResult).isSuccess();
+        assertThat(processed).hasSize(MONTHS * RECORDS_PER_MONTH);
+        assertThat(processed).extracting(AuditEventRecordType::getRepoId).doesNotHaveDuplicates();
+        assertThat(metadata.getApproxNumberOfAllResults()).isEqualTo(MONTHS * RECORDS_PER_MONTH);
+        assertThat(metadata.isPartialResults()).isFalse();
+
+        and("partitions were searched separately");
+        assertThat(countPartitionSearches(operationResult)).isGreaterThanOrEqualTo(MONTHS);
+    }
+
+    @Test
+    public void test110SearchOrderedByTimestampKeepsOrder() throws Exception {
+        given("query ordered by timestamp ascending");
+        OperationResult operationResult = createOperationResult();
+        List<AuditEventRecordType> processed = new ArrayList<>();
+        ObjectQuery query = prismContext.queryFor(AuditEventRecordType.class)
+                .asc(AuditEventRecordType.F_TIMESTAMP)
+                .build();
+
+        when("searching iteratively with partition search enabled");
+        auditService.searchObjectsIterative(query, (record, r) -> processed.add(record), null, operationResult);
+
+        then("all records are processed in the timestamp order");
+        assertThatOperationResult(operationResult).isSuccess();
+        assertThat(processed).hasSize(MONTHS * RECORDS_PER_MONTH);
+        assertThat(processed)
+                .extracting(r -> r.getTimestamp().toGregorianCalendar().toInstant())
+                .isSorted();
+    }
+
+    @Test
+    public void test120SearchOrderedByTimestampDescendingKeepsOrder() throws Exception {
+        given("query ordered by timestamp descending");
+        OperationResult operationResult = createOperationResult();
+        List<AuditEventRecordType> processed = new ArrayList<>();
+        ObjectQuery query = prismContext.queryFor(AuditEventRecordType.class)
+                .desc(AuditEventRecordType.F_TIMESTAMP)
+                .build();
+
+        when("searching iteratively with partition search enabled");
+        auditService.searchObjectsIterative(query, (record, r) -> processed.add(record), null, operationResult);
+
+        then("all records are processed in the reversed timestamp order");
+        assertThatOperationResult(operationResult).isSuccess();
+        assertThat(processed).hasSize(MONTHS * RECORDS_PER_MONTH);
+        assertThat(processed)
+                .extracting(r -> r.getTimestamp().toGregorianCalendar().toInstant())
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    public void test130SearchStoppedByHandler() throws Exception {
+        given("handler stopping after a few records");
+        OperationResult operationResult = createOperationResult();
+        List<AuditEventRecordType> processed = new ArrayList<>();
+        ObjectQuery query = prismContext.queryFor(AuditEventRecordType.class)
+                .asc(AuditEventRecordType.F_TIMESTAMP)
+                .build();
+
+        when("searching iteratively with partition search enabled");
+        SearchResultMetadata metadata = auditService.searchObjectsIterative(query,
+                (record, r) -> {
+                    processed.add(record);
+                    return processed.size() < 5;
+                }, null, operationResult);
+
+        then("search is stopped and reports partial results");
+        assertThatOperationResult(operationResult).isSuccess();
+        assertThat(processed).hasSize(5);
+        assertThat(metadata.isPartialResults()).isTrue();
+
+        and("results of all the partitions are there, even if they were not consumed");
+        assertThat(countPartitionSearches(operationResult)).isGreaterThanOrEqualTo(MONTHS);
+    }
+
+    @Test
+    public void test140SearchWithOffsetUsesSequentialSearch() throws Exception {
+        given("query with offset");
+        OperationResult operationResult = createOperationResult();
+        List<AuditEventRecordType> processed = new ArrayList<>();
+        ObjectQuery query = prismContext.queryFor(AuditEventRecordType.class)
+                .asc(AuditEventRecordType.F_TIMESTAMP)
+                .offset(10)
+                .build();
+
+        when("searching iteratively with partition search enabled");
+        auditService.searchObjectsIterative(query, (record, r) -> processed.add(record), null, operationResult);
+
+        then("standard search is used with the offset applied");
+        assertThatOperationResult(operationResult).isSuccess();
+        assertThat(countPartitionSearches(operationResult)).isZero();
+        assertThat(processed).hasSize(MONTHS * RECORDS_PER_MONTH - 10);
+    }
+
+    /** More searches than threads at once, all of them share the same threads. */
+    @Test
+    public void test150ConcurrentSearches() throws Exception {
+        given("more concurrent searches than partition search threads, some of them stopped early");
+        int searches = 8;
+        ObjectQuery query = prismContext.queryFor(AuditEventRecordType.class)
+                .asc(AuditEventRecordType.F_TIMESTAMP)
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(searches);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        when("the searches are executed concurrently");
+        try {
+            for (int i = 0; i < searches; i++) {
+                int limit = i % 2 == 0 ? Integer.MAX_VALUE : 3;
+                OperationResult operationResult = createOperationResult();
+                futures.add(executor.submit(() -> {
+                    AtomicInteger processed = new AtomicInteger();
+                    auditService.searchObjectsIterative(query,
+                            (record, r) -> processed.incrementAndGet() < limit, null, operationResult);
+                    assertThatOperationResult(operationResult).isSuccess();
+                    return processed.get();
+                }));
+            }
+
+            then("all of them finish with their records");
+            for (int i = 0; i < searches; i++) {
+                assertThat(futures.get(i).get(1, TimeUnit.MINUTES))
+                        .as("records processed by search #" + i)
+                        .isEqualTo(i % 2 == 0 ? MONTHS * RECORDS_PER_MONTH : 3);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Audit searched again from the handler, while the slices of the outer search hold the threads
+     * (small buffers are full); the nested searches must not wait for the threads.
+     */
+    @Test
+    public void test160NestedSearchFromHandler() throws Exception {
+        given("small partition buffers and handler searching the audit again for a few records");
+        int originalBatchSize = sqaleAuditService.repositoryConfiguration().getIterativeSearchByPagingBatchSize();
+        sqaleAuditService.repositoryConfiguration().setIterativeSearchByPagingBatchSize(2);
+        ObjectQuery query = prismContext.queryFor(AuditEventRecordType.class)
+                .asc(AuditEventRecordType.F_TIMESTAMP)
+                .build();
+        OperationResult operationResult = createOperationResult();
+        List<OperationResult> nestedResults = new ArrayList<>();
+        List<Integer> nestedProcessed = new ArrayList<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            when("searching iteratively with partition search enabled");
+            Future<Integer> future = executor.submit(() -> {
+                AtomicInteger processed = new AtomicInteger();
+                auditService.searchObjectsIterative(query,
+                        (record, r) -> {
+                            if (processed.incrementAndGet() <= 3) {
+                                OperationResult nestedResult = new OperationResult("nestedSearch");
+                                AtomicInteger nested = new AtomicInteger();
+                                try {
+                                    auditService.searchObjectsIterative(query,
+                                            (nestedRecord, nr) -> {
+                                                nested.incrementAndGet();
+                                                return true;
+                                            }, null, nestedResult);
+                                } catch (Exception e) {
+                                    throw new AssertionError(e);
+                                }
+                                nestedResult.close();
+                                nestedResults.add(nestedResult);
+                                nestedProcessed.add(nested.get());
+                            }
+                            return true;
+                        }, null, operationResult);
+                return processed.get();
+            });
+
+            then("both the outer and the nested searches finish with all their records");
+            assertThat(future.get(1, TimeUnit.MINUTES)).isEqualTo(MONTHS * RECORDS_PER_MONTH);
+            assertThatOperationResult(operationResult).isSuccess();
+            assertThat(nestedProcessed).containsExactly(
+                    MONTHS * RECORDS_PER_MONTH, MONTHS * RECORDS_PER_MONTH, MONTHS * RECORDS_PER_MONTH);
+
+            and("only the outer search is partitioned, the nested ones are sequential");
+            assertThat(countPartitionSearches(operationResult)).isGreaterThanOrEqualTo(MONTHS);
+            for (OperationResult nestedResult : nestedResults) {
+                assertThatOperationResult(nestedResult).isSuccess();
+                assertThat(countPartitionSearches(nestedResult)).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+            sqaleAuditService.repositoryConfiguration().setIterativeSearchByPagingBatchSize(originalBatchSize);
+        }
+    }
+
+    /** Counts searches of separate partitions, the partitions without any records are included too. */
+    private int countPartitionSearches(OperationResult result) {
+        int count = result.getOperation().endsWith(".searchPartition") ? 1 : 0;
+        for (OperationResult subresult : result.getSubresults()) {
+            count += countPartitionSearches(subresult);
+        }
+        return count;
+    }
+}
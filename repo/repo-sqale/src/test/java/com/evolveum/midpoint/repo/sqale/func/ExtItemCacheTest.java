@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.repo.sqale.func;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.evolveum.midpoint.prism.ItemDefinition;
+import com.evolveum.midpoint.prism.path.ItemName;
+import com.evolveum.midpoint.repo.sqale.ExtItemCache;
+import com.evolveum.midpoint.repo.sqale.SqaleRepoBaseTest;
+import com.evolveum.midpoint.repo.sqale.qmodel.ext.MExtItem;
+import com.evolveum.midpoint.repo.sqale.qmodel.ext.MExtItemCardinality;
+import com.evolveum.midpoint.repo.sqale.qmodel.ext.MExtItemHolderType;
+import com.evolveum.midpoint.repo.sqale.qmodel.ext.QExtItem;
+import com.evolveum.midpoint.util.DOMUtil;
+import com.evolveum.midpoint.util.QNameUtil;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.UserType;
+
+/**
+ * This tests {@link ExtItemCache} including multi-node simulation using two separate cache instances
+ * (see {@link UriCacheTest} for the explanation), and the registration of the extension items
+ * from the schema when the repository caches are cleared.
+ */
+public class ExtItemCacheTest extends SqaleRepoBaseTest {
+
+    private ExtItemCache extItemCache1;
+    private ExtItemCache extItemCache2;
+
+    @BeforeClass
+    public void init() {
+        extItemCache1 = new ExtItemCache();
+        extItemCache1.initialize(sqlRepoContext::newJdbcSession);
+        extItemCache2 = new ExtItemCache();
+        extItemCache2.initialize(sqlRepoContext::newJdbcSession);
+    }
+
+    @Test
+    public void test100MissAndInsertCounters() {
+        given("new ext item key");
+        MExtItem.Key key = newKey();
+        long missesBefore = extItemCache1.getMissCount();
+        long insertsBefore = extItemCache1.getInsertCount();
+
+        when("the item is resolved for the first time");
+        MExtItem extItem = extItemCache1.resolveExtensionItem(key);
+
+        then("it is counted as a miss and an insert");
+        assertThat(extItemCache1.getMissCount()).isEqualTo(missesBefore + 1);
+        assertThat(extItemCache1.getInsertCount()).isEqualTo(insertsBefore + 1);
+
+        when("the item is resolved again");
+        assertThat(extItemCache1.resolveExtensionItem(key)).isEqualTo(extItem);
+
+        then("the counters are not changed");
+        assertThat(extItemCache1.getMissCount()).isEqualTo(missesBefore + 1);
+        assertThat(extItemCache1.getInsertCount()).isEqualTo(insertsBefore + 1);
+
+        when("the other cache reads the item by its ID");
+        long otherMissesBefore = extItemCache2.getMissCount();
+        long otherInsertsBefore = extItemCache2.getInsertCount();
+        assertThat(extItemCache2.getExtensionItem(extItem.id)).isEqualTo(extItem);
+
+        then("it is counted as a miss only, and the item is cached after that");
+        assertThat(extItemCache2.getMissCount()).isEqualTo(otherMissesBefore + 1);
+        assertThat(extItemCache2.getInsertCount()).isEqualTo(otherInsertsBefore);
+        assertThat(extItemCache2.getExtensionItem(extItem.id)).isEqualTo(extItem);
+        assertThat(extItemCache2.getMissCount()).isEqualTo(otherMissesBefore + 1);
+    }
+
+    @Test
+    public void test200ConcurrentResolutionOfNewItem() throws Exception {
+        given("new ext item key and several threads");
+        MExtItem.Key key = newKey();
+        int threads = 8;
+        long insertsBefore = extItemCache1.getInsertCount();
+        long missesBefore = extItemCache1.getMissCount();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<MExtItem>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return extItemCache1.resolveExtensionItem(key);
+                }));
+            }
+
+            when("all threads resolve the item at the same time");
+            start.countDown();
+            Set<Integer> ids = new HashSet<>();
+            for (Future<MExtItem> future : futures) {
+                ids.add(future.get(10, TimeUnit.SECONDS).id);
+            }
+
+            then("all threads get the same ID and the item is inserted only once");
+            assertThat(ids).hasSize(1);
+            assertThat(extItemCache1.getInsertCount()).isEqualTo(insertsBefore + 1);
+            assertThat(extItemCache1.getMissCount()).isEqualTo(missesBefore + 1);
+            assertCount(QExtItem.DEFAULT, 1, QExtItem.DEFAULT.itemName.eq(key.itemName));
+            assertThat(extItemCache2.resolveExtensionItem(key).id).isEqualTo(ids.iterator().next());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test300BulkRegistration() {
+        given("two new ext item keys, one of them already inserted by the other cache");
+        MExtItem.Key key1 = newKey();
+        MExtItem.Key key2 = newKey();
+        MExtItem extItem2 = extItemCache2.resolveExtensionItem(key2);
+        long insertsBefore = extItemCache1.getInsertCount();
+
+        when("the items are registered in bulk");
+        extItemCache1.registerExtensionItems(List.of(key1, key2));
+
+        then("only the new item is inserted, both are cached, with the existing row kept");
+        assertThat(extItemCache1.getInsertCount()).isEqualTo(insertsBefore + 1);
+        assertThat(extItemCache1.getExtensionItem(key1)).isNotNull();
+        assertThat(extItemCache1.getExtensionItem(key2)).isEqualTo(extItem2);
+        assertCount(QExtItem.DEFAULT, 1, QExtItem.DEFAULT.itemName.eq(key1.itemName));
+        assertCount(QExtItem.DEFAULT, 1, QExtItem.DEFAULT.itemName.eq(key2.itemName));
+
+        when("the same items are registered again");
+        extItemCache1.registerExtensionItems(List.of(key1, key2));
+
+        then("nothing is inserted");
+        assertThat(extItemCache1.getInsertCount()).isEqualTo(insertsBefore + 1);
+    }
+
+    @Test
+    public void test400SchemaItemsRegisteredWhenCachesAreCleared() {
+        given("indexed extension item of user from the schema");
+        MExtItem.Key key = MExtItem.keyFrom(userExtensionItemDefinition("string"), MExtItemHolderType.EXTENSION);
+
+        when("repository caches are cleared");
+        sqlRepoContext.clearCaches();
+
+        then("the item is in the database and in the cache without being used by any object");
+        assertCount(QExtItem.DEFAULT, 1, QExtItem.DEFAULT.itemName.eq(key.itemName)
+                .and(QExtItem.DEFAULT.holderType.eq(key.holderType))
+                .and(QExtItem.DEFAULT.valueType.eq(key.valueType)));
+        assertThat(sqlRepoContext.getExtensionItem(key)).isNotNull();
+
+        and("non-indexed item is not registered");
+        MExtItem.Key nonIndexedKey =
+                MExtItem.keyFrom(userExtensionItemDefinition("string-ni"), MExtItemHolderType.EXTENSION);
+        assertThat(sqlRepoContext.getExtensionItem(nonIndexedKey)).isNull();
+
+        when("repository caches are cleared again");
+        long rowsBefore = count(QExtItem.class);
+        sqlRepoContext.clearCaches();
+
+        then("no rows are added and the item is still cached");
+        assertThat(count(QExtItem.class)).isEqualTo(rowsBefore);
+        assertThat(sqlRepoContext.getExtensionItem(key)).isNotNull();
+    }
+
+    private MExtItem.Key newKey() {
+        MExtItem.Key key = new MExtItem.Key();
+        key.itemName = "http://example.com/ext-item-cache#" + getTestNameShort() + "-" + UUID.randomUUID();
+        key.valueType = QNameUtil.qNameToUri(DOMUtil.XSD_STRING);
+        key.holderType = MExtItemHolderType.EXTENSION;
+        key.cardinality = MExtItemCardinality.SCALAR;
+        return key;
+    }
+
+    private ItemDefinition<?> userExtensionItemDefinition(String itemName) {
+        return prismContext.getSchemaRegistry()
+                .findObjectDefinitionByCompileTimeClass(UserType.class)
+                .getExtensionDefinition()
+                .findItemDefinition(new ItemName(itemName));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.repo.sqale.func;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.testng.annotations.Test;
+
+import com.evolveum.midpoint.prism.PrismObject;
+import com.evolveum.midpoint.prism.query.ObjectQuery;
+import com.evolveum.midpoint.repo.sqale.SqaleRepoBaseTest;
+import com.evolveum.midpoint.repo.sqale.SqaleServiceBase;
+import com.evolveum.midpoint.schema.jfr.RepositoryOperationEvent;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.util.exception.CommonException;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.UserType;
+
+/**
+ * Tests {@link RepositoryOperationEvent}s emitted by {@link SqaleServiceBase} when a JFR recording is running.
+ */
+public class RepositoryOperationEventTest extends SqaleRepoBaseTest {
+
+    private static final String OP_PREFIX = "SqaleRepositoryService.";
+
+    @Test
+    public void test100AddAndGetObject() throws Exception {
+        OperationResult result = createOperationResult();
+
+        given("running recording");
+        List<RecordedEvent> events;
+        String oid;
+        try (Recording recording = startRecording()) {
+
+            when("an object is added and read");
+            oid = repositoryService.addObject(
+                    new UserType().name(getTestNameShort()).asPrismObject(), null, result);
+            repositoryService.getObject(UserType.class, oid, null, result);
+
+            events = stopAndRead(recording);
+        }
+
+        then("there is an event for each operation, with the object type and OID (if known at the start)");
+        RecordedEvent addEvent = singleEvent(events, "addObject", null);
+        assertThat(addEvent.getString("objectType")).isEqualTo("UserType");
+        assertThat(addEvent.getInt("attempts")).isEqualTo(1);
+        RecordedEvent getEvent = singleEvent(events, "getObject", oid);
+        assertThat(getEvent.getString("objectType")).isEqualTo("UserType");
+    }
+
+    @Test
+    public void test200NestedOperations() throws Exception {
+        OperationResult result = createOperationResult();
+
+        given("users found by an iterative search");
+        String costCenter = UUID.randomUUID().toString();
+        List<String> oids = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            oids.add(repositoryService.addObject(new UserType()
+                    .name(getTestNameShort() + "-" + i)
+                    .costCenter(costCenter)
+                    .asPrismObject(), null, result));
+        }
+        ObjectQuery query = prismContext.queryFor(UserType.class)
+                .item(UserType.F_COST_CENTER).eq(costCenter)
+                .build();
+
+        List<RecordedEvent> events;
+        try (Recording recording = startRecording()) {
+
+            when("each found user is read again in the search handler");
+            repositoryService.searchObjectsIterative(UserType.class, query,
+                    (PrismObject<UserType> object, OperationResult lResult) -> {
+                        try {
+                            repositoryService.getObject(UserType.class, object.getOid(), null, lResult);
+                        } catch (CommonException e) {
+                            throw new AssertionError(e);
+                        }
+                        return true;
+                    }, null, true, result);
+
+            events = stopAndRead(recording);
+        }
+
+        then("nested operations are recorded separately, within the search");
+        RecordedEvent searchEvent = events.stream()
+                .filter(e -> (OP_PREFIX + "searchObjectsIterative").equals(e.getString("operation")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No search event in " + events));
+        for (String oid : oids) {
+            RecordedEvent getEvent = singleEvent(events, "getObject", oid);
+            assertThat(getEvent.getStartTime()).isAfterOrEqualTo(searchEvent.getStartTime());
+            assertThat(getEvent.getEndTime()).isBeforeOrEqualTo(searchEvent.getEndTime());
+        }
+    }
+
+    @Test
+    public void test300OperationsBeforeRecordingAreIgnored() throws Exception {
+        OperationResult result = createOperationResult();
+
+        given("object read while no recording is running");
+        String oid = repositoryService.addObject(
+                new UserType().name(getTestNameShort()).asPrismObject(), null, result);
+        repositoryService.getObject(UserType.class, oid, null, result);
+
+        List<RecordedEvent> events;
+        try (Recording recording = startRecording()) {
+
+            when("the object is read once more during the recording");
+            repositoryService.getObject(UserType.class, oid, null, result);
+
+            events = stopAndRead(recording);
+        }
+
+        then("only the operation during the recording is recorded");
+        singleEvent(events, "getObject", oid);
+        assertThat(eventsFor(events, "addObject", null)).isEmpty();
+    }
+
+    private Recording startRecording() {
+        Recording recording = new Recording();
+        recording.enable(RepositoryOperationEvent.NAME).withThreshold(Duration.ZERO);
+        recording.start();
+        return recording;
+    }
+
+    private List<RecordedEvent> stopAndRead(Recording recording) throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile(getTestNameShort(), ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals(RepositoryOperationEvent.NAME))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private RecordedEvent singleEvent(List<RecordedEvent> events, String operation, String oid) {
+        List<RecordedEvent> matching = eventsFor(events, operation, oid);
+        assertThat(matching).as(operation + " events for " + oid).hasSize(1);
+        return matching.get(0);
+    }
+
+    private List<RecordedEvent> eventsFor(List<RecordedEvent> events, String operation, String oid) {
+        return events.stream()
+                .filter(e -> (OP_PREFIX + operation).equals(e.getString("operation")))
+                .filter(e -> Objects.equals(oid, e.getString("oid")))
+                .collect(Collectors.toList());
+    }
+}
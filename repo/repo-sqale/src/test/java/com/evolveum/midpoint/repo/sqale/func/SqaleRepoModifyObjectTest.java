@@ -23,6 +23,10 @@ import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.xml.datatype.XMLGregorianCalendar;
 import javax.xml.namespace.QName;
@@ -3052,14 +3056,16 @@ public class SqaleRepoModifyObjectTest extends SqaleRepoBaseTest {
         AccessCertificationCampaignType campaignObjectAfter = repositoryService
                 .getObject(AccessCertificationCampaignType.class, accessCertificationCampaign1Oid, retrieveWithCases(), result)
                 .asObjectable();
-        assertThat(campaignObjectAfter.getVersion()).isEqualTo(String.valueOf(originalRow.version + 1));
+        // Modification inside the case changes only the case row, campaign version stays the same.
+        assertThat(campaignObjectAfter.getVersion()).isEqualTo(String.valueOf(originalRow.version));
         List<AccessCertificationCaseType> casesAfter = campaignObjectAfter.getCase();
         assertThat(casesAfter).isNotNull();
         assertThat(casesAfter.get(1).getId()).isEqualTo(CAMPAIGN_1_CASE_2_ID);
 
-        and("campaign row is created");
+        and("campaign row is not changed");
         MAccessCertificationCampaign row = selectObjectByOid(QAccessCertificationCampaign.class, accessCertificationCampaign1Oid);
-        assertThat(row.version).isEqualTo(originalRow.version + 1);
+        assertThat(row.version).isEqualTo(originalRow.version);
+        assertThat(row.fullObject).isEqualTo(originalRow.fullObject);
 
         and("case row is created");
         QAccessCertificationCase a = QAccessCertificationCaseMapping.getAccessCertificationCaseMapping().defaultAlias();
@@ -3114,6 +3120,133 @@ public class SqaleRepoModifyObjectTest extends SqaleRepoBaseTest {
         assertThat(campaignObjectAfter.getCase().size()).isEqualTo(1);
     }
 
+    @Test
+    public void test334ConcurrentDecisionsInDifferentCasesDoNotLockCampaign() throws Exception {
+        OperationResult result = createOperationResult();
+
+        given("campaign with many cases, each with an open work item");
+        int caseCount = 40;
+        int reviewers = 8;
+        AccessCertificationCampaignType campaign = new AccessCertificationCampaignType()
+                .name("campaign-concurrent-decisions")
+                .iteration(1)
+                .stageNumber(1);
+        for (int i = 1; i <= caseCount; i++) {
+            campaign.getCase().add(new AccessCertificationCaseType()
+                    .id((long) i * 10)
+                    .stageNumber(1)
+                    .iteration(1)
+                    .objectRef(UUID.randomUUID().toString(), UserType.COMPLEX_TYPE)
+                    .workItem(new AccessCertificationWorkItemType()
+                            .id((long) i * 10 + 1)
+                            .stageNumber(1)
+                            .iteration(1)
+                            .assigneeRef(user1Oid, UserType.COMPLEX_TYPE)));
+        }
+        String campaignOid = repositoryService.addObject(campaign.asPrismObject(), null, result);
+        MAccessCertificationCampaign originalRow = selectObjectByOid(QAccessCertificationCampaign.class, campaignOid);
+
+        when("many reviewers record their decisions concurrently");
+        ExecutorService executor = Executors.newFixedThreadPool(reviewers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i <= caseCount; i++) {
+            long caseId = (long) i * 10;
+            futures.add(executor.submit(() -> {
+                OperationResult reviewerResult = new OperationResult("recordDecision");
+                repositoryService.modifyObject(AccessCertificationCampaignType.class, campaignOid,
+                        prismContext.deltaFor(AccessCertificationCampaignType.class)
+                                .item(AccessCertificationCampaignType.F_CASE, caseId,
+                                        AccessCertificationCaseType.F_WORK_ITEM, caseId + 1,
+                                        AccessCertificationWorkItemType.F_OUTPUT)
+                                .replace(new AbstractWorkItemOutputType().outcome("accept-" + caseId))
+                                .item(AccessCertificationCampaignType.F_CASE, caseId,
+                                        AccessCertificationCaseType.F_CURRENT_STAGE_OUTCOME)
+                                .replace("accept-" + caseId)
+                                .asItemDeltas(),
+                        reviewerResult);
+                return null;
+            }));
+        }
+        executor.shutdown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES); // fails the test if any decision failed
+        }
+
+        then("all decisions are stored in case and work item rows");
+        QAccessCertificationCase c = QAccessCertificationCaseMapping.getAccessCertificationCaseMapping().defaultAlias();
+        List<MAccessCertificationCase> caseRows = select(c, c.ownerOid.eq(UUID.fromString(campaignOid)));
+        assertThat(caseRows).hasSize(caseCount)
+                .allMatch(r -> ("accept-" + r.cid).equals(r.currentStageOutcome));
+        AccessCertificationCampaignType campaignAfter = repositoryService
+                .getObject(AccessCertificationCampaignType.class, campaignOid, retrieveWithCases(), result)
+                .asObjectable();
+        assertThat(campaignAfter.getCase())
+                .allMatch(aCase -> ("accept-" + aCase.getId()).equals(aCase.getWorkItem().get(0).getOutput().getOutcome()));
+
+        and("campaign row is not changed at all");
+        MAccessCertificationCampaign row = selectObjectByOid(QAccessCertificationCampaign.class, campaignOid);
+        assertThat(row.version).isEqualTo(originalRow.version);
+        assertThat(row.fullObject).isEqualTo(originalRow.fullObject);
+    }
+
+    @Test
+    public void test335ContainerOnlyUpdateRequiresAllCasesToExist() throws Exception {
+        OperationResult result = createOperationResult();
+
+        given("campaign with two cases");
+        AccessCertificationCampaignType campaign = new AccessCertificationCampaignType()
+                .name("campaign-container-only-lock")
+                .iteration(1)
+                .stageNumber(1);
+        for (long id : new long[] { 10, 20 }) {
+            campaign.getCase().add(new AccessCertificationCaseType()
+                    .id(id)
+                    .stageNumber(1)
+                    .iteration(1)
+                    .objectRef(UUID.randomUUID().toString(), UserType.COMPLEX_TYPE));
+        }
+        UUID campaignOid = UUID.fromString(
+                repositoryService.addObject(campaign.asPrismObject(), null, result));
+        QAccessCertificationCampaignMapping mapping =
+                QAccessCertificationCampaignMapping.getAccessCertificationCampaignMapping();
+
+        expect("modifications of existing cases are executed as container-only update");
+        try (JdbcSession jdbcSession = startTransaction()) {
+            assertThat(mapping.lockForContainerOnlyUpdate(jdbcSession, campaignOid, caseOutcomeModifications(10L, 20L)))
+                    .isTrue();
+        }
+
+        expect("modification of a missing case needs the standard update");
+        try (JdbcSession jdbcSession = startTransaction()) {
+            assertThat(mapping.lockForContainerOnlyUpdate(jdbcSession, campaignOid, caseOutcomeModifications(10L, 999L)))
+                    .isFalse();
+        }
+
+        expect("addition of a case needs the standard update");
+        try (JdbcSession jdbcSession = startTransaction()) {
+            assertThat(mapping.lockForContainerOnlyUpdate(jdbcSession, campaignOid,
+                    prismContext.deltaFor(AccessCertificationCampaignType.class)
+                            .item(AccessCertificationCampaignType.F_CASE)
+                            .add(new AccessCertificationCaseType()
+                                    .stageNumber(1)
+                                    .iteration(1)
+                                    .objectRef(UUID.randomUUID().toString(), UserType.COMPLEX_TYPE))
+                            .asItemDeltas()))
+                    .isFalse();
+        }
+    }
+
+    private List<ItemDelta<?, ?>> caseOutcomeModifications(Long... caseIds) throws SchemaException {
+        var builder = prismContext.deltaFor(AccessCertificationCampaignType.class);
+        for (Long caseId : caseIds) {
+            builder = builder
+                    .item(AccessCertificationCampaignType.F_CASE, caseId,
+                            AccessCertificationCaseType.F_CURRENT_STAGE_OUTCOME)
+                    .replace("accept-" + caseId);
+        }
+        return builder.asItemDeltas();
+    }
+
     @Test
     public void test340AllocateContainerIdentifiers() throws ObjectNotFoundException {
         OperationResult result = createOperationResult();
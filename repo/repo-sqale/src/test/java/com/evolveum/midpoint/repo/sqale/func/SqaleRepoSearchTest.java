@@ -22,6 +22,8 @@ import static com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectType.F_
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import javax.xml.datatype.XMLGregorianCalendar;
@@ -44,10 +46,14 @@ import com.evolveum.midpoint.prism.path.ItemName;
 import com.evolveum.midpoint.prism.path.ItemPath;
 import com.evolveum.midpoint.prism.path.ObjectReferencePathSegment;
 import com.evolveum.midpoint.prism.polystring.PolyString;
+import com.evolveum.midpoint.prism.query.ObjectFilter;
+import com.evolveum.midpoint.prism.query.ObjectOrdering;
 import com.evolveum.midpoint.prism.query.ObjectQuery;
+import com.evolveum.midpoint.prism.query.OrderDirection;
 import com.evolveum.midpoint.prism.query.builder.S_FilterEntryOrEmpty;
 import com.evolveum.midpoint.repo.api.RepositoryService;
 import com.evolveum.midpoint.repo.sqale.SqaleRepoBaseTest;
+import com.evolveum.midpoint.repo.sqale.SqaleUtils;
 import com.evolveum.midpoint.repo.sqale.qmodel.focus.QFocus;
 import com.evolveum.midpoint.repo.sqale.qmodel.object.MObject;
 import com.evolveum.midpoint.repo.sqale.qmodel.object.MObjectType;
@@ -60,6 +66,7 @@ import com.evolveum.midpoint.schema.SearchResultList;
 import com.evolveum.midpoint.schema.constants.SchemaConstants;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.schema.result.OperationResultStatus;
+import com.evolveum.midpoint.schema.util.ObjectQueryUtil;
 import com.evolveum.midpoint.schema.util.ObjectTypeUtil;
 import com.evolveum.midpoint.test.util.TestUtil;
 import com.evolveum.midpoint.util.DOMUtil;
@@ -73,6 +80,8 @@ import com.evolveum.prism.xml.ns._public.query_3.QueryType;
 @SuppressWarnings("ConstantConditions")
 public class SqaleRepoSearchTest extends SqaleRepoBaseTest {
 
+    private static final int KEYSET_PAGE_SIZE = 5;
+
     // org structure
     private String org1Oid; // one root
     private String org11Oid;
@@ -593,6 +602,19 @@ public class SqaleRepoSearchTest extends SqaleRepoBaseTest {
         assertThatOperationResult(operationResult).isSuccess();
     }
 
+    @Test
+    public void test102CountObjectsWithEstimatedCountIsExactForSmallCounts() throws Exception {
+        when("counting all objects with estimated count option");
+        OperationResult operationResult = createOperationResult();
+        int result = repositoryService.countObjects(ObjectType.class, null,
+                SchemaService.get().getOperationOptionsBuilder().estimatedCount().build(),
+                operationResult);
+
+        then("exact count is returned, because it is under the estimate threshold");
+        assertThat(result).isEqualTo((int) count(QObject.CLASS));
+        assertThatOperationResult(operationResult).isSuccess();
+    }
+
     @Test
     public void test110SearchUserByName() throws Exception {
         searchUsersTest("with name matching provided value",
@@ -3353,6 +3375,33 @@ public class SqaleRepoSearchTest extends SqaleRepoBaseTest {
         assertNotNull(result);
     }
 
+    @Test
+    public void test963SearchUsersExcludeAllIncludeColumnBackedItems() throws SchemaException {
+        OperationResult opResult = createOperationResult();
+
+        given("query for user-1 which has subtypes");
+        ObjectQuery query = PrismContext.get().queryFor(UserType.class)
+                .id(user1Oid)
+                .build();
+
+        when("search options exclude everything but column-backed items");
+        var options = SchemaService.get().getOperationOptionsBuilder()
+                .item(ItemPath.EMPTY_PATH).dontRetrieve()
+                .item(UserType.F_SUBTYPE).retrieve()
+                .item(UserType.F_LIFECYCLE_STATE).retrieve()
+                .build();
+        SearchResultList<UserType> result = searchObjects(UserType.class, query, opResult, options);
+        assertThatOperationResult(opResult).isSuccess();
+
+        then("partial object without full object is returned, with name and subtypes from columns");
+        assertThat(result).hasSize(1);
+        UserType user = result.get(0);
+        assertTrue(SqaleUtils.isWithoutFullObject(user));
+        assertThat(user.getName().getOrig()).isEqualTo("user-1");
+        assertThat(user.getSubtype()).containsExactlyInAnyOrder("workerA", "workerC");
+        assertThat(user.getAssignment()).isEmpty();
+    }
+
 
     @Test
     public void test970IsAncestor() throws Exception {
@@ -3556,6 +3605,72 @@ public class SqaleRepoSearchTest extends SqaleRepoBaseTest {
                 .hasMessageMatching("Filter 'levenshtein: employeeNumber, .*' should contain at most one value, but it has 2 of them\\.");
     }
 
+    /**
+     * Keyset paging (see {@link ObjectQueryUtil#createKeysetFilter}) must return the same objects in the same order
+     * as a single search does. Services used by OID tests all have the same cost center, so ordering by it
+     * tests the OID tie-breaker; ordering by name tests distinct values.
+     */
+    @Test
+    public void test998KeysetPagingReturnsAllObjectsInOrder() throws SchemaException {
+        given("services in one cost center ordered by OID");
+        OperationResult operationResult = createOperationResult();
+        List<String> oidsAscending = searchObjects(ServiceType.class,
+                prismContext.queryFor(ServiceType.class)
+                        .item(ServiceType.F_COST_CENTER).eq("OIDTEST")
+                        .asc(PrismConstants.T_ID)
+                        .build(),
+                operationResult)
+                .stream()
+                .map(o -> o.getOid())
+                .toList();
+        assertThat(oidsAscending).hasSizeGreaterThan(2 * KEYSET_PAGE_SIZE);
+        List<String> oidsDescending = new ArrayList<>(oidsAscending);
+        Collections.reverse(oidsDescending);
+
+        expect("keyset paging by the cost center (ties only) returns the services ordered by OID");
+        assertThat(searchByKeysetPages(ServiceType.F_COST_CENTER, OrderDirection.ASCENDING))
+                .containsExactlyElementsOf(oidsAscending);
+        assertThat(searchByKeysetPages(ServiceType.F_COST_CENTER, OrderDirection.DESCENDING))
+                .containsExactlyElementsOf(oidsDescending);
+
+        expect("keyset paging by the name (equal to OID for these services) returns the services ordered by name");
+        assertThat(searchByKeysetPages(ServiceType.F_NAME, OrderDirection.ASCENDING))
+                .containsExactlyElementsOf(oidsAscending);
+        assertThat(searchByKeysetPages(ServiceType.F_NAME, OrderDirection.DESCENDING))
+                .containsExactlyElementsOf(oidsDescending);
+    }
+
+    /**
+     * Searches OIDTEST services page by page, each page following the last object of the previous one.
+     * The last (partial) page ends the search.
+     */
+    private List<String> searchByKeysetPages(ItemPath orderBy, OrderDirection direction) throws SchemaException {
+        ObjectFilter filter = prismContext.queryFor(ServiceType.class)
+                .item(ServiceType.F_COST_CENTER).eq("OIDTEST")
+                .buildFilter();
+        ObjectOrdering ordering = prismContext.queryFactory().createOrdering(orderBy, direction);
+        List<ObjectOrdering> orderings = List.of(
+                ordering, prismContext.queryFactory().createOrdering(PrismConstants.T_ID, direction));
+
+        List<String> oids = new ArrayList<>();
+        PrismObject<ServiceType> lastObject = null;
+        while (true) {
+            ObjectQuery query = prismContext.queryFactory().createQuery(
+                    ObjectQueryUtil.filterAnd(filter, ObjectQueryUtil.createKeysetFilter(lastObject, ordering)));
+            query.setPaging(prismContext.queryFactory().createPaging(null, KEYSET_PAGE_SIZE, orderings));
+
+            OperationResult operationResult = createOperationResult();
+            SearchResultList<ServiceType> page = searchObjects(ServiceType.class, query, operationResult);
+            assertThatOperationResult(operationResult).isSuccess();
+
+            page.forEach(o -> oids.add(o.getOid()));
+            if (page.size() < KEYSET_PAGE_SIZE) {
+                return oids;
+            }
+            lastObject = page.get(page.size() - 1).asPrismObject();
+        }
+    }
+
     @Test
     public void test999MultipleOrdersAreSupportedByFluentApiAndRepository() throws SchemaException {
         given("search users query ordered by family and given name");
@@ -11,6 +11,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import static com.evolveum.midpoint.repo.sqale.UriCache.UNKNOWN_ID;
 
+import java.util.*;
+import java.util.concurrent.*;
+
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -79,4 +82,37 @@ public class UriCacheTest extends SqaleRepoBaseTest {
         then("it when stored to cache, id from cache 1 will be obtained");
         assertThat(uriCache2.processCacheableUri(uriValue)).isEqualTo(uriId);
     }
+
+    @Test
+    public void test400ConcurrentProcessingOfNewUri() throws Exception {
+        given("new URI and several threads");
+        String uriValue = "test-uri-" + getTestNameShort();
+        int threads = 8;
+        long insertsBefore = uriCache1.getInsertCount();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return uriCache1.processCacheableUri(uriValue);
+                }));
+            }
+
+            when("all threads process the URI at the same time");
+            start.countDown();
+            Set<Integer> ids = new HashSet<>();
+            for (Future<Integer> future : futures) {
+                ids.add(future.get(10, TimeUnit.SECONDS));
+            }
+
+            then("all threads get the same ID and the URI is inserted only once");
+            assertThat(ids).hasSize(1);
+            assertThat(uriCache1.getInsertCount()).isEqualTo(insertsBefore + 1);
+            assertThat(uriCache2.getId(uriValue)).isEqualTo(ids.iterator().next());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
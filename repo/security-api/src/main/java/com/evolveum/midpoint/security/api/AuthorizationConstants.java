@@ -676,6 +676,9 @@ public class AuthorizationConstants {
     public static final QName AUTZ_ACTUATOR_METRICS_QNAME = new QName(NS_AUTHORIZATION_ACTUATOR, "metrics");
     public static final String AUTZ_ACTUATOR_METRICS_URL = QNameUtil.qNameToUri(AUTZ_ACTUATOR_METRICS_QNAME);
 
+    public static final QName AUTZ_ACTUATOR_PROMETHEUS_QNAME = new QName(NS_AUTHORIZATION_ACTUATOR, "prometheus");
+    public static final String AUTZ_ACTUATOR_PROMETHEUS_URL = QNameUtil.qNameToUri(AUTZ_ACTUATOR_PROMETHEUS_QNAME);
+
     public static final QName AUTZ_UI_OUTLIERS_ALL_QNAME = new QName(NS_AUTHORIZATION_UI, "outliersAll");
     public static final String AUTZ_UI_OUTLIERS_ALL_URL = NS_AUTHORIZATION_UI + "#outliersAll";
 
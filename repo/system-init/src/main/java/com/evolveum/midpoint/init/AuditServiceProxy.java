@@ -104,6 +104,16 @@ public class AuditServiceProxy implements AuditService, AuditServiceRegistry {
         }
     }
 
+    @Override
+    public void cleanupAudit(CleanupPolicyType policy, RunningTask task, OperationResult parentResult) {
+        Validate.notNull(policy, "Cleanup policy must not be null.");
+        Validate.notNull(parentResult, "Operation result must not be null.");
+
+        for (AuditService service : services) {
+            service.cleanupAudit(policy, task, parentResult);
+        }
+    }
+
     @Override
     public void registerService(AuditService service) {
         Validate.notNull(service, "Audit service must not be null.");
@@ -560,7 +560,8 @@ public class NullTaskImpl implements Task {
     }
 
     @Override
-    public void recordMappingOperation(String objectOid, String objectName, String objectTypeName, String mappingName, long duration) {
+    public void recordMappingOperation(String objectOid, String objectName, String objectTypeName, String mappingName,
+            String expressionType, long durationMicros) {
     }
 
     @Override
@@ -1948,6 +1948,7 @@ public class TaskQuartzImpl implements Task {
 
     private void updateConnIdStatistics(@NotNull ConnIdOperation operation) {
         statistics.recordProvisioningOperation(operation);
+        NodeOperationStatistics.INSTANCE.recordConnIdOperation(operation);
     }
 
     @Override
@@ -2227,8 +2228,8 @@ public class TaskQuartzImpl implements Task {
 
     @Override
     public void recordMappingOperation(String objectOid, String objectName, String objectTypeName, String mappingName,
-            long duration) {
-        statistics.recordMappingOperation(objectOid, objectName, objectTypeName, mappingName, duration);
+            String expressionType, long durationMicros) {
+        statistics.recordMappingOperation(objectOid, objectName, objectTypeName, mappingName, expressionType, durationMicros);
     }
 
     @Override
@@ -185,8 +185,9 @@ public class Statistics {
     }
 
     public void recordMappingOperation(String objectOid, String objectName, String objectTypeName, String mappingName,
-            long duration) {
-        environmentalPerformanceInformation.recordMappingOperation(objectOid, objectName, objectTypeName, mappingName, duration);
+            String expressionType, long durationMicros) {
+        environmentalPerformanceInformation.recordMappingOperation(
+                objectOid, objectName, objectTypeName, mappingName, expressionType, durationMicros);
     }
 
     private void resetEnvironmentalPerformanceInformation(EnvironmentalPerformanceInformationType value) {
@@ -84,6 +84,9 @@ public class TracerImpl implements Tracer, SystemConfigurationChangeListener {
 
     private static final String DEFAULT_FILE_NAME_PATTERN = "trace-%{timestamp}";
 
+    private static final String TRACE_FILE_EXTENSION_ZIP = ".zip";
+    private static final String TRACE_FILE_EXTENSION_XML = ".xml";
+
     private static final Consumer<Map<String, String>> DEFAULT_TEMPLATE_PARAMETERS_CUSTOMIZER = params -> {
     };
 
@@ -119,8 +122,26 @@ public class TracerImpl implements Tracer, SystemConfigurationChangeListener {
                 try {
                     long start = System.currentTimeMillis();
                     TracingOutputType tracingOutput = tracingOutputCreator.createTracingOutput(task, result, tracingProfile);
-                    String xml = new TraceWriter(prismContext)
-                            .writeTrace(tracingOutput, file, zip);
+                    TraceWriter traceWriter = new TraceWriter(prismContext);
+                    String xml = traceWriter.serializeTrace(tracingOutput);
+
+                    Integer maxTraceSize = tracingProfile.getMaxTraceSize();
+                    if (maxTraceSize != null && xml.length() > maxTraceSize) {
+                        int originalSize = xml.length();
+                        tracingOutputCreator.removeTracesAndLogs(tracingOutput);
+                        xml = traceWriter.serializeTrace(tracingOutput);
+                        if (xml.length() > maxTraceSize) {
+                            LOGGER.warn("Trace was not written, as it is too large: {} chars ({} chars without traces and log "
+                                    + "entries), the limit is {}", originalSize, xml.length(), maxTraceSize);
+                            thisOpResult.recordNotApplicable("Trace too large");
+                            return;
+                        }
+                        LOGGER.info("Traces and log entries were removed from the trace, as it was too large: {} chars, "
+                                + "the limit is {}", originalSize, maxTraceSize);
+                    }
+
+                    traceWriter.writeTrace(xml, file, zip);
+                    removeOldTraceFiles(file.getParentFile());
 
                     if (zip) {
                         LOGGER.info("Trace was written to {} ({} chars uncompressed) in {} milliseconds", file, xml.length(),
@@ -151,6 +172,38 @@ public class TracerImpl implements Tracer, SystemConfigurationChangeListener {
         }
     }
 
+    /**
+     * Keeps the number of trace files within {@link TracingConfigurationType#getMaxTraceFiles()}, deleting the oldest ones.
+     * Only files with the extensions used by the tracer are considered, so other files in the directory are left intact.
+     * Synchronized to avoid concurrent deletions (traces can be stored by multiple worker threads).
+     */
+    private synchronized void removeOldTraceFiles(File traceDir) {
+        TracingConfigurationType configuration = getTracingConfiguration();
+        Integer maxTraceFiles = configuration != null ? configuration.getMaxTraceFiles() : null;
+        if (maxTraceFiles == null || traceDir == null) {
+            return;
+        }
+        File[] files = traceDir.listFiles(TracerImpl::isTraceFile);
+        if (files == null || files.length <= maxTraceFiles) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        int toDelete = files.length - maxTraceFiles;
+        for (int i = 0; i < toDelete; i++) {
+            if (files[i].delete()) {
+                LOGGER.debug("Deleted old trace file {}", files[i]);
+            } else {
+                LOGGER.warn("Couldn't delete old trace file {}", files[i]);
+            }
+        }
+    }
+
+    private static boolean isTraceFile(File file) {
+        String name = file.getName();
+        return file.isFile()
+                && (name.endsWith(TRACE_FILE_EXTENSION_ZIP) || name.endsWith(TRACE_FILE_EXTENSION_XML));
+    }
+
     private Map<String, String> createTemplateParameters(OperationResult result) {
         Map<String, String> rv = new HashMap<>();
         SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss-SSS");
@@ -220,7 +273,8 @@ public class TracerImpl implements Tracer, SystemConfigurationChangeListener {
             }
         }
         String pattern = profile.getFileNamePattern() != null ? profile.getFileNamePattern() : DEFAULT_FILE_NAME_PATTERN;
-        return new File(traceDir, normalizeFileName(expandMacros(pattern, parameters)) + (zip ? ".zip" : ".xml"));
+        return new File(traceDir, normalizeFileName(expandMacros(pattern, parameters))
+                + (zip ? TRACE_FILE_EXTENSION_ZIP : TRACE_FILE_EXTENSION_XML));
     }
 
     private String normalizeFileName(String name) {
@@ -61,6 +61,22 @@ public class TracingOutputCreator {
         return output;
     }
 
+    /**
+     * Removes traces and log entries from the output, keeping only the operation result tree (and the dictionary).
+     * Used when the output is too large, see {@link TracingProfileType#getMaxTraceSize()}.
+     */
+    void removeTracesAndLogs(TracingOutputType output) {
+        if (output.getResult() != null) {
+            removeTracesAndLogs(output.getResult());
+        }
+    }
+
+    private void removeTracesAndLogs(OperationResultType resultBean) {
+        resultBean.getTrace().clear();
+        resultBean.getLog().clear();
+        resultBean.getPartialResults().forEach(this::removeTracesAndLogs);
+    }
+
     private List<TraceDictionaryType> extractDictionaries(OperationResult result) {
         return result.getResultStream()
                 .map(OperationResult::getExtractedDictionary)
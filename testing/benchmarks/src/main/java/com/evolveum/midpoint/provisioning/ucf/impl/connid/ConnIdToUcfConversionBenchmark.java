@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.provisioning.ucf.impl.connid;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.identityconnectors.framework.common.objects.*;
+import org.openjdk.jmh.annotations.*;
+
+import com.evolveum.midpoint.prism.PrismObject;
+import com.evolveum.midpoint.provisioning.ucf.api.UcfResourceObject;
+import com.evolveum.midpoint.schema.constants.SchemaConstants;
+import com.evolveum.midpoint.schema.processor.CompleteResourceSchema;
+import com.evolveum.midpoint.schema.processor.ResourceObjectDefinition;
+import com.evolveum.midpoint.schema.processor.ResourceSchemaFactory;
+import com.evolveum.midpoint.testing.benchmarks.BenchmarkEnvironment;
+import com.evolveum.midpoint.util.exception.SchemaException;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ResourceType;
+
+/**
+ * Conversion of ConnId connector objects to UCF resource objects (i.e. to shadows with attributes),
+ * done for each object returned by the connector in search and get operations.
+ *
+ * It is in this package, because {@link ConnIdToUcfObjectConversion} is package-private.
+ * The resource has a static (legacy) schema, so no connector is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConnIdToUcfConversionBenchmark {
+
+    private static final String RESOURCE_FILE = "/resource-benchmark.xml";
+
+    /** Number of values of the multivalued attributes. */
+    @Param({ "1", "50" })
+    public int values;
+
+    private CompleteResourceSchema resourceSchema;
+    private ResourceObjectDefinition accountDefinition;
+    private ConnectorContext connectorContext;
+    private ConnectorObject connectorObject;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkEnvironment environment = BenchmarkEnvironment.get();
+
+        ConnIdBeans beans = new ConnIdBeans();
+        beans.protector = environment.protector();
+        beans.localizationService = environment.localizationService();
+        beans.init();
+
+        PrismObject<ResourceType> resource;
+        try (InputStream stream = ConnIdToUcfConversionBenchmark.class.getResourceAsStream(RESOURCE_FILE)) {
+            resource = environment.prismContext().parserFor(stream).xml().parse();
+        }
+        resourceSchema = ResourceSchemaFactory.getCompleteSchemaRequired(resource.asObjectable());
+        accountDefinition = resourceSchema.findObjectClassDefinitionRequired(SchemaConstants.RI_ACCOUNT_OBJECT_CLASS);
+
+        connectorContext = new ConnectorContext() {
+            @Override
+            public Boolean getConfiguredLegacySchema() {
+                return true;
+            }
+
+            @Override
+            public boolean isLegacySchema() {
+                return true;
+            }
+
+            @Override
+            public String getHumanReadableName() {
+                return "benchmark connector";
+            }
+        };
+
+        connectorObject = createConnectorObject();
+    }
+
+    @Benchmark
+    public UcfResourceObject convert() throws SchemaException {
+        var conversion = new ConnIdToUcfObjectConversion(
+                connectorObject, accountDefinition, connectorContext, resourceSchema);
+        conversion.execute();
+        return conversion.getUcfResourceObjectIfSuccess();
+    }
+
+    private ConnectorObject createConnectorObject() {
+        List<String> interests = new ArrayList<>();
+        List<String> privileges = new ArrayList<>();
+        for (int i = 0; i < values; i++) {
+            interests.add("interest-" + i);
+            privileges.add("cn=privilege-" + i + ",ou=privileges,dc=example,dc=com");
+        }
+        return new ConnectorObjectBuilder()
+                .setObjectClass(ObjectClass.ACCOUNT)
+                .setUid("7f1c2c9e-2d4c-4d3b-9a63-000000000001")
+                .setName("jack")
+                .addAttribute(AttributeBuilder.build("fullname", "Jack Sparrow"))
+                .addAttribute(AttributeBuilder.build("description", "Benchmark account"))
+                .addAttribute(AttributeBuilder.build("title", "Captain"))
+                .addAttribute(AttributeBuilder.build("ship", "Black Pearl"))
+                .addAttribute(AttributeBuilder.build("loot", 42))
+                .addAttribute(AttributeBuilder.build("interests", interests))
+                .addAttribute(AttributeBuilder.build("privileges", privileges))
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import javax.crypto.KeyGenerator;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import com.evolveum.midpoint.common.LocalizationService;
+import com.evolveum.midpoint.common.LocalizationTestUtil;
+import com.evolveum.midpoint.prism.PrismContext;
+import com.evolveum.midpoint.prism.crypto.KeyStoreBasedProtectorBuilder;
+import com.evolveum.midpoint.prism.crypto.Protector;
+import com.evolveum.midpoint.prism.impl.PrismContextImpl;
+import com.evolveum.midpoint.prism.impl.match.MatchingRuleRegistryFactory;
+import com.evolveum.midpoint.prism.impl.polystring.NormalizerRegistryFactory;
+import com.evolveum.midpoint.prism.util.PrismTestUtil;
+import com.evolveum.midpoint.repo.sqale.SqaleRepoContext;
+import com.evolveum.midpoint.repo.sqale.SqaleRepositoryBeanConfig;
+import com.evolveum.midpoint.repo.sqale.SqaleRepositoryConfiguration;
+import com.evolveum.midpoint.repo.sqale.SqaleUtils;
+import com.evolveum.midpoint.repo.sqlbase.mapping.QueryModelMappingRegistry;
+import com.evolveum.midpoint.schema.MidPointPrismContextFactory;
+import com.evolveum.midpoint.schema.SchemaService;
+import com.evolveum.midpoint.schema.relation.RelationRegistryImpl;
+import com.evolveum.midpoint.util.exception.SystemException;
+
+/**
+ * The part of midPoint infrastructure needed by the benchmarks, created without Spring, database or resources:
+ * prism context with the default midPoint schemas, schema service, protector and localization service.
+ * The repository context (query model mappings, serialization) is created lazily, as only some benchmarks need it.
+ *
+ * It is a per-JVM singleton, so it is created once per JMH fork, during the benchmark setup.
+ */
+public class BenchmarkEnvironment {
+
+    private static final String KEYSTORE_PASSWORD = "changeit";
+    private static final String KEY_ALIAS = "default";
+
+    private static BenchmarkEnvironment instance;
+
+    @NotNull private final PrismContext prismContext;
+    @NotNull private final Protector protector;
+    @NotNull private final LocalizationService localizationService;
+
+    private SqaleRepoContext repoContext;
+
+    private BenchmarkEnvironment() throws Exception {
+        PrismTestUtil.resetPrismContext(new MidPointPrismContextFactory());
+        prismContext = PrismTestUtil.getPrismContext();
+        SchemaService.init(
+                prismContext,
+                new RelationRegistryImpl(),
+                MatchingRuleRegistryFactory.createRegistry(),
+                NormalizerRegistryFactory.createRegistry());
+
+        protector = createProtector(prismContext);
+        ((PrismContextImpl) prismContext).setDefaultProtector(protector);
+
+        localizationService = LocalizationTestUtil.getLocalizationService();
+    }
+
+    public static synchronized @NotNull BenchmarkEnvironment get() {
+        if (instance == null) {
+            try {
+                instance = new BenchmarkEnvironment();
+            } catch (Exception e) {
+                throw new SystemException("Couldn't initialize the benchmark environment: " + e.getMessage(), e);
+            }
+        }
+        return instance;
+    }
+
+    public @NotNull PrismContext prismContext() {
+        return prismContext;
+    }
+
+    public @NotNull Protector protector() {
+        return protector;
+    }
+
+    public @NotNull LocalizationService localizationService() {
+        return localizationService;
+    }
+
+    /**
+     * Repository context with all the mappings registered, but without the data source.
+     * Sufficient for query translation and for the serialization of the objects into the repository form.
+     */
+    public synchronized @NotNull SqaleRepoContext repoContext() throws Exception {
+        if (repoContext == null) {
+            SqaleRepositoryConfiguration configuration = new SqaleRepositoryConfiguration(new BaseConfiguration());
+            configuration.init();
+            QueryModelMappingRegistry mappingRegistry = new QueryModelMappingRegistry();
+            SqaleRepoContext context = new SqaleRepoContext(
+                    configuration, null, SchemaService.get(), mappingRegistry,
+                    SqaleUtils.SCHEMA_CHANGE_NUMBER, SqaleUtils.CURRENT_SCHEMA_CHANGE_NUMBER);
+            SqaleRepositoryBeanConfig.registerMappings(context, mappingRegistry);
+            repoContext = context;
+        }
+        return repoContext;
+    }
+
+    /** Generates a throw-away keystore with a single AES key, so no keystore file has to be distributed. */
+    private static Protector createProtector(PrismContext prismContext) throws Exception {
+        Path keyStorePath = Files.createTempFile("benchmark-keystore", ".jceks");
+        keyStorePath.toFile().deleteOnExit();
+
+        KeyStore keyStore = KeyStore.getInstance("JCEKS");
+        keyStore.load(null, null);
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(128);
+        keyStore.setEntry(KEY_ALIAS,
+                new KeyStore.SecretKeyEntry(keyGenerator.generateKey()),
+                new KeyStore.PasswordProtection(KEYSTORE_PASSWORD.toCharArray()));
+        try (OutputStream out = Files.newOutputStream(keyStorePath)) {
+            keyStore.store(out, KEYSTORE_PASSWORD.toCharArray());
+        } catch (IOException e) {
+            throw new SystemException("Couldn't write the benchmark keystore: " + e.getMessage(), e);
+        }
+
+        return KeyStoreBasedProtectorBuilder.create(prismContext)
+                .keyStorePath(keyStorePath.toString())
+                .keyStorePassword(KEYSTORE_PASSWORD)
+                .initialize();
+    }
+}
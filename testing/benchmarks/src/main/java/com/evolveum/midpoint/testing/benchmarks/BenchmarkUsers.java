@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
+
+/**
+ * Deterministic test data: "fat" users, i.e. users with many assignments, role membership references and links,
+ * which are typical for the expensive cases in real deployments.
+ *
+ * Everything (including OIDs) is derived from the parameters, so the same input is used in each fork and each run,
+ * and the results are comparable to the stored baselines.
+ */
+public class BenchmarkUsers {
+
+    public static String oid(String seed) {
+        return UUID.nameUUIDFromBytes(seed.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /** Creates a user with the given number of assignments; there is a role membership ref for each of them. */
+    public static UserType createFatUser(String name, int assignments) {
+        UserType user = new UserType()
+                .oid(oid("user-" + name))
+                .name(name)
+                .givenName("Given " + name)
+                .familyName("Family " + name)
+                .fullName("Given Family " + name)
+                .employeeNumber("E-" + name)
+                .emailAddress(name + "@example.com")
+                .telephoneNumber("+421 000 " + name.hashCode())
+                .locality("Bratislava")
+                .description("Benchmark user " + name + " with " + assignments + " assignments")
+                .activation(new ActivationType()
+                        .administrativeStatus(ActivationStatusType.ENABLED)
+                        .effectiveStatus(ActivationStatusType.ENABLED));
+
+        for (int i = 0; i < assignments; i++) {
+            String roleOid = oid("role-" + i);
+            user.assignment(new AssignmentType()
+                    .id((long) i + 1)
+                    .targetRef(roleOid, RoleType.COMPLEX_TYPE)
+                    .activation(new ActivationType()
+                            .effectiveStatus(ActivationStatusType.ENABLED)));
+            user.roleMembershipRef(roleOid, RoleType.COMPLEX_TYPE);
+        }
+        for (int i = 0; i < Math.max(1, assignments / 10); i++) {
+            user.linkRef(oid("shadow-" + name + "-" + i), ShadowType.COMPLEX_TYPE);
+        }
+        return user;
+    }
+}
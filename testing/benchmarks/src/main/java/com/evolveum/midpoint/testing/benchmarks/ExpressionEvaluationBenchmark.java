@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.benchmarks;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.evolveum.midpoint.common.Clock;
+import com.evolveum.midpoint.common.LocalizationService;
+import com.evolveum.midpoint.model.common.ModelCommonBeans;
+import com.evolveum.midpoint.model.common.expression.evaluator.path.PathExpressionEvaluatorFactory;
+import com.evolveum.midpoint.model.common.expression.functions.FunctionLibraryBinding;
+import com.evolveum.midpoint.model.common.expression.functions.FunctionLibraryUtil;
+import com.evolveum.midpoint.model.common.expression.script.ScriptExpressionEvaluatorFactory;
+import com.evolveum.midpoint.model.common.expression.script.ScriptExpressionFactory;
+import com.evolveum.midpoint.model.common.expression.script.groovy.GroovyScriptEvaluator;
+import com.evolveum.midpoint.prism.*;
+import com.evolveum.midpoint.prism.crypto.Protector;
+import com.evolveum.midpoint.prism.delta.PrismValueDeltaSetTriple;
+import com.evolveum.midpoint.repo.common.DirectoryFileObjectResolver;
+import com.evolveum.midpoint.repo.common.ObjectResolver;
+import com.evolveum.midpoint.repo.common.expression.*;
+import com.evolveum.midpoint.repo.common.expression.evaluator.AsIsExpressionEvaluatorFactory;
+import com.evolveum.midpoint.repo.common.expression.evaluator.LiteralExpressionEvaluatorFactory;
+import com.evolveum.midpoint.schema.constants.ExpressionConstants;
+import com.evolveum.midpoint.schema.expression.VariablesMap;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.task.api.Task;
+import com.evolveum.midpoint.task.api.test.NullTaskImpl;
+import com.evolveum.midpoint.util.DOMUtil;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ExpressionType;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.UserType;
+
+/**
+ * Evaluation of the most frequent kinds of expressions (as-is, path, Groovy script) with a single string source
+ * and the focus variable, as in a typical inbound or outbound mapping.
+ *
+ * The expression factory is set up without Spring, in the same way as in the model-common unit tests.
+ * The {@link Expression} is obtained from the factory in each call, as the mappings do; it is cached there,
+ * so the measured time is dominated by the evaluation itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExpressionEvaluationBenchmark {
+
+    private static final String NS_C = "http://midpoint.evolveum.com/xml/ns/public/common/common-3";
+
+    private static final String EXPRESSION_AS_IS =
+            "<expression xmlns='" + NS_C + "'><asIs/></expression>";
+    private static final String EXPRESSION_PATH =
+            "<expression xmlns='" + NS_C + "'><path>$focus/employeeNumber</path></expression>";
+    private static final String EXPRESSION_GROOVY =
+            "<expression xmlns='" + NS_C + "'><script><code>input + '-' + focus.employeeNumber</code></script></expression>";
+
+    private static final String INPUT_VALUE = "benchmark";
+
+    @Param({ "asIs", "path", "groovy" })
+    public String kind;
+
+    private ExpressionFactory expressionFactory;
+    private ExpressionType expressionBean;
+    private PrismPropertyDefinition<String> outputDefinition;
+    private Collection<Source<?, ?>> sources;
+    private VariablesMap variables;
+    private Task task;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkEnvironment environment = BenchmarkEnvironment.get();
+        PrismContext prismContext = environment.prismContext();
+
+        ObjectResolver resolver = new DirectoryFileObjectResolver(
+                Files.createTempDirectory("benchmark-objects").toFile());
+        expressionFactory = createExpressionFactory(
+                resolver, environment.protector(), prismContext, environment.localizationService());
+
+        ModelCommonBeans modelCommonBeans = new ModelCommonBeans();
+        modelCommonBeans.prismContext = prismContext;
+        modelCommonBeans.expressionFactory = expressionFactory;
+        modelCommonBeans.objectResolver = resolver;
+        modelCommonBeans.protector = environment.protector();
+        modelCommonBeans.localizationService = environment.localizationService();
+        modelCommonBeans.init();
+
+        expressionBean = prismContext.parserFor(switch (kind) {
+            case "asIs" -> EXPRESSION_AS_IS;
+            case "path" -> EXPRESSION_PATH;
+            case "groovy" -> EXPRESSION_GROOVY;
+            default -> throw new IllegalArgumentException("Unknown expression kind: " + kind);
+        }).xml().parseRealValue(ExpressionType.class);
+
+        outputDefinition = prismContext.definitionFactory()
+                .newPropertyDefinition(ExpressionConstants.OUTPUT_ELEMENT_NAME, DOMUtil.XSD_STRING);
+
+        PrismPropertyDefinition<String> inputDefinition = prismContext.definitionFactory()
+                .newPropertyDefinition(ExpressionConstants.VAR_INPUT_QNAME, DOMUtil.XSD_STRING);
+        PrismProperty<String> input = inputDefinition.instantiate();
+        input.addRealValue(INPUT_VALUE);
+        sources = List.of(new Source<>(input, null, input, ExpressionConstants.VAR_INPUT_QNAME, inputDefinition));
+
+        PrismObject<UserType> focus = BenchmarkUsers.createFatUser("expression", 10).asPrismObject();
+        variables = new VariablesMap();
+        variables.put(ExpressionConstants.VAR_FOCUS, focus, focus.getDefinition());
+
+        task = new NullTaskImpl();
+    }
+
+    @Benchmark
+    public PrismValueDeltaSetTriple<PrismPropertyValue<String>> evaluate() throws Exception {
+        OperationResult result = new OperationResult(ExpressionEvaluationBenchmark.class.getName() + ".evaluate");
+        Expression<PrismPropertyValue<String>, PrismPropertyDefinition<String>> expression =
+                expressionFactory.makeExpression(expressionBean, outputDefinition, null, "benchmark", task, result);
+        return expression.evaluate(
+                new ExpressionEvaluationContext(sources, variables, "benchmark", task),
+                result);
+    }
+
+    private static ExpressionFactory createExpressionFactory(
+            ObjectResolver resolver, Protector protector, PrismContext prismContext,
+            LocalizationService localizationService) {
+        ExpressionFactory expressionFactory = new ExpressionFactory(localizationService);
+        expressionFactory.setObjectResolver(resolver);
+
+        AsIsExpressionEvaluatorFactory asIsFactory = new AsIsExpressionEvaluatorFactory(protector);
+        expressionFactory.registerEvaluatorFactory(asIsFactory);
+        expressionFactory.setDefaultEvaluatorFactory(asIsFactory);
+
+        expressionFactory.registerEvaluatorFactory(new LiteralExpressionEvaluatorFactory(protector));
+
+        var pathFactory = new PathExpressionEvaluatorFactory(expressionFactory, protector);
+        pathFactory.setObjectResolver(resolver);
+        expressionFactory.registerEvaluatorFactory(pathFactory);
+
+        Collection<FunctionLibraryBinding> functions = new ArrayList<>();
+        functions.add(FunctionLibraryUtil.createBasicFunctionLibraryBinding(prismContext, protector, new Clock()));
+        functions.add(FunctionLibraryUtil.createLogFunctionLibraryBinding(prismContext));
+        ScriptExpressionFactory scriptExpressionFactory = new ScriptExpressionFactory(functions, resolver);
+        scriptExpressionFactory.registerEvaluator(
+                new GroovyScriptEvaluator(prismContext, protector, localizationService));
+        expressionFactory.registerEvaluatorFactory(new ScriptExpressionEvaluatorFactory(scriptExpressionFactory));
+
+        return expressionFactory;
+    }
+}
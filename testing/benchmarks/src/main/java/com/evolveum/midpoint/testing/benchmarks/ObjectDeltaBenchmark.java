@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.evolveum.midpoint.prism.PrismObject;
+import com.evolveum.midpoint.prism.delta.ObjectDelta;
+import com.evolveum.midpoint.prism.polystring.PolyString;
+import com.evolveum.midpoint.util.exception.SchemaException;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
+
+/**
+ * Application of a typical "clockwork" delta to a fat user, and computing the difference of two fat users
+ * (as done e.g. by the reconciliation or by the GUI when saving the object).
+ *
+ * Applying the delta requires cloning the object first; the {@link #cloneUser()} benchmark measures that part alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ObjectDeltaBenchmark {
+
+    @Param({ "10", "100" })
+    public int assignments;
+
+    private PrismObject<UserType> user;
+    private PrismObject<UserType> modifiedUser;
+    private ObjectDelta<UserType> delta;
+
+    @Setup
+    public void setup() throws SchemaException {
+        BenchmarkEnvironment environment = BenchmarkEnvironment.get();
+
+        user = BenchmarkUsers.createFatUser("delta", assignments).asPrismObject();
+        delta = environment.prismContext().deltaFor(UserType.class)
+                .item(UserType.F_GIVEN_NAME).replace(PolyString.fromOrig("Changed"))
+                .item(UserType.F_DESCRIPTION).replace("Changed description")
+                .item(UserType.F_ASSIGNMENT, 1L, AssignmentType.F_ACTIVATION, ActivationType.F_ADMINISTRATIVE_STATUS)
+                .replace(ActivationStatusType.DISABLED)
+                .item(UserType.F_ASSIGNMENT).add(new AssignmentType()
+                        .targetRef(BenchmarkUsers.oid("role-new"), RoleType.COMPLEX_TYPE))
+                .item(UserType.F_ROLE_MEMBERSHIP_REF).add(new ObjectReferenceType()
+                        .oid(BenchmarkUsers.oid("role-new")).type(RoleType.COMPLEX_TYPE))
+                .item(UserType.F_LINK_REF).delete(new ObjectReferenceType()
+                        .oid(BenchmarkUsers.oid("shadow-delta-0")).type(ShadowType.COMPLEX_TYPE))
+                .asObjectDelta(user.getOid());
+
+        modifiedUser = user.clone();
+        delta.applyTo(modifiedUser);
+    }
+
+    @Benchmark
+    public PrismObject<UserType> cloneUser() {
+        return user.clone();
+    }
+
+    @Benchmark
+    public PrismObject<UserType> applyDelta() throws SchemaException {
+        PrismObject<UserType> clone = user.clone();
+        delta.applyTo(clone);
+        return clone;
+    }
+
+    @Benchmark
+    public ObjectDelta<UserType> diff() {
+        return user.diff(modifiedUser);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.evolveum.midpoint.prism.PrismContext;
+import com.evolveum.midpoint.prism.PrismObject;
+import com.evolveum.midpoint.repo.sqale.qmodel.focus.QUserMapping;
+import com.evolveum.midpoint.util.exception.SchemaException;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.UserType;
+
+/**
+ * Serialization and parsing of objects: the repository "full object" form (as used by
+ * {@link com.evolveum.midpoint.repo.sqale.mapping.SqaleTableMapping#createFullObject}
+ * and {@link com.evolveum.midpoint.repo.sqale.mapping.SqaleTableMapping#parseSchemaObject}),
+ * and the XML form used by the import and the REST/GUI layers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ObjectParsingBenchmark {
+
+    @Param({ "10", "100" })
+    public int assignments;
+
+    private PrismContext prismContext;
+    private QUserMapping userMapping;
+
+    private UserType user;
+    private byte[] fullObject;
+    private String xml;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkEnvironment environment = BenchmarkEnvironment.get();
+        prismContext = environment.prismContext();
+        environment.repoContext(); // initializes the mappings
+        userMapping = QUserMapping.getUserMapping();
+
+        user = BenchmarkUsers.createFatUser("parsing", assignments);
+        fullObject = userMapping.createFullObject(user.clone());
+        xml = prismContext.xmlSerializer().serialize(user.asPrismObject());
+    }
+
+    @Benchmark
+    public byte[] repoSerialize() throws SchemaException {
+        // Relations are normalized in place, hence the clone; it is a part of the measured time in all the variants.
+        return userMapping.createFullObject(user.clone());
+    }
+
+    @Benchmark
+    public UserType repoParse() throws SchemaException {
+        return userMapping.parseSchemaObject(fullObject, "benchmark");
+    }
+
+    @Benchmark
+    public String xmlSerialize() throws SchemaException {
+        return prismContext.xmlSerializer().serialize(user.clone().asPrismObject());
+    }
+
+    @Benchmark
+    public PrismObject<UserType> xmlParse() throws SchemaException {
+        return prismContext.parseObject(xml);
+    }
+}
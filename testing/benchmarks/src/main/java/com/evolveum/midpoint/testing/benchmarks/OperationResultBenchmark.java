@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.OperationResultType;
+
+/**
+ * Creation of operation result trees of the shape typical for the bulk processing (e.g. import or reconciliation):
+ * a root result with a subresult for each item, each with a couple of nested levels; followed by the status computation,
+ * summarization and conversion to the bean, as done when the result is stored into the task.
+ *
+ * Both "full" and "lean" (see {@link OperationResult#lean(int)}) results are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OperationResultBenchmark {
+
+    private static final String OP_ROOT = OperationResultBenchmark.class.getName() + ".root";
+    private static final String OP_ITEM = OperationResultBenchmark.class.getName() + ".item";
+    private static final String OP_NESTED = OperationResultBenchmark.class.getName() + ".nested";
+    private static final String OP_LEAF = OperationResultBenchmark.class.getName() + ".leaf";
+
+    @Param({ "100" })
+    public int items;
+
+    @Param({ "full", "lean" })
+    public String mode;
+
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.get();
+    }
+
+    @Benchmark
+    public OperationResult createTree() {
+        return createResultTree();
+    }
+
+    @Benchmark
+    public OperationResult createTreeAndSummarize() {
+        OperationResult result = createResultTree();
+        result.computeStatus();
+        result.summarize();
+        return result;
+    }
+
+    @Benchmark
+    public OperationResultType createTreeAndConvert() {
+        OperationResult result = createResultTree();
+        result.computeStatus();
+        result.summarize();
+        return result.createOperationResultType();
+    }
+
+    private OperationResult createResultTree() {
+        OperationResult root = "lean".equals(mode)
+                ? OperationResult.createFor(OP_ROOT).lean(1).build()
+                : new OperationResult(OP_ROOT);
+        for (int i = 0; i < items; i++) {
+            OperationResult itemResult = root.subresult(OP_ITEM)
+                    .addParam("index", i)
+                    .addParam("name", "item-" + i)
+                    .build();
+            try {
+                for (int j = 0; j < 3; j++) {
+                    OperationResult nested = itemResult.subresult(OP_NESTED)
+                            .addParam("step", j)
+                            .build();
+                    try {
+                        nested.createSubresult(OP_LEAF).close();
+                    } finally {
+                        nested.close();
+                    }
+                }
+                if (i % 10 == 0) {
+                    itemResult.recordWarning("Item " + i + " has a warning");
+                }
+            } finally {
+                itemResult.close();
+            }
+        }
+        root.close();
+        return root;
+    }
+}
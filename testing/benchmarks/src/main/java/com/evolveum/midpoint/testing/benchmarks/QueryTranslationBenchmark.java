@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.evolveum.midpoint.prism.PrismContext;
+import com.evolveum.midpoint.prism.polystring.PolyString;
+import com.evolveum.midpoint.prism.query.ObjectQuery;
+import com.evolveum.midpoint.repo.sqale.SqaleQueryContext;
+import com.evolveum.midpoint.repo.sqale.SqaleRepoContext;
+import com.evolveum.midpoint.repo.sqlbase.RepositoryException;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
+
+/**
+ * Translation of {@link ObjectQuery} to SQL by {@link SqaleQueryContext}, i.e. the part of the search
+ * that is done before the database is contacted. The steps are the same as in
+ * {@link com.evolveum.midpoint.repo.sqlbase.SqlQueryExecutor#list}, up to the SQL rendering.
+ *
+ * No data source is configured; reference filters do not need it, as unknown relation URIs are not looked up
+ * in the database during the translation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class QueryTranslationBenchmark {
+
+    @Param({ "simple", "complex" })
+    public String query;
+
+    private SqaleRepoContext repoContext;
+    private ObjectQuery objectQuery;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkEnvironment environment = BenchmarkEnvironment.get();
+        repoContext = environment.repoContext();
+        objectQuery = "simple".equals(query)
+                ? createSimpleQuery(environment.prismContext())
+                : createComplexQuery(environment.prismContext());
+    }
+
+    @Benchmark
+    public String translate() throws RepositoryException {
+        var context = SqaleQueryContext.from(UserType.class, repoContext);
+        context.processFilter(objectQuery.getFilter());
+        context.processObjectPaging(objectQuery.getPaging());
+        context.processOptions(null);
+        context.beforeQuery();
+        return context.sqlQuery()
+                .select(context.root())
+                .getSQL()
+                .getSQL();
+    }
+
+    private ObjectQuery createSimpleQuery(PrismContext prismContext) {
+        return prismContext.queryFor(UserType.class)
+                .item(UserType.F_NAME).eq(PolyString.fromOrig("user-1"))
+                .build();
+    }
+
+    private ObjectQuery createComplexQuery(PrismContext prismContext) {
+        return prismContext.queryFor(UserType.class)
+                .item(UserType.F_EMPLOYEE_NUMBER).startsWith("E-1")
+                .and().item(UserType.F_ACTIVATION, ActivationType.F_EFFECTIVE_STATUS).eq(ActivationStatusType.ENABLED)
+                .and().block()
+                .item(UserType.F_GIVEN_NAME).contains("Given").matchingOrig()
+                .or().item(UserType.F_EMAIL_ADDRESS).endsWith("@example.com")
+                .endBlock()
+                .and().exists(UserType.F_ASSIGNMENT)
+                .block()
+                .item(AssignmentType.F_TARGET_REF).ref(BenchmarkUsers.oid("role-1"))
+                .and().item(AssignmentType.F_ACTIVATION, ActivationType.F_EFFECTIVE_STATUS)
+                .eq(ActivationStatusType.ENABLED)
+                .endBlock()
+                .and().item(UserType.F_ROLE_MEMBERSHIP_REF).ref(BenchmarkUsers.oid("role-2"))
+                .asc(UserType.F_NAME)
+                .offset(100)
+                .maxSize(50)
+                .build();
+    }
+}
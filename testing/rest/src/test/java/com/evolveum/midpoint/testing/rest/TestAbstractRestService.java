@@ -10,6 +10,7 @@ import static org.testng.AssertJUnit.*;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -24,6 +25,7 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.Test;
 
 import com.evolveum.midpoint.model.api.ModelExecuteOptions;
+import com.evolveum.midpoint.model.api.hooks.ReadHook;
 import com.evolveum.midpoint.prism.PrismContainerValue;
 import com.evolveum.midpoint.prism.PrismObject;
 import com.evolveum.midpoint.prism.Referencable;
@@ -47,7 +49,10 @@ import com.evolveum.midpoint.util.exception.SchemaException;
 import com.evolveum.midpoint.xml.ns._public.common.api_types_3.ExecuteScriptResponseType;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
 import com.evolveum.midpoint.xml.ns._public.model.scripting_3.PipelineItemType;
+import com.evolveum.prism.xml.ns._public.query_3.OrderDirectionType;
+import com.evolveum.prism.xml.ns._public.query_3.PagingType;
 import com.evolveum.prism.xml.ns._public.query_3.QueryType;
+import com.evolveum.prism.xml.ns._public.types_3.ItemPathType;
 import com.evolveum.prism.xml.ns._public.types_3.ProtectedStringType;
 import com.evolveum.prism.xml.ns._public.types_3.RawType;
 
@@ -55,6 +60,10 @@ public abstract class TestAbstractRestService extends RestServiceInitializer {
 
     protected static final File BASE_REQ_DIR = new File("src/test/resources/req/");
 
+    private static final String USER_JACK_NAME = "jack";
+
+    private static final String READ_HOOK_URL = "http://midpoint.evolveum.com/test/rest-read-hook";
+
     // REST, reader and adder authorization
     public static final String USER_DARTHADDER_FILE = "user-darthadder";
     public static final String USER_DARTHADDER_OID = "1696229e-d90a-11e4-9ce6-001e8c717e5b";
@@ -637,6 +646,83 @@ public abstract class TestAbstractRestService extends RestServiceInitializer {
         getDummyAuditService().assertLoginLogout(SchemaConstants.CHANNEL_REST_URI);
     }
 
+    @Test
+    public void test201SearchAllUsersStreamed() {
+        WebClient client = prepareClient();
+        client.path("/users/search/stream");
+        getDummyAuditService().clear();
+
+        when();
+        Response response = client.post(createQueryOrderedByName());
+
+        then();
+        assertStatus(response, 200);
+        String body = response.readEntity(String.class);
+        displayValue("Response body", body);
+        assertTrue("Administrator not in the response", body.contains(USER_ADMINISTRATOR_USERNAME));
+        assertTrue("Jack not in the response", body.contains(USER_JACK_NAME));
+        assertTrue("Response is not complete", isStreamedResponseComplete(body));
+
+        displayDumpable("Audit", getDummyAuditService());
+        getDummyAuditService().assertRecords(2);
+        getDummyAuditService().assertLoginLogout(SchemaConstants.CHANNEL_REST_URI);
+    }
+
+    /**
+     * The search fails when the first object was already sent, so the response status can't be changed anymore.
+     * The response is left incomplete, so the client can recognize the failure.
+     */
+    @Test
+    public void test202SearchAllUsersStreamedFailingAfterFirstObject() {
+        WebClient client = prepareClient();
+        client.path("/users/search/stream");
+        getDummyAuditService().clear();
+
+        hookRegistry.registerReadHook(READ_HOOK_URL, new ReadHook() {
+            @Override
+            public <T extends ObjectType> void invoke(PrismObject<T> object,
+                    Collection<SelectorOptions<GetOperationOptions>> options, Task task, OperationResult parentResult)
+                    throws SchemaException {
+                if (USER_JACK_OID.equals(object.getOid())) {
+                    throw new SchemaException("Intentional failure when reading jack");
+                }
+            }
+        });
+        try {
+            when();
+            Response response = client.post(createQueryOrderedByName());
+
+            then();
+            assertStatus(response, 200);
+            String body = response.readEntity(String.class);
+            displayValue("Response body", body);
+            assertTrue("Administrator not in the response", body.contains(USER_ADMINISTRATOR_USERNAME));
+            assertFalse("Response is complete", isStreamedResponseComplete(body));
+        } finally {
+            hookRegistry.unregisterReadHook(READ_HOOK_URL);
+        }
+
+        displayDumpable("Audit", getDummyAuditService());
+        getDummyAuditService().assertRecords(2);
+        getDummyAuditService().assertLoginLogout(SchemaConstants.CHANNEL_REST_URI);
+    }
+
+    /** Administrator goes first, before jack. */
+    private QueryType createQueryOrderedByName() {
+        PagingType paging = new PagingType();
+        paging.setOrderBy(new ItemPathType(UserType.F_NAME));
+        paging.setOrderDirection(OrderDirectionType.ASCENDING);
+        QueryType query = new QueryType();
+        query.setPaging(paging);
+        return query;
+    }
+
+    /** Streamed response is an XML `objects` element or JSON array; both are closed only if the search succeeded. */
+    private boolean isStreamedResponseComplete(String body) {
+        String trimmed = body.trim();
+        return trimmed.endsWith("</c:objects>") || trimmed.endsWith("]");
+    }
+
     @Test
     public void test401AddUserTemplateOverwrite() {
         WebClient client = prepareClient();
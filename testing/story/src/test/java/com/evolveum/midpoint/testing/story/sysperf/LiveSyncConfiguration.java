@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.story.sysperf;
+
+import static com.evolveum.midpoint.testing.story.sysperf.TaskDistribution.BUCKET_FACTOR_FOR_ACCOUNTS;
+import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.*;
+
+import java.io.File;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.evolveum.midpoint.test.TestObject;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.TaskType;
+
+/**
+ * Live synchronization from the primary source resource: `live-sync.changes` accounts are modified there,
+ * and then the changes are processed by a single live sync task run. Zero changes means no live sync at all.
+ */
+class LiveSyncConfiguration {
+
+    private static final String PROP = "live-sync";
+    private static final String PROP_CHANGES = PROP + ".changes";
+
+    private static final File TASK_TEMPLATE_FILE = new File(TEST_DIR, "task-live-sync.vm.xml");
+
+    private static final String LIVE_SYNC_TASK_OID = "2a3aa7c6-0f0b-44c4-94f2-3b8c0f6be2f1";
+
+    @NotNull private final TaskDistribution distribution;
+    private final int changes;
+
+    private final TestObject<TaskType> generatedTask;
+
+    private LiveSyncConfiguration() {
+        distribution = TaskDistribution.fromSystemProperties(PROP, BUCKET_FACTOR_FOR_ACCOUNTS);
+        changes = Math.min(
+                Integer.parseInt(System.getProperty(PROP_CHANGES, "10")),
+                SOURCES_CONFIGURATION.getNumberOfAccounts());
+        generatedTask = isEnabled() ? generateTask() : null;
+    }
+
+    boolean isEnabled() {
+        return changes > 0;
+    }
+
+    int getThreads() {
+        return distribution.threads();
+    }
+
+    int getChanges() {
+        return changes;
+    }
+
+    TestObject<TaskType> getGeneratedTask() {
+        return generatedTask;
+    }
+
+    @Override
+    public String toString() {
+        return "LiveSyncConfiguration{" +
+                "threads=" + distribution.threads() +
+                ", changes=" + changes +
+                '}';
+    }
+
+    public static LiveSyncConfiguration setup() {
+        LiveSyncConfiguration configuration = new LiveSyncConfiguration();
+        System.out.println("Live sync: " + configuration);
+        return configuration;
+    }
+
+    private TestObject<TaskType> generateTask() {
+        String generatedFileName = "generated-task-live-sync.xml";
+
+        File generated = new File(TARGET_DIR, generatedFileName);
+        VelocityGenerator.generate(TASK_TEMPLATE_FILE, generated,
+                Map.of("taskOid", LIVE_SYNC_TASK_OID,
+                        "resourceOid", SOURCES_CONFIGURATION.getGeneratedResources().get(0).oid,
+                        "workerThreads", getThreads()));
+
+        return TestObject.file(TARGET_DIR, generatedFileName, LIVE_SYNC_TASK_OID);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.story.sysperf;
+
+import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.TARGET_DIR;
+import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.TEST_DIR;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.evolveum.midpoint.test.TestObject;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.OrgType;
+
+/**
+ * Organizational structure: a single root org with `orgs.children` children on each of the following levels;
+ * there are `orgs.depth` levels in total (including the root). Users are assigned to the leaf orgs.
+ */
+class OrgsConfiguration {
+
+    private static final String PROP = "orgs";
+    private static final String PROP_DEPTH = PROP + ".depth";
+    private static final String PROP_CHILDREN = PROP + ".children";
+
+    private static final File ORG_TEMPLATE_FILE = new File(TEST_DIR, "org.vm.xml");
+
+    private final int depth;
+    private final int children;
+
+    /** Parents always precede their children here. */
+    private final List<TestObject<OrgType>> generatedOrgs = new ArrayList<>();
+    private final List<String> leafOrgNames = new ArrayList<>();
+    private final List<String> topLevelOrgOids = new ArrayList<>();
+
+    private OrgsConfiguration() {
+        depth = Integer.parseInt(System.getProperty(PROP_DEPTH, "0"));
+        children = Integer.parseInt(System.getProperty(PROP_CHILDREN, "3"));
+
+        if (depth > 0) {
+            generateOrg("org", null, 1);
+        }
+    }
+
+    boolean isEnabled() {
+        return depth > 0;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    int getChildren() {
+        return children;
+    }
+
+    int getNumberOfOrgs() {
+        return generatedOrgs.size();
+    }
+
+    List<TestObject<OrgType>> getGeneratedOrgs() {
+        return generatedOrgs;
+    }
+
+    /** Orgs right below the root (or the root itself, if there is only one level); used for subtree searches. */
+    List<String> getTopLevelOrgOids() {
+        return topLevelOrgOids;
+    }
+
+    /** Deterministically distributes the accounts among the leaf orgs. */
+    String getOrgForAccount(int accountIndex) {
+        return leafOrgNames.get(accountIndex % leafOrgNames.size());
+    }
+
+    @Override
+    public String toString() {
+        return "OrgsConfiguration{" +
+                "depth=" + depth +
+                ", children=" + children +
+                ", orgs=" + generatedOrgs.size() +
+                '}';
+    }
+
+    public static OrgsConfiguration setup() {
+        OrgsConfiguration configuration = new OrgsConfiguration();
+        System.out.println("Orgs: " + configuration);
+        return configuration;
+    }
+
+    private void generateOrg(String name, String parentOid, int level) {
+        String oid = RandomSource.randomUUID().toString();
+        generatedOrgs.add(TestObject.file(TARGET_DIR, createOrgDefinition(name, oid, parentOid), oid));
+        if (level == Math.min(2, depth)) {
+            topLevelOrgOids.add(oid);
+        }
+        if (level == depth) {
+            leafOrgNames.add(name);
+        } else {
+            for (int i = 0; i < children; i++) {
+                generateOrg(name + "-" + i, oid, level + 1);
+            }
+        }
+    }
+
+    private String createOrgDefinition(String name, String oid, String parentOid) {
+        String fileName = "generated-" + name + ".xml";
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("oid", oid);
+        parameters.put("name", name);
+        parameters.put("parentOid", parentOid != null ? parentOid : "");
+
+        VelocityGenerator.generate(ORG_TEMPLATE_FILE, new File(TARGET_DIR, fileName), parameters);
+        return fileName;
+    }
+}
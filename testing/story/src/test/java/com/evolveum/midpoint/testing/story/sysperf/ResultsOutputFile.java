@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.story.sysperf;
+
+import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+import com.evolveum.midpoint.util.exception.SystemException;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.BuildInformationType;
+
+/**
+ * Machine-readable (JSON) results, suitable for comparing different midPoint versions or configurations.
+ * Contains the build information, all the parameters, and the metrics of individual workloads.
+ *
+ * The file is rewritten after each workload, so it contains the data collected so far even if the test fails.
+ */
+class ResultsOutputFile {
+
+    private final Map<String, Object> content = new LinkedHashMap<>();
+    private final List<Object> tasks = new ArrayList<>();
+    private final List<Object> searches = new ArrayList<>();
+
+    private File getFile() {
+        return new File(TARGET_DIR, START + "-" + OTHER_PARAMETERS.label + "-results.json");
+    }
+
+    void logStart(BuildInformationType build, List<String> parameterNames, List<Object> parameterValues) {
+        content.put("label", OTHER_PARAMETERS.label);
+        content.put("started", START);
+        content.put("version", build != null ? build.getVersion() : null);
+        content.put("revision", build != null ? build.getRevision() : null);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < parameterNames.size(); i++) {
+            parameters.put(parameterNames.get(i), parameterValues.get(i));
+        }
+        content.put("parameters", parameters);
+        content.put("tasks", tasks);
+        content.put("searches", searches);
+        write();
+    }
+
+    void logTaskFinish(String desc, long executionTime, int items) {
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("name", desc);
+        task.put("executionTime", executionTime);
+        task.put("items", items);
+        task.put("timePerItem", items > 0 ? (double) executionTime / items : null);
+        task.put("throughput", executionTime > 0 ? items * 1000.0 / executionTime : null);
+        tasks.add(task);
+        write();
+    }
+
+    /** Times are in nanoseconds, they are written as (fractional) milliseconds. */
+    void logSearchFinish(String name, LongSummaryStatistics nanoTimes) {
+        Map<String, Object> search = new LinkedHashMap<>();
+        search.put("name", name);
+        search.put("executions", nanoTimes.getCount());
+        search.put("totalTime", nanoTimes.getSum() / 1e6);
+        search.put("averageTime", nanoTimes.getAverage() / 1e6);
+        search.put("minTime", nanoTimes.getMin() / 1e6);
+        search.put("maxTime", nanoTimes.getMax() / 1e6);
+        searches.add(search);
+        write();
+    }
+
+    void logFinish() {
+        long end = System.currentTimeMillis();
+        content.put("finished", end);
+        content.put("duration", end - START);
+        write();
+    }
+
+    private void write() {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(getFile()))) {
+            StringBuilder sb = new StringBuilder();
+            writeValue(sb, content, 0);
+            writer.println(sb);
+        } catch (IOException e) {
+            throw new SystemException(e);
+        }
+    }
+
+    private static void writeValue(StringBuilder sb, Object value, int indent) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Map<?, ?> map) {
+            sb.append('{');
+            String separator = "\n";
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                sb.append(separator).append("  ".repeat(indent + 1));
+                writeString(sb, String.valueOf(entry.getKey()));
+                sb.append(": ");
+                writeValue(sb, entry.getValue(), indent + 1);
+                separator = ",\n";
+            }
+            sb.append(map.isEmpty() ? "" : "\n" + "  ".repeat(indent)).append('}');
+        } else if (value instanceof Collection<?> collection) {
+            sb.append('[');
+            String separator = "\n";
+            for (Object item : collection) {
+                sb.append(separator).append("  ".repeat(indent + 1));
+                writeValue(sb, item, indent + 1);
+                separator = ",\n";
+            }
+            sb.append(collection.isEmpty() ? "" : "\n" + "  ".repeat(indent)).append(']');
+        } else if (value instanceof Double d) {
+            sb.append(d.isNaN() || d.isInfinite() ? "null" : String.format(Locale.US, "%.3f", d));
+        } else if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else {
+            writeString(sb, value.toString());
+        }
+    }
+
+    private static void writeString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -35,6 +35,7 @@ class RolesConfiguration {
     private static final String PROP_INDUCEMENTS_COUNT = PROP_INDUCEMENTS + ".count";
     private static final String PROP_INDUCEMENTS_MIN = PROP_INDUCEMENTS + ".min";
     private static final String PROP_INDUCEMENTS_MAX = PROP_INDUCEMENTS + ".max";
+    private static final String PROP_INDUCEMENT_DEPTH = PROP + ".inducement-depth";
     private static final String PROP_MEMBER_OF_COMPUTATION = PROP + ".memberOfComputation";
 
     private static final File BUSINESS_ROLE_TEMPLATE_FILE = new File(TEST_DIR, "role-business.vm.xml");
@@ -47,10 +48,17 @@ class RolesConfiguration {
     private final int numberOfInducementsMin;
     private final int numberOfInducementsMax;
 
+    /**
+     * Length of the inducement chain from a business role to technical roles. For values greater than 1,
+     * each business role gets its own chain of (depth - 1) intermediate roles, the last of them inducing the technical roles.
+     */
+    private final int inducementDepth;
+
     private final boolean memberOfComputation;
 
     private final List<TestObject<RoleType>> generatedBusinessRoles;
     private final List<TestObject<RoleType>> generatedTechnicalRoles;
+    private final List<TestObject<RoleType>> generatedIntermediateRoles = new ArrayList<>();
 
     private RolesConfiguration() {
         numberOfBusinessRoles = Integer.parseInt(System.getProperty(PROP_BUSINESS_COUNT, "2"));
@@ -69,6 +77,7 @@ class RolesConfiguration {
             numberOfInducementsMin = Integer.parseInt(System.getProperty(PROP_INDUCEMENTS_MIN, "1"));
             numberOfInducementsMax = Integer.parseInt(System.getProperty(PROP_INDUCEMENTS_MAX, String.valueOf(numberOfInducementsMin)));
         }
+        inducementDepth = Math.max(1, Integer.parseInt(System.getProperty(PROP_INDUCEMENT_DEPTH, "1")));
         memberOfComputation = Boolean.parseBoolean(System.getProperty(PROP_MEMBER_OF_COMPUTATION, "false"));
 
         generatedTechnicalRoles = generateTechnicalRoles();
@@ -107,6 +116,14 @@ class RolesConfiguration {
         return generatedTechnicalRoles;
     }
 
+    List<TestObject<RoleType>> getGeneratedIntermediateRoles() {
+        return generatedIntermediateRoles;
+    }
+
+    int getInducementDepth() {
+        return inducementDepth;
+    }
+
     boolean isMemberOfComputation() {
         return memberOfComputation;
     }
@@ -120,6 +137,7 @@ class RolesConfiguration {
                 ", numberOfAssignmentsMax=" + numberOfAssignmentsMax +
                 ", numberOfInducementsMin=" + numberOfInducementsMin +
                 ", numberOfInducementsMax=" + numberOfInducementsMax +
+                ", inducementDepth=" + inducementDepth +
                 ", memberOfComputation=" + memberOfComputation +
                 '}';
     }
@@ -157,6 +175,7 @@ class RolesConfiguration {
                         "index", String.format("%04d", index),
                         "resourceOid", resourceOid,
                         "metarole", memberOfComputation,
+                        "technicalSegmentIndex", inducementDepth,
                         "mappingStrength", TARGETS_CONFIGURATION.getMappingStrength()));
 
         return fileName;
@@ -167,6 +186,9 @@ class RolesConfiguration {
         for (int i = 0; i < numberOfBusinessRoles; i++) {
             String oid = RandomSource.randomUUID().toString();
             List<String> inducedOidList = createInducedOidList();
+            for (int level = inducementDepth - 1; level > 0; level--) {
+                inducedOidList = List.of(createIntermediateRole(i, level, inducedOidList));
+            }
             String fileName = createBusinessRoleDefinition(i, oid, inducedOidList);
             roles.add(TestObject.file(TARGET_DIR, fileName, oid));
         }
@@ -210,6 +232,21 @@ class RolesConfiguration {
         return fileName;
     }
 
+    /** Creates an intermediate role inducing given roles, returns its OID. */
+    private String createIntermediateRole(int businessRoleIndex, int level, List<String> inducedOidList) {
+        String oid = RandomSource.randomUUID().toString();
+        String name = String.format("%s-level-%d", getBusinessRoleName(businessRoleIndex), level);
+        String fileName = "generated-intermediate-role-" + name + ".xml";
+
+        VelocityGenerator.generate(BUSINESS_ROLE_TEMPLATE_FILE, new File(TARGET_DIR, fileName),
+                Map.of("oid", oid,
+                        "name", name,
+                        "inducedOidList", inducedOidList));
+
+        generatedIntermediateRoles.add(TestObject.file(TARGET_DIR, fileName, oid));
+        return oid;
+    }
+
     private String getBusinessRoleName(int index) {
         return String.format("business-%04d", index);
     }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.testing.story.sysperf;
+
+/**
+ * GUI-like searches: paged, ordered and filtered searches with the respective counts, as executed when browsing
+ * object lists in the user interface. Each kind of search is executed `search.iterations` times.
+ */
+class SearchConfiguration {
+
+    private static final String PROP = "search";
+    private static final String PROP_ITERATIONS = PROP + ".iterations";
+    private static final String PROP_PAGE_SIZE = PROP + ".page-size";
+
+    private final int iterations;
+    private final int pageSize;
+
+    private SearchConfiguration() {
+        iterations = Integer.parseInt(System.getProperty(PROP_ITERATIONS, "10"));
+        pageSize = Integer.parseInt(System.getProperty(PROP_PAGE_SIZE, "20"));
+    }
+
+    int getIterations() {
+        return iterations;
+    }
+
+    int getPageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchConfiguration{" +
+                "iterations=" + iterations +
+                ", pageSize=" + pageSize +
+                '}';
+    }
+
+    public static SearchConfiguration setup() {
+        SearchConfiguration configuration = new SearchConfiguration();
+        System.out.println("Search: " + configuration);
+        return configuration;
+    }
+}
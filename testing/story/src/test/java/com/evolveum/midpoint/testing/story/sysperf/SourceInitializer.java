@@ -17,6 +17,8 @@ import java.io.FileNotFoundException;
 import java.net.ConnectException;
 import java.util.List;
 
+import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.LIVE_SYNC_CONFIGURATION;
+import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.ORGS_CONFIGURATION;
 import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.ROLES_CONFIGURATION;
 import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.SOURCES_CONFIGURATION;
 
@@ -41,6 +43,10 @@ public class SourceInitializer {
         for (DummyTestResource resource : resources) {
             initializeResource(resource, result);
             createAccounts(resource, primary);
+            if (primary && LIVE_SYNC_CONFIGURATION.isEnabled()) {
+                // Only changes made after the initial population are recorded.
+                resource.getDummyResource().setSyncStyle(DummySyncStyle.SMART);
+            }
             primary = false;
             SOURCES_CONFIGURATION.getOperationDelay().applyTo(resource);
         }
@@ -66,6 +72,9 @@ public class SourceInitializer {
         if (primary) {
             addAttributes(account, SourcesConfiguration.A_SINGLE_NAME, SOURCES_CONFIGURATION.getSingleValuedMappings(), 1);
             addRoles(account);
+            if (ORGS_CONFIGURATION.isEnabled()) {
+                account.addAttributeValue(SourcesConfiguration.A_ORG, ORGS_CONFIGURATION.getOrgForAccount(u));
+            }
         }
         addAttributes(account, SourcesConfiguration.A_MULTI_NAME, SOURCES_CONFIGURATION.getMultiValuedMappings(),
                 SOURCES_CONFIGURATION.getAttributeValues());
@@ -8,6 +8,7 @@ package com.evolveum.midpoint.testing.story.sysperf;
 
 import static java.util.Collections.emptyList;
 
+import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.ORGS_CONFIGURATION;
 import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.TARGET_DIR;
 import static com.evolveum.midpoint.testing.story.sysperf.TestSystemPerformance.TEST_DIR;
 
@@ -39,6 +40,7 @@ class SourcesConfiguration {
     static final String A_SINGLE_NAME = "a-single-%04d";
     static final String A_MULTI_NAME = "a-multi-%04d";
     static final String A_ROLE = "role";
+    static final String A_ORG = "org";
 
     private static final File RESOURCE_TEMPLATE_FILE = new File(TEST_DIR, "resource-source.vm.xml");
 
@@ -127,6 +129,10 @@ class SourcesConfiguration {
                             createAttributes(controller, A_SINGLE_NAME, singleValuedMappings, false);
                             controller.addAttrDef(controller.getDummyResource().getAccountObjectClass(),
                                     A_ROLE, String.class, false, true);
+                            if (ORGS_CONFIGURATION.isEnabled()) {
+                                controller.addAttrDef(controller.getDummyResource().getAccountObjectClass(),
+                                        A_ORG, String.class, false, false);
+                            }
                         }
                         createAttributes(controller, A_MULTI_NAME, multiValuedMappings, true);
                     }));
@@ -145,6 +151,7 @@ class SourcesConfiguration {
                         "singleValuedIndexList", primary ?
                                 Util.createIndexList(singleValuedMappings) : emptyList(),
                         "primary", primary,
+                        "orgs", primary && ORGS_CONFIGURATION.isEnabled(),
                         "defaultRange", defaultRange,
                         "mappingStrength", mappingStrength));
         return generatedFileName;
@@ -35,11 +35,14 @@ class SummaryOutputFile {
         writer.printf("Schema: %s\n", SCHEMA_CONFIGURATION);
         writer.printf("Sources: %s\n", SOURCES_CONFIGURATION);
         writer.printf("Targets: %s\n", TARGETS_CONFIGURATION);
+        writer.printf("Orgs: %s\n", ORGS_CONFIGURATION);
         writer.printf("Roles: %s\n", ROLES_CONFIGURATION);
         writer.printf("Import: %s\n", IMPORTS_CONFIGURATION);
         writer.printf("Reconciliation (with source): %s\n", RECONCILIATION_WITH_SOURCE_CONFIGURATION);
         writer.printf("Reconciliation (with target): %s\n", RECONCILIATION_WITH_TARGET_CONFIGURATION);
         writer.printf("Recomputation: %s\n", RECOMPUTATION_CONFIGURATION);
+        writer.printf("Live sync: %s\n", LIVE_SYNC_CONFIGURATION);
+        writer.printf("Search: %s\n", SEARCH_CONFIGURATION);
         writer.printf("Other: %s\n", OTHER_PARAMETERS);
         writer.printf("Shadow caching: %s\n\n", InternalsConfig.getShadowCachingDefault());
         writer.flush();
@@ -23,7 +23,13 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.evolveum.midpoint.prism.path.ItemName;
+import com.evolveum.midpoint.prism.query.ObjectPaging;
+import com.evolveum.midpoint.prism.query.ObjectQuery;
+import com.evolveum.midpoint.prism.query.OrderDirection;
 import com.evolveum.midpoint.repo.api.CacheDispatcher;
+import com.evolveum.midpoint.schema.GetOperationOptions;
+import com.evolveum.midpoint.schema.SelectorOptions;
+import com.evolveum.midpoint.schema.constants.SchemaConstants;
 import com.evolveum.midpoint.schema.internals.InternalCounters;
 import com.evolveum.midpoint.schema.util.ObjectTypeUtil;
 import com.evolveum.midpoint.schema.util.task.ActivityPerformanceInformation;
@@ -39,9 +45,11 @@ import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
 import com.evolveum.icf.dummy.resource.DummyAccount;
+import com.evolveum.icf.dummy.resource.DummyResource;
 import com.evolveum.midpoint.prism.PrismContainerDefinition;
 import com.evolveum.midpoint.prism.PrismObject;
 import com.evolveum.midpoint.prism.PrismObjectDefinition;
@@ -64,6 +72,11 @@ import com.evolveum.midpoint.xml.ns._public.common.common_3.*;
  * Examples:
  *
  *   -Dsources.resources=2 -Dtargets.resources=3 -Droles.business.count=10 -Droles.technical.count=20 -Droles.assignments.count=4 -Droles.inducements.count=5
+ *   -Dorgs.depth=3 -Dorgs.children=5 -Droles.inducement-depth=3 -Dlive-sync.changes=100 -Dsearch.iterations=50
+ *   -Dtargets.operation-delay-offset=5 -Dtargets.operation-delay-range=10
+ *
+ * Besides the text and CSV outputs, the results are written in JSON form (see {@link ResultsOutputFile}),
+ * so they can be compared across versions.
  */
 @SuppressWarnings("BusyWait")
 @ContextConfiguration(locations = { "classpath:ctx-story-test-main.xml" })
@@ -83,6 +96,7 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
     private static final ItemName EXT_MEMBER_OF = new ItemName(NS_EXT, "memberOf");
 
     static final SchemaConfiguration SCHEMA_CONFIGURATION;
+    static final OrgsConfiguration ORGS_CONFIGURATION;
     static final SourcesConfiguration SOURCES_CONFIGURATION;
     static final TargetsConfiguration TARGETS_CONFIGURATION;
     static final RolesConfiguration ROLES_CONFIGURATION;
@@ -90,6 +104,8 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
     static final ReconciliationWithSourceConfiguration RECONCILIATION_WITH_SOURCE_CONFIGURATION;
     static final ReconciliationWithTargetConfiguration RECONCILIATION_WITH_TARGET_CONFIGURATION;
     static final RecomputationConfiguration RECOMPUTATION_CONFIGURATION;
+    static final LiveSyncConfiguration LIVE_SYNC_CONFIGURATION;
+    static final SearchConfiguration SEARCH_CONFIGURATION;
 
     static final OtherParameters OTHER_PARAMETERS;
 
@@ -107,23 +123,29 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
 
     private static final List<TestObject<RoleType>> BUSINESS_ROLE_LIST;
     private static final List<TestObject<RoleType>> TECHNICAL_ROLE_LIST;
+    private static final List<TestObject<RoleType>> INTERMEDIATE_ROLE_LIST;
+    private static final List<TestObject<OrgType>> ORG_LIST;
     private static final List<TestObject<TaskType>> TASK_IMPORT_LIST;
     private static final List<TestObject<TaskType>> TASK_RECONCILIATION_WITH_SOURCE_LIST;
     private static final List<TestObject<TaskType>> TASK_RECONCILIATION_WITH_TARGET_LIST;
     private static final TestObject<TaskType> TASK_RECOMPUTE;
+    private static final TestObject<TaskType> TASK_LIVE_SYNC;
 
     static final long START = System.currentTimeMillis();
 
     private static final String REPORT_SECTION_SUMMARY_NAME = "summary";
     private static final String REPORT_SECTION_TASK_EXECUTION_NAME = "taskExecution";
     private static final String REPORT_SECTION_TASK_EXECUTION_DENORMALIZED_NAME = "taskExecutionDenormalized";
+    private static final String REPORT_SECTION_SEARCH_NAME = "search";
 
     private TestReportSection taskExecutionReportSection;
     private TestReportSection taskExecutionDenormalizedReportSection;
+    private TestReportSection searchReportSection;
 
     private final ProgressOutputFile progressOutputFile = new ProgressOutputFile();
     private final SummaryOutputFile summaryOutputFile = new SummaryOutputFile();
     private final DetailsOutputFile detailsOutputFile = new DetailsOutputFile();
+    private final ResultsOutputFile resultsOutputFile = new ResultsOutputFile();
     private final TaskDumper taskDumper = new TaskDumper();
 
     private final List<String> summaryReportHeader = new ArrayList<>();
@@ -133,6 +155,7 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
 
     static {
         SCHEMA_CONFIGURATION = SchemaConfiguration.setup();
+        ORGS_CONFIGURATION = OrgsConfiguration.setup();
         SOURCES_CONFIGURATION = SourcesConfiguration.setup();
         TARGETS_CONFIGURATION = TargetsConfiguration.setup();
         ROLES_CONFIGURATION = RolesConfiguration.setup();
@@ -140,6 +163,8 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
         RECONCILIATION_WITH_SOURCE_CONFIGURATION = ReconciliationWithSourceConfiguration.setup();
         RECONCILIATION_WITH_TARGET_CONFIGURATION = ReconciliationWithTargetConfiguration.setup();
         RECOMPUTATION_CONFIGURATION = RecomputationConfiguration.setup();
+        LIVE_SYNC_CONFIGURATION = LiveSyncConfiguration.setup();
+        SEARCH_CONFIGURATION = SearchConfiguration.setup();
 
         OTHER_PARAMETERS = OtherParameters.setup();
 
@@ -149,10 +174,13 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
         RESOURCE_TARGET_LIST = TARGETS_CONFIGURATION.getGeneratedResources();
         BUSINESS_ROLE_LIST = ROLES_CONFIGURATION.getGeneratedBusinessRoles();
         TECHNICAL_ROLE_LIST = ROLES_CONFIGURATION.getGeneratedTechnicalRoles();
+        INTERMEDIATE_ROLE_LIST = ROLES_CONFIGURATION.getGeneratedIntermediateRoles();
+        ORG_LIST = ORGS_CONFIGURATION.getGeneratedOrgs();
         TASK_IMPORT_LIST = IMPORTS_CONFIGURATION.getGeneratedTasks();
         TASK_RECONCILIATION_WITH_SOURCE_LIST = RECONCILIATION_WITH_SOURCE_CONFIGURATION.getGeneratedTasks();
         TASK_RECONCILIATION_WITH_TARGET_LIST = RECONCILIATION_WITH_TARGET_CONFIGURATION.getGeneratedTasks();
         TASK_RECOMPUTE = RECOMPUTATION_CONFIGURATION.getGeneratedTask();
+        TASK_LIVE_SYNC = LIVE_SYNC_CONFIGURATION.getGeneratedTask();
 
         System.setProperty(PERF_REPORT_PREFIX_PROPERTY_NAME, createReportFilePrefix());
     }
@@ -163,6 +191,9 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
         if (OTHER_PARAMETERS.disableDefaultMultivalueProvenance && SOURCES_CONFIGURATION.defaultRange) {
             throw new IllegalStateException("Cannot use default ranges without multivalue provenance");
         }
+        if (ROLES_CONFIGURATION.isMemberOfComputation() && ROLES_CONFIGURATION.getInducementDepth() > 1) {
+            throw new IllegalStateException("Cannot use memberOf computation with intermediate roles");
+        }
     }
 
     private static String createReportFilePrefix() {
@@ -199,10 +230,18 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
             addObject(resource, initTask, initResult); // creates resource objects
         }
 
+        for (TestObject<?> role : INTERMEDIATE_ROLE_LIST) {
+            repoAdd(role, initResult);
+        }
+
         for (TestObject<?> resource : BUSINESS_ROLE_LIST) {
             repoAdd(resource, initResult);
         }
 
+        for (TestObject<?> org : ORG_LIST) {
+            repoAdd(org, initResult); // parents go first
+        }
+
         createSummaryReportData();
     }
 
@@ -223,11 +262,14 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
                         "sources", "accounts", "singleValuedInboundMappings", "multiValuedInboundMappings", "attributeValues",
                         "targets", "singleValuedOutboundMappings", "multiValuedOutboundMappings",
                         "businessRoles", "technicalRoles", "assignmentsMin", "assignmentsMax", "inducementsMin", "inducementsMax",
-                        "memberOfComputation",
+                        "inducementDepth", "memberOfComputation",
+                        "orgsDepth", "orgsChildren", "orgs",
                         "schemaSingleValuedProperties", "schemaMultiValuedProperties", "schemaIndexedPercentage",
                         "importTaskThreads",
                         "reconciliationTaskThreads",
-                        "recomputationTaskThreads"));
+                        "recomputationTaskThreads",
+                        "liveSyncChanges", "liveSyncTaskThreads",
+                        "searchIterations", "searchPageSize"));
 
         summaryReportDataRow.clear();
         summaryReportDataRow.addAll(
@@ -250,15 +292,26 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
                         ROLES_CONFIGURATION.getNumberOfAssignmentsMax(),
                         ROLES_CONFIGURATION.getNumberOfInducementsMin(),
                         ROLES_CONFIGURATION.getNumberOfInducementsMax(),
+                        ROLES_CONFIGURATION.getInducementDepth(),
                         ROLES_CONFIGURATION.isMemberOfComputation(),
 
+                        ORGS_CONFIGURATION.getDepth(),
+                        ORGS_CONFIGURATION.getChildren(),
+                        ORGS_CONFIGURATION.getNumberOfOrgs(),
+
                         SCHEMA_CONFIGURATION.getSingleValuedProperties(),
                         SCHEMA_CONFIGURATION.getMultiValuedProperties(),
                         SCHEMA_CONFIGURATION.getIndexedPercentage(),
 
                         IMPORTS_CONFIGURATION.getThreads(),
                         RECONCILIATION_WITH_SOURCE_CONFIGURATION.getThreads(),
-                        RECOMPUTATION_CONFIGURATION.getThreads()));
+                        RECOMPUTATION_CONFIGURATION.getThreads(),
+
+                        LIVE_SYNC_CONFIGURATION.getChanges(),
+                        LIVE_SYNC_CONFIGURATION.getThreads(),
+
+                        SEARCH_CONFIGURATION.getIterations(),
+                        SEARCH_CONFIGURATION.getPageSize()));
     }
 
     @Override
@@ -290,18 +343,25 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
         taskExecutionDenormalizedReportSection = testMonitor().addReportSection(REPORT_SECTION_TASK_EXECUTION_DENORMALIZED_NAME)
                 .withColumns(ListUtils.union(summaryReportHeader, taskExecutionHeader).toArray(new String[0]));
 
+        searchReportSection = testMonitor().addReportSection(REPORT_SECTION_SEARCH_NAME)
+                .withColumns("search", "executions", "totalTime", "averageTime", "minTime", "maxTime");
+
         logger.info("********** STARTED **********\n");
         logger.info("Extension schema: {}", SCHEMA_CONFIGURATION);
         logger.info("Sources: {}", SOURCES_CONFIGURATION);
         logger.info("Targets: {}", TARGETS_CONFIGURATION);
+        logger.info("Orgs: {}", ORGS_CONFIGURATION);
         logger.info("Roles: {}", ROLES_CONFIGURATION);
         logger.info("Import: {}", IMPORTS_CONFIGURATION);
         logger.info("Reconciliation (with source): {}", RECONCILIATION_WITH_SOURCE_CONFIGURATION);
         logger.info("Reconciliation (with target): {}", RECONCILIATION_WITH_TARGET_CONFIGURATION);
         logger.info("Recomputation: {}", RECOMPUTATION_CONFIGURATION);
+        logger.info("Live sync: {}", LIVE_SYNC_CONFIGURATION);
+        logger.info("Search: {}", SEARCH_CONFIGURATION);
         logger.info("Other: {}", OTHER_PARAMETERS);
 
         summaryOutputFile.logStart();
+        resultsOutputFile.logStart(taskManager.getLocalNode().getBuild(), summaryReportHeader, summaryReportDataRow);
     }
 
     @Test
@@ -381,7 +441,7 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
 
         boolean memberOf = ROLES_CONFIGURATION.isMemberOfComputation();
         PrismObject<UserType> user = assertUserAfterByUsername(accountName)
-                .assertAssignments(roles.size() + 1) // 1. archetype
+                .assertAssignments(roles.size() + 1 + (ORGS_CONFIGURATION.isEnabled() ? 1 : 0)) // archetype, org
                 .assertLinks(SOURCES_CONFIGURATION.getNumberOfResources() + TARGETS_CONFIGURATION.getNumberOfResources(), 0)
                 .extension()
                     .assertSize(SOURCES_CONFIGURATION.getSingleValuedMappings() +
@@ -631,6 +691,157 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
         dumpRepresentativeShadows();
     }
 
+    /**
+     * Modifies accounts on the primary source resource and processes the changes by a live sync task.
+     * The first task run only fetches the current token.
+     */
+    @Test
+    public void test140LiveSync() throws Exception {
+        if (!LIVE_SYNC_CONFIGURATION.isEnabled()) {
+            throw new SkipException("Live sync is not enabled");
+        }
+
+        given();
+
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        addTask(TASK_LIVE_SYNC, result);
+        waitForTaskFinish(TASK_LIVE_SYNC.oid, OTHER_PARAMETERS.taskTimeout);
+
+        String changedAttribute = SOURCES_CONFIGURATION.getSingleValuedMappings() > 0 ?
+                String.format(SourcesConfiguration.A_SINGLE_NAME, 0) :
+                String.format(SourcesConfiguration.A_MULTI_NAME, 0);
+        DummyResource sourceResource = RESOURCE_SOURCE_LIST.get(0).getDummyResource();
+        for (int u = 0; u < LIVE_SYNC_CONFIGURATION.getChanges(); u++) {
+            sourceResource.getAccountByName(SourceInitializer.getAccountName(u))
+                    .replaceAttributeValue(changedAttribute, "changed-" + u);
+        }
+
+        rememberCounter(InternalCounters.PRISM_OBJECT_CLONE_COUNT);
+
+        when();
+
+        lastProgress = 0;
+        clearRepoCacheIfRequested();
+        restartTask(TASK_LIVE_SYNC.oid, result);
+        Thread.sleep(500);
+        waitForTaskFinish(TASK_LIVE_SYNC.oid, 0, OTHER_PARAMETERS.taskTimeout, false, 0,
+                builder -> builder.taskConsumer(task1 -> recordProgress("", task1)));
+
+        then();
+
+        PrismObject<TaskType> taskAfter = assertTask(TASK_LIVE_SYNC.oid, "after")
+                .display()
+                .assertSuccess()
+                .assertClosed()
+                .getObject();
+
+        logTaskFinish(taskAfter, "", LIVE_SYNC_CONFIGURATION.getChanges(), result);
+        taskDumper.dumpTask(taskAfter, getTestNameShort());
+
+        displayCounterIncrement(InternalCounters.PRISM_OBJECT_CLONE_COUNT);
+
+        if (SOURCES_CONFIGURATION.getSingleValuedMappings() > 0) {
+            assertUserAfterByUsername(SourceInitializer.getAccountName(0))
+                    .extension()
+                    .assertPropertyValuesEqual(getSingleValuedPropertyQName(0), "changed-0");
+        }
+    }
+
+    /**
+     * Executes searches similar to the ones issued by GUI when browsing object lists: a page of objects
+     * (ordered by name) plus the count of all objects matching the filter.
+     */
+    @Test
+    public void test150GuiSearch() throws Exception {
+        given();
+
+        Task task = getTestTask();
+        OperationResult result = task.getResult();
+
+        int pageSize = SEARCH_CONFIGURATION.getPageSize();
+        int accounts = SOURCES_CONFIGURATION.getNumberOfAccounts();
+        Random random = RandomSource.FIXED_RANDOM;
+        Map<String, LongSummaryStatistics> statistics = new LinkedHashMap<>();
+
+        when();
+
+        clearRepoCacheIfRequested();
+        for (int i = 0; i < SEARCH_CONFIGURATION.getIterations(); i++) {
+            // Users list, a random page.
+            executeGuiSearch("users-page", statistics, UserType.class,
+                    prismContext.queryFor(UserType.class).build(),
+                    random.nextInt(Math.max(1, accounts / pageSize)) * pageSize, null, task, result);
+
+            // Users list, searching by name prefix (matches up to 100 users).
+            String accountName = SourceInitializer.getAccountName(random.nextInt(accounts));
+            executeGuiSearch("users-by-name-prefix", statistics, UserType.class,
+                    prismContext.queryFor(UserType.class)
+                            .item(UserType.F_NAME).startsWithPoly(accountName.substring(0, accountName.length() - 2))
+                            .build(),
+                    0, null, task, result);
+
+            // Members of a business role.
+            if (!BUSINESS_ROLE_LIST.isEmpty()) {
+                String roleOid = BUSINESS_ROLE_LIST.get(random.nextInt(BUSINESS_ROLE_LIST.size())).oid;
+                executeGuiSearch("users-by-role", statistics, UserType.class,
+                        prismContext.queryFor(UserType.class)
+                                .item(UserType.F_ROLE_MEMBERSHIP_REF).ref(roleOid)
+                                .build(),
+                        0, null, task, result);
+            }
+
+            // Members of an org subtree.
+            if (ORGS_CONFIGURATION.isEnabled()) {
+                List<String> orgOids = ORGS_CONFIGURATION.getTopLevelOrgOids();
+                executeGuiSearch("users-in-org-subtree", statistics, UserType.class,
+                        prismContext.queryFor(UserType.class)
+                                .isChildOf(orgOids.get(random.nextInt(orgOids.size())))
+                                .build(),
+                        0, null, task, result);
+            }
+
+            // Accounts of a resource, from the repository only.
+            DummyTestResource resource = RESOURCE_SOURCE_LIST.get(random.nextInt(RESOURCE_SOURCE_LIST.size()));
+            executeGuiSearch("shadows-of-resource", statistics, ShadowType.class,
+                    prismContext.queryFor(ShadowType.class)
+                            .item(ShadowType.F_RESOURCE_REF).ref(resource.oid)
+                            .and().item(ShadowType.F_OBJECT_CLASS).eq(SchemaConstants.RI_ACCOUNT_OBJECT_CLASS)
+                            .build(),
+                    0, GetOperationOptions.createNoFetchCollection(), task, result);
+        }
+
+        then();
+
+        assertSuccess(result);
+
+        statistics.forEach((name, times) -> {
+            logger.info(String.format("Search %s: %d executions, average time: %,.3f ms",
+                    name, times.getCount(), times.getAverage() / 1e6));
+            searchReportSection.addRow(name, times.getCount(),
+                    times.getSum() / 1e6, times.getAverage() / 1e6, times.getMin() / 1e6, times.getMax() / 1e6);
+            resultsOutputFile.logSearchFinish(name, times);
+        });
+    }
+
+    /** Searches for a page of objects ordered by name, and counts all the objects matching the query. */
+    private <T extends ObjectType> void executeGuiSearch(
+            String name, Map<String, LongSummaryStatistics> statistics, Class<T> type, ObjectQuery query, int offset,
+            Collection<SelectorOptions<GetOperationOptions>> options, Task task, OperationResult result)
+            throws CommonException {
+        ObjectPaging paging = prismContext.queryFactory().createPaging(offset, SEARCH_CONFIGURATION.getPageSize());
+        paging.setOrdering(ObjectType.F_NAME, OrderDirection.ASCENDING);
+        ObjectQuery pagedQuery = query.clone();
+        pagedQuery.setPaging(paging);
+
+        long start = System.nanoTime();
+        modelService.searchObjects(type, pagedQuery, options, task, result);
+        modelService.countObjects(type, query, options, task, result);
+        statistics.computeIfAbsent(name, k -> new LongSummaryStatistics())
+                .accept(System.nanoTime() - start);
+    }
+
     @Test
     public void test999Finish() {
         logFinish();
@@ -656,6 +867,11 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
     }
 
     private void logTaskFinish(PrismObject<TaskType> taskAfter, String label, OperationResult result) throws CommonException {
+        logTaskFinish(taskAfter, label, SOURCES_CONFIGURATION.getNumberOfAccounts(), result);
+    }
+
+    private void logTaskFinish(PrismObject<TaskType> taskAfter, String label, int numberOfAccounts, OperationResult result)
+            throws CommonException {
         String desc = label + taskAfter.getName().getOrig();
 
         TreeNode<ActivityPerformanceInformation> performanceInformationTree =
@@ -665,7 +881,6 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
                         .mapToLong(data -> or0(data.getWallClockTime()))
                         .sum();
         int executionTimeSeconds = (int) (executionTime / 1000);
-        int numberOfAccounts = SOURCES_CONFIGURATION.getNumberOfAccounts();
         double timePerAccount = (double) executionTime / (double) numberOfAccounts;
 
         PrismObject<TaskType> taskTree = getTaskTree(taskAfter.getOid());
@@ -679,6 +894,7 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
 
         summaryOutputFile.logTaskFinish(desc, executionTime, timePerAccount);
         detailsOutputFile.logTaskFinish(desc, performanceInformationTree, operationStats);
+        resultsOutputFile.logTaskFinish(desc, executionTime, numberOfAccounts);
 
         List<Object> dataRow = Arrays.asList(desc, executionTime, timePerAccount);
         taskExecutionReportSection
@@ -700,6 +916,7 @@ public class TestSystemPerformance extends AbstractStoryTest implements Performa
 
     private void logFinish() {
         summaryOutputFile.logFinish();
+        resultsOutputFile.logFinish();
     }
 
     private void recordProgress(String label, Task task) {
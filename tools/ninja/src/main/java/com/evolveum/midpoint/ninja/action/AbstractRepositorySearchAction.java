@@ -17,6 +17,7 @@ import com.evolveum.midpoint.ninja.action.worker.ProgressReporterWorker;
 import com.evolveum.midpoint.ninja.action.worker.SearchProducerWorker;
 import com.evolveum.midpoint.ninja.impl.LogTarget;
 import com.evolveum.midpoint.ninja.impl.NinjaContext;
+import com.evolveum.midpoint.ninja.util.ExportSegment;
 import com.evolveum.midpoint.ninja.util.NinjaUtils;
 import com.evolveum.midpoint.ninja.util.OperationStatus;
 import com.evolveum.midpoint.prism.PrismContext;
@@ -118,8 +119,23 @@ public abstract class AbstractRepositorySearchAction<O extends ExportOptions, R>
     private List<SearchProducerWorker> createProducers(BlockingQueue<ObjectType> queue, OperationStatus operation)
             throws SchemaException, IOException {
 
-        QueryFactory queryFactory = context.getPrismContext().queryFactory();
         List<SearchProducerWorker> producers = new ArrayList<>();
+        producers.addAll(createProducers(queue, operation, producers, null));
+
+        return producers;
+    }
+
+    /**
+     * Creates producers for all selected types.
+     *
+     * @param producers list of all producers of the operation, used to find out when all of them are done
+     * @param segment optional segment restricting the search, used by the segmented export
+     */
+    protected List<SearchProducerWorker> createProducers(BlockingQueue<ObjectType> queue, OperationStatus operation,
+            List<SearchProducerWorker> producers, ExportSegment segment) throws SchemaException, IOException {
+
+        QueryFactory queryFactory = context.getPrismContext().queryFactory();
+        List<SearchProducerWorker> newProducers = new ArrayList<>();
 
         if (options.getOid() != null) {
             Set<ObjectTypes> types = options.getType();
@@ -129,8 +145,8 @@ public abstract class AbstractRepositorySearchAction<O extends ExportOptions, R>
             InOidFilter filter = queryFactory.createInOid(options.getOid());
             ObjectQuery query = queryFactory.createQuery(filter);
 
-            producers.add(new SearchProducerWorker(context, options, queue, operation, producers, type, query));
-            return producers;
+            newProducers.add(new SearchProducerWorker(context, options, queue, operation, producers, type, query));
+            return newProducers;
         }
 
         List<ObjectTypes> types = NinjaUtils.getTypes(options.getType(), supportedObjectTypes());
@@ -142,18 +158,25 @@ public abstract class AbstractRepositorySearchAction<O extends ExportOptions, R>
             }
 
             ObjectFilter filter = NinjaUtils.createObjectFilter(options.getFilter(), context, type.getClassDefinition());
+            if (segment != null) {
+                ObjectFilter segmentFilter = segment.createFilter(context.getPrismContext(), type.getClassDefinition());
+                if (segmentFilter != null) {
+                    filter = filter != null ? queryFactory.createAnd(filter, segmentFilter) : segmentFilter;
+                }
+            }
+
             ObjectQuery query = queryFactory.createQuery(filter);
             if (ObjectTypes.SHADOW.equals(type)) {
                 List<SearchProducerWorker> shadowProducers =
                         createProducersForShadows(context, queue, operation, producers, filter);
-                producers.addAll(shadowProducers);
+                newProducers.addAll(shadowProducers);
                 continue;
             }
 
-            producers.add(new SearchProducerWorker(context, options, queue, operation, producers, type, query));
+            newProducers.add(new SearchProducerWorker(context, options, queue, operation, producers, type, query));
         }
 
-        return producers;
+        return newProducers;
     }
 
     /**
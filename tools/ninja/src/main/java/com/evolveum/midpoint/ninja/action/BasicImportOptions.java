@@ -16,4 +16,11 @@ public interface BasicImportOptions {
     boolean isOverwrite();
     boolean isZip();
     Set<ObjectTypes> getType();
+
+    /**
+     * Number of threads parsing objects from the input, 1 means that objects are parsed by the producer itself.
+     */
+    int getParserThreads();
+
+    boolean isPreserveOrder();
 }
@@ -6,23 +6,49 @@
 
 package com.evolveum.midpoint.ninja.action;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Callable;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
 
 import com.evolveum.midpoint.ninja.action.worker.ExportConsumerWorker;
+import com.evolveum.midpoint.ninja.action.worker.ProgressReporterWorker;
+import com.evolveum.midpoint.ninja.action.worker.SearchProducerWorker;
+import com.evolveum.midpoint.ninja.impl.NinjaException;
+import com.evolveum.midpoint.ninja.util.ExportManifest;
+import com.evolveum.midpoint.ninja.util.ExportSegment;
+import com.evolveum.midpoint.ninja.util.NinjaUtils;
 import com.evolveum.midpoint.ninja.util.OperationStatus;
+import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectType;
 
 /**
  * Ninja action realizing "export" command.
+ *
+ * If more than one segment is requested, OID space is split to segments, each segment is searched by its own
+ * producers and written by its own consumer to separate output part.
+ * Parts are listed in {@link ExportManifest}.
  */
-public class ExportRepositoryAction extends AbstractRepositorySearchAction<ExportOptions, Void> {
+public class ExportRepositoryAction extends AbstractRepositorySearchAction<ExportRepositoryOptions, Void> {
+
+    private static final int QUEUE_CAPACITY_PER_SEGMENT = 100;
 
     @Override
     public String getOperationName() {
         return "export";
     }
 
+    @Override
+    public Void execute() throws Exception {
+        if (options.getSegments() <= 1 || options.getOid() != null) {
+            return super.execute();
+        }
+
+        executeSegmented();
+
+        return null;
+    }
+
     @Override
     protected Callable<Void> createConsumer(BlockingQueue<ObjectType> queue, OperationStatus operation) {
         return () -> {
@@ -30,4 +56,58 @@ public class ExportRepositoryAction extends AbstractRepositorySearchAction<Expor
             return null;
         };
     }
+
+    private void executeSegmented() throws Exception {
+        File output = options.getOutput();
+        if (output == null) {
+            throw new NinjaException("Segmented export requires output file (" + ExportOptions.P_OUTPUT_LONG + ")");
+        }
+
+        OperationResult result = new OperationResult(getClass().getName());
+        OperationStatus operation = new OperationStatus(context, result);
+
+        context.getResourceSchemaRegistry(); // Make sure we have resource schema registry initialized
+
+        ExportManifest manifest = new ExportManifest(ExportManifest.createManifestFile(output));
+
+        List<SearchProducerWorker> producers = new ArrayList<>();
+        List<ExportConsumerWorker> consumers = new ArrayList<>();
+        List<BlockingQueue<ObjectType>> queues = new ArrayList<>();
+
+        for (ExportSegment segment : ExportSegment.createOidSegments(options.getSegments())) {
+            BlockingQueue<ObjectType> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY_PER_SEGMENT);
+            queues.add(queue);
+
+            producers.addAll(createProducers(queue, operation, producers, segment));
+
+            File part = ExportManifest.createPartFile(output, segment.getIndex());
+            consumers.add(new ExportConsumerWorker(context, options, queue, operation, consumers, part));
+            manifest.addPart(part);
+        }
+
+        // producers can't block consumers, therefore they have their own executor
+        ExecutorService producerExecutor = Executors.newFixedThreadPool(options.getMultiThread());
+        // "+ 1" will be used for progress reporter
+        ExecutorService consumerExecutor = Executors.newFixedThreadPool(consumers.size() + 1);
+
+        operation.start();
+
+        consumers.forEach(consumerExecutor::execute);
+        consumerExecutor.execute(new ProgressReporterWorker<>(context, options, queues, operation));
+        producers.forEach(producerExecutor::execute);
+
+        producerExecutor.shutdown();
+        consumerExecutor.shutdown();
+
+        boolean awaitResult = producerExecutor.awaitTermination(NinjaUtils.WAIT_FOR_EXECUTOR_FINISH, TimeUnit.DAYS)
+                && consumerExecutor.awaitTermination(NinjaUtils.WAIT_FOR_EXECUTOR_FINISH, TimeUnit.DAYS);
+        if (!awaitResult) {
+            log.error("Executor did not finish before timeout");
+        }
+
+        manifest.write(context.getCharset(), options.isOverwrite());
+        log.info("Written manifest {} with {} parts", manifest.getFile().getPath(), manifest.getParts().size());
+
+        handleResultOnFinish(null, operation, "Finished " + getOperationName());
+    }
 }
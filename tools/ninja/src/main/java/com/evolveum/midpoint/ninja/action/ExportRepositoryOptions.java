@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.ninja.action;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+
+/**
+ * Options of "export" command.
+ *
+ * Options that are specific to the export of objects (e.g. segmented export) belong here, not to {@link ExportOptions},
+ * which is a base for other commands (verify, upgrade objects, etc.) too.
+ */
+@Parameters(resourceBundle = "messages", commandDescriptionKey = "export")
+public class ExportRepositoryOptions extends ExportOptions {
+
+    public static final String P_SEGMENTS = "-sg";
+    public static final String P_SEGMENTS_LONG = "--segments";
+
+    @Parameter(names = { P_SEGMENTS, P_SEGMENTS_LONG }, descriptionKey = "export.segments")
+    private int segments = 1;
+
+    public int getSegments() {
+        return segments;
+    }
+
+    public ExportRepositoryOptions setSegments(int segments) {
+        this.segments = segments;
+        return this;
+    }
+}
@@ -23,6 +23,12 @@ public class ImportOptions extends BaseImportExportOptions implements BasicImpor
     public static final String P_OVERWRITE = "-O";
     public static final String P_OVERWRITE_LONG = "--overwrite";
 
+    public static final String P_PARSER_THREADS = "-pt";
+    public static final String P_PARSER_THREADS_LONG = "--parser-threads";
+
+    public static final String P_PRESERVE_ORDER = "-po";
+    public static final String P_PRESERVE_ORDER_LONG = "--preserve-order";
+
     public static final String P_ALLOW_UNENCRYPTED_VALUES = "-e";
     public static final String P_ALLOW_UNENCRYPTED_VALUES_LONG = "--allow-unencrypted-values";
 
@@ -34,6 +40,12 @@ public class ImportOptions extends BaseImportExportOptions implements BasicImpor
     @Parameter(names = { P_OVERWRITE, P_OVERWRITE_LONG }, descriptionKey = "import.overwrite")
     private boolean overwrite;
 
+    @Parameter(names = { P_PARSER_THREADS, P_PARSER_THREADS_LONG }, descriptionKey = "import.parserThreads")
+    private int parserThreads = 1;
+
+    @Parameter(names = { P_PRESERVE_ORDER, P_PRESERVE_ORDER_LONG }, descriptionKey = "import.preserveOrder")
+    private boolean preserveOrder;
+
     @Parameter(names = { P_ALLOW_UNENCRYPTED_VALUES, P_ALLOW_UNENCRYPTED_VALUES_LONG },
             descriptionKey = "import.allowUnencryptedValues")
     private boolean allowUnencryptedValues;
@@ -51,6 +63,16 @@ public class ImportOptions extends BaseImportExportOptions implements BasicImpor
         return overwrite;
     }
 
+    @Override
+    public int getParserThreads() {
+        return parserThreads;
+    }
+
+    @Override
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
     public boolean isAllowUnencryptedValues() {
         return allowUnencryptedValues;
     }
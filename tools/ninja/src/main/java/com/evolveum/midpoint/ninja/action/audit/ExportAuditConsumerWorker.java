@@ -6,8 +6,10 @@
 
 package com.evolveum.midpoint.ninja.action.audit;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 import com.evolveum.midpoint.ninja.action.worker.AbstractWriterConsumerWorker;
@@ -32,6 +34,12 @@ public class ExportAuditConsumerWorker
         super(context, options, queue, operation);
     }
 
+    public ExportAuditConsumerWorker(NinjaContext context, ExportAuditOptions options,
+            BlockingQueue<AuditEventRecordType> queue, OperationStatus operation,
+            List<ExportAuditConsumerWorker> consumers, File output) {
+        super(context, options, queue, operation, consumers, output);
+    }
+
     @Override
     protected void init() {
         serializer = context.getPrismContext()
@@ -22,12 +22,18 @@ public class ExportAuditOptions extends BaseAuditImportExportOptions implements
     public static final String P_OVERWRITE = "-O";
     public static final String P_OVERWRITE_LONG = "--overwrite";
 
+    public static final String P_SEGMENTS = "-sg";
+    public static final String P_SEGMENTS_LONG = "--segments";
+
     @Parameter(names = { P_OUTPUT, P_OUTPUT_LONG }, descriptionKey = "export.output")
     private File output;
 
     @Parameter(names = { P_OVERWRITE, P_OVERWRITE_LONG }, descriptionKey = "export.overwrite")
     private boolean overwrite;
 
+    @Parameter(names = { P_SEGMENTS, P_SEGMENTS_LONG }, descriptionKey = "exportAudit.segments")
+    private int segments = 1;
+
     public File getOutput() {
         return output;
     }
@@ -35,4 +41,8 @@ public class ExportAuditOptions extends BaseAuditImportExportOptions implements
     public boolean isOverwrite() {
         return overwrite;
     }
+
+    public int getSegments() {
+        return segments;
+    }
 }
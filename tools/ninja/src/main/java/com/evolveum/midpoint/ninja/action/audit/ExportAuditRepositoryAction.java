@@ -6,21 +6,29 @@
 
 package com.evolveum.midpoint.ninja.action.audit;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
+import javax.xml.datatype.XMLGregorianCalendar;
 
 import com.evolveum.midpoint.ninja.action.AbstractRepositorySearchAction;
 import com.evolveum.midpoint.ninja.action.ExportRepositoryAction;
 import com.evolveum.midpoint.ninja.action.RepositoryAction;
 import com.evolveum.midpoint.ninja.action.worker.ProgressReporterWorker;
 import com.evolveum.midpoint.ninja.impl.LogTarget;
+import com.evolveum.midpoint.ninja.impl.NinjaException;
+import com.evolveum.midpoint.ninja.util.ExportManifest;
+import com.evolveum.midpoint.ninja.util.ExportSegment;
 import com.evolveum.midpoint.ninja.util.NinjaUtils;
 import com.evolveum.midpoint.ninja.util.OperationStatus;
 import com.evolveum.midpoint.prism.query.ObjectFilter;
+import com.evolveum.midpoint.prism.query.ObjectPaging;
 import com.evolveum.midpoint.prism.query.ObjectQuery;
+import com.evolveum.midpoint.prism.query.OrderDirection;
 import com.evolveum.midpoint.prism.query.QueryFactory;
+import com.evolveum.midpoint.schema.SearchResultList;
 import com.evolveum.midpoint.schema.result.OperationResult;
 import com.evolveum.midpoint.util.exception.SchemaException;
 import com.evolveum.midpoint.xml.ns._public.common.audit_3.AuditEventRecordType;
@@ -29,12 +37,18 @@ import com.evolveum.midpoint.xml.ns._public.common.audit_3.AuditEventRecordType;
  * Similar to normal repository {@link ExportRepositoryAction}, but not extended from
  * {@link AbstractRepositorySearchAction} because we need containers here and objects are quite
  * deeply embedded in the existing classes.
+ *
+ * If more than one segment is requested, the time span of the exported records is split to segments,
+ * each segment is searched by its own producer and written by its own consumer to separate output part.
+ * Parts are listed in {@link ExportManifest} which can be used as an input for {@link ImportAuditRepositoryAction}.
  */
 public class ExportAuditRepositoryAction extends RepositoryAction<ExportAuditOptions, Void> {
 
     private static final int QUEUE_CAPACITY_PER_THREAD = 100;
     private static final long CONSUMERS_WAIT_FOR_START = 2000L;
 
+    private static final int QUEUE_CAPACITY_PER_SEGMENT = 100;
+
     public static final String OPERATION_SHORT_NAME = "exportAudit";
     public static final String OPERATION_NAME = ExportAuditRepositoryAction.class.getName() + "." + OPERATION_SHORT_NAME;
 
@@ -50,6 +64,11 @@ public class ExportAuditRepositoryAction extends RepositoryAction<ExportAuditOpt
 
     @Override
     public Void execute() throws Exception {
+        if (options.getSegments() > 1) {
+            executeSegmented();
+            return null;
+        }
+
         OperationResult result = new OperationResult(OPERATION_NAME);
         OperationStatus operation = new OperationStatus(context, result);
 
@@ -115,4 +134,90 @@ public class ExportAuditRepositoryAction extends RepositoryAction<ExportAuditOpt
 
         return producers;
     }
+
+    private void executeSegmented() throws Exception {
+        File output = options.getOutput();
+        if (output == null) {
+            throw new NinjaException(
+                    "Segmented audit export requires output file (" + ExportAuditOptions.P_OUTPUT_LONG + ")");
+        }
+
+        OperationResult result = new OperationResult(OPERATION_NAME);
+        OperationStatus operation = new OperationStatus(context, result);
+
+        QueryFactory queryFactory = context.getPrismContext().queryFactory();
+        ObjectFilter filter = NinjaUtils.createObjectFilter(options.getFilter(), context, AuditEventRecordType.class);
+
+        List<ExportSegment> segments = ExportSegment.createTimestampSegments(
+                findBoundaryTimestamp(filter, OrderDirection.ASCENDING, result),
+                findBoundaryTimestamp(filter, OrderDirection.DESCENDING, result),
+                options.getSegments());
+
+        ExportManifest manifest = new ExportManifest(ExportManifest.createManifestFile(output));
+
+        List<ExportAuditProducerWorker> producers = new ArrayList<>();
+        List<ExportAuditConsumerWorker> consumers = new ArrayList<>();
+        List<BlockingQueue<AuditEventRecordType>> queues = new ArrayList<>();
+
+        for (ExportSegment segment : segments) {
+            BlockingQueue<AuditEventRecordType> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY_PER_SEGMENT);
+            queues.add(queue);
+
+            ObjectFilter segmentFilter = segment.createFilter(context.getPrismContext(), AuditEventRecordType.class);
+            if (filter != null && segmentFilter != null) {
+                segmentFilter = queryFactory.createAnd(filter, segmentFilter);
+            } else if (segmentFilter == null) {
+                segmentFilter = filter;
+            }
+
+            ObjectQuery query = queryFactory.createQuery(segmentFilter);
+            producers.add(new ExportAuditProducerWorker(context, options, queue, operation, producers, query));
+
+            File part = ExportManifest.createPartFile(output, segment.getIndex());
+            consumers.add(new ExportAuditConsumerWorker(context, options, queue, operation, consumers, part));
+            manifest.addPart(part);
+        }
+
+        // producers can't block consumers, therefore they have their own executor
+        ExecutorService producerExecutor = Executors.newFixedThreadPool(options.getMultiThread());
+        // "+ 1" will be used for progress reporter
+        ExecutorService consumerExecutor = Executors.newFixedThreadPool(consumers.size() + 1);
+
+        log.info("Starting " + OPERATION_SHORT_NAME + " in {} segments", segments.size());
+        operation.start();
+
+        consumers.forEach(consumerExecutor::execute);
+        consumerExecutor.execute(new ProgressReporterWorker<>(context, options, queues, operation));
+        producers.forEach(producerExecutor::execute);
+
+        producerExecutor.shutdown();
+        consumerExecutor.shutdown();
+
+        boolean awaitResult = producerExecutor.awaitTermination(NinjaUtils.WAIT_FOR_EXECUTOR_FINISH, TimeUnit.DAYS)
+                && consumerExecutor.awaitTermination(NinjaUtils.WAIT_FOR_EXECUTOR_FINISH, TimeUnit.DAYS);
+        if (!awaitResult) {
+            log.error("Executor did not finish before timeout");
+        }
+
+        manifest.write(context.getCharset(), options.isOverwrite());
+        log.info("Written manifest {} with {} parts", manifest.getFile().getPath(), manifest.getParts().size());
+
+        handleResultOnFinish(null, operation, "Finished " + OPERATION_SHORT_NAME);
+    }
+
+    /**
+     * Returns timestamp of the oldest (ascending) or the newest (descending) audit record matching the filter.
+     */
+    private XMLGregorianCalendar findBoundaryTimestamp(
+            ObjectFilter filter, OrderDirection direction, OperationResult result) throws SchemaException {
+        QueryFactory queryFactory = context.getPrismContext().queryFactory();
+        ObjectPaging paging = queryFactory.createPaging(AuditEventRecordType.F_TIMESTAMP, direction);
+        paging.setMaxSize(1);
+        ObjectQuery query = queryFactory.createQuery(filter, paging);
+
+        SearchResultList<AuditEventRecordType> records =
+                context.getAuditService().searchObjects(query, null, result);
+
+        return records.isEmpty() ? null : records.get(0).getTimestamp();
+    }
 }
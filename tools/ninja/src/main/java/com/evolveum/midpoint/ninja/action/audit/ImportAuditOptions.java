@@ -24,12 +24,24 @@ public class ImportAuditOptions extends BaseAuditImportExportOptions implements
     public static final String P_OVERWRITE = "-O";
     public static final String P_OVERWRITE_LONG = "--overwrite";
 
+    public static final String P_PARSER_THREADS = "-pt";
+    public static final String P_PARSER_THREADS_LONG = "--parser-threads";
+
+    public static final String P_PRESERVE_ORDER = "-po";
+    public static final String P_PRESERVE_ORDER_LONG = "--preserve-order";
+
     @Parameter(names = { P_INPUT, P_INPUT_LONG }, descriptionKey = "import.input")
     private File input;
 
     @Parameter(names = { P_OVERWRITE, P_OVERWRITE_LONG }, descriptionKey = "import.overwrite")
     private boolean overwrite;
 
+    @Parameter(names = { P_PARSER_THREADS, P_PARSER_THREADS_LONG }, descriptionKey = "import.parserThreads")
+    private int parserThreads = 1;
+
+    @Parameter(names = { P_PRESERVE_ORDER, P_PRESERVE_ORDER_LONG }, descriptionKey = "import.preserveOrder")
+    private boolean preserveOrder;
+
     public File getInput() {
         return input;
     }
@@ -38,6 +50,16 @@ public class ImportAuditOptions extends BaseAuditImportExportOptions implements
         return overwrite;
     }
 
+    @Override
+    public int getParserThreads() {
+        return parserThreads;
+    }
+
+    @Override
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
     @Override
     public Set<ObjectTypes> getType() {
         return Set.of();
@@ -6,6 +6,7 @@
 
 package com.evolveum.midpoint.ninja.action.audit;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
@@ -14,6 +15,7 @@ import com.evolveum.midpoint.ninja.action.RepositoryAction;
 import com.evolveum.midpoint.ninja.action.worker.ImportProducerWorker;
 import com.evolveum.midpoint.ninja.action.worker.ProgressReporterWorker;
 import com.evolveum.midpoint.ninja.impl.LogTarget;
+import com.evolveum.midpoint.ninja.util.ExportManifest;
 import com.evolveum.midpoint.ninja.util.NinjaUtils;
 import com.evolveum.midpoint.ninja.util.OperationStatus;
 import com.evolveum.midpoint.prism.query.ObjectFilter;
@@ -22,6 +24,9 @@ import com.evolveum.midpoint.xml.ns._public.common.audit_3.AuditEventRecordType;
 
 /**
  * Action for importing audit event records to the repository.
+ *
+ * If the input is {@link ExportManifest} of the segmented audit export, all listed parts are read
+ * by parallel producers.
  */
 public class ImportAuditRepositoryAction extends RepositoryAction<ImportAuditOptions, Void> {
 
@@ -38,6 +43,11 @@ public class ImportAuditRepositoryAction extends RepositoryAction<ImportAuditOpt
 
     @Override
     public Void execute() throws Exception {
+        if (ExportManifest.isManifest(options.getInput())) {
+            executeFromManifest();
+            return null;
+        }
+
         OperationResult result = new OperationResult(OPERATION_NAME);
         OperationStatus progress = new OperationStatus(context, result);
 
@@ -89,6 +99,54 @@ public class ImportAuditRepositoryAction extends RepositoryAction<ImportAuditOpt
         return ret;
     }
 
+    private void executeFromManifest() throws Exception {
+        OperationResult result = new OperationResult(OPERATION_NAME);
+        OperationStatus progress = new OperationStatus(context, result);
+
+        ExportManifest manifest = ExportManifest.read(options.getInput(), context.getCharset());
+        log.info("Importing {} parts listed in manifest {}", manifest.getParts().size(), manifest.getFile().getPath());
+
+        BlockingQueue<AuditEventRecordType> queue =
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY_PER_THREAD * options.getMultiThread());
+
+        ObjectFilter filter = NinjaUtils.createObjectFilter(options.getFilter(), context, AuditEventRecordType.class);
+
+        List<ImportProducerWorker<AuditEventRecordType>> producers = new ArrayList<>();
+        for (File part : manifest.getParts()) {
+            ImportProducerWorker<AuditEventRecordType> producer = new ImportProducerWorker<>(
+                    context, options, queue, progress, producers, part, filter, false, false);
+            producer.setConvertMissingType(true);
+            producer.setCompatMode(true);
+            producers.add(producer);
+        }
+
+        // parsing is the slow part, so we read as many parts in parallel as there are consumer threads
+        ExecutorService producerExecutor =
+                Executors.newFixedThreadPool(Math.max(1, Math.min(producers.size(), options.getMultiThread())));
+        // "+ 1" will be used for progress reporter
+        ExecutorService consumerExecutor = Executors.newFixedThreadPool(options.getMultiThread() + 1);
+
+        progress.start();
+
+        producers.forEach(producerExecutor::execute);
+
+        consumerExecutor.execute(new ProgressReporterWorker<>(context, options, queue, progress));
+
+        List<ImportAuditConsumerWorker> consumers = createConsumers(queue, progress);
+        consumers.forEach(consumerExecutor::execute);
+
+        producerExecutor.shutdown();
+        consumerExecutor.shutdown();
+
+        boolean awaitResult = producerExecutor.awaitTermination(NinjaUtils.WAIT_FOR_EXECUTOR_FINISH, TimeUnit.DAYS)
+                && consumerExecutor.awaitTermination(NinjaUtils.WAIT_FOR_EXECUTOR_FINISH, TimeUnit.DAYS);
+        if (!awaitResult) {
+            log.error("Executor did not finish before timeout");
+        }
+
+        handleResultOnFinish(null, progress, "Audit import finished");
+    }
+
     private List<ImportAuditConsumerWorker> createConsumers(
             BlockingQueue<AuditEventRecordType> queue, OperationStatus operation) {
         List<ImportAuditConsumerWorker> consumers = new ArrayList<>();
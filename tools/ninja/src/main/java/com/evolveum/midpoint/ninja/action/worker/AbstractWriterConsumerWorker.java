@@ -6,8 +6,10 @@
 
 package com.evolveum.midpoint.ninja.action.worker;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -27,9 +29,25 @@ import org.apache.commons.io.IOUtils;
 public abstract class AbstractWriterConsumerWorker<O extends BasicExportOptions, T>
         extends BaseWorker<O, T> {
 
+    private final File output;
+
     public AbstractWriterConsumerWorker(NinjaContext context,
             O options, BlockingQueue<T> queue, OperationStatus operation) {
         super(context, options, queue, operation);
+
+        this.output = options.getOutput();
+    }
+
+    /**
+     * Used for segmented export, where each consumer writes its own output part and the operation
+     * is finished only after all consumers are done.
+     */
+    public AbstractWriterConsumerWorker(NinjaContext context,
+            O options, BlockingQueue<T> queue, OperationStatus operation,
+            List<? extends BaseWorker<?, ?>> consumers, File output) {
+        super(context, options, queue, operation, consumers);
+
+        this.output = output;
     }
 
     @Override
@@ -70,7 +88,7 @@ public abstract class AbstractWriterConsumerWorker<O extends BasicExportOptions,
 
             operation.finish();
         } finally {
-            if (options.getOutput() != null) {
+            if (output != null) {
                 // we don't want to close stdout, e.g. only if we were writing to file
                 IOUtils.closeQuietly(writer);
             }
@@ -99,7 +117,7 @@ public abstract class AbstractWriterConsumerWorker<O extends BasicExportOptions,
 
     private Writer createWriter() throws IOException {
         Writer writer = NinjaUtils.createWriter(
-                options.getOutput(), context.getCharset(), options.isZip(), options.isOverwrite(), context.out);
+                output, context.getCharset(), options.isZip(), options.isOverwrite(), context.out);
 
         String prolog = getProlog();
         if (prolog != null) {
@@ -6,6 +6,7 @@
 
 package com.evolveum.midpoint.ninja.action.worker;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.List;
@@ -34,6 +35,11 @@ public class ExportConsumerWorker extends AbstractWriterConsumerWorker<ExportOpt
         super(context, options, queue, operation);
     }
 
+    public ExportConsumerWorker(NinjaContext context, ExportOptions options, BlockingQueue<ObjectType> queue,
+            OperationStatus operation, List<ExportConsumerWorker> consumers, File output) {
+        super(context, options, queue, operation, consumers, output);
+    }
+
     @Override
     protected void init() {
         serializer = context.getPrismContext()
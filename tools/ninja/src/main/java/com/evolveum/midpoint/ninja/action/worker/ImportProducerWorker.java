@@ -9,24 +9,28 @@ package com.evolveum.midpoint.ninja.action.worker;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.util.Collection;
-import java.util.concurrent.BlockingQueue;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
+import javax.xml.stream.XMLStreamException;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.context.ApplicationContext;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
 import com.evolveum.midpoint.common.validator.EventHandler;
 import com.evolveum.midpoint.common.validator.EventResult;
 import com.evolveum.midpoint.common.validator.LegacyValidator;
+import com.evolveum.midpoint.common.validator.ObjectElementSplitter;
 import com.evolveum.midpoint.ninja.action.BasicImportOptions;
 import com.evolveum.midpoint.ninja.impl.Log;
 import com.evolveum.midpoint.ninja.impl.NinjaContext;
 import com.evolveum.midpoint.ninja.impl.NinjaException;
+import com.evolveum.midpoint.ninja.util.NinjaUtils;
 import com.evolveum.midpoint.ninja.util.OperationStatus;
 import com.evolveum.midpoint.prism.Containerable;
 import com.evolveum.midpoint.prism.PrismContext;
@@ -42,19 +46,41 @@ import com.evolveum.midpoint.schema.result.OperationResult;
 public class ImportProducerWorker<T extends Containerable>
         extends BaseWorker<BasicImportOptions, T> {
 
+    private static final String OPERATION_PARSE_OBJECT = ImportProducerWorker.class.getName() + ".parseObject";
+
+    private static final int PENDING_ELEMENTS_PER_PARSER_THREAD = 10;
+
+    /**
+     * How long (in seconds) parser and emitter threads wait for a free slot in the queue before they check whether
+     * the operation wasn't finished in the meantime (e.g. because of an input error) and nobody reads the queue anymore.
+     */
+    private static final int PRODUCER_OFFER_TIMEOUT = 2;
+
+    private final File input;
     private final ObjectFilter filter;
     private final boolean stopAfterFound;
     private final boolean continueOnInputError;
 
-    private String currentOid = null;
     private boolean convertMissingType = false;
     private boolean compatMode = false;
 
     public ImportProducerWorker(
             NinjaContext context, BasicImportOptions options, BlockingQueue<T> queue,
             OperationStatus operation, ObjectFilter filter, boolean stopAfterFound, boolean continueOnInputError) {
-        super(context, options, queue, operation);
+        this(context, options, queue, operation, null, options.getInput(), filter, stopAfterFound, continueOnInputError);
+    }
+
+    /**
+     * Used for import of segmented export, where each producer reads one part listed in the manifest.
+     * Operation must be started before the producers are executed in that case.
+     */
+    public ImportProducerWorker(
+            NinjaContext context, BasicImportOptions options, BlockingQueue<T> queue,
+            OperationStatus operation, List<ImportProducerWorker<T>> producers, File input,
+            ObjectFilter filter, boolean stopAfterFound, boolean continueOnInputError) {
+        super(context, options, queue, operation, producers);
 
+        this.input = input;
         this.filter = filter;
         this.stopAfterFound = stopAfterFound;
         this.continueOnInputError = continueOnInputError;
@@ -62,9 +88,11 @@ public class ImportProducerWorker<T extends Containerable>
 
     @Override
     public void run() {
-        operation.start();
+        if (operation.getState() == OperationStatus.State.NOT_STARTED) {
+            operation.start();
+        }
 
-        File inputFile = options.getInput();
+        File inputFile = input;
         try {
             if (!inputFile.exists()) {
                 context.getLog().error("Input file '{}' doesn't exist", inputFile.getPath());
@@ -137,80 +165,157 @@ public class ImportProducerWorker<T extends Containerable>
     }
 
     private void processStream(InputStream input) {
-        ApplicationContext appContext = context.getApplicationContext();
-        PrismContext prismContext = appContext.getBean(PrismContext.class);
-        MatchingRuleRegistry matchingRuleRegistry = appContext.getBean(MatchingRuleRegistry.class);
-
-        EventHandler<T> handler = new EventHandler<>() {
-            @Override
-            public EventResult preMarshall(Element objectElement, Node postValidationTree,
-                    OperationResult objectResult) {
-                currentOid = objectElement.getAttribute("oid");
-                return EventResult.cont();
-            }
+        Charset charset = context.getCharset();
+        Reader reader = new InputStreamReader(input, charset);
 
-            @Override
-            public EventResult postMarshall(
-                    T object, Element objectElement, OperationResult objectResult) {
-                try {
-                    if (operation.isFinished()) {
-                        return EventResult.stop("Operation already finished");
-                    }
+        if (options.getParserThreads() > 1 && !stopAfterFound) {
+            processStreamInParallel(new ReaderInputStream(reader, charset));
+            return;
+        }
 
-                    if (filter != null) {
-                        boolean match = ObjectQuery.match(object, filter, matchingRuleRegistry);
+        LegacyValidator<T> validator = createValidator(new ImportEventHandler(object -> queue.put(object)));
+        OperationResult result = operation.getResult();
 
-                        if (!match) {
-                            operation.incrementSkipped();
+        validator.validate(new ReaderInputStream(reader, charset), result, result.getOperation());
+    }
 
-                            return EventResult.skipObject("Object doesn't match filter");
-                        }
-                    }
+    /**
+     * Object elements are split from the stream on this thread and the expensive prism parsing is done by parser threads.
+     * If the order should be preserved, parsed objects are put to the queue by separate emitter thread in the order
+     * of the input, otherwise parser threads put them to the queue directly.
+     */
+    private void processStreamInParallel(InputStream input) {
+        Log log = context.getLog();
 
-                    if (!matchSelectedType(object.getClass())) {
-                        operation.incrementSkipped();
+        int threads = options.getParserThreads();
+        boolean preserveOrder = options.isPreserveOrder();
 
-                        return EventResult.skipObject("Type doesn't match");
-                    }
+        ExecutorService parsers = Executors.newFixedThreadPool(threads);
+        // limits number of elements that are split from the input, but not yet in the queue
+        Semaphore pending = new Semaphore(threads * PENDING_ELEMENTS_PER_PARSER_THREAD);
+
+        BlockingQueue<Future<T>> parsed = new LinkedBlockingQueue<>();
+        Future<T> end = CompletableFuture.completedFuture(null);
+
+        Thread emitter = null;
+        if (preserveOrder) {
+            emitter = new Thread(() -> emitInOrder(parsed, end, pending), "ninja-import-emitter");
+            emitter.start();
+        }
 
-                    queue.put(object);
-                } catch (Exception ex) {
-                    throw new NinjaException(getErrorMessage() + ", reason: " + ex.getMessage(), ex);
+        try {
+            new ObjectElementSplitter().split(input, element -> {
+                if (operation.isFinished()) {
+                    return false;
                 }
-                currentOid = null;
-                return stopAfterFound ? EventResult.skipObject() : EventResult.cont();
-            }
 
-            @Override
-            public void handleGlobalError(OperationResult currentResult, Exception cause) {
-                // This should not
-                // Should we log error?
-                operation.incrementError();
-                String message = getErrorMessage();
-                if (context.isVerbose()) {
-                    context.getLog().error(message, cause);
+                try {
+                    pending.acquire();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+
+                if (preserveOrder) {
+                    parsed.add(parsers.submit(() -> {
+                        AtomicReference<T> holder = new AtomicReference<>();
+                        parseElement(element, holder::set);
+                        return holder.get();
+                    }));
                 } else {
-                    context.getLog().error(message + ", reason: {}", cause.getMessage());
+                    parsers.execute(() -> {
+                        try {
+                            parseElement(element, this::putToQueue);
+                        } catch (RuntimeException ex) {
+                            // already reported by event handler, operation is finished if it shouldn't continue
+                            log.debug("Couldn't parse object, reason: {}", ex.getMessage());
+                        } finally {
+                            pending.release();
+                        }
+                    });
                 }
-                if (!continueOnInputError) {
-                    // We need to throw runtime exception in order to stop validator, otherwise validator will continue
-                    // fill queue and this may result in deadlock
-                    operation.finish();
-                    throw new NinjaException(message + ", reason: " + cause.getMessage(), cause);
+
+                return true;
+            });
+        } catch (XMLStreamException ex) {
+            operation.incrementError();
+            log.error("XML parsing error, reason: {}", ex, ex.getMessage());
+        } finally {
+            parsed.add(end);
+            if (operation.isFinished()) {
+                // Parsing of the remaining elements is futile; the emitter must not wait for them, though.
+                for (Runnable notStarted : parsers.shutdownNow()) {
+                    if (notStarted instanceof Future<?> future) {
+                        future.cancel(false);
+                    }
+                }
+            } else {
+                parsers.shutdown();
+            }
+
+            try {
+                if (!parsers.awaitTermination(NinjaUtils.WAIT_FOR_EXECUTOR_FINISH, TimeUnit.DAYS)) {
+                    log.error("Parser threads did not finish before timeout");
+                }
+                if (emitter != null) {
+                    emitter.join();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Unlike {@link BlockingQueue#put(Object)}, this does not block forever when the operation is finished
+     * (e.g. after an input error) while the queue is full. The object is dropped in that case.
+     */
+    private void putToQueue(T object) throws InterruptedException {
+        while (!queue.offer(object, PRODUCER_OFFER_TIMEOUT, TimeUnit.SECONDS)) {
+            if (operation.isFinished()) {
+                return;
+            }
+        }
+    }
+
+    private void parseElement(Element element, ObjectSink<T> sink) {
+        LegacyValidator<T> validator = createValidator(new ImportEventHandler(sink));
+        validator.validateObject(element, new OperationResult(OPERATION_PARSE_OBJECT));
+    }
+
+    private void emitInOrder(BlockingQueue<Future<T>> parsed, Future<T> end, Semaphore pending) {
+        try {
+            Future<T> future;
+            while ((future = parsed.take()) != end) {
+                try {
+                    T object = future.get();
+                    if (object != null) {
+                        putToQueue(object);
+                    }
+                } catch (ExecutionException ex) {
+                    // already reported by event handler, operation is finished if it shouldn't continue
+                    context.getLog().debug("Couldn't parse object, reason: {}", ex.getMessage());
+                } catch (CancellationException ex) {
+                    // not parsed at all, because the operation was finished
+                } finally {
+                    pending.release();
                 }
             }
-        };
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private LegacyValidator<T> createValidator(EventHandler<T> handler) {
+        PrismContext prismContext = context.getApplicationContext().getBean(PrismContext.class);
 
         // FIXME: MID-5151: If validateSchema is false we are not validating unknown attributes on import
-        LegacyValidator<?> validator = new LegacyValidator<>(prismContext, handler);
+        LegacyValidator<T> validator = new LegacyValidator<>(prismContext, handler);
         validator.setValidateSchema(false);
         validator.setCompatMode(compatMode);
         validator.setConvertMissingType(isConvertMissingType());
-        OperationResult result = operation.getResult();
 
-        Charset charset = context.getCharset();
-        Reader reader = new InputStreamReader(input, charset);
-        validator.validate(new ReaderInputStream(reader, charset), result, result.getOperation());
+        return validator;
     }
 
     private boolean matchSelectedType(Class<?> clazz) {
@@ -227,14 +332,6 @@ public class ImportProducerWorker<T extends Containerable>
         return false;
     }
 
-    private String getErrorMessage() {
-        if (currentOid != null && !currentOid.isBlank()) {
-            return "Couldn't import object with oid '" + currentOid + "'";
-        } else {
-            return "Couldn't import object";
-        }
-    }
-
     public boolean isConvertMissingType() {
         return convertMissingType;
     }
@@ -246,4 +343,92 @@ public class ImportProducerWorker<T extends Containerable>
     public void setCompatMode(boolean mode) {
         this.compatMode = mode;
     }
+
+    @FunctionalInterface
+    private interface ObjectSink<T> {
+
+        void accept(T object) throws InterruptedException;
+    }
+
+    /**
+     * Checks parsed objects and passes them to the sink. Each parser thread uses its own handler instance.
+     */
+    private class ImportEventHandler implements EventHandler<T> {
+
+        private final ObjectSink<T> sink;
+        private final MatchingRuleRegistry matchingRuleRegistry;
+
+        private String currentOid = null;
+
+        private ImportEventHandler(ObjectSink<T> sink) {
+            this.sink = sink;
+            this.matchingRuleRegistry = context.getApplicationContext().getBean(MatchingRuleRegistry.class);
+        }
+
+        @Override
+        public EventResult preMarshall(Element objectElement, Node postValidationTree,
+                OperationResult objectResult) {
+            currentOid = objectElement.getAttribute("oid");
+            return EventResult.cont();
+        }
+
+        @Override
+        public EventResult postMarshall(
+                T object, Element objectElement, OperationResult objectResult) {
+            try {
+                if (operation.isFinished()) {
+                    return EventResult.stop("Operation already finished");
+                }
+
+                if (filter != null) {
+                    boolean match = ObjectQuery.match(object, filter, matchingRuleRegistry);
+
+                    if (!match) {
+                        operation.incrementSkipped();
+
+                        return EventResult.skipObject("Object doesn't match filter");
+                    }
+                }
+
+                if (!matchSelectedType(object.getClass())) {
+                    operation.incrementSkipped();
+
+                    return EventResult.skipObject("Type doesn't match");
+                }
+
+                sink.accept(object);
+            } catch (Exception ex) {
+                throw new NinjaException(getErrorMessage() + ", reason: " + ex.getMessage(), ex);
+            }
+            currentOid = null;
+            return stopAfterFound ? EventResult.skipObject() : EventResult.cont();
+        }
+
+        @Override
+        public void handleGlobalError(OperationResult currentResult, Exception cause) {
+            // This should not
+            // Should we log error?
+            operation.incrementError();
+            String message = getErrorMessage();
+            if (context.isVerbose()) {
+                context.getLog().error(message, cause);
+            } else {
+                context.getLog().error(message + ", reason: {}", cause.getMessage());
+            }
+            if (!continueOnInputError) {
+                // We need to throw runtime exception in order to stop validator, otherwise validator will continue
+                // fill queue and this may result in deadlock
+                operation.finish();
+                throw new NinjaException(message + ", reason: " + cause.getMessage(), cause);
+            }
+        }
+
+        private String getErrorMessage() {
+            if (currentOid != null && !currentOid.isBlank()) {
+                return "Couldn't import object with oid '" + currentOid + "'";
+            } else {
+                return "Couldn't import object";
+            }
+        }
+    }
 }
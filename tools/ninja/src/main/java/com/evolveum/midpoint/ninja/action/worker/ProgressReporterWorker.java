@@ -6,6 +6,7 @@
 
 package com.evolveum.midpoint.ninja.action.worker;
 
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 import com.evolveum.midpoint.ninja.impl.Log;
@@ -18,9 +19,32 @@ import com.evolveum.midpoint.ninja.util.OperationStatus;
  */
 public class ProgressReporterWorker<T> extends BaseWorker<Object, T> {
 
+    /** All the queues to be watched, e.g. one for each segment of segmented export. */
+    private final List<BlockingQueue<T>> queues;
+
     public ProgressReporterWorker(NinjaContext context,
             Object options, BlockingQueue<T> queue, OperationStatus operation) {
-        super(context, options, queue, operation);
+        this(context, options, List.of(queue), operation);
+    }
+
+    public ProgressReporterWorker(NinjaContext context,
+            Object options, List<BlockingQueue<T>> queues, OperationStatus operation) {
+        super(context, options, queues.get(0), operation);
+        this.queues = queues;
+    }
+
+    /** Like the default, but the reporting continues until all the queues are empty. */
+    @Override
+    protected boolean shouldConsumerStop() {
+        if (operation.isFinished()) {
+            return true;
+        }
+
+        if (operation.isStarted()) {
+            return false;
+        }
+
+        return !operation.isProducerFinished() || queues.stream().allMatch(BlockingQueue::isEmpty);
     }
 
     @Override
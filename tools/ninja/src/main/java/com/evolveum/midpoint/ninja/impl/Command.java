@@ -25,7 +25,7 @@ public enum Command {
 
     IMPORT("import", ImportOptions.class, ImportRepositoryAction.class),
 
-    EXPORT("export", ExportOptions.class, ExportRepositoryAction.class),
+    EXPORT("export", ExportRepositoryOptions.class, ExportRepositoryAction.class),
 
     EXPORT_CONFIGURATION("export-configuration", ExportConfigurationOptions.class, ExportConfigurationAction.class),
 
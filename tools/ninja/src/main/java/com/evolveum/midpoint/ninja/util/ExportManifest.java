@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.ninja.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.evolveum.midpoint.ninja.impl.NinjaException;
+
+/**
+ * Manifest of the segmented export.
+ * Segmented export writes each segment to its own output part file and lists the parts in the manifest file,
+ * so the import can read the parts in parallel.
+ *
+ * Manifest is a plain text file with one part file name per line, relative to the directory of the manifest.
+ * Lines starting with `#` are comments.
+ */
+public class ExportManifest {
+
+    public static final String MANIFEST_EXTENSION = ".manifest";
+
+    private static final String COMMENT_PREFIX = "#";
+
+    private final File file;
+
+    private final List<File> parts = new ArrayList<>();
+
+    public ExportManifest(File file) {
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public List<File> getParts() {
+        return parts;
+    }
+
+    public void addPart(File part) {
+        parts.add(part);
+    }
+
+    public static boolean isManifest(File file) {
+        return file != null && file.isFile() && file.getName().endsWith(MANIFEST_EXTENSION);
+    }
+
+    /**
+     * Manifest is written next to the export output, e.g. `export.xml.zip` -> `export.xml.zip.manifest`.
+     */
+    public static File createManifestFile(File output) {
+        return new File(output.getPath() + MANIFEST_EXTENSION);
+    }
+
+    /**
+     * Part index is inserted before the file extensions, e.g. `export.xml.zip` -> `export-part003.xml.zip`.
+     */
+    public static File createPartFile(File output, int index) {
+        String name = output.getName();
+        String part = String.format("-part%03d", index);
+
+        int dot = name.indexOf('.');
+        String partName = dot > 0
+                ? name.substring(0, dot) + part + name.substring(dot)
+                : name + part;
+
+        return new File(output.getAbsoluteFile().getParentFile(), partName);
+    }
+
+    public void write(Charset charset, boolean overwrite) throws IOException {
+        if (!overwrite && file.exists()) {
+            throw new NinjaException("Manifest file '" + file.getPath() + "' already exists");
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(COMMENT_PREFIX + " midPoint ninja export manifest, parts: " + parts.size());
+        for (File part : parts) {
+            lines.add(part.getName());
+        }
+
+        Files.write(file.toPath(), lines, charset);
+    }
+
+    public static ExportManifest read(File file, Charset charset) throws IOException {
+        ExportManifest manifest = new ExportManifest(file);
+
+        File dir = file.getAbsoluteFile().getParentFile();
+        for (String line : Files.readAllLines(file.toPath(), charset)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith(COMMENT_PREFIX)) {
+                continue;
+            }
+
+            File part = new File(dir, line);
+            if (!part.exists()) {
+                throw new NinjaException("Part '" + line + "' listed in manifest '" + file.getPath() + "' doesn't exist");
+            }
+
+            manifest.addPart(part);
+        }
+
+        return manifest;
+    }
+}
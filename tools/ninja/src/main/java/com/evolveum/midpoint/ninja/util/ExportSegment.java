@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.ninja.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import com.evolveum.midpoint.prism.Containerable;
+import com.evolveum.midpoint.prism.PrismConstants;
+import com.evolveum.midpoint.prism.PrismContext;
+import com.evolveum.midpoint.prism.path.ItemName;
+import com.evolveum.midpoint.prism.path.ItemPath;
+import com.evolveum.midpoint.prism.query.ObjectFilter;
+import com.evolveum.midpoint.prism.query.builder.S_FilterEntryOrEmpty;
+import com.evolveum.midpoint.prism.query.builder.S_FilterExit;
+import com.evolveum.midpoint.prism.xml.XmlTypeConverter;
+import com.evolveum.midpoint.xml.ns._public.common.audit_3.AuditEventRecordType;
+
+/**
+ * One segment of the segmented export, defined as interval `[from, to)` of values of discriminator item.
+ * Missing boundary means the segment is open on that side, so the list of segments always covers all values.
+ *
+ * Objects are segmented by OID prefixes (repository supports incomplete OIDs in interval filters),
+ * audit records are segmented by timestamp.
+ */
+public class ExportSegment {
+
+    private static final int OID_PREFIX_SPACE = 0x10000;
+
+    private final int index;
+    private final ItemPath discriminator;
+    private final Object from;
+    private final Object to;
+
+    public ExportSegment(int index, ItemPath discriminator, Object from, Object to) {
+        this.index = index;
+        this.discriminator = discriminator;
+        this.from = from;
+        this.to = to;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns filter restricting search to this segment, or null if the segment is not bounded at all.
+     */
+    public ObjectFilter createFilter(PrismContext prismContext, Class<? extends Containerable> type) {
+        if (from == null && to == null) {
+            return null;
+        }
+
+        S_FilterEntryOrEmpty entry = prismContext.queryFor(type);
+        S_FilterExit exit;
+        if (from != null) {
+            exit = entry.item(discriminator).ge(from);
+            if (to != null) {
+                exit = exit.and().item(discriminator).lt(to);
+            }
+        } else {
+            exit = entry.item(discriminator).lt(to);
+        }
+
+        return exit.buildFilter();
+    }
+
+    /**
+     * Splits OID space to the segments of (roughly) the same size using 4 character OID prefixes.
+     * This assumes random (UUID v4) OIDs which is the case for all objects created by midPoint.
+     */
+    public static List<ExportSegment> createOidSegments(int count) {
+        ItemPath discriminator = ItemName.fromQName(PrismConstants.T_ID);
+
+        List<ExportSegment> segments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String from = i > 0 ? oidPrefix(i, count) : null;
+            String to = i < count - 1 ? oidPrefix(i + 1, count) : null;
+
+            segments.add(new ExportSegment(i, discriminator, from, to));
+        }
+
+        return segments;
+    }
+
+    private static String oidPrefix(int index, int count) {
+        return String.format("%04x", (int) ((long) index * OID_PREFIX_SPACE / count));
+    }
+
+    /**
+     * Splits the interval between the oldest and the newest audit record into segments of the same time span.
+     * The first and the last segment are open, so records created during export are not lost.
+     */
+    public static List<ExportSegment> createTimestampSegments(
+            XMLGregorianCalendar min, XMLGregorianCalendar max, int count) {
+
+        List<ExportSegment> segments = new ArrayList<>();
+        if (min == null || max == null) {
+            segments.add(new ExportSegment(0, AuditEventRecordType.F_TIMESTAMP, null, null));
+            return segments;
+        }
+
+        long start = XmlTypeConverter.toMillis(min);
+        long step = Math.max(1, (XmlTypeConverter.toMillis(max) - start) / count);
+
+        for (int i = 0; i < count; i++) {
+            XMLGregorianCalendar from = i > 0 ? XmlTypeConverter.createXMLGregorianCalendar(start + i * step) : null;
+            XMLGregorianCalendar to = i < count - 1
+                    ? XmlTypeConverter.createXMLGregorianCalendar(start + (i + 1) * step) : null;
+
+            segments.add(new ExportSegment(i, AuditEventRecordType.F_TIMESTAMP, from, to));
+        }
+
+        return segments;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportSegment{" + index + ": " + discriminator + " [" + from + ", " + to + ")}";
+    }
+}
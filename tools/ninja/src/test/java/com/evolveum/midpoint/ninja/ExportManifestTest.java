@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.ninja;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.evolveum.midpoint.ninja.util.ExportManifest;
+
+public class ExportManifestTest {
+
+    private static final File TARGET_DIR = new File("./target/export-manifest");
+
+    @Test
+    public void partFileNames() {
+        File output = new File(TARGET_DIR, "audit.xml.zip");
+
+        AssertJUnit.assertEquals("audit-part002.xml.zip", ExportManifest.createPartFile(output, 2).getName());
+        AssertJUnit.assertEquals("audit.xml.zip.manifest", ExportManifest.createManifestFile(output).getName());
+        AssertJUnit.assertEquals("audit-part000",
+                ExportManifest.createPartFile(new File(TARGET_DIR, "audit"), 0).getName());
+    }
+
+    @Test
+    public void writeAndReadManifest() throws Exception {
+        TARGET_DIR.mkdirs();
+
+        File output = new File(TARGET_DIR, "objects.xml");
+        ExportManifest manifest = new ExportManifest(ExportManifest.createManifestFile(output));
+        for (int i = 0; i < 3; i++) {
+            File part = ExportManifest.createPartFile(output, i);
+            Files.writeString(part.toPath(), "<objects/>");
+            manifest.addPart(part);
+        }
+        manifest.write(StandardCharsets.UTF_8, true);
+
+        AssertJUnit.assertTrue(ExportManifest.isManifest(manifest.getFile()));
+
+        ExportManifest read = ExportManifest.read(manifest.getFile(), StandardCharsets.UTF_8);
+        List<File> parts = read.getParts();
+        AssertJUnit.assertEquals(3, parts.size());
+        AssertJUnit.assertEquals("objects-part001.xml", parts.get(1).getName());
+        AssertJUnit.assertTrue(parts.get(2).exists());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2010-2026 Evolveum and contributors
+ *
+ * Licensed under the EUPL-1.2 or later.
+ */
+
+package com.evolveum.midpoint.ninja;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import com.evolveum.midpoint.ninja.util.ExportManifest;
+import com.evolveum.midpoint.prism.PrismObject;
+import com.evolveum.midpoint.prism.util.PrismTestUtil;
+import com.evolveum.midpoint.repo.api.RepoAddOptions;
+import com.evolveum.midpoint.schema.result.OperationResult;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.ObjectType;
+import com.evolveum.midpoint.xml.ns._public.common.common_3.RoleType;
+import com.evolveum.prism.xml.ns._public.types_3.PolyStringType;
+
+/**
+ * Tests segmented export (`export --segments`), see {@link ExportManifest}.
+ */
+@ContextConfiguration(locations = "classpath:ctx-ninja-test.xml")
+@DirtiesContext
+@Listeners({ com.evolveum.midpoint.tools.testng.AlphabeticalMethodInterceptor.class })
+public class ExportRepositoryTest extends NinjaSpringTest {
+
+    private static final File TARGET_DIR = new File("./target/export-segmented");
+
+    private static final int SEGMENTS = 4;
+
+    /** Roles with OIDs starting with each hex digit, so all the segments get some objects. */
+    private static final int ROLES = 16;
+
+    @Test
+    public void test100ExportInSegments() throws Exception {
+        given();
+
+        OperationResult result = new OperationResult("test100ExportInSegments");
+        List<String> oids = new ArrayList<>();
+        for (int i = 0; i < ROLES; i++) {
+            String oid = Integer.toHexString(i) + "0000000-0000-0000-0000-000000000001";
+            RoleType role = new RoleType();
+            role.setOid(oid);
+            role.setName(new PolyStringType("role-" + i));
+            repository.addObject(role.asPrismObject(), new RepoAddOptions(), result);
+            oids.add(oid);
+        }
+
+        File output = new File(TARGET_DIR, "objects.xml");
+
+        when();
+
+        executeTest(
+                null,
+                null,
+                "-m", getMidpointHome(),
+                "export",
+                "-o", output.getPath(),
+                "-O",
+                "--segments", String.valueOf(SEGMENTS));
+
+        then();
+
+        ExportManifest manifest = ExportManifest.read(ExportManifest.createManifestFile(output), StandardCharsets.UTF_8);
+        List<File> parts = manifest.getParts();
+        Assertions.assertThat(parts).hasSize(SEGMENTS);
+
+        List<String> exported = new ArrayList<>();
+        for (int i = 0; i < parts.size(); i++) {
+            List<PrismObject<? extends ObjectType>> objects = parseObjects(parts.get(i));
+            Assertions.assertThat(objects).as("objects in part %d", i).hasSize(ROLES / SEGMENTS);
+            for (PrismObject<? extends ObjectType> object : objects) {
+                int firstDigit = Character.digit(object.getOid().charAt(0), 16);
+                Assertions.assertThat(firstDigit * SEGMENTS / ROLES)
+                        .as("segment of %s", object.getOid())
+                        .isEqualTo(i);
+                exported.add(object.getOid());
+            }
+        }
+        Assertions.assertThat(exported).containsExactlyInAnyOrderElementsOf(oids);
+    }
+
+    /** Segments are supported by export only, not by the other commands using export options. */
+    @Test
+    public void test200SegmentsNotAcceptedByVerify() throws Exception {
+        when();
+
+        MainResult<?> mainResult = executeTest(
+                null,
+                err -> Assertions.assertThat(err).isNotEmpty(),
+                "-m", getMidpointHome(),
+                "verify",
+                "-o", new File(TARGET_DIR, "verify.csv").getPath(),
+                "--segments", String.valueOf(SEGMENTS));
+
+        then();
+
+        Assertions.assertThat(mainResult.exitCode()).isEqualTo(MainResult.DEFAULT_EXIT_CODE_ERROR);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private List<PrismObject<? extends ObjectType>> parseObjects(File file) throws Exception {
+        return (List) PrismTestUtil.getPrismContext().parserFor(file).parseObjects();
+    }
+}
@@ -7,8 +7,12 @@
 package com.evolveum.midpoint.ninja;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
 
+import org.apache.commons.io.FileUtils;
 import org.assertj.core.api.Assertions;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
@@ -255,4 +259,78 @@ public class ImportRepositoryTest extends NinjaSpringTest {
         long countAfterImport = repository.countObjects(ObjectType.class, null, null, new OperationResult("count"));
         Assertions.assertThat(countAfterImport).isEqualTo(count);
     }
+
+    @Test
+    public void test160ImportWithParserThreads() throws Exception {
+        given();
+
+        File file = new File("target/test160ImportWithParserThreads.xml");
+        writeRoles(file, 200, -1);
+
+        deleteAllRepositoryObjects();
+
+        when();
+
+        executeTest(
+                null,
+                null,
+                "-m", getMidpointHome(),
+                "import",
+                "-i", file.getPath(),
+                "-pt", "4",
+                "-po");
+
+        then();
+
+        int count = repository.countObjects(RoleType.class, null, null, new OperationResult("count"));
+        Assertions.assertThat(count).isEqualTo(200);
+    }
+
+    /**
+     * The input error finishes the operation. Parser threads that still have objects to put to the (full) queue
+     * must not wait for the consumer forever, so the import has to end.
+     */
+    @Test(timeOut = 300_000)
+    public void test170ImportWithParserThreadsAndInputError() throws Exception {
+        given();
+
+        File file = new File("target/test170ImportWithParserThreadsAndInputError.xml");
+        writeRoles(file, 2000, 100);
+
+        deleteAllRepositoryObjects();
+
+        when();
+
+        executeTest(
+                null,
+                err -> Assertions.assertThat(err).isNotEmpty(),
+                "-m", getMidpointHome(),
+                "import",
+                "-i", file.getPath(),
+                "-pt", "4");
+
+        then();
+
+        int count = repository.countObjects(RoleType.class, null, null, new OperationResult("count"));
+        Assertions.assertThat(count).isLessThan(2000);
+    }
+
+    /**
+     * Writes roles to the file; the role with the specified index (if any) has an invalid value,
+     * so it can't be parsed.
+     */
+    private void writeRoles(File file, int count, int invalidIndex) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<objects xmlns=\"http://midpoint.evolveum.com/xml/ns/public/common/common-3\">\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("<role oid=\"").append(new UUID(0, i + 1)).append("\">");
+            sb.append("<name>role-").append(i).append("</name>");
+            if (i == invalidIndex) {
+                sb.append("<activation><administrativeStatus>nonsense</administrativeStatus></activation>");
+            }
+            sb.append("</role>\n");
+        }
+        sb.append("</objects>\n");
+        FileUtils.writeStringToFile(file, sb.toString(), StandardCharsets.UTF_8);
+    }
 }